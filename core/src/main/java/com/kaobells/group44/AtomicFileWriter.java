@@ -0,0 +1,112 @@
+package com.kaobells.group44;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code AtomicFileWriter} class replaces the contents of a file so that a crash
+ * at any point leaves either the complete old file or the complete new file on disk.
+ *
+ * <p>The data is written to a temporary file next to the target, forced to disk,
+ * and then renamed over the target in a single step. The rename itself is only on disk
+ * once the directory is: a caller about to drop its only other copy of the data, such as a
+ * journal, must first call {@link #syncDirectory(File)}.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see SaveJournal
+ */
+public final class AtomicFileWriter {
+
+    /** Suffix of the temporary file written before the rename. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Writes the contents of a file to an open channel.
+     */
+    public interface Contents {
+
+        /**
+         * Writes the contents to the channel.
+         *
+         * @param channel The channel of the temporary file, positioned at its start.
+         * @throws IOException If the contents could not be written.
+         */
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Atomically replaces the contents of a file.
+     *
+     * @param target The file to replace.
+     * @param data   The new contents of the file.
+     * @throws IOException If the data could not be written or the file could not be replaced.
+     */
+    public static void write(File target, byte[] data) throws IOException {
+        write(target, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+    }
+
+    /**
+     * Atomically replaces the contents of a file with contents streamed straight to the file's channel,
+     * so large files never have to be held in memory.
+     *
+     * @param target   The file to replace.
+     * @param contents Writes the new contents of the file.
+     * @throws IOException If the contents could not be written or the file could not be replaced.
+     */
+    public static void write(File target, Contents contents) throws IOException {
+        Path targetPath = target.toPath();
+        Path tempPath = targetPath.resolveSibling(target.getName() + TEMP_SUFFIX);
+        if (targetPath.getParent() != null) {
+            Files.createDirectories(targetPath.getParent());
+        }
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            contents.writeTo(channel);
+            channel.force(true); // contents must be on disk before the rename makes them visible
+        }
+
+        try {
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // some file systems cannot rename atomically, a plain replace is the best we can do there
+            Files.move(tempPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces a directory's entries to disk, so files renamed into it survive a power loss.
+     * Does nothing on Windows, where a directory cannot be opened as a channel and NTFS
+     * journals renames itself.
+     *
+     * @param directory The directory.
+     * @throws IOException If the directory could not be forced to disk.
+     */
+    public static void syncDirectory(File directory) throws IOException {
+        if (System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+}
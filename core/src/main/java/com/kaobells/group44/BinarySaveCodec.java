@@ -0,0 +1,349 @@
+package com.kaobells.group44;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code BinarySaveCodec} class encodes the save model ({@link Database},
+ * {@link CharacterClass}, {@link Item} and {@link ParentalControls}) and the slot index ({@link SlotSummary})
+ * in a compact, versioned binary format.
+ *
+ * <p>Every encoded document starts with a header made of a magic number, the format
+ * version and the kind of document (a game slot, the parental controls or a whole
+ * database). Characters, items and parental controls write their own fields through
+ * {@link CharacterClass#writeBinary(DataOutput)}, {@link Item#writeBinary(DataOutput)} and
+ * {@link ParentalControls#writeBinary(DataOutput)}.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see SaveFormat
+ */
+public final class BinarySaveCodec {
+
+    /** Magic number at the start of every binary save document ("KPET"). */
+    public static final int MAGIC = 0x4B504554;
+
+    /** Version of the binary format written by this codec. */
+    public static final short VERSION = 3;
+
+    /** Last version that stored the parental controls as tagged key-value pairs. */
+    private static final short VERSION_TAGGED_PARENTAL = 1;
+
+    /** Last version whose game slots did not store the {@link SaveSchema} version of their character. */
+    private static final short VERSION_UNVERSIONED_SLOT = 2;
+
+    /**
+     * Schema version of the characters in slots written before slots stored one. Binary saves never
+     * held animation timers, but could hold the missing fields the next migration fills in.
+     */
+    private static final int UNVERSIONED_SLOT_SCHEMA = 1;
+
+    /** Document kind for a single game slot. */
+    private static final byte KIND_SLOT = 1;
+
+    /** Document kind for the parental controls. */
+    private static final byte KIND_PARENTAL = 2;
+
+    /** Document kind for a whole database. */
+    private static final byte KIND_DATABASE = 3;
+
+    /** Document kind for the slot summary index. */
+    private static final byte KIND_INDEX = 4;
+
+    /** Value tag for a boolean parental control, in version 1 documents. */
+    private static final byte TAG_BOOLEAN = 0;
+
+    /** Value tag for an integer parental control, in version 1 documents. */
+    private static final byte TAG_INT = 1;
+
+    /** Value tag for a string parental control, in version 1 documents. */
+    private static final byte TAG_STRING = 2;
+
+    /** Value tag for a float parental control, in version 1 documents. */
+    private static final byte TAG_FLOAT = 3;
+
+    /** Key under which a slot stores its character. */
+    private static final String CHARACTER_KEY = "character";
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private BinarySaveCodec() {
+    }
+
+    /**
+     * Checks whether the given data starts with the binary save header.
+     *
+     * @param data The data to check.
+     * @return {@code true} if the data is in the binary save format, {@code false} otherwise.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length >= 4
+            && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)) == MAGIC;
+    }
+
+    /**
+     * Encodes a game slot.
+     *
+     * @param slot The slot data, holding its character under the {@code "character"} key.
+     * @return The encoded slot.
+     * @throws IOException If the slot could not be encoded.
+     */
+    public static byte[] encodeSlot(Map<String, Object> slot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, KIND_SLOT);
+        writeSlot(out, slot);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a game slot written by {@link #encodeSlot(Map)}.
+     *
+     * @param data The encoded slot.
+     * @return The slot data, empty if the slot has no character.
+     * @throws IOException If the data is not a valid binary slot.
+     */
+    public static HashMap<String, Object> decodeSlot(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        short version = readHeader(in, KIND_SLOT);
+        return readSlot(in, version);
+    }
+
+    /**
+     * Encodes the parental controls.
+     *
+     * @param parentalControls The parental controls.
+     * @return The encoded parental controls.
+     * @throws IOException If the parental controls could not be encoded.
+     */
+    public static byte[] encodeParentalControls(ParentalControls parentalControls) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, KIND_PARENTAL);
+        parentalControls.writeBinary(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the parental controls written by {@link #encodeParentalControls(ParentalControls)},
+     * or by version 1 of the format, which stored them as tagged key-value pairs.
+     *
+     * @param data The encoded parental controls.
+     * @return The parental controls.
+     * @throws IOException If the data is not valid binary parental controls.
+     */
+    public static ParentalControls decodeParentalControls(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        short version = readHeader(in, KIND_PARENTAL);
+        return readParentalControls(in, version);
+    }
+
+    /**
+     * Encodes a whole database: its parental controls followed by every game slot.
+     *
+     * @param database The database to encode.
+     * @return The encoded database.
+     * @throws IOException If the database could not be encoded.
+     */
+    public static byte[] encodeDatabase(Database database) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, KIND_DATABASE);
+        database.parentalControls.writeBinary(out);
+        out.writeInt(database.games.size());
+        for (Map.Entry<String, HashMap<String, Object>> entry : database.games.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeSlot(out, entry.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a database written by {@link #encodeDatabase(Database)}.
+     *
+     * @param data The encoded database.
+     * @return The decoded database.
+     * @throws IOException If the data is not a valid binary database.
+     */
+    public static Database decodeDatabase(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        short version = readHeader(in, KIND_DATABASE);
+        Database database = new Database();
+        database.parentalControls = readParentalControls(in, version);
+        int slotCount = in.readInt();
+        for (int i = 0; i < slotCount; i++) {
+            String slotId = in.readUTF();
+            database.games.put(slotId, readSlot(in, version));
+        }
+        return database;
+    }
+
+    /**
+     * Encodes the slot summary index.
+     *
+     * @param index The summaries of every game slot.
+     * @return The encoded index.
+     * @throws IOException If the index could not be encoded.
+     */
+    public static byte[] encodeIndex(Collection<SlotSummary> index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + index.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, KIND_INDEX);
+        out.writeInt(index.size());
+        for (SlotSummary summary : index) {
+            summary.writeBinary(out);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the slot summary index written by {@link #encodeIndex(Collection)}.
+     *
+     * @param data The encoded index.
+     * @return The summaries of every game slot, in the order they were written.
+     * @throws IOException If the data is not a valid binary index.
+     */
+    public static List<SlotSummary> decodeIndex(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        readHeader(in, KIND_INDEX);
+        int count = in.readInt();
+        List<SlotSummary> index = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            index.add(SlotSummary.readBinary(in));
+        }
+        return index;
+    }
+
+    /**
+     * Writes the document header.
+     *
+     * @param out  The stream to write to.
+     * @param kind The kind of document that follows.
+     * @throws IOException If the header could not be written.
+     */
+    private static void writeHeader(DataOutput out, byte kind) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(kind);
+    }
+
+    /**
+     * Reads and validates the document header.
+     *
+     * @param in   The stream to read from.
+     * @param kind The kind of document expected.
+     * @return The format version the document was written in.
+     * @throws IOException If the header is missing, from a newer version or of another kind.
+     */
+    private static short readHeader(DataInput in, byte kind) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary save file");
+        }
+        short version = in.readShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported save format version " + version);
+        }
+        byte actualKind = in.readByte();
+        if (actualKind != kind) {
+            throw new IOException("Expected save document of kind " + kind + " but found " + actualKind);
+        }
+        return version;
+    }
+
+    /**
+     * Writes the body of a game slot.
+     *
+     * @param out  The stream to write to.
+     * @param slot The slot data.
+     * @throws IOException If the slot could not be written.
+     */
+    private static void writeSlot(DataOutput out, Map<String, Object> slot) throws IOException {
+        Object character = slot.get(CHARACTER_KEY);
+        out.writeShort(SaveSchema.CURRENT_VERSION);
+        out.writeBoolean(character instanceof CharacterClass);
+        if (character instanceof CharacterClass) {
+            ((CharacterClass) character).writeBinary(out);
+        }
+    }
+
+    /**
+     * Reads the body of a game slot, upgrading its character if it was saved in an older
+     * {@link SaveSchema} version.
+     *
+     * @param in      The stream to read from.
+     * @param version The format version of the document.
+     * @return The slot data.
+     * @throws IOException If the slot could not be read.
+     */
+    private static HashMap<String, Object> readSlot(DataInput in, short version) throws IOException {
+        int schemaVersion = version <= VERSION_UNVERSIONED_SLOT ? UNVERSIONED_SLOT_SCHEMA : in.readShort();
+        HashMap<String, Object> slot = new HashMap<>();
+        if (in.readBoolean()) {
+            slot.put(CHARACTER_KEY, SaveSchema.upgrade(CharacterClass.readBinary(in), schemaVersion));
+        }
+        return slot;
+    }
+
+    /**
+     * Reads the parental controls in the layout of the given format version.
+     *
+     * @param in      The stream to read from.
+     * @param version The format version of the document.
+     * @return The parental controls.
+     * @throws IOException If the parental controls could not be read.
+     */
+    private static ParentalControls readParentalControls(DataInput in, short version) throws IOException {
+        if (version <= VERSION_TAGGED_PARENTAL) {
+            return ParentalControls.fromMap(readTaggedParentalControls(in));
+        }
+        return ParentalControls.readBinary(in);
+    }
+
+    /**
+     * Reads parental controls stored as tagged key-value pairs, as written by version 1.
+     *
+     * @param in The stream to read from.
+     * @return The boxed values, keyed by their setting key.
+     * @throws IOException If a value has an unknown tag.
+     */
+    private static HashMap<String, Object> readTaggedParentalControls(DataInput in) throws IOException {
+        int count = in.readShort() & 0xFFFF;
+        HashMap<String, Object> parentalControls = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            byte tag = in.readByte();
+            switch (tag) {
+                case TAG_BOOLEAN:
+                    parentalControls.put(key, in.readBoolean());
+                    break;
+                case TAG_INT:
+                    parentalControls.put(key, in.readInt());
+                    break;
+                case TAG_STRING:
+                    parentalControls.put(key, in.readUTF());
+                    break;
+                case TAG_FLOAT:
+                    parentalControls.put(key, in.readFloat());
+                    break;
+                default:
+                    throw new IOException("Unknown parental control tag " + tag + " for " + key);
+            }
+        }
+        return parentalControls;
+    }
+}
@@ -0,0 +1,215 @@
+package com.kaobells.group44;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code BufferedChannelWriter} class is a {@link Writer} that encodes text as UTF-8
+ * straight into a {@link FileChannel}, or any other {@link WritableByteChannel}, through fixed-size buffers.
+ *
+ * <p>The buffers are allocated once and reused every time the writer is {@link #open(WritableByteChannel) opened}
+ * on a new channel, so streaming a document of any size needs the same, small amount of memory
+ * and never builds the whole document as a {@code String}. A writer is not thread-safe and
+ * should be owned by a single thread.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonSaveCodec#writeDatabase(Writer, Database)
+ */
+public final class BufferedChannelWriter extends Writer {
+
+    /** Encoder from characters to UTF-8 bytes, reset for every document. */
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    /** Characters written but not yet encoded. */
+    private final CharBuffer chars;
+
+    /** Encoded bytes not yet written to the channel. */
+    private final ByteBuffer bytes;
+
+    /** Channel the current document is written to, or {@code null} if the writer is not open. */
+    private WritableByteChannel channel;
+
+    /** Number of bytes written to the current channel. */
+    private long bytesWritten;
+
+    /**
+     * Constructs a writer with buffers of the given size.
+     *
+     * @param bufferSize The size of the character and byte buffers.
+     */
+    public BufferedChannelWriter(int bufferSize) {
+        this.chars = CharBuffer.allocate(bufferSize);
+        // UTF-8 needs at most 3 bytes per UTF-16 char, so one pass over a full char buffer always fits
+        this.bytes = ByteBuffer.allocateDirect(bufferSize * 3);
+    }
+
+    /**
+     * Starts writing a new document to a channel, reusing the existing buffers.
+     *
+     * @param channel The channel to write to, positioned where the document should start.
+     */
+    public void open(WritableByteChannel channel) {
+        this.channel = channel;
+        this.bytesWritten = 0;
+        encoder.reset();
+        chars.clear();
+        bytes.clear();
+    }
+
+    /**
+     * Writes every remaining character to the channel and detaches the writer from it.
+     * The channel itself is left open for its owner to force and close.
+     *
+     * @return The number of bytes written to the channel for this document.
+     * @throws IOException If the channel could not be written.
+     */
+    public long finish() throws IOException {
+        ensureOpen();
+        encode(true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        long total = bytesWritten;
+        channel = null;
+        return total;
+    }
+
+    /**
+     * Writes part of an array of characters.
+     *
+     * @param cbuf The characters.
+     * @param off  The offset of the first character to write.
+     * @param len  The number of characters to write.
+     * @throws IOException If the channel could not be written.
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int count = Math.min(len, chars.remaining());
+            chars.put(cbuf, off, count);
+            off += count;
+            len -= count;
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+        }
+    }
+
+    /**
+     * Writes part of a string, without copying it into a temporary array.
+     *
+     * @param str The string.
+     * @param off The offset of the first character to write.
+     * @param len The number of characters to write.
+     * @throws IOException If the channel could not be written.
+     */
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int count = Math.min(len, chars.remaining());
+            str.getChars(off, off + count, chars.array(), chars.arrayOffset() + chars.position());
+            chars.position(chars.position() + count);
+            off += count;
+            len -= count;
+            if (!chars.hasRemaining()) {
+                encode(false);
+            }
+        }
+    }
+
+    /**
+     * Writes a single character.
+     *
+     * @param c The character.
+     * @throws IOException If the channel could not be written.
+     */
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        chars.put((char) c);
+        if (!chars.hasRemaining()) {
+            encode(false);
+        }
+    }
+
+    /**
+     * Writes every buffered character that can be encoded to the channel.
+     *
+     * @throws IOException If the channel could not be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        drain();
+    }
+
+    /**
+     * Finishes the current document if one is open. The channel is not closed.
+     *
+     * @throws IOException If the channel could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            finish();
+        }
+    }
+
+    /**
+     * Encodes the buffered characters into the byte buffer, draining it to the channel
+     * whenever it fills up. A high surrogate at the end is kept until its pair arrives.
+     *
+     * @param endOfInput {@code true} if no more characters follow.
+     * @throws IOException If the channel could not be written.
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        chars.flip();
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        chars.compact();
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     *
+     * @throws IOException If the channel could not be written.
+     */
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesWritten += channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Checks that the writer is attached to a channel.
+     *
+     * @throws IOException If the writer has not been opened.
+     */
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            throw new IOException("Writer is not open on a channel");
+        }
+    }
+}
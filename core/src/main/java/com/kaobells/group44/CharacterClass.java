@@ -8,8 +8,15 @@ import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
 import java.beans.Transient;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,63 +28,45 @@ import java.util.Objects;
  *
  * <p>This class manages a character's health, happiness, hunger, sleep, and stress,
  * and supports various actions such as feeding, exercising, playing, and visiting a doctor.
- * It also handles animations and visual updates for the character's states.</p>
+ * The stats and the rules they change by are kept in a {@link PetModel}, which this class drives
+ * and which needs no libGDX; this class adds the animations and visual updates for the
+ * character's states.</p>
+ *
+ * <p>Only the gameplay state is saved, through {@link #write(Json)}, {@link #writeBinary(DataOutput)}
+ * and {@link #writeRecord(ByteBuffer)};
+ * animation timers start over every time the character is loaded.</p>
  *
  * @author group 44
  * @version 1.0
  */
-public class CharacterClass {
+public class CharacterClass implements Json.Serializable {
+
+    /** Size, in bytes, of the gameplay state written by {@link #writeRecord(ByteBuffer)}. */
+    public static final int RECORD_SIZE = 84;
+
+    /** Number of inventory items a fixed-size record has room for. */
+    private static final int RECORD_INVENTORY_SIZE = 6;
+
+    /** Number of compounding states a fixed-size record has room for. */
+    private static final int RECORD_COMPOUNDING_SIZE = 8;
 
     /** Reference to the main game instance. */
     private transient Main mainGame;
 
     /** Name of the character. */
-    private final String name;
+    private String name;
 
     /** Slot used, values range from 1 through 3. */
     private String slot;
 
-    /** Current score of the character. */
-    private int score;
-
     /** Character number, ranging from 0 through 4. */
-    private final int characterNumber;
+    private int characterNumber;
 
     /** Type of character, e.g., relaxed, brave. */
-    private final String characterType;
-
-    /** Prime state of the character, highest priority state displayed. */
-    private State state = State.NEUTRAL;
-
-    /** Current health value for the character. */
-    private float health;
-
-    /** Current sleep value for the character. */
-    private float sleep;
-
-    /** Current happiness value for the character. */
-    private float happiness;
-
-    /** Current fullness value for the character. */
-    private float fullness;
-
-    /** Current stress value for the character. */
-    private float stress;
-
-    /** Health change multiplier for tick rates. */
-    private transient float healthChange;
-
-    /** Sleep change multiplier for tick rates. */
-    private transient float sleepChange;
-
-    /** Happiness change multiplier for tick rates. */
-    private transient float happinessChange;
+    private String characterType;
 
-    /** Fullness change multiplier for tick rates. */
-    private transient float fullnessChange;
-
-    /** Stress change multiplier for tick rates. */
-    private transient float stressChange = 1.0f;
+    /** Gameplay state of the character, simulated without any libGDX dependency. */
+    private PetModel pet = new PetModel();
 
     /** Inventory array filled with Item objects. */
     private Item[] inventory;
@@ -104,34 +93,32 @@ public class CharacterClass {
     private transient final Map<String, Texture> characterTextures = new HashMap<>();
 
     /** Timer task for the blinking animation, blocking other actions while active. */
-    private transient Timer.Task blinkTask;
-
-    /** Array representing states that can compound effects with other states (e.g., sleeping, angry, hungry). */
-    private boolean[] compoundingStates;
+    private transient SimulationClock.Task blinkTask;
 
-    /** Remaining cooldown time for doctor action, in seconds. */
-    private float doctorCooldownRemaining = 0;
+    /** Clock the character's timed animations run on, shared with its game session. */
+    private transient SimulationClock clock;
 
-    /** Remaining cooldown time for play action, in seconds. */
-    private float playCooldownRemaining = 0;
-
-    /** Remaining cooldown time for blocking actions. */
-    private float actionBlockCooldownRemaining = 0;
+    /**
+     * Wall-clock time, in milliseconds, up to which the character has been simulated since its
+     * save was read, or {@code 0} if it has not been. A character kept in memory after its game
+     * screen closes is only aged from this time on.
+     */
+    private transient long simulatedUntil;
 
     /** Timer for auto-save functionality, starts at 30 seconds for initial save. */
-    private float saveTimer = 30f;
+    private transient float saveTimer = 30f;
 
     /** Timer for tracking the blinking interval. */
     private transient float blinkTimer = 0f;
 
     /** Timer for tracking the duration of a single blink. */
-    private float blinkDurationTimer = 0f;
+    private transient float blinkDurationTimer = 0f;
 
     /** Indicates whether the character is currently blinking. */
-    private boolean isBlinking = false;
+    private transient boolean isBlinking = false;
 
     /** Indicates whether the character is in a hungry state. */
-    private boolean isHungry1 = true;
+    private transient boolean isHungry1 = true;
 
     /** Interval between blinks, in seconds. */
     private final float blinkInterval = 3.0f;
@@ -146,13 +133,16 @@ public class CharacterClass {
     private final float deadDuration = 100.0f;
 
     /** Timer for tracking sleep animation. */
-    private float sleepTimer = 0f;
+    private transient float sleepTimer = 0f;
 
     /** Indicates which sleep state is active. */
-    private boolean isSleepState1 = true;
+    private transient boolean isSleepState1 = true;
 
     /** Timer for tracking the duration of the hunger effect. */
-    private float hungerTimer = 0f;
+    private transient float hungerTimer = 0f;
+
+    /** Schema version the character was saved in, before it was upgraded on load. */
+    private transient int loadedSchemaVersion = SaveSchema.CURRENT_VERSION;
 
 
     // Add default constructor for LibGDX Json Loader
@@ -161,12 +151,8 @@ public class CharacterClass {
      */
     public CharacterClass() {
         this.name = "DefaultName";
-        this.state = null;
-        this.health = 100.0f;
-        this.sleep = 100.0f;
-        this.happiness = 100.0f;
-        this.fullness = 100.0f;
-        this.stress = 100.0f;
+        pet.setState(null); // left to the save, like the compounding states
+        pet.setCompoundingStates(null);
         this.mainGame = null;
         characterHeads = null;
         characterBodies = null;
@@ -174,6 +160,63 @@ public class CharacterClass {
         characterType = "default";
     }
 
+    /**
+     * Copy constructor used for save snapshots. Copies only the persisted fields,
+     * leaving every texture, image, sound and the game reference unset.
+     *
+     * @param source The character to copy.
+     */
+    private CharacterClass(CharacterClass source) {
+        this.name = source.name;
+        this.slot = source.slot;
+        this.characterNumber = source.characterNumber;
+        this.characterType = source.characterType;
+        this.pet = new PetModel(source.pet);
+        if (source.inventory != null) {
+            this.inventory = new Item[source.inventory.length];
+            for (int i = 0; i < source.inventory.length; i++) {
+                Item item = source.inventory[i];
+                this.inventory[i] = item == null ? null : new Item(item.getItemID(), item.getItemCount());
+            }
+        }
+    }
+
+    /**
+     * Constructor used when reading a saved character back from the binary save format.
+     * Sets the identity fields, the rest is filled in by {@link #readBinary(DataInput)}.
+     *
+     * @param name            The name of the character.
+     * @param characterNumber The character's unique identifier.
+     * @param characterType   The type of the character.
+     */
+    private CharacterClass(String name, int characterNumber, String characterType) {
+        this.name = name;
+        this.characterNumber = characterNumber;
+        this.characterType = characterType;
+        pet.setCompoundingStates(null); // left to the save
+    }
+
+    /**
+     * Creates an independent copy of this character's persisted state, safe to
+     * serialize on a background thread.
+     *
+     * @return A snapshot of this character.
+     */
+    public CharacterClass snapshot() {
+        return new CharacterClass(this);
+    }
+
+    /**
+     * Retrieves the schema version the character was saved in. Characters saved in an older
+     * version are upgraded as they are read, and should be saved again to stay upgraded.
+     *
+     * @return The schema version the character was read from, or {@link SaveSchema#CURRENT_VERSION}
+     *         if it was not read from an older save.
+     */
+    public int getLoadedSchemaVersion() {
+        return loadedSchemaVersion;
+    }
+
     //load in a character's data
     /**
      * Initializes character's data, textures, and inventory.
@@ -190,7 +233,7 @@ public class CharacterClass {
         setHead(headDetermine());
         setBody(bodyDetermine());
         modifyModifiers(characterNumber);
-        Gdx.app.log("NAME", "health: " + health + "\nsleep: " + sleep + "\nhappiness: " + happiness + "\nfullness: " + fullness + "\nstress: " + stress);
+        logStats();
     }
 
     // Constructor with default state (NEUTRAL)
@@ -232,10 +275,10 @@ public class CharacterClass {
         this.inventory = inventory;
         this.characterNumber = characterNumber;
         this.characterType = characterTypeStr.toLowerCase();
-        this.state = state;
-        this.compoundingStates = compoundingStates;
+        pet.setState(state);
+        pet.setCompoundingStates(compoundingStates);
         this.slot = slotNumber;
-        this.score = characterScore;
+        pet.setScore(characterScore);
         //set up character sprite maps
         characterHeads = new HashMap<>();
         characterBodies = new HashMap<>();
@@ -244,9 +287,58 @@ public class CharacterClass {
         setUpCharacter();
         setUpInventory();
         modifyModifiers(characterNumber);
-        Gdx.app.log("NAME", "health: " + health + "\nsleep: " + sleep + "\nhappiness: " + happiness + "\nfullness: " + fullness + "\nstress: " + stress);
+        logStats();
+    }
+
+    /**
+     * Logs the character's stats.
+     */
+    private void logStats() {
+        Gdx.app.log("NAME", "health: " + pet.getHealth() + "\nsleep: " + pet.getSleep() + "\nhappiness: " + pet.getHappiness() + "\nfullness: " + pet.getHunger() + "\nstress: " + pet.getStress());
+    }
+
+    /**
+     * Records that the character has been simulated up to now, when its game screen closes
+     * while the character stays in memory.
+     */
+    public void markSimulated() {
+        simulatedUntil = System.currentTimeMillis();
     }
 
+    /**
+     * Ages the character by the time its game was closed, as if it had been left alone that long.
+     * Must be called after {@link #startLoadCharacter(Main)}, which sets up its rates and sprites.
+     * A character already simulated in this run, still in memory from an earlier game, is only
+     * aged by the time since then, so no time is counted twice.
+     *
+     * @param secondsSinceSaved The number of seconds since the character was last saved.
+     * @see OfflineProgression
+     */
+    public void progressOffline(long secondsSinceSaved) {
+        long now = System.currentTimeMillis();
+        long seconds = simulatedUntil > 0 ? Math.max(0, (now - simulatedUntil) / 1000) : secondsSinceSaved;
+        simulatedUntil = now;
+        if (seconds <= 0 || pet.isDead()) {
+            return;
+        }
+        OfflineProgression.apply(pet, seconds);
+        if (pet.isDead()) {
+            killPet();
+        } else {
+            setHead(headDetermine());
+            setBody(bodyDetermine());
+        }
+        System.out.println(name + " was left alone for " + seconds + "s, now " + pet.getState() + ".");
+        logStats();
+    }
+
+    /**
+     * Gets the character's gameplay state, which can be simulated without any libGDX dependency.
+     *
+     * @return The character's pet model.
+     */
+    public PetModel getPet() { return pet; }
+
     // Getter for name
     /**
      * Gets the character's name.
@@ -278,20 +370,22 @@ public class CharacterClass {
      *
      * @return The character's score.
      */
-    public int getScore() { return score;}
+    public int getScore() { return pet.getScore();}
 
     //Method to increment score
     /**
      * Increments the character's score by 1.
      */
-    public void incrementScore() { this.score = score+1;}
+    public void incrementScore() { pet.incrementScore();}
 
     /**
      * Sets the character's score to the specified value.
      *
      * @param score The new score value.
      */
-    public void setScore(int score) { this.score = score;}
+    public void setScore(int score) {
+        pet.setScore(score);
+    }
 
     // Getter for health
     /**
@@ -299,7 +393,7 @@ public class CharacterClass {
      *
      * @return The current health value.
      */
-    public float getHealth() { return health;}
+    public float getHealth() { return pet.getHealth();}
 
     //Setter for health
     /**
@@ -309,13 +403,8 @@ public class CharacterClass {
      * @param health The new health value.
      */
     public void setHealth(float health) {
-        if (health >= 0.0f && health <= 100.0f) {
-            this.health = health;
-        } else if(health <= 0.0f){
-            this.health = 0.0f;
-        }else {
-            this.health = 100.0f;
-        }}
+        pet.setHealth(health);
+    }
 
     // Getter for happiness
     /**
@@ -323,7 +412,7 @@ public class CharacterClass {
      *
      * @return The current happiness value.
      */
-    public float getHappiness() { return happiness;}
+    public float getHappiness() { return pet.getHappiness();}
 
     //Setter for happiness
     /**
@@ -333,13 +422,8 @@ public class CharacterClass {
      * @param happiness The new happiness value.
      */
     public void setHappiness(float happiness) {
-        if (happiness >= 0.0f && happiness <= 100.0f) {
-            this.happiness = happiness;
-        } else if(happiness <= 0.0f){
-            this.happiness = 0.0f;
-        } else {
-            this.happiness = 100.0f;
-    }}
+        pet.setHappiness(happiness);
+    }
 
     // Getter for hunger
     /**
@@ -347,7 +431,7 @@ public class CharacterClass {
      *
      * @return The current hunger value.
      */
-    public float getHunger() { return fullness; }
+    public float getHunger() { return pet.getHunger(); }
 
     // Setter for hunger
     /**
@@ -357,13 +441,8 @@ public class CharacterClass {
      * @param hunger The new hunger value.
      */
     public void setHunger(float hunger) {
-        if (hunger >= 0.0f && hunger <= 100.0f) {
-            this.fullness = hunger;
-        } else if(hunger <= 0.0f){
-            this.fullness = 0.0f;
-        } else {
-        this.fullness = 100.0f;
-    }}
+        pet.setHunger(hunger);
+    }
 
     // Getter for sleep
     /**
@@ -371,7 +450,7 @@ public class CharacterClass {
      *
      * @return The current sleep value.
      */
-    public float getSleep() { return sleep; }
+    public float getSleep() { return pet.getSleep(); }
 
     // Setter for sleep
     /**
@@ -381,13 +460,8 @@ public class CharacterClass {
      * @param sleep The new sleep value.
      */
     public void setSleep(float sleep) {
-        if (sleep >= 0.0f && sleep <= 100.0f) {
-            this.sleep = sleep;
-        } else if(sleep <= 0.0f){
-            this.sleep = 0.0f;
-        } else {
-        this.sleep = 100.0f;
-    }}
+        pet.setSleep(sleep);
+    }
 
     // Getter for stress
     /**
@@ -396,7 +470,7 @@ public class CharacterClass {
      * @return The current stress value.
      */
     public float getStress() {
-        return stress; }
+        return pet.getStress(); }
 
     // Setter for stress
     /**
@@ -406,19 +480,15 @@ public class CharacterClass {
      * @param stress The new stress value.
      */
     public void setStress(float stress) {
-        if (stress >= 0.0f && stress <= 100.0f) {
-            this.stress = stress;
-        } else if(stress <= 0.0f){
-            this.stress = 0.0f;
-        } else {
-            this.stress = 100.0f;
-    }}
+        pet.setStress(stress);
+    }
+
     //stress is calculated using the average of the values of the other stats
     /**
      * Determines the character's stress level based on other stats.
      */
     public void determineStress() {
-        setStress((getHappiness()+getHunger()+getSleep()+getHealth())/4.0f);
+        pet.determineStress();
     }
 
     //Inventory Getter
@@ -432,22 +502,7 @@ public class CharacterClass {
      * Updates the character's stats based on time progression and compounding states.
      */
     public void statBarTick(){
-        setHappiness(this.getHappiness() - this.happinessChange);
-        setHunger(this.getHunger() - this.fullnessChange);
-        setStress(this.getStress() - this.stressChange);
-        if (compoundingStates[2]){ //if hungry then health starts going down
-            if (compoundingStates[1]) { // if "hangry" (hungry & angry) then health goes down at double speed
-                setHealth(this.getHealth() - 2.0f*this.healthChange);
-            } else { //case for hungry but not angry
-                setHealth(this.getHealth() - this.healthChange);
-            }
-        }
-        if(isSleeping()){ //when asleep sleep bar goes up at 5 times speed
-            setSleep(this.getSleep() + (5.0f*sleepChange));
-        } else { //if not asleep then sleep will be going down
-            setSleep(this.getSleep() - sleepChange);
-        }
-        determineStress(); //stress is calculated using the average of the values of the other stats
+        pet.statBarTick();
     }
 
     //sets the stat change modifiers based on character type
@@ -457,43 +512,7 @@ public class CharacterClass {
      * @param characterTypeNumber The character type as an integer.
      */
     public void modifyModifiers(int characterTypeNumber){
-        switch (characterTypeNumber){
-            // case 0 == relaxed character type selected, the "default" character
-            case 0:
-                this.healthChange = 0.5f;
-                this.sleepChange = 0.5f;
-                this.happinessChange = 0.5f;
-                this.fullnessChange = 0.5f;
-                break;
-            // case 1 == quirky character type selected, health and sleep go down faster but happiness and hunger go down slower
-            case 1:
-                this.healthChange = 0.75f;
-                this.sleepChange = 0.75f;
-                this.happinessChange = 0.75f;
-                this.fullnessChange = 0.75f;
-                break;
-            // case 2 == hasty character type selected, sleep is twice as fast but happiness and slowness are slower
-            case 2:
-                this.healthChange = 1.0f;
-                this.sleepChange = 1.5f;
-                this.happinessChange = 0.9f;
-                this.fullnessChange = 0.9f;
-                break;
-            // case 3 == brave character type selected, start with a super low health but if you can pull it up then you have a 15% slower tick speed
-            case 3:
-                this.healthChange = 1.25f;
-                this.sleepChange = 1.25f;
-                this.happinessChange = 1.25f;
-                this.fullnessChange = 1.25f;
-                break;
-            // case 4 == serious character type selected, starts you in a rough spot but if you can pull up your stats the reduced tick rate will be crazy useful
-            case 4:
-                this.healthChange = 2f;
-                this.sleepChange = 1.5f;
-                this.happinessChange = 1.5f;
-                this.fullnessChange = 1.5f;
-                break;
-        }
+        pet.modifyModifiers(characterTypeNumber);
     }
 
     //function to set up inventory with each item's relivent image and gift/food indicator
@@ -562,50 +581,7 @@ public class CharacterClass {
             this.inventory[i] = new Item(i,0);
         }
         //take character number and set relivent stats
-        switch (characterNumber) {
-            // case 0 = relaxed character type selected
-            case 0:
-                setHealth(80.0f);
-                setSleep(80.0f);
-                setHappiness(80.0f);
-                setHunger(80.0f);
-                setStress(80.0f);
-                break;
-            // case 1 = quirky character type selected
-            case 1:
-                setHealth(90.0f);
-                setSleep(90.0f);
-                setHappiness(90.0f);
-                setHunger(90.0f);
-                setStress(90.0f);
-                break;
-            // case 2 = hasty character type selected
-            case 2:
-                setHealth(100.0f);
-                setSleep(100.0f);
-                setHappiness(100.0f);
-                setHunger(100.0f);
-                setStress(100.0f);
-                break;
-            // case 3 == brave character type selected
-            case 3:
-                setHealth(10.0f);
-                setSleep(100.0f);
-                setHappiness(100.0f);
-                setHunger(100.0f);
-                setStress(77.5f);
-                break;
-            // case 4 == serious character type selected
-            case 4:
-                setHealth(50.0f);
-                setSleep(50.0f);
-                setHappiness(25.0f);
-                setHunger(25.0f);
-                setStress(37.5f);
-                break;
-            // catch
-            default: throw new IllegalArgumentException("Invalid character index: " + characterNumber);
-        }
+        pet.setUpStats(characterNumber);
         //sets head and body sprites
         setHead(headDetermine());
         setBody(bodyDetermine());
@@ -643,7 +619,7 @@ public class CharacterClass {
     private Image headDetermine() {
         stateDetermine(); // Update the state before determining the head image
 
-        switch (state) {
+        switch (getState()) {
             case DEAD:
                 return characterHeads.get(""); // CHANGE TO DEAD IF/WHEN WE HAVE DEAD HEAD SPRITE
             case SLEEPING:
@@ -688,10 +664,10 @@ public class CharacterClass {
      */
     private Image bodyDetermine() {
         stateDetermine(); // Update the state before determining the body image
-        if (state == State.DEAD){
+        if (getState() == State.DEAD){
             return characterBodies.get("dead");
         }
-        else if (compoundingStates[2]){
+        else if (pet.isHungry()){
             return characterBodies.get("hungry1");
         }
         else{
@@ -705,39 +681,9 @@ public class CharacterClass {
      * Determines the character's state based on its attributes.
      */
     public void stateDetermine() {
-        //Checks if dead, if not dead then move further in if not go into the death sequence
-        if (getHealth() < 1.0f) {
+        pet.stateDetermine();
+        if (pet.isDead()) { // health ran out, go into the death sequence
             killPet();
-        } else {
-            //check if sleeping should be triggered
-            if (getSleep() < 1.0f && !this.compoundingStates[0]) {
-                this.compoundingStates[0] = true;
-                setHealth(Math.max(0.0f, (getHealth()-10.0f)));
-                setScore(Math.max(0,getScore()-100));
-            }
-            //check if angry should be triggered
-            if(getHappiness() < 1.0f && !this.compoundingStates[1]) {
-                this.compoundingStates[1] = true;
-                setScore(Math.max(0,getScore()-50));
-            }
-            //check if hungry should be triggered
-            if(getHunger() < 1.0f && !this.compoundingStates[2]) {
-                this.compoundingStates[2] = true;
-                setScore(Math.max(0,getScore()-50));
-            }
-            //check if sleeping should be stopped
-            if(compoundingStates[0] && getSleep() > 97.5f){
-                this.compoundingStates[0] = false;
-            }
-            //check if angry should be stopped
-            if(compoundingStates[1] && getHappiness() > 45.0f){
-                this.compoundingStates[1] = false;
-            }
-            //check if hungry should be resolved
-            if(compoundingStates[2] && getHunger() > 30.0f){
-                this.compoundingStates[2] = false;
-            }
-            stateEvaluate();
         }
     }
     //Sets state variable to highest priority State
@@ -745,15 +691,7 @@ public class CharacterClass {
      * Evaluates and assigns the highest-priority state to the character.
      */
     public void stateEvaluate(){
-        if (compoundingStates[0]){
-            this.state = State.SLEEPING;
-        } else if (compoundingStates[1]){
-            this.state = State.ANGRY;
-        } else if (compoundingStates[2]) {
-            this.state = State.HUNGRY;
-        } else {
-            this.state = State.NEUTRAL;
-        }
+        pet.stateEvaluate();
     }
     //State Getter
     /**
@@ -761,7 +699,7 @@ public class CharacterClass {
      *
      * @return The {@link State} of the character.
      */
-    public State getState(){ return state;}
+    public State getState(){ return pet.getState();}
 
     //State Setter
     /**
@@ -771,7 +709,7 @@ public class CharacterClass {
      */
     public void setState(State statee)
     {
-        this.state = statee;
+        pet.setState(statee);
     }
 
     //State Animation Loops
@@ -786,7 +724,7 @@ public class CharacterClass {
         //if state variable is set to sleep go into sleep animation loop
         if (getState() == State.SLEEPING) {
             sleepTimer += deltaTime;
-            if (compoundingStates[2]){  //if also hungry set body to hungry
+            if (pet.isHungry()){  //if also hungry set body to hungry
                 setBody(characterBodies.get("hungry1"));
             }
             // Switch between sleep1 and sleep2 every 0.5 seconds
@@ -802,7 +740,7 @@ public class CharacterClass {
             }
         }
         //if state variable is set to hungry go into hungry animation loop
-        else if (compoundingStates[2]){
+        else if (pet.isHungry()){
             hungerTimer += deltaTime;
             if (hungerTimer >= 0.5f) {
                 isHungry1 = !isHungry1; // Toggle sleep state
@@ -823,7 +761,7 @@ public class CharacterClass {
         //if neutral or hungry go into a blinking animation loop
         else{
             blinkTimer += deltaTime;
-            if (blinkTimer >= blinkInterval && !isBlinking && this.state != State.SLEEPING && this.state != State.ANGRY) {
+            if (blinkTimer >= blinkInterval && !isBlinking && getState() != State.SLEEPING && getState() != State.ANGRY) {
                 isBlinking = true;
                 blinkTimer = 0f; // Reset blink interval timer
                 blinkDurationTimer = 0f; // Start blink duration timer
@@ -840,6 +778,28 @@ public class CharacterClass {
         }
     }
 
+    /**
+     * Gets the clock the character's timed animations run on, creating one if the character is
+     * not part of a game session yet.
+     *
+     * @return The simulation clock.
+     */
+    public SimulationClock getClock() {
+        if (clock == null) {
+            clock = new SimulationClock();
+        }
+        return clock;
+    }
+
+    /**
+     * Sets the clock the character's timed animations run on.
+     *
+     * @param clock The simulation clock of the character's game session.
+     */
+    public void setClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+
     //Action Block Check
     /**
      * Checks if the character's actions are currently blocked.
@@ -847,7 +807,7 @@ public class CharacterClass {
      * @return {@code true} if actions are blocked, otherwise {@code false}.
      */
     public boolean actionBlocked(){
-        return actionBlockCooldownRemaining != 0;
+        return pet.actionBlocked();
     }
     //Action Block Setter
     /**
@@ -856,9 +816,7 @@ public class CharacterClass {
      * @param val The duration in seconds.
      */
     public void setActionBlocked(float val){
-        if (actionBlockCooldownRemaining == 0){
-            actionBlockCooldownRemaining = val;
-        }
+        pet.setActionBlocked(val);
     }
     //update action block timer
     /**
@@ -867,9 +825,7 @@ public class CharacterClass {
      * @param deltaTime The time elapsed since the last update, in seconds.
      */
     public void updateActionBlock(float deltaTime) {
-        if (actionBlockCooldownRemaining > 0) {
-            actionBlockCooldownRemaining = Math.max(0, actionBlockCooldownRemaining - deltaTime);
-        }
+        pet.updateActionBlock(deltaTime);
     }
 
     //method to force re-evaluating state, body, and head after a timer
@@ -879,7 +835,7 @@ public class CharacterClass {
      * @param duration The duration in seconds after which to reset the state.
      */
     public void resumeDefaultCharacterState(float duration){
-        Timer.schedule(new Timer.Task() {
+        getClock().schedule(new SimulationClock.Task() {
             @Override
             public void run() {
                 // Reset to the normal head and body
@@ -894,15 +850,7 @@ public class CharacterClass {
      * Sets the character as dead, resetting all attributes to zero and disabling interactions.
      */
     public void killPet(){
-        setHealth(0.0f);
-        setSleep(0.0f);
-        setHunger(0.0f);
-        setStress(0.0f);
-        setHappiness(0.0f);
-        this.state = State.DEAD;
-        compoundingStates[0] = false;
-        compoundingStates[1] = false;
-        compoundingStates[2] = false;
+        pet.killPet();
         setHead(characterHeads.get(""));
         setBody(characterBodies.get("dead"));
     }
@@ -912,20 +860,10 @@ public class CharacterClass {
      * Allows the character to perform an exercise action, updating relevant stats.
      */
     public void exercise(){
-        if(!actionBlocked() && (!compoundingStates[1]) && state != State.SLEEPING && !isDead()) { //check if action is allowed
-            //Update Stats
-            this.fullness = Math.max(0.0f, getHunger() - 5.0f);
-            this.sleep = Math.max(0.0f, getSleep() - 20.0f);
-            if (!compoundingStates[2]) { //if not hungry health goes up by 10
-                this.health = Math.min(100.0f, getHealth() + 5.0f);
-            } else { //for game balencing if exercising while hungry makes the health gained only 5 and the sleep lost 10
-                this.health = Math.min(100.0f, getHealth() + 5.0f);
-                this.sleep = Math.max(0.0f, getSleep() - 10.0f);
-            }
-            stateDetermine(); //state check
-            if (this.getHealth()>1.0f) {
+        if(pet.canExercise()) { //check if action is allowed
+            if (pet.exercise()) { //update stats, which may wear the character out
                 //if exercising forced character to go to sleep exercise body animation play's while head displays character entered sleep
-                if (this.compoundingStates[0]) {
+                if (pet.getCompoundingStates()[PetModel.SLEEPING_INDEX]) {
                     setHead(characterHeads.get("sleep1"));
                 } else {
                     setHead(characterHeads.get("exercise"));
@@ -934,12 +872,12 @@ public class CharacterClass {
                 setBody(characterBodies.get("workout1"));
                 //timers for excercise animation
                 float actionLength = 5.0f;
-                actionBlockCooldownRemaining = (actionLength + 0.5f);
-                Timer.schedule(new Timer.Task() {
+                pet.blockActions(actionLength + 0.5f);
+                getClock().schedule(new SimulationClock.Task() {
                     boolean toggle = true; // Track which body to show
                     @Override
                     public void run() {
-                        if (actionBlockCooldownRemaining < 1) {
+                        if (pet.getActionBlockCooldownRemaining() < 1) {
                             // Stop the task when actions are unblocked (after 5 seconds)
                             this.cancel();
                             return;
@@ -969,19 +907,15 @@ public class CharacterClass {
      * @return {@code true} if the play action was successful, otherwise {@code false}.
      */
     public boolean play(){
-        if(!actionBlocked()){ //check if action is allowed
-            if(!(playCooldownRemaining > 0)){
-                playCooldownRemaining = 30.0f;
-                actionBlockCooldownRemaining = (5f);
-                resumeDefaultCharacterState(1.0f);
-                return true; //return true to let gamescreen know that play method was used and mini-game screen can be pushed
-            } else{ return false;}//return false to let gamescreen know that play method cannot be used and mini-game screen cannot be pushed
+        if(pet.play()){ //check if action is allowed and off cooldown
+            resumeDefaultCharacterState(1.0f);
+            return true; //return true to let gamescreen know that play method was used and mini-game screen can be pushed
         } else{ return false; }//return false to let gamescreen know that play method cannot be used and mini-game screen cannot be pushed
     }
 
     // give this boy some play gah damnit
     public void givePlay(){
-        this.happiness = Math.min(100.0f, getHappiness() + 20.0f);
+        pet.givePlay();
     }
 
     //Take to doctor action
@@ -991,22 +925,22 @@ public class CharacterClass {
      * @return {@code true} if the doctor action was successful, otherwise {@code false}.
      */
     public boolean takeToDoctor(){
-        if(!actionBlocked() && !compoundingStates[1] && (!isDead() || Objects.equals(getName(), "Wiktor"))){ //check if action is allowed or easter egg name
-            if(!(doctorCooldownRemaining > 0)){ //check if on cooldown
-                float actionLength = 8.0f;
-
-                setHead(headDetermine()); // Set normal head
-                setBody(bodyDetermine()); // Set normal body
-
-                doctorCooldownRemaining = 30.0f; // Reset cooldown
-                this.health = Math.min(100.0f, getHealth() + 20.0f);
-                //action block for animation
-                actionBlockCooldownRemaining = (actionLength);
-                //reset sprite post-animation
-                resumeDefaultCharacterState(actionLength);
-                return true; //return true to let gamescreen know that doctor method was used and animation should be played
-            } else { return false; } //return false to let gamescreen know that doctor method was not used and animation should not be played
-        }  else { return false; } //return false to let gamescreen know that doctor method was not used and animation should not be played
+        boolean revive = Objects.equals(getName(), "Wiktor"); // easter egg name
+        if(pet.canTakeToDoctor(revive)){ //check if action is allowed and off cooldown
+            float actionLength = 8.0f;
+
+            setHead(headDetermine()); // Set normal head
+            setBody(bodyDetermine()); // Set normal body
+
+            if (!pet.takeToDoctor(revive)) { // the character died as its state was determined
+                return false;
+            }
+            //action block for animation
+            pet.blockActions(actionLength);
+            //reset sprite post-animation
+            resumeDefaultCharacterState(actionLength);
+            return true; //return true to let gamescreen know that doctor method was used and animation should be played
+        } else { return false; } //return false to let gamescreen know that doctor method was not used and animation should not be played
     }
 
     //cooldown timer update method
@@ -1016,15 +950,10 @@ public class CharacterClass {
      * @param deltaTime The time elapsed since the last update, in seconds.
      */
     public void updateCooldowns(float deltaTime) {
-        if (doctorCooldownRemaining > 0) { //update doctor cooldown
-            doctorCooldownRemaining = Math.max(0, doctorCooldownRemaining - deltaTime);
-        }
-        if (playCooldownRemaining > 0){ //update play cooldown
-            playCooldownRemaining = Math.max(0, playCooldownRemaining - deltaTime);
-        }
+        pet.updateCooldowns(deltaTime); //update doctor and play cooldowns
         if (saveTimer < 30) { //update save cooldown
             saveTimer = Math.min(30, saveTimer + deltaTime);
-        } else { // every 30 seconds, save game
+        } else { // every 30 seconds, save game if anything changed
             mainGame.jsonHandler.saveCharacterToGameSlot(getSlotNumber(), this);
             saveTimer = 0; //reset save timer
         }
@@ -1038,8 +967,8 @@ public class CharacterClass {
      * @param item The item used to feed the character.
      */
     public void feed(Item item){
-        if(!actionBlocked() && !compoundingStates[1] && item.reduceCount() && !isDead() && !isSleeping()){ //check if action is allowed
-            this.fullness = Math.min(100.0f, getHunger() + (item.getItemStatValue()));
+        if(!actionBlocked() && !isAngry() && item.reduceCount() && !isDead() && !isSleeping()){ //check if action is allowed
+            pet.useItem(item.getItemID());
             feedVisual();
         }
     }
@@ -1054,7 +983,7 @@ public class CharacterClass {
             munchSound.play();
             setHead(characterHeads.get("happy"));;
             //update actionBlock
-            actionBlockCooldownRemaining = (actionLength);
+            pet.blockActions(actionLength);
             //reset sprite after action complete
             resumeDefaultCharacterState(actionLength);
         }
@@ -1069,7 +998,7 @@ public class CharacterClass {
     public void giveGift(Item item){
         if(!actionBlocked() && !isDead() && !isSleeping() && item.reduceCount() ){ //check if action is allowed
             //if allowed adjust stats and play effect
-            this.happiness = Math.min(100.0f, getHappiness() + item.getItemStatValue());
+            pet.useItem(item.getItemID());
             giftVisual(item);
 
         }
@@ -1096,7 +1025,7 @@ public class CharacterClass {
             }
             //play sound and set action timer for animation
             quackSound.play();
-            actionBlockCooldownRemaining = (actionLength + 0.5f);
+            pet.blockActions(actionLength + 0.5f);
             //reset sprite after action complete
             resumeDefaultCharacterState(actionLength);
         }
@@ -1107,10 +1036,7 @@ public class CharacterClass {
      * Allows the character to sleep, replenishing sleep levels.
      */
     public void sleep(){
-        if(!actionBlocked() && !compoundingStates[1] && !isDead()) { //if action is allowed set state to sleeping
-            this.compoundingStates[0] = true;
-            this.state = State.SLEEPING;
-        }
+        pet.sleep(); //if action is allowed set state to sleeping
     }
 
     //method to increase count of item at index by 1
@@ -1130,7 +1056,7 @@ public class CharacterClass {
      * @return {@code true} if the character is sleeping, otherwise {@code false}.
      */
     public boolean isSleeping() {
-        return (state == State.SLEEPING);
+        return pet.isSleeping();
     }
     //checks if player is dead
     /**
@@ -1139,7 +1065,7 @@ public class CharacterClass {
      * @return {@code true} if the character is dead, otherwise {@code false}.
      */
     public boolean isDead() {
-        return (state == State.DEAD);
+        return pet.isDead();
     }
     //checks if player is angry
     /**
@@ -1148,7 +1074,7 @@ public class CharacterClass {
      * @return {@code true} if the character is angry, otherwise {@code false}.
      */
     public boolean isAngry() {
-        return compoundingStates[1];
+        return pet.isAngry();
     }
 
     //loads and names sprites used for pet-type selected
@@ -1207,6 +1133,387 @@ public class CharacterClass {
         quackSound = Gdx.audio.newSound(Gdx.files.internal("music/quack-quack.mp3"));
     }
 
+    /**
+     * Checks whether any persisted field, including the inventory counts, changed since the
+     * character was last loaded or saved.
+     *
+     * @return {@code true} if the character needs to be saved, otherwise {@code false}.
+     */
+    public boolean isDirty() {
+        if (pet.isDirty()) {
+            return true;
+        }
+        if (inventory != null) {
+            for (Item item : inventory) {
+                if (item != null && item.isDirty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the character and its inventory as saved, so that {@link #isDirty()} returns
+     * {@code false} until a persisted field changes again.
+     */
+    public void markClean() {
+        pet.markClean();
+        if (inventory != null) {
+            for (Item item : inventory) {
+                if (item != null) {
+                    item.markClean();
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes the character's gameplay state into JSON format. Animation timers,
+     * textures and sounds are not written, nor are cooldowns that have run out.
+     *
+     * @param json The {@link Json} instance to handle serialization.
+     */
+    @Override
+    public void write(Json json) {
+        try {
+            writeJson(json.getWriter());
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    /**
+     * Writes the character's gameplay state into an open JSON object, without going
+     * through reflection. Produces the same fields as {@link #write(Json)}.
+     *
+     * @param writer The writer, positioned inside the character's JSON object.
+     * @throws IOException If the character could not be written.
+     * @see JsonSaveCodec
+     */
+    public void writeJson(JsonWriter writer) throws IOException {
+        writer.name(SaveSchema.VERSION_KEY).value(SaveSchema.CURRENT_VERSION);
+        writer.name("name").value(name);
+        writer.name("slot").value(slot);
+        writer.name("score").value(getScore());
+        writer.name("characterNumber").value(characterNumber);
+        writer.name("characterType").value(characterType);
+        writer.name("state").value(getState() == null ? null : getState().name());
+        writer.name("health").value(getHealth());
+        writer.name("sleep").value(getSleep());
+        writer.name("happiness").value(getHappiness());
+        writer.name("fullness").value(getHunger());
+        writer.name("stress").value(getStress());
+        writer.name("inventory");
+        if (inventory == null) {
+            writer.value(null);
+        } else {
+            writer.array();
+            for (Item item : inventory) {
+                if (item == null) {
+                    writer.value(null);
+                } else {
+                    writer.object();
+                    item.writeJson(writer);
+                    writer.pop();
+                }
+            }
+            writer.pop();
+        }
+        writer.name("compoundingStates");
+        boolean[] compoundingStates = pet.getCompoundingStates();
+        if (compoundingStates == null) {
+            writer.value(null);
+        } else {
+            writer.array();
+            for (boolean compoundingState : compoundingStates) {
+                writer.value(compoundingState);
+            }
+            writer.pop();
+        }
+        if (pet.getDoctorCooldownRemaining() != 0) { // cooldowns are usually over, and read back as 0 when missing
+            writer.name("doctorCooldownRemaining").value(pet.getDoctorCooldownRemaining());
+        }
+        if (pet.getPlayCooldownRemaining() != 0) {
+            writer.name("playCooldownRemaining").value(pet.getPlayCooldownRemaining());
+        }
+    }
+
+    /**
+     * Reads a character written by {@link #writeJson(JsonWriter)} or {@link #write(Json)}.
+     *
+     * @param jsonData The character's JSON object.
+     * @return The character that was read, without any textures loaded.
+     */
+    public static CharacterClass readJson(JsonValue jsonData) {
+        CharacterClass character = new CharacterClass();
+        character.readFields(jsonData);
+        return character;
+    }
+
+    /**
+     * Deserializes the character's gameplay state from JSON data, upgrading it first
+     * if it was saved in an older {@link SaveSchema schema version}.
+     *
+     * @param json     The {@link Json} instance to handle deserialization.
+     * @param jsonData The {@link JsonValue} containing the serialized data.
+     */
+    @Override
+    public void read(Json json, JsonValue jsonData) {
+        readFields(jsonData);
+    }
+
+    /**
+     * Reads the fields of a JSON object into this object, after upgrading the object to the
+     * current schema version.
+     *
+     * @param jsonData The JSON object to read.
+     */
+    private void readFields(JsonValue jsonData) {
+        loadedSchemaVersion = SaveSchema.upgrade(jsonData);
+        name = jsonData.getString("name", name);
+        slot = jsonData.getString("slot", slot);
+        pet.setScore(jsonData.getInt("score", getScore()));
+        characterNumber = jsonData.getInt("characterNumber", characterNumber);
+        characterType = jsonData.getString("characterType", characterType);
+        String stateName = jsonData.getString("state", null);
+        if (stateName != null) {
+            pet.setState(State.valueOf(stateName));
+        }
+        pet.setHealth(jsonData.getFloat("health", getHealth()));
+        pet.setSleep(jsonData.getFloat("sleep", getSleep()));
+        pet.setHappiness(jsonData.getFloat("happiness", getHappiness()));
+        pet.setHunger(jsonData.getFloat("fullness", getHunger()));
+        pet.setStress(jsonData.getFloat("stress", getStress()));
+        JsonValue inventoryData = jsonData.get("inventory");
+        if (inventoryData != null && !inventoryData.isNull()) {
+            inventory = new Item[inventoryData.size];
+            int i = 0;
+            for (JsonValue itemData = inventoryData.child; itemData != null; itemData = itemData.next) {
+                inventory[i++] = itemData.isNull() ? null : Item.readJson(itemData);
+            }
+        }
+        JsonValue compoundingData = jsonData.get("compoundingStates");
+        if (compoundingData != null && !compoundingData.isNull()) {
+            pet.setCompoundingStates(compoundingData.asBooleanArray());
+        }
+        pet.setDoctorCooldownRemaining(jsonData.getFloat("doctorCooldownRemaining", pet.getDoctorCooldownRemaining()));
+        pet.setPlayCooldownRemaining(jsonData.getFloat("playCooldownRemaining", pet.getPlayCooldownRemaining()));
+    }
+
+    /**
+     * Writes the character's gameplay state in the compact binary save format.
+     * Animation timers are not written, they are reset when the character is loaded.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the character could not be written.
+     * @see BinarySaveCodec
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeBoolean(slot != null);
+        if (slot != null) {
+            out.writeUTF(slot);
+        }
+        out.writeInt(getScore());
+        out.writeInt(characterNumber);
+        out.writeUTF(characterType);
+        out.writeByte(getState() == null ? -1 : getState().ordinal());
+        out.writeFloat(getHealth());
+        out.writeFloat(getSleep());
+        out.writeFloat(getHappiness());
+        out.writeFloat(getHunger());
+        out.writeFloat(getStress());
+        out.writeByte(inventory == null ? -1 : inventory.length);
+        if (inventory != null) {
+            for (Item item : inventory) {
+                item.writeBinary(out);
+            }
+        }
+        boolean[] compoundingStates = pet.getCompoundingStates();
+        out.writeByte(compoundingStates == null ? -1 : compoundingStates.length);
+        if (compoundingStates != null) {
+            for (boolean compoundingState : compoundingStates) {
+                out.writeBoolean(compoundingState);
+            }
+        }
+        out.writeFloat(pet.getDoctorCooldownRemaining());
+        out.writeFloat(pet.getPlayCooldownRemaining());
+    }
+
+    /**
+     * Reads a character written by {@link #writeBinary(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @return The character that was read, without any textures loaded.
+     * @throws IOException If the character could not be read.
+     */
+    public static CharacterClass readBinary(DataInput in) throws IOException {
+        String name = in.readUTF();
+        String slot = in.readBoolean() ? in.readUTF() : null;
+        int score = in.readInt();
+        int characterNumber = in.readInt();
+        String characterType = in.readUTF();
+
+        CharacterClass character = new CharacterClass(name, characterNumber, characterType);
+        character.slot = slot;
+        PetModel pet = character.pet;
+        pet.setScore(score);
+        int stateOrdinal = in.readByte();
+        pet.setState(stateOrdinal < 0 ? null : State.values()[stateOrdinal]);
+        pet.setHealth(in.readFloat());
+        pet.setSleep(in.readFloat());
+        pet.setHappiness(in.readFloat());
+        pet.setHunger(in.readFloat());
+        pet.setStress(in.readFloat());
+        int inventoryLength = in.readByte();
+        if (inventoryLength >= 0) {
+            character.inventory = new Item[inventoryLength];
+            for (int i = 0; i < inventoryLength; i++) {
+                character.inventory[i] = Item.readBinary(in);
+            }
+        }
+        int compoundingLength = in.readByte();
+        if (compoundingLength >= 0) {
+            boolean[] compoundingStates = new boolean[compoundingLength];
+            for (int i = 0; i < compoundingLength; i++) {
+                compoundingStates[i] = in.readBoolean();
+            }
+            pet.setCompoundingStates(compoundingStates);
+        }
+        pet.setDoctorCooldownRemaining(in.readFloat());
+        pet.setPlayCooldownRemaining(in.readFloat());
+        return character;
+    }
+
+    /**
+     * Checks whether the character's gameplay state fits in a fixed-size record, which holds
+     * at most {@value #RECORD_INVENTORY_SIZE} items and {@value #RECORD_COMPOUNDING_SIZE} compounding states.
+     *
+     * @return {@code true} if {@link #writeRecord(ByteBuffer)} can write this character, otherwise {@code false}.
+     * @see MappedSlotFile
+     */
+    public boolean fitsRecord() {
+        if (inventory != null) {
+            if (inventory.length > RECORD_INVENTORY_SIZE) {
+                return false;
+            }
+            for (Item item : inventory) {
+                if (item == null) {
+                    return false;
+                }
+            }
+        }
+        return pet.getCompoundingStates() == null || pet.getCompoundingStates().length <= RECORD_COMPOUNDING_SIZE;
+    }
+
+    /**
+     * Writes the fields that never change after a character is created, which are kept
+     * apart from its fixed-size record.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the fields could not be written.
+     * @see #readRecord(DataInput, ByteBuffer)
+     */
+    public void writeRecordIdentity(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeBoolean(slot != null);
+        if (slot != null) {
+            out.writeUTF(slot);
+        }
+        out.writeInt(characterNumber);
+        out.writeUTF(characterType);
+    }
+
+    /**
+     * Writes the character's gameplay state as exactly {@value #RECORD_SIZE} bytes, starting at
+     * the buffer's position. Unused inventory entries are zero-filled so every record has the same size.
+     *
+     * @param record The buffer to write to, with at least {@value #RECORD_SIZE} bytes remaining.
+     * @throws IllegalStateException If the character does not {@link #fitsRecord() fit in a record}.
+     */
+    public void writeRecord(ByteBuffer record) {
+        if (!fitsRecord()) {
+            throw new IllegalStateException("Character " + name + " does not fit in a fixed-size record");
+        }
+        record.putFloat(getHealth());
+        record.putFloat(getSleep());
+        record.putFloat(getHappiness());
+        record.putFloat(getHunger());
+        record.putFloat(getStress());
+        record.putInt(getScore());
+        record.putFloat(pet.getDoctorCooldownRemaining());
+        record.putFloat(pet.getPlayCooldownRemaining());
+        record.put((byte) (getState() == null ? -1 : getState().ordinal()));
+        boolean[] compoundingStates = pet.getCompoundingStates();
+        int compoundingBits = 0;
+        if (compoundingStates != null) {
+            for (int i = 0; i < compoundingStates.length; i++) {
+                if (compoundingStates[i]) {
+                    compoundingBits |= 1 << i;
+                }
+            }
+        }
+        record.put((byte) (compoundingStates == null ? -1 : compoundingStates.length));
+        record.put((byte) compoundingBits);
+        record.put((byte) (inventory == null ? -1 : inventory.length));
+        for (int i = 0; i < RECORD_INVENTORY_SIZE; i++) {
+            boolean present = inventory != null && i < inventory.length;
+            record.putInt(present ? inventory[i].getItemID() : 0);
+            record.putInt(present ? inventory[i].getItemCount() : 0);
+        }
+    }
+
+    /**
+     * Reads a character written by {@link #writeRecordIdentity(DataOutput)} and {@link #writeRecord(ByteBuffer)}.
+     *
+     * @param identity The stream holding the character's identity.
+     * @param record   The buffer holding the character's record, positioned at its start.
+     * @return The character that was read, without any textures loaded.
+     * @throws IOException If the identity could not be read.
+     */
+    public static CharacterClass readRecord(DataInput identity, ByteBuffer record) throws IOException {
+        String name = identity.readUTF();
+        String slot = identity.readBoolean() ? identity.readUTF() : null;
+        int characterNumber = identity.readInt();
+        String characterType = identity.readUTF();
+
+        CharacterClass character = new CharacterClass(name, characterNumber, characterType);
+        character.slot = slot;
+        PetModel pet = character.pet;
+        pet.setHealth(record.getFloat());
+        pet.setSleep(record.getFloat());
+        pet.setHappiness(record.getFloat());
+        pet.setHunger(record.getFloat());
+        pet.setStress(record.getFloat());
+        pet.setScore(record.getInt());
+        pet.setDoctorCooldownRemaining(record.getFloat());
+        pet.setPlayCooldownRemaining(record.getFloat());
+        int stateOrdinal = record.get();
+        pet.setState(stateOrdinal < 0 ? null : State.values()[stateOrdinal]);
+        int compoundingLength = record.get();
+        int compoundingBits = record.get();
+        if (compoundingLength >= 0) {
+            boolean[] compoundingStates = new boolean[compoundingLength];
+            for (int i = 0; i < compoundingLength; i++) {
+                compoundingStates[i] = (compoundingBits & (1 << i)) != 0;
+            }
+            pet.setCompoundingStates(compoundingStates);
+        }
+        int inventoryLength = record.get();
+        if (inventoryLength >= 0) {
+            character.inventory = new Item[inventoryLength];
+        }
+        for (int i = 0; i < RECORD_INVENTORY_SIZE; i++) {
+            int itemId = record.getInt();
+            int itemCount = record.getInt();
+            if (i < inventoryLength) {
+                character.inventory[i] = new Item(itemId, itemCount);
+            }
+        }
+        return character;
+    }
+
     //dispose method for textures
     /**
      * Disposes of textures, images, and other resources used by the character.
@@ -0,0 +1,73 @@
+package com.kaobells.group44;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code Database} class serves as a container for game data, including
+ * game slots, character definitions, and parental controls.
+ *
+ * This class provides methods for managing data persistence and ensures that
+ * all fields are initialized to prevent null references.
+ *
+ * @author group44
+ * @version 1.0
+ * @see JsonHandler
+ */
+class Database {
+
+    /** Map representing game slots and their associated data. */
+    public HashMap<String, HashMap<String, Object>> games;
+
+    /** Map of available character classes and their attributes. */
+    public HashMap<String, CharacterClass> characters;
+
+    /** Parental controls data, such as playtime limits and password settings. */
+    public ParentalControls parentalControls; // Field for "Parental Controls"
+
+    /** Flag indicating whether a parental control password has been set. */
+    private boolean isPasswordSet;
+
+    /**
+     * Constructs a new {@code Database} instance and initializes all fields.
+     * Constructor for initializing fields if null
+     */
+    public Database() {
+        games = new HashMap<>();
+        characters = new HashMap<>();
+        parentalControls = new ParentalControls();
+    }
+
+    /**
+     * Creates a deep copy of one game slot that shares no mutable state with the
+     * database, so it can be serialized on another thread while the game keeps running.
+     *
+     * @param slotId The ID of the game slot to copy.
+     * @return An independent snapshot of the slot, or {@code null} if the slot does not exist.
+     */
+    public HashMap<String, Object> snapshotSlot(String slotId) {
+        HashMap<String, Object> slot = games.get(slotId);
+        if (slot == null) {
+            return null;
+        }
+        HashMap<String, Object> slotCopy = new HashMap<>();
+        for (Map.Entry<String, Object> slotEntry : slot.entrySet()) {
+            Object value = slotEntry.getValue();
+            if (value instanceof CharacterClass) {
+                value = ((CharacterClass) value).snapshot();
+            }
+            slotCopy.put(slotEntry.getKey(), value);
+        }
+        return slotCopy;
+    }
+
+    /**
+     * Creates a copy of the parental controls, safe to serialize on another thread.
+     *
+     * @return An independent snapshot of the parental controls.
+     */
+    public ParentalControls snapshotParentalControls() {
+        return parentalControls.copy();
+    }
+
+}
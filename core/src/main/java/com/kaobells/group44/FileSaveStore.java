@@ -0,0 +1,247 @@
+package com.kaobells.group44;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code FileSaveStore} class keeps every entry of a {@link SaveStore} in its own file,
+ * named after the entry, in the save directory.
+ *
+ * <p>Writes are made durable by appending them to a {@link SaveJournal} rather than rewriting
+ * the files, so a save costs one append. The newest contents of every file written since the
+ * last checkpoint are also held in memory; {@link #checkpoint()} atomically rewrites those
+ * files and empties the journal. Updates left in the journal by a crash are written to their
+ * files when the store is opened.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see AtomicFileWriter
+ */
+public class FileSaveStore implements SaveStore {
+
+    /** Name of the write-ahead journal inside the save directory. */
+    static final String JOURNAL_FILE = "journal.log";
+
+    /** Journal size, in bytes, above which pending updates are worth checkpointing into the files. */
+    private static final long CHECKPOINT_THRESHOLD = 64 * 1024;
+
+    /** Suffix of the temporary files {@link AtomicFileWriter} writes before renaming them, which are not entries. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /** The save directory holding one file per entry. */
+    private final File directory;
+
+    /** Write-ahead journal of the updates not yet checkpointed, or {@code null} if the store is read-only. */
+    private final SaveJournal journal;
+
+    /**
+     * Newest contents of each file that are only in the journal so far, keyed by entry name,
+     * with {@code null} for a deleted entry. Written by the writing thread; read by any thread.
+     */
+    private final Map<String, byte[]> uncheckpointed = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Opens the store in a save directory. Unless it is read-only, any update a crash left in the
+     * journal is written to its file first; a read-only store only reads the journal, which is
+     * left to the process writing the store.
+     *
+     * @param directory The save directory, created if it does not exist yet.
+     * @param readOnly  {@code true} to only read the store, {@code false} to write it too.
+     * @throws IOException If the journal could not be opened or replayed.
+     */
+    public FileSaveStore(File directory, boolean readOnly) throws IOException {
+        this.directory = directory;
+        File journalFile = new File(directory, JOURNAL_FILE);
+        if (readOnly) {
+            journal = null;
+            uncheckpointed.putAll(SaveJournal.read(journalFile));
+            return;
+        }
+        journal = new SaveJournal(journalFile);
+        LinkedHashMap<String, byte[]> updates = journal.replay();
+        writeFiles(updates);
+        AtomicFileWriter.syncDirectory(directory); // the renames must be on disk before the journal is dropped
+        journal.reset();
+        if (!updates.isEmpty()) {
+            System.out.println("Recovered " + updates.size() + " save file(s) from the journal.");
+        }
+    }
+
+    /**
+     * Checks whether a save directory holds a file store, which every version of the game that
+     * journals its saves has created.
+     *
+     * @param directory The save directory.
+     * @return {@code true} if the directory has a save journal, {@code false} otherwise.
+     */
+    public static boolean exists(File directory) {
+        return new File(directory, JOURNAL_FILE).exists();
+    }
+
+    /**
+     * Reads the newest contents of an entry, from memory if they have not been checkpointed yet.
+     *
+     * @param name The name of the entry.
+     * @return The contents, or {@code null} if there is no such entry.
+     * @throws IOException If the entry's file could not be read.
+     */
+    @Override
+    public byte[] read(String name) throws IOException {
+        synchronized (uncheckpointed) {
+            if (uncheckpointed.containsKey(name)) {
+                return uncheckpointed.get(name);
+            }
+        }
+        // checkpoints write the files before forgetting their contents, so the file is the newest copy
+        File file = new File(directory, name);
+        return file.isFile() ? Files.readAllBytes(file.toPath()) : null;
+    }
+
+    /**
+     * Lists every file in the save directory, other than the journal and temporary files, along
+     * with the entries only written to the journal so far. Entries are not told apart from other
+     * files kept in the directory, such as the save lock, which callers must skip.
+     *
+     * @return The entry names.
+     */
+    @Override
+    public Set<String> list() {
+        Set<String> names = new HashSet<>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (file.isFile() && !name.equals(JOURNAL_FILE) && !name.endsWith(TEMP_SUFFIX)) {
+                    names.add(name);
+                }
+            }
+        }
+        synchronized (uncheckpointed) {
+            for (Map.Entry<String, byte[]> update : uncheckpointed.entrySet()) {
+                if (update.getValue() != null) {
+                    names.add(update.getKey());
+                } else {
+                    names.remove(update.getKey());
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Appends a new version of an entry to the journal; its file is rewritten at the next checkpoint.
+     *
+     * @param name The name of the entry.
+     * @param data The new contents.
+     * @throws IOException If the update could not be journaled, or the store is read-only.
+     */
+    @Override
+    public synchronized void write(String name, byte[] data) throws IOException {
+        requireWritable();
+        journal.append(name, data);
+        uncheckpointed.put(name, data);
+    }
+
+    /**
+     * Appends several updates to the journal as a single batch record.
+     *
+     * @param entries The new contents of each entry, keyed by name; {@code null} deletes the entry.
+     * @throws IOException If the updates could not be journaled, or the store is read-only.
+     */
+    @Override
+    public synchronized void writeAll(Map<String, byte[]> entries) throws IOException {
+        requireWritable();
+        journal.appendAll(entries);
+        uncheckpointed.putAll(entries);
+    }
+
+    /**
+     * Checks whether the journal has grown past {@value #CHECKPOINT_THRESHOLD} bytes.
+     *
+     * @return {@code true} if the store should be checkpointed, {@code false} otherwise.
+     * @throws IOException If the journal's size could not be read.
+     */
+    @Override
+    public boolean needsCheckpoint() throws IOException {
+        return journal != null && journal.size() >= CHECKPOINT_THRESHOLD;
+    }
+
+    /**
+     * Atomically rewrites every file that is only up to date in the journal, syncs the save
+     * directory so the renames are durable, then empties the journal.
+     *
+     * @throws IOException If a file could not be written.
+     */
+    @Override
+    public synchronized void checkpoint() throws IOException {
+        requireWritable();
+        LinkedHashMap<String, byte[]> updates;
+        synchronized (uncheckpointed) {
+            updates = new LinkedHashMap<>(uncheckpointed);
+        }
+        writeFiles(updates);
+        AtomicFileWriter.syncDirectory(directory); // the renames must be on disk before the journal is dropped
+        uncheckpointed.clear(); // only once every file is written, so a reader always finds the newest data
+        journal.reset();
+    }
+
+    /**
+     * Stamps the journal, which grows on every write, and the save directory, whose modification
+     * time changes whenever a checkpoint renames a file into place.
+     *
+     * @return The stamp.
+     */
+    @Override
+    public long stamp() {
+        File journalFile = new File(directory, JOURNAL_FILE);
+        long stamp = journalFile.length();
+        stamp = stamp * 31 + journalFile.lastModified();
+        return stamp * 31 + directory.lastModified();
+    }
+
+    /**
+     * Closes the journal, leaving any update still in it to be checkpointed when the store is next opened.
+     *
+     * @throws IOException If the journal could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Writes or deletes the files of several entries.
+     *
+     * @param updates The new contents of each entry, keyed by name; {@code null} deletes its file.
+     * @throws IOException If a file could not be written.
+     */
+    private void writeFiles(Map<String, byte[]> updates) throws IOException {
+        for (Map.Entry<String, byte[]> update : updates.entrySet()) {
+            File file = new File(directory, update.getKey());
+            if (update.getValue() == null) {
+                Files.deleteIfExists(file.toPath());
+            } else {
+                AtomicFileWriter.write(file, update.getValue());
+            }
+        }
+    }
+
+    /**
+     * Ensures the store may be written.
+     *
+     * @throws IOException If the store is read-only.
+     */
+    private void requireWritable() throws IOException {
+        if (journal == null) {
+            throw new IOException("Save store in " + directory + " is open read-only");
+        }
+    }
+}
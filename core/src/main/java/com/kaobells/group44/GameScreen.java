@@ -17,7 +17,6 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.badlogic.gdx.utils.Timer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -101,11 +100,35 @@ public class GameScreen extends ScreenAdapter{
     /** Interval for updating the head and body images, in seconds. */
     private final float headBodyUpdateInterval = 0.1f;
 
-    /** Timer for updating the score display. */
-    private float scoreUpdateTimer = 0f;
+    /** Names of the stat bars, in the order their values are kept in {@link #previousStats} and {@link #currentStats}. */
+    private static final String[] STAT_BARS = {"fullnessBar", "happinessBar", "healthBar", "sleepBar", "stressBar"};
 
-    /** Interval for updating the score display, in seconds. */
-    private final float scoreUpdateInterval = 1f;
+    /** Seconds of simulated time between two stat ticks. */
+    private static final float STAT_TICK_INTERVAL = 1f;
+
+    /** Stat values the bars were drawn with when the last stat tick ran, in the order of {@link #STAT_BARS}. */
+    private final float[] previousStats = new float[STAT_BARS.length];
+
+    /** Stat values right after the last stat tick, in the order of {@link #STAT_BARS}. */
+    private final float[] currentStats = new float[STAT_BARS.length];
+
+    /** Stat values each bar was last drawn with, so bars that have not moved are left alone. */
+    private final float[] shownStats = new float[STAT_BARS.length];
+
+    /** Simulated time of the last stat tick, in seconds. */
+    private float lastStatTick;
+
+    /** Task updating the score, inventory and stats once per second of simulated time. */
+    private final SimulationClock.Task scoreUpdateTask = new SimulationClock.Task() {
+        @Override
+        public void run() {
+            handleScoreAndStatUpdates();
+            // the bars glide from where they are drawn now to the new stats over the next tick
+            System.arraycopy(shownStats, 0, previousStats, 0, shownStats.length);
+            captureStats();
+            lastStatTick = session.clock.getTime();
+        }
+    };
 
     /** Counter for tracking the number of gifts. */
     private int giftCounter = 0;
@@ -140,6 +163,11 @@ public class GameScreen extends ScreenAdapter{
         loadImageButtons();
         createUI();
 
+        captureStats();
+        System.arraycopy(currentStats, 0, previousStats, 0, currentStats.length);
+        System.arraycopy(currentStats, 0, shownStats, 0, currentStats.length);
+        lastStatTick = session.clock.getTime();
+        session.clock.schedule(scoreUpdateTask, STAT_TICK_INTERVAL, STAT_TICK_INTERVAL);
     }
 
     @Override
@@ -208,6 +236,9 @@ public class GameScreen extends ScreenAdapter{
         if (Objects.equals(session.character.getName(), "servos")){
             mainGame.sendError("Love and prosperity from the republic of servos. Carry on my legacy");
         }
+        if (mainGame.jsonHandler.isReadOnly()) {
+            mainGame.sendError("The game is already open somewhere else, progress will not be saved");
+        }
 
     }
 
@@ -371,7 +402,10 @@ public class GameScreen extends ScreenAdapter{
                     @SuppressWarnings("unchecked")
                     Container<Image> barForegroundContainer = (Container<Image>) container;
 
-                    barForegroundContainer.setActor(getStatBarColor(currentValue));
+                    // bars are redrawn every frame while they move, so only swap the image when the colour changes
+                    if (barForegroundContainer.getActor().getDrawable() != getStatBarDrawable(currentValue)) {
+                        barForegroundContainer.setActor(getStatBarColor(currentValue));
+                    }
 
                     float maxBarWidth = (viewport.getWorldHeight() * 0.166f); // Maximum width of the bar
 
@@ -398,17 +432,28 @@ public class GameScreen extends ScreenAdapter{
      * @return An {@link Image} representing the foreground color of the stat bar.
      */
     public Image getStatBarColor(float currentValue) {
+        Drawable drawable = getStatBarDrawable(currentValue);
+        return drawable != null ? new Image(drawable) : null;
+    }
+
+    /**
+     * Determines the coloured bar drawable matching a stat value.
+     *
+     * @param currentValue The current value of the stat (0-100).
+     * @return The drawable of the bar's colour, or {@code null} if the value is out of range.
+     */
+    private Drawable getStatBarDrawable(float currentValue) {
         if (currentValue >= 0.0f && currentValue <= 100.0f) {
             if (currentValue >= 80.0f) {
-                return new Image(drawables.get("greenBar"));
+                return drawables.get("greenBar");
             } else if (currentValue >= 60.0f) {
-                return new Image(drawables.get("grellowBar"));
+                return drawables.get("grellowBar");
             } else if (currentValue >= 40.0f) {
-                return new Image(drawables.get("yellowBar"));
+                return drawables.get("yellowBar");
             } else if (currentValue >= 20.0f) {
-                return new Image(drawables.get("orangeBar"));
+                return drawables.get("orangeBar");
             } else {
-                return new Image(drawables.get("redBar"));
+                return drawables.get("redBar");
             }
         }
         return null;
@@ -844,9 +889,8 @@ public class GameScreen extends ScreenAdapter{
         saveButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                // Save the character and update parental stats
-                mainGame.jsonHandler.saveCharacterToGameSlot(session.character.getSlotNumber(), session.character);
-                session.updateParentalStats();
+                // Save the character and update parental stats together
+                session.saveSession();
 
                 // Create the success box image
                 Image successBox = new Image(new TextureRegionDrawable(textures.get("saveSucc")));
@@ -925,48 +969,77 @@ public class GameScreen extends ScreenAdapter{
     }
 
     /**
-     * Periodically updates the score, inventory, and stat bars.
-     *
-     * @param deltaTime The time elapsed since the last frame in seconds.
+     * Updates the score, inventory, and stats, once per second of simulated time. The stat bars
+     * then glide to the new stats over the next second.
      */
-    private void handleScoreAndStatUpdates(float deltaTime) {
-        scoreUpdateTimer += deltaTime;
-
-        if (scoreUpdateTimer >= scoreUpdateInterval) {
-            scoreUpdateTimer = 0; // Reset timer
-
-            // Update stat bars
-            session.character.statBarTick();
-            updateStatBar("fullnessBar", session.character.getHunger());
-            updateStatBar("happinessBar", session.character.getHappiness());
-            updateStatBar("healthBar", session.character.getHealth());
-            updateStatBar("sleepBar", session.character.getSleep());
-            updateStatBar("stressBar", session.character.getStress());
-            giftCounter++;
-
-            // Update score
-            Label scoreLabel = (Label) images.get("Score");
-            if(!session.character.isDead()) {
+    private void handleScoreAndStatUpdates() {
+        // Update stats
+        session.character.statBarTick();
+        giftCounter++;
+
+        // Update score
+        Label scoreLabel = (Label) images.get("Score");
+        if(!session.character.isDead()) {
+            session.character.incrementScore();
+            if((int)session.character.getStress() > 50){
                 session.character.incrementScore();
-                if((int)session.character.getStress() > 50){
-                    session.character.incrementScore();
-                }
-            }
-            else{
-                generateGameOver();
             }
-            scoreLabel.setText("Score: " + session.character.getScore());
+        }
+        else{
+            generateGameOver();
+        }
+        scoreLabel.setText("Score: " + session.character.getScore());
 
-            // Gain random item every min
-            if (giftCounter > 30) {
-                session.character.gainItem((int) (Math.random() * 6));
-                giftCounter = 0;
-            }
+        // Gain random item every min
+        if (giftCounter > 30) {
+            session.character.gainItem((int) (Math.random() * 6));
+            giftCounter = 0;
+        }
+
+        // sneaking inventory count updating in here
+        for (int i=0; i < session.character.getInventory().length; i++){
+            Label invLabel = (Label) images.get("inv"+i);
+            invLabel.setText(session.character.getInventory()[i].getItemCount());
+        }
+    }
+
+    /**
+     * Advances the character by one fixed simulation step.
+     */
+    private void step() {
+        session.character.updateCharacter(SimulationClock.STEP);
+
+        // Update cooldowns
+        session.character.updateCooldowns(SimulationClock.STEP);
+        session.character.updateActionBlock(SimulationClock.STEP);
+    }
+
+    /**
+     * Records the character's current stats, in the order of {@link #STAT_BARS}.
+     */
+    private void captureStats() {
+        currentStats[0] = session.character.getHunger();
+        currentStats[1] = session.character.getHappiness();
+        currentStats[2] = session.character.getHealth();
+        currentStats[3] = session.character.getSleep();
+        currentStats[4] = session.character.getStress();
+    }
 
-            // sneaking inventory count updating in here
-            for (int i=0; i < session.character.getInventory().length; i++){
-                Label invLabel = (Label) images.get("inv"+i);
-                invLabel.setText(session.character.getInventory()[i].getItemCount());
+    /**
+     * Draws the stat bars between the values they had at the last stat tick and the stats that
+     * tick left, so they move smoothly over the whole second instead of jumping once per tick.
+     * The bars show the stats up to one tick late; changes made by actions between ticks are
+     * picked up by the next tick.
+     *
+     * @param time The simulated time the frame is drawn at, in seconds, between steps.
+     */
+    private void updateStatBars(float time) {
+        float alpha = Math.min(Math.max((time - lastStatTick) / STAT_TICK_INTERVAL, 0), 1);
+        for (int i = 0; i < STAT_BARS.length; i++) {
+            float value = previousStats[i] + (currentStats[i] - previousStats[i]) * alpha;
+            if (value != shownStats[i]) {
+                updateStatBar(STAT_BARS[i], value);
+                shownStats[i] = value;
             }
         }
     }
@@ -1022,14 +1095,11 @@ public class GameScreen extends ScreenAdapter{
     public void render(float delta) {
         float deltaTime = Gdx.graphics.getDeltaTime();
 
-        session.character.updateCharacter(deltaTime);
-
-        // Update cooldowns
-        session.character.updateCooldowns(deltaTime);
-        session.character.updateActionBlock(deltaTime);
+        // Simulate in fixed steps, however long the frame took
+        session.clock.advance(deltaTime, this::step);
 
         // Call separate functions for periodic updates
-        handleScoreAndStatUpdates(deltaTime);
+        updateStatBars(session.clock.getTime() + session.clock.getAlpha() * SimulationClock.STEP);
         handleHeadAndBodyUpdates(deltaTime);
 
         // Clear the screen
@@ -1061,6 +1131,8 @@ public class GameScreen extends ScreenAdapter{
      */
     @Override
     public void dispose() {
+        session.clock.clear();
+        session.character.markSimulated(); // it may be loaded again from memory
         session.character.dispose();
         session.character = null;
 
@@ -1128,20 +1200,17 @@ public class GameScreen extends ScreenAdapter{
                         return true;
                     }
                     if (keycode == Input.Keys.ESCAPE) {
-                        mainGame.jsonHandler.saveCharacterToGameSlot(session.character.getSlotNumber(), session.character);
-                        session.updateParentalStats();
+                        session.saveSession();
                         mainGame.popScreen();
                         return true;
                     }
                     if (keycode == Input.Keys.BACKSPACE) {
-                        mainGame.jsonHandler.saveCharacterToGameSlot(session.character.getSlotNumber(), session.character);
-                        session.updateParentalStats();
+                        session.saveSession();
                         mainGame.popScreen();
                         return true;
                     }
                     if (keycode == Input.Keys.M && session.character.isDead()){
-                        mainGame.jsonHandler.saveCharacterToGameSlot(session.character.getSlotNumber(), session.character);
-                        session.updateParentalStats();
+                        session.saveSession();
                         mainGame.popScreen();
                         return true;
                     }
@@ -19,6 +19,9 @@ public class GameSession {
     /** The character associated with the current session. */
     CharacterClass character;
 
+    /** Clock the session is simulated on, in fixed steps independent of the frame rate. */
+    final SimulationClock clock = new SimulationClock();
+
     /** The time the session started. */
     private LocalTime startTime;
 
@@ -64,6 +67,7 @@ public class GameSession {
     public GameSession(CharacterClass charc, Main game){
         this.mainGame = game;
         this.character = charc;
+        this.character.setClock(clock);
         this.startTime = LocalTime.now();
         this.currentDay = LocalDate.now().getDayOfWeek();
         this.morningParentBlock = mainGame.jsonHandler.getParentalControlBoolean("morningParentBlock");
@@ -90,40 +94,35 @@ public class GameSession {
         */
         if(morningParentBlock){
             if(LocalTime.now().isAfter(LocalTime.of(5,59)) && LocalTime.now().isBefore(LocalTime.of(12,0))){
-                this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
-                mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+                cancelSessionCount();
                 return true;
             }
         }
 
         if(afternoonParentBlock){
             if(LocalTime.now().isAfter(LocalTime.of(11,59)) && LocalTime.now().isBefore(LocalTime.of(20,1))){
-                this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
-                mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+                cancelSessionCount();
                 return true;
             }
         }
 
         if(eveningParentBlock){
             if(LocalTime.now().isAfter(LocalTime.of(20,0))|| LocalTime.now().isBefore(LocalTime.of(6,0))){
-                this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
-                mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+                cancelSessionCount();
                 return true;
             }
         }
 
         if(weekendParentBlock){
             if(currentDay == DayOfWeek.FRIDAY || currentDay == DayOfWeek.SATURDAY || currentDay == DayOfWeek.SUNDAY){
-                this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
-                mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+                cancelSessionCount();
                 return true;
             }
         }
 
         if(weekdayParentBlock){
             if(currentDay != DayOfWeek.FRIDAY && currentDay != DayOfWeek.SATURDAY && currentDay != DayOfWeek.SUNDAY){
-                this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
-                mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+                cancelSessionCount();
                 return true;
             }
         }
@@ -131,9 +130,17 @@ public class GameSession {
         return false;
     }
 
+    /**
+     * Takes back the session counted by the constructor, since a blocked session does not count.
+     */
+    private void cancelSessionCount(){
+        this.sessionsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSessionsPlayed") - 1;
+        mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", sessionsPlayed);
+    }
+
     /**
      * Updates parental statistics in the database, such as total playtime
-     * and average playtime per session.
+     * and average playtime per session, as a single save.
      *
      * <p>Typically called when saving the game.</p>
      */
@@ -141,9 +148,22 @@ public class GameSession {
         //create values
         int oldTotalSecondsPlayed = mainGame.jsonHandler.getParentalControlInt("totalSecondsPlayed"); //to be replaced by call to JSON
         int newTotalSecondsPlayed = oldTotalSecondsPlayed + getSecondsPlayedThisSession();
-        //write new stats to JSON
-        mainGame.jsonHandler.setParentalControlInt("totalSecondsPlayed",newTotalSecondsPlayed);
-        mainGame.jsonHandler.setParentalControlInt("averagePlaytimePerSession",(newTotalSecondsPlayed/sessionsPlayed));
+        //write new stats to JSON in one save
+        mainGame.jsonHandler.update(() -> {
+            mainGame.jsonHandler.setParentalControlInt("totalSecondsPlayed",newTotalSecondsPlayed);
+            mainGame.jsonHandler.setParentalControlInt("averagePlaytimePerSession",(newTotalSecondsPlayed/sessionsPlayed));
+        });
+    }
+
+    /**
+     * Saves the session's character together with the updated parental statistics,
+     * as a single save.
+     */
+    public void saveSession(){
+        mainGame.jsonHandler.update(() -> {
+            mainGame.jsonHandler.saveCharacterToGameSlot(character.getSlotNumber(), character);
+            updateParentalStats();
+        });
     }
 
     /**
@@ -22,16 +22,19 @@ import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.kaobells.group44.Main;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * The {@code GameSlots} class manages the screen for selecting,
  * loading, reviving, or starting a new game based on save slots.
  *
- * <p>It displays the available slots and their respective states
+ * <p>It displays the available slots a page at a time with their respective states
  * (empty, alive, or dead) and provides appropriate actions based
- * on the selected slot and the current screen mode.</p>
+ * on the selected slot and the current screen mode. Only the summaries of the
+ * slots on the current page are read.</p>
  *
  * @author group 44
  * @version 1.0
@@ -62,6 +65,24 @@ public class GameSlots  extends ScreenAdapter {
     /** Label style used for displaying names. */
     Label.LabelStyle nameLabelStyle;
 
+    /** Number of slots shown on each page of the slot browser. */
+    private static final int SLOTS_PER_PAGE = 3;
+
+    /** Minimum number of slots shown, even when fewer have been saved. */
+    private static final int MIN_SLOTS = 3;
+
+    /** Index of the page of slots currently shown. */
+    private int page;
+
+    /** Container holding the slots of the current page, refilled when the page changes. */
+    private Table slotContainer;
+
+    /** Label showing the current page and the number of pages. */
+    private Label pageLabel;
+
+    /** Table for displaying error messages. */
+    private final Table error;
+
 
     /**
      * Constructs a new {@code GameSlots} screen.
@@ -88,6 +109,7 @@ public class GameSlots  extends ScreenAdapter {
         viewport = mainGame.getViewport();
 
         backButton = mainGame.getBackButton();
+        error = mainGame.getErrorMessage();
         stage = new Stage(viewport, spriteBatch);
 
         setLabels();
@@ -103,6 +125,7 @@ public class GameSlots  extends ScreenAdapter {
         super.show();
         setStage(); // Reset input processor
         stage.addActor(backButton);
+        stage.addActor(error);
     }
 
     /**
@@ -136,9 +159,16 @@ public class GameSlots  extends ScreenAdapter {
         textTable.center();
         table.add(textTable).row();
 
-        Table slotTable = slotTable();
-        slotTable.center();
-        table.add(slotTable).padTop(viewport.getWorldHeight() * 0.05f).padBottom(viewport.getWorldHeight() * 0.04f).row();
+        slotContainer = new Table();
+        slotContainer.center();
+        showPage(0);
+        table.add(slotContainer).padTop(viewport.getWorldHeight() * 0.05f).padBottom(viewport.getWorldHeight() * 0.02f).row();
+
+        if (getPageCount() > 1) {
+            Table pageTable = pageTable();
+            pageTable.center();
+            table.add(pageTable).padBottom(viewport.getWorldHeight() * 0.02f).row();
+        }
 
         if (screen == Screen.NEW){
             Table warningTable = warningTable();
@@ -213,14 +243,14 @@ public class GameSlots  extends ScreenAdapter {
     /**
      * Retrieves the texture for a slot based on the character's state.
      *
-     * @param character The character in the slot.
+     * @param summary The summary of the slot, or {@code null} if the slot does not exist.
      * @return A drawable for the slot background.
      */
-    public TextureRegionDrawable getSlotType(CharacterClass character) {
-            if (character == null){
+    public TextureRegionDrawable getSlotType(SlotSummary summary) {
+            if (summary == null || summary.isEmpty()){
                 return new TextureRegionDrawable(new TextureRegion(textures.get("emptySlot")));
             }
-            else if (character.getState() == State.DEAD){
+            else if (summary.isDead()){
                 return new TextureRegionDrawable(new TextureRegion(textures.get("deadSlot")));
             }
             else{
@@ -232,14 +262,18 @@ public class GameSlots  extends ScreenAdapter {
     /**
      * Creates a slot table with a character and its respective actions.
      *
-     * @param character  The character in the slot.
+     * <p>The slot is drawn from its summary only; the full character is loaded
+     * when the slot is clicked.</p>
+     *
+     * @param summary    The summary of the slot, or {@code null} if the slot does not exist.
      * @param slotNumber The slot number.
      * @return A table representing the slot.
      */
-    public Table createSlot(CharacterClass character, String slotNumber){
+    public Table createSlot(SlotSummary summary, String slotNumber){
+        boolean hasCharacter = summary != null && !summary.isEmpty();
         // slot
         Table slot = new Table();
-        slot.setBackground(getSlotType(character));
+        slot.setBackground(getSlotType(summary));
         slot.setTouchable(Touchable.enabled);
 
         float headWidth = viewport.getWorldWidth() * 0.09f;
@@ -247,11 +281,14 @@ public class GameSlots  extends ScreenAdapter {
         float headPad = viewport.getWorldWidth() * 0.025f;
         float textPad = viewport.getWorldWidth() * 0.005f;
 
-        if (character != null){
-            Label nameLabel = new Label(character.getName(), nameLabelStyle);
+        if (hasCharacter){
+            Label nameLabel = new Label(summary.getName(), nameLabelStyle);
             slot.add(nameLabel).center().padBottom(textPad).row();
 
-            Image characterImg = mainGame.createImage(new Texture(Gdx.files.internal(getCharacterType(character.getCharacterType()))));
+            // heads are shared between pages and disposed of with the screen
+            Texture headTexture = textures.computeIfAbsent(getCharacterType(summary.getCharacterType()),
+                path -> new Texture(Gdx.files.internal(path)));
+            Image characterImg = mainGame.createImage(headTexture);
 
             slot.add(characterImg).size(headWidth, headHeight).padBottom(headPad);
         }
@@ -308,35 +345,53 @@ public class GameSlots  extends ScreenAdapter {
         mainGame.jsonHandler.printStuff();
 
         if (screen == Screen.LOAD){
-            if (character != null){
+            if (hasCharacter){
                 slot.addListener(new ClickListener(){
                     @Override
                     public void clicked(InputEvent event, float x, float y) {
                         mainGame.jsonHandler.printStuff();
 
+                        // read before the character, as loading an old save format saves it again
+                        long secondsAway = mainGame.jsonHandler.getSecondsSinceSaved(slotNumber);
+                        // only now is the full character read from its save file
+                        CharacterClass character = mainGame.jsonHandler.getCharacterFromGameSlot(slotNumber);
+                        if (character == null) {
+                            showDamagedSlot(slotNumber);
+                            return;
+                        }
 
                         character.startLoadCharacter(mainGame);
+                        character.progressOffline(secondsAway);
                         // Clear all screens except the main menu, memory saver
                         mainGame.clearStackExceptMain();
                         // just for this state right now, passing through to story screen
 
 
-                        GameSession newGame = new GameSession(character, mainGame);
-                        if(!(newGame.blockedPlayTimeCheck())){  //checks for playing during active parental block
-                            mainGame.pushScreen(new GameScreen(mainGame, newGame));
-                        } else {
-                            //blocked playtime error
-                            mainGame.jsonHandler.showBlockedTimeMessage(stage, viewport, mainGame);
-                        }
+                        // counting the session and taking it back if playtime is blocked is a single save
+                        mainGame.jsonHandler.update(() -> {
+                            GameSession newGame = new GameSession(character, mainGame);
+                            if(!(newGame.blockedPlayTimeCheck())){  //checks for playing during active parental block
+                                mainGame.pushScreen(new GameScreen(mainGame, newGame));
+                            } else {
+                                //blocked playtime error
+                                mainGame.showBlockedTimeMessage(stage, viewport);
+                            }
+                        });
                     }
                 });
             }
         }
         else if (screen == Screen.REVIVE){
-            if (character != null){
+            if (hasCharacter){
                 slot.addListener(new ClickListener(){
                     @Override
                     public void clicked(InputEvent event, float x, float y) {
+                        // only now is the full character read from its save file
+                        CharacterClass character = mainGame.jsonHandler.getCharacterFromGameSlot(slotNumber);
+                        if (character == null) {
+                            showDamagedSlot(slotNumber);
+                            return;
+                        }
 
                         character.setHappiness(100f);
                         character.setHealth(100f);
@@ -349,13 +404,16 @@ public class GameSlots  extends ScreenAdapter {
                         // Clear all screens except the main menu, memory saver
                         mainGame.clearStackExceptMain();
 
-                        GameSession newGame = new GameSession(character, mainGame);
-                        if(!(newGame.blockedPlayTimeCheck())) {
-                            mainGame.pushScreen(new GameScreen(mainGame, newGame));
-                        } else {
-                            //playtime block error
-                            mainGame.jsonHandler.showBlockedTimeMessage(stage, viewport, mainGame);
-                        }
+                        // counting the session and taking it back if playtime is blocked is a single save
+                        mainGame.jsonHandler.update(() -> {
+                            GameSession newGame = new GameSession(character, mainGame);
+                            if(!(newGame.blockedPlayTimeCheck())) {
+                                mainGame.pushScreen(new GameScreen(mainGame, newGame));
+                            } else {
+                                //playtime block error
+                                mainGame.showBlockedTimeMessage(stage, viewport);
+                            }
+                        });
                     }
                 });
             }
@@ -373,31 +431,115 @@ public class GameSlots  extends ScreenAdapter {
     }
 
     /**
-     * Creates a table with all the available slots.
+     * Retrieves the number of slots the browser pages through: every saved slot, at least
+     * {@link #MIN_SLOTS}, plus one free slot when starting a new game.
      *
-     * @return A table containing all slots.
+     * @return The number of slots.
      */
-    public Table slotTable(){
+    private int getSlotCount() {
+        int slotCount = mainGame.jsonHandler.getSlotCount();
+        if (screen == Screen.NEW) {
+            slotCount++; // there is always a free slot to start in
+        }
+        return Math.max(MIN_SLOTS, slotCount);
+    }
+
+    /**
+     * Retrieves the number of pages in the slot browser.
+     *
+     * @return The number of pages, at least one.
+     */
+    private int getPageCount() {
+        return (getSlotCount() + SLOTS_PER_PAGE - 1) / SLOTS_PER_PAGE;
+    }
+
+    /**
+     * Tells the player a slot could not be loaded, after its save file failed its checksum and
+     * was set aside, and redraws the page without it.
+     *
+     * @param slotNumber The slot number.
+     */
+    private void showDamagedSlot(String slotNumber) {
+        showPage(page);
+        mainGame.sendError("Slot " + slotNumber + " was damaged and could not be loaded");
+    }
+
+    /**
+     * Shows a page of slots, replacing the slots currently shown.
+     *
+     * @param newPage The index of the page to show, clamped to the existing pages.
+     */
+    private void showPage(int newPage) {
+        page = Math.max(0, Math.min(newPage, getPageCount() - 1));
+        slotContainer.clearChildren();
+        slotContainer.add(slotTable());
+        if (pageLabel != null) {
+            pageLabel.setText("Page " + (page + 1) + " / " + getPageCount());
+        }
+    }
+
+    /**
+     * Creates a table with buttons to move between pages of slots.
+     *
+     * @return A table with previous and next buttons around the page number.
+     */
+    private Table pageTable() {
         Table newTable = new Table();
+        float padVal = viewport.getWorldWidth() * 0.02f;
+
+        Label previousLabel = new Label("<", nameLabelStyle);
+        previousLabel.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                mainGame.getClickSound().play();
+                showPage(page - 1);
+            }
+        });
 
-        System.out.println("HERE1");
+        pageLabel = new Label("Page " + (page + 1) + " / " + getPageCount(), nameLabelStyle);
 
+        Label nextLabel = new Label(">", nameLabelStyle);
+        nextLabel.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                mainGame.getClickSound().play();
+                showPage(page + 1);
+            }
+        });
+
+        newTable.add(previousLabel).padRight(padVal);
+        newTable.add(pageLabel);
+        newTable.add(nextLabel).padLeft(padVal);
+        return newTable;
+    }
 
-        CharacterClass character1 = (mainGame.jsonHandler.getCharacterFromGameSlot("1"));
-        CharacterClass character2 = (mainGame.jsonHandler.getCharacterFromGameSlot("2"));
-        CharacterClass character3 = (mainGame.jsonHandler.getCharacterFromGameSlot("3"));
+    /**
+     * Creates a table with the slots of the current page. Only the summaries of those slots
+     * are read; pages past the saved slots are filled with free slot IDs.
+     *
+     * @return A table containing the slots of the current page.
+     */
+    public Table slotTable(){
+        Table newTable = new Table();
 
+        int offset = page * SLOTS_PER_PAGE;
+        int shown = Math.min(SLOTS_PER_PAGE, getSlotCount() - offset);
+        List<SlotSummary> summaries = mainGame.jsonHandler.getSlotSummaries(offset, shown);
 
-        // slot1
-        Table slot1 = createSlot(character1, "1");
-        Table slot2 = createSlot(character2, "2");
-        Table slot3 = createSlot(character3, "3");
+        List<String> slotIds = new ArrayList<>(shown);
+        for (SlotSummary summary : summaries) {
+            slotIds.add(summary.getSlotId());
+        }
+        int freeBefore = Math.max(0, offset - mainGame.jsonHandler.getSlotCount());
+        List<String> freeIds = mainGame.jsonHandler.getFreeSlotIds(freeBefore + shown - summaries.size());
+        slotIds.addAll(freeIds.subList(freeBefore, freeIds.size()));
 
         float padVal = viewport.getWorldWidth() * 0.01f;
 
-        newTable.add(slot1).padLeft(padVal).padRight(padVal);;
-        newTable.add(slot2).padLeft(padVal).padRight(padVal);;
-        newTable.add(slot3).padLeft(padVal).padRight(padVal);;
+        for (String slotId : slotIds) {
+            Table slot = createSlot(mainGame.jsonHandler.getSlotSummary(slotId), slotId);
+            newTable.add(slot).padLeft(padVal).padRight(padVal);
+        }
 
         return newTable;
 
@@ -3,6 +3,12 @@ package com.kaobells.group44;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * The {@code Item} class represents an item within the game, capable of affecting
@@ -29,6 +35,9 @@ public class Item implements Json.Serializable {
     /** Image button representing the item in the UI. */
     private ImageButton image;
 
+    /** Indicates whether the count changed since the item was last loaded or saved. */
+    private transient boolean dirty;
+
 
 
     public Item(){ //default constructor for JSON
@@ -52,32 +61,7 @@ public class Item implements Json.Serializable {
      * Sets the {@code itemStatValue} for the item based on its {@code itemID}.
      */
     public void setItemValues(){ //based on item ID fills in stats
-        switch (this.itemID){
-            //case 0 = apple food item
-            case 0:
-                this.itemStatValue = 50.0f;
-                break;
-            //case 1 = lemon food item
-            case 1:
-                this.itemStatValue = 75.0f;
-                break;
-            //case 2 = orange food item
-            case 2:
-                this.itemStatValue = 100.0f;
-                break;
-            //case 3 = duck gift item
-            case 3:
-                this.itemStatValue = 30.0f;
-                break;
-            //case 4 = orange duck gift item
-            case 4:
-                this.itemStatValue = 60.0f;
-                break;
-            //case 5 = blue duck gift item
-            case 5:
-                this.itemStatValue = 90.0f;
-                break;
-        }
+        this.itemStatValue = PetModel.itemStatValue(this.itemID);
     }
 
     /**
@@ -110,6 +94,7 @@ public class Item implements Json.Serializable {
         }
         else{
             this.itemCount--;
+            this.dirty = true;
             return true;
         }
     }
@@ -119,6 +104,7 @@ public class Item implements Json.Serializable {
      */
     public void increaseCount(){
         this.itemCount++;
+        this.dirty = true;
     }
 
     /**
@@ -126,7 +112,12 @@ public class Item implements Json.Serializable {
      *
      * @param setCount The new count for the item.
      */
-    public void setItemCount(int setCount){ this.itemCount = setCount; }
+    public void setItemCount(int setCount){
+        if (this.itemCount != setCount) {
+            this.itemCount = setCount;
+            this.dirty = true;
+        }
+    }
 
     /**
      * Retrieves the current count of this item.
@@ -135,13 +126,25 @@ public class Item implements Json.Serializable {
      */
     public int getItemCount(){ return this.itemCount; }
 
+    /**
+     * Checks whether the count changed since the item was last loaded or saved.
+     *
+     * @return {@code true} if the item needs to be saved, {@code false} otherwise.
+     */
+    public boolean isDirty(){ return this.dirty; }
+
+    /**
+     * Marks the item as saved.
+     */
+    public void markClean(){ this.dirty = false; }
+
     /**
      * Determines if the item is a food item.
      *
      * @return {@code true} if the item is food, {@code false} otherwise.
      */
     public boolean isFood(){
-        return itemID == 0 || itemID == 1 || itemID == 2;
+        return PetModel.isFood(itemID);
     }
 
     /**
@@ -150,7 +153,7 @@ public class Item implements Json.Serializable {
      * @return {@code true} if the item is a gift, {@code false} otherwise.
      */
     public boolean isGift(){
-        return itemID == 3 || itemID == 4 || itemID == 5;
+        return PetModel.isGift(itemID);
     }
 
     /**
@@ -178,8 +181,11 @@ public class Item implements Json.Serializable {
      */
     @Override
     public void write(Json json) {
-        json.writeValue("itemID", itemID);
-        json.writeValue("itemCount", itemCount);
+        try {
+            writeJson(json.getWriter());
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
     }
 
     /**
@@ -190,7 +196,66 @@ public class Item implements Json.Serializable {
      */
     @Override
     public void read(Json json, JsonValue jsonData) {
+        readFields(jsonData);
+    }
+
+    /**
+     * Reads the fields of a JSON object into this object.
+     *
+     * @param jsonData The JSON object to read.
+     */
+    private void readFields(JsonValue jsonData) {
         itemID = jsonData.getInt("itemID", 0);
         itemCount = jsonData.getInt("itemCount", 0);
     }
+
+    /**
+     * Writes the item's {@code itemID} and {@code itemCount} into an open JSON object,
+     * without going through reflection.
+     *
+     * @param writer The writer, positioned inside the item's JSON object.
+     * @throws IOException If the item could not be written.
+     * @see JsonSaveCodec
+     */
+    public void writeJson(JsonWriter writer) throws IOException {
+        writer.name("itemID").value(itemID);
+        writer.name("itemCount").value(itemCount);
+    }
+
+    /**
+     * Reads an item written by {@link #writeJson(JsonWriter)}.
+     *
+     * @param jsonData The item's JSON object.
+     * @return The item that was read.
+     */
+    public static Item readJson(JsonValue jsonData) {
+        Item item = new Item();
+        item.readFields(jsonData);
+        return item;
+    }
+
+    /**
+     * Writes the item's {@code itemID} and {@code itemCount} in the compact binary save format.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the item could not be written.
+     * @see BinarySaveCodec
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeInt(itemID);
+        out.writeInt(itemCount);
+    }
+
+    /**
+     * Reads an item written by {@link #writeBinary(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @return The item that was read.
+     * @throws IOException If the item could not be read.
+     */
+    public static Item readBinary(DataInput in) throws IOException {
+        int id = in.readInt();
+        int count = in.readInt();
+        return new Item(id, count);
+    }
 }
@@ -1,140 +1,880 @@
 package com.kaobells.group44;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.InputAdapter;
-import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
-import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
-import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
-import com.badlogic.gdx.utils.Json;
-import com.badlogic.gdx.utils.JsonValue;
-import com.badlogic.gdx.utils.JsonWriter;
-import com.badlogic.gdx.utils.viewport.Viewport;
-
-import java.time.DayOfWeek;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
- * The {@code Database} class serves as a container for game data, including
- * game slots, character definitions, and parental controls.
+ * The {@code JsonHandler} class handles data persistence for the application: it keeps the
+ * game's database in memory, one game slot at a time, and decides when each slot and the
+ * parental controls are saved.
+ *
+ * <p>The saves themselves live in a {@link SaveDirectory}: one entry per game slot, a separate
+ * entry for the parental controls and an index of slot stats, kept in a {@link SaveStore} chosen
+ * by {@link SaveOptions}. Optionally, the gameplay state of each slot is instead kept in a
+ * fixed-size record of a memory-mapped {@link MappedSlotFile}, so an autosave overwrites about a
+ * hundred bytes in place rather than writing a whole slot entry to the store.</p>
+ *
+ * <p>Only summaries of the slots are loaded at startup; a slot is read from disk the first time
+ * its character is requested, and only a few slots are held in memory at once. Saves are
+ * snapshotted here and written by a background {@link SaveWriter}.</p>
  *
- * This class provides methods for managing data persistence and ensures that
- * all fields are initialized to prevent null references.
+ * <p>The last few saved versions of each slot are also kept, so a slot can be rolled back with
+ * {@link #restoreSlotVersion(String, long)}. A slot whose save entry is damaged is set aside on
+ * load; only that slot is lost, and the game still starts.</p>
+ *
+ * <p>Only one running instance of the game writes the saves. Any other instance opens them
+ * read-only, never writes to them, and reloads them through {@link #reloadIfChanged()} whenever
+ * the first instance saves.</p>
+ *
+ * This class integrates with LibGDX utilities for file handling and JSON processing.
  *
  * @author group44
  * @version 1.0
- * @see JsonHandler
+ * @see Database
  */
-class Database {
+public class JsonHandler {
+
+    /** Name of the local directory holding the save files. */
+    private static final String SAVE_DIRECTORY = "saves";
 
-    /** Map representing game slots and their associated data. */
-    public HashMap<String, HashMap<String, Object>> games;
+    /** Maximum number of game slots held in memory at once; the others are read back from disk when needed. */
+    private static final int RESIDENT_SLOT_LIMIT = 8;
 
-    /** Map of available character classes and their attributes. */
-    public HashMap<String, CharacterClass> characters;
+    /** Prefix of the writer keys under which versions are recorded in the history, followed by the slot ID. */
+    private static final String HISTORY_KEY_PREFIX = "history:";
 
-    /** Map for parental controls data, such as playtime limits and password settings. */
-    public HashMap<String, Object> parentalControls; // Field for "Parental Controls"
+    /** The saves on disk, with the store, mapped slot file and history they are kept in. */
+    private final SaveDirectory saveDirectory;
+
+    /** The in-memory representation of the game's database. Only holds the slots loaded so far. */
+    private Database database;
 
-    /** Flag indicating whether a parental control password has been set. */
-    private boolean isPasswordSet;
+    /** Every game slot's summary, plus the few slots whose full data is held in memory. */
+    private final SlotStore slotStore = new SlotStore(RESIDENT_SLOT_LIMIT);
+
+    /** Slots saved since startup, whose newest data may still be waiting on the background writer. */
+    private final HashSet<String> savedSlotIds = new HashSet<>();
+
+    /** Loader that decodes many slots at once, on every core. */
+    private final SlotLoader slotLoader = new SlotLoader();
+
+    /** Background writer that serializes and writes save snapshots off the render thread. */
+    private final SaveWriter saveWriter = new SaveWriter("database-writer");
+
+    /** Whether slots were added to or removed from the mapped records since their side table was last saved. */
+    private boolean mappedNamesChanged;
+
+    /** Number of character saves skipped because nothing had changed since the last save. */
+    private int skippedSaveCount;
+
+    /** Nesting depth of the {@link #update(Runnable)} calls in progress on the render thread. */
+    private int updateDepth;
+
+    /** Game slots saved during the current update, written together when it ends. */
+    private final LinkedHashSet<String> pendingSlots = new LinkedHashSet<>();
+
+    /** Whether the parental controls were saved during the current update. */
+    private boolean pendingParentalControls;
 
     /**
-     * Constructs a new {@code Database} instance and initializes all fields.
-     * Constructor for initializing fields if null
+     * Initializes the {@code JsonHandler} with the default options: the compact binary save
+     * format, one save file per entry and no mapped slot file.
      */
-    public Database() {
-        games = new HashMap<>();
-        characters = new HashMap<>();
-        parentalControls = new HashMap<>();
+    public JsonHandler() {
+        this(new SaveOptions());
     }
 
+    /**
+     * Initializes the {@code JsonHandler} by ensuring the save directory exists
+     * and loading the database from it. Saves kept in another format, backend or slot layout
+     * are converted to the chosen ones.
+     *
+     * @param options How the saves are kept on disk.
+     */
+    public JsonHandler(SaveOptions options) {
+        saveDirectory = new SaveDirectory(Gdx.files.local(SAVE_DIRECTORY), options);
+        loadDatabase();
+    }
 
-}
+    /**
+     * Loads the parental controls and every game slot from the store.
+     */
+    private void loadDatabase() {
+        database = new Database();
+        database.games = slotStore.getResidentSlots(); // the database only holds the slots in memory
+        database.parentalControls = saveDirectory.loadParentalControls(database.parentalControls);
+        loadIndex();
+    }
 
-/**
- * The {@code JsonHandler} class handles data persistence for the application,
- * reading from and writing to a JSON file that stores the game's database.
- *
- * This class integrates with LibGDX utilities for file handling and JSON processing.
- *
- * @author group44
- * @version 1.0
- * @see Database
- */
-public class JsonHandler {
+    /**
+     * Loads the slot summary index. Slots are not decoded here; each one is decoded the first
+     * time its character is requested. Index entries are rebuilt for any slot entry the
+     * index does not know about, and dropped for slots whose entry is gone or fails its checksum.
+     */
+    private void loadIndex() {
+        List<SlotSummary> index = saveDirectory.readIndex();
+        if (index != null) {
+            for (SlotSummary summary : index) {
+                slotStore.putSummary(summary);
+            }
+        }
 
-    /** The local file used for storing the JSON database. */
-    private FileHandle localFile;
+        Set<String> slotIds = saveDirectory.listSlotIds();
+        boolean changed = slotStore.retainAll(slotIds);
+        List<String> unindexed = new ArrayList<>();
+        for (String slotId : slotIds) {
+            SlotSummary mappedSummary = saveDirectory.summarizeMappedSlot(slotId);
+            if (mappedSummary != null) {
+                // records saved in place do not rewrite the index, so theirs is the newest summary
+                slotStore.putSummary(mappedSummary);
+            } else if (!slotStore.contains(slotId)) {
+                unindexed.add(slotId);
+            } else if (!verifySlotEntry(slotId)) {
+                changed = true;
+            }
+        }
+        if (!unindexed.isEmpty()) {
+            // slots that were damaged and quarantined, or have neither a record nor an entry, are never summarized
+            // entries carry no modification time, so a rebuilt summary has no last played time
+            loadSlots(unindexed, slotId -> slotStore.putSummary(SlotSummary.of(slotId, getLoadedCharacter(slotId), 0)));
+            changed = true;
+        }
+        if (changed) {
+            saveIndex();
+        }
+    }
 
-    /** The in-memory representation of the game's database. */
-    private Database database;
+    /**
+     * Checks the checksum of an indexed slot's save entry, so a slot damaged since it was saved
+     * is quarantined now instead of being offered for loading. The entry is not decoded; a
+     * compressed entry is checked by gzip when it is inflated.
+     *
+     * @param slotId The ID of the game slot.
+     * @return {@code true} if the entry is intact or missing, {@code false} if it was set aside.
+     */
+    private boolean verifySlotEntry(String slotId) {
+        Map.Entry<String, byte[]> entry = saveDirectory.readSlotEntry(slotId);
+        if (entry == null) {
+            return true;
+        }
+        try {
+            SaveChecksum.open(entry.getValue());
+            return true;
+        } catch (IOException e) {
+            setAsideDamagedSlot(slotId, entry, e);
+            return false;
+        }
+    }
 
-    /** JSON utility object for serialization and deserialization. */
-    private final Json json = new Json(); // LibGDX JSON utility
+    /**
+     * Reads a single game slot from its own save entry into the database,
+     * independently of every other slot. The slot becomes the most recently used one, which
+     * may drop the least recently used slot from memory.
+     *
+     * @param slotId The ID of the game slot to load.
+     */
+    public void loadSlot(String slotId) {
+        loadSlots(Collections.singletonList(slotId));
+    }
 
     /**
-     * Initializes the {@code JsonHandler} by ensuring the local file exists
-     * and loading the database from it.
+     * Reads several game slots into the database at once, decoding their save entries in parallel
+     * on every core. Only as many slots as may be held in memory are kept, the last ones loaded.
+     *
+     * @param slotIds The IDs of the game slots to load.
      */
-    public JsonHandler() {
-        initializeLocalFile();
-        loadDatabase();
+    public void loadSlots(Collection<String> slotIds) {
+        loadSlots(slotIds, slotId -> { });
     }
 
     /**
-     * Ensures that the local file exists, creating it if necessary.
+     * Reads several game slots into the database, reading records from the mapped slot file and
+     * decoding save entries in parallel through the {@link SlotLoader}. Only the decoding happens
+     * off this thread; each slot is then put in memory here, one at a time.
+     *
+     * @param slotIds  The IDs of the game slots to load.
+     * @param onLoaded Called with each slot's ID right after it is put in memory, before a later
+     *                 slot may drop it again; never called for a slot that could not be loaded.
      */
-    private void initializeLocalFile() {
-        FileHandle internalFile = Gdx.files.internal("database.json");
-        localFile = Gdx.files.local("database.json");
+    private void loadSlots(Collection<String> slotIds, Consumer<String> onLoaded) {
+        List<String> fromEntries = new ArrayList<>();
+        boolean saved = false;
+        for (String slotId : slotIds) {
+            HashMap<String, Object> mappedSlot = readMappedSlot(slotId);
+            if (mappedSlot != null) {
+                slotStore.putResident(slotId, mappedSlot);
+                getLoadedCharacter(slotId).markClean(); // it matches its record
+                onLoaded.accept(slotId);
+            } else {
+                fromEntries.add(slotId);
+                saved |= savedSlotIds.contains(slotId);
+            }
+        }
+        if (saved) {
+            flush(); // their newest contents may still be on the writer thread
+        }
+        for (SlotLoader.Loaded loaded : slotLoader.loadAll(fromEntries, saveDirectory::readSlotEntry)) {
+            if (putLoaded(loaded)) {
+                onLoaded.accept(loaded.getSlotId());
+            }
+        }
+    }
 
-        if (!localFile.exists()) {
-            internalFile.copyTo(localFile);
-            System.out.println("Database JSON created in local storage");
-        } else {
-            System.out.println("Local Database JSON previously created.");
+    /**
+     * Puts a slot decoded by the {@link SlotLoader} in memory, rewriting its save entry if it was
+     * loaded from another format or an older schema version, or quarantining it if it was damaged.
+     *
+     * @param loaded The outcome of loading the slot.
+     * @return {@code true} if the slot is now in memory, {@code false} if it has no entry or was quarantined.
+     * @throws GdxRuntimeException If the slot's entry could not be read or rewritten.
+     */
+    private boolean putLoaded(SlotLoader.Loaded loaded) {
+        String slotId = loaded.getSlotId();
+        Map.Entry<String, byte[]> entry = loaded.getEntry();
+        if (entry == null) {
+            if (loaded.getError() != null) {
+                throw new GdxRuntimeException("Could not load game slot " + slotId, loaded.getError());
+            }
+            System.out.println("No save file for game slot: " + slotId);
+            return false;
+        }
+        if (loaded.getError() != null) {
+            setAsideDamagedSlot(slotId, entry, loaded.getError());
+            return false;
+        }
+        try {
+            slotStore.putResident(slotId, loaded.getSlot());
+            CharacterClass character = getLoadedCharacter(slotId);
+            if (character != null) {
+                character.markClean(); // it matches its save entry
+            }
+            boolean upgraded = character != null && character.getLoadedSchemaVersion() < SaveSchema.CURRENT_VERSION;
+            if (upgraded) {
+                System.out.println("Upgraded game slot " + slotId + " from save schema version "
+                    + character.getLoadedSchemaVersion() + " to " + SaveSchema.CURRENT_VERSION + ".");
+            }
+            if (!isReadOnly() && (upgraded || !saveDirectory.isInSaveFormat(entry.getKey()))) {
+                // written back now so the slot is only ever migrated once
+                saveDirectory.convertSlotToSaveFormat(entry, database.snapshotSlot(slotId));
+            }
+            return true;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not load game slot " + slotId, e);
         }
     }
 
     /**
-     * Loads the database from the local file, initializing it with default values if the file is missing.
+     * Decodes a game slot's save entry. An entry that fails its checksum or cannot be decoded is
+     * quarantined, and the slot is removed, so one damaged slot never keeps the others from loading.
+     *
+     * @param slotId The ID of the game slot.
+     * @param entry  The name and contents of the slot's save entry.
+     * @return The slot data, or {@code null} if the entry was damaged and has been quarantined.
      */
-    private void loadDatabase() {
-        if (localFile.exists()) {
-            String jsonString = localFile.readString();
-            json.setIgnoreUnknownFields(true); // Ignore fields not present in the Database class
-            database = json.fromJson(Database.class, jsonString);
-        } else {
-            database = new Database();
-            initializeParentalControls(); // Ensure parentalControls is initialized
-            saveDatabase();
+    private HashMap<String, Object> decodeSlotEntry(String slotId, Map.Entry<String, byte[]> entry) {
+        try {
+            HashMap<String, Object> slot = SlotLoader.decodeSlot(entry.getValue());
+            return slot != null ? slot : new HashMap<>();
+        } catch (IOException | RuntimeException e) { // damaged JSON or values fail with runtime exceptions
+            setAsideDamagedSlot(slotId, entry, e);
+            return null;
+        }
+    }
+
+    /**
+     * Sets aside a slot's damaged save entry, which the {@link SaveDirectory} quarantines unless
+     * the saves are read-only, and removes the slot.
+     *
+     * @param slotId The ID of the game slot.
+     * @param entry  The name and contents of the damaged entry.
+     * @param cause  Why the entry could not be decoded.
+     */
+    private void setAsideDamagedSlot(String slotId, Map.Entry<String, byte[]> entry, Exception cause) {
+        saveDirectory.setAsideSlotEntry(slotId, entry, cause);
+        if (slotStore.remove(slotId)) {
+            saveIndex();
+        }
+    }
+
+    /**
+     * Reads a game slot from its record in the mapped slot file, waiting for pending saves
+     * first if the slot was saved since startup.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The slot's data, or {@code null} if the slot has no intact record and must be read from its save entry.
+     */
+    private HashMap<String, Object> readMappedSlot(String slotId) {
+        if (!saveDirectory.hasMappedRecord(slotId)) {
+            return null;
+        }
+        if (savedSlotIds.contains(slotId)) {
+            flush(); // records written ahead are applied by the writer thread
+        }
+        CharacterClass character = saveDirectory.readMappedCharacter(slotId);
+        if (character == null) {
+            return null;
+        }
+        HashMap<String, Object> slot = new HashMap<>();
+        slot.put("character", character);
+        return slot;
+    }
+
+    /**
+     * Reads a slot's save entry, waiting for pending saves first if the slot was saved since startup.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The name and contents of the entry, or {@code null} if the slot has none.
+     */
+    private Map.Entry<String, byte[]> readSlotEntry(String slotId) {
+        if (savedSlotIds.contains(slotId)) {
+            flush(); // its newest contents may still be on the writer thread
         }
+        return saveDirectory.readSlotEntry(slotId);
     }
 
     /**
-     * Saves the current state of the database to the local JSON file.
+     * Saves every game slot and the parental controls to their save files.
+     *
+     * <p>Only snapshots are taken on the calling thread; serialization and the file writes
+     * happen on the background writer. Requests made while a write is still pending are
+     * coalesced into a single write of the newest snapshot.</p>
      */
     public void saveDatabase() {
-        // Serialize the database object to a string
-        json.setOutputType(JsonWriter.OutputType.json);
+        update(() -> {
+            for (String slotId : database.games.keySet()) {
+                saveSlot(slotId);
+            }
+            saveParentalControls();
+        });
+    }
+
+    /**
+     * Groups any number of slot and parental control changes into a single save.
+     *
+     * <p>Every save requested while {@code changes} runs, for example through
+     * {@link #saveCharacterToGameSlot(String, CharacterClass)} or
+     * {@link #setParentalControlInt(String, int)}, is deferred. When the outermost update
+     * ends, the changed entries are snapshotted once and written to the store as one update,
+     * so they are persisted together or not at all. Updates may be nested. The changes
+     * are saved even if {@code changes} throws, since they have already been made in memory.</p>
+     *
+     * @param changes The changes to apply.
+     */
+    public void update(Runnable changes) {
+        updateDepth++;
+        try {
+            changes.run();
+        } finally {
+            if (--updateDepth == 0) {
+                saveUpdate();
+            }
+        }
+    }
+
+    /**
+     * Snapshots every file saved during an update and submits them as a single write.
+     */
+    private void saveUpdate() {
+        LinkedHashMap<String, HashMap<String, Object>> slotSnapshots = new LinkedHashMap<>();
+        LinkedHashMap<String, byte[]> records = new LinkedHashMap<>();
+        for (String slotId : pendingSlots) {
+            byte[] record = recordForSave(slotId);
+            if (record != null) {
+                records.put(SaveDirectory.recordEntryName(slotId), record);
+                continue;
+            }
+            HashMap<String, Object> snapshot = snapshotForSave(slotId);
+            if (snapshot != null) {
+                slotSnapshots.put(saveDirectory.slotEntryName(slotId), snapshot);
+            }
+        }
+        slotStore.trimResidents();
+        ParentalControls parentalSnapshot = pendingParentalControls ? database.snapshotParentalControls() : null;
+        pendingSlots.clear();
+        pendingParentalControls = false;
+        byte[] namesSnapshot = null;
+        if (mappedNamesChanged) {
+            namesSnapshot = encodeMappedNames();
+            mappedNamesChanged = false;
+        }
+        if (slotSnapshots.isEmpty() && records.isEmpty() && parentalSnapshot == null && namesSnapshot == null) {
+            return;
+        }
+        boolean slotsSaved = !slotSnapshots.isEmpty() || !records.isEmpty();
+        List<SlotSummary> indexSnapshot = slotsSaved ? slotStore.getSummaries() : null;
+        String parentalFileName = saveDirectory.parentalEntryName();
+        byte[] names = namesSnapshot;
+
+        // updates touching the same files replace each other while pending, like single-file saves
+        StringBuilder key = new StringBuilder("update:");
+        key.append(String.join(",", slotSnapshots.keySet()));
+        if (!records.isEmpty()) {
+            key.append(',').append(String.join(",", records.keySet()));
+        }
+        if (names != null) {
+            key.append(',').append(SaveDirectory.NAMES_FILE);
+        }
+        if (parentalSnapshot != null) {
+            key.append(',').append(parentalFileName);
+        }
+        saveWriter.submit(key.toString(), () -> {
+            LinkedHashMap<String, byte[]> files = new LinkedHashMap<>();
+            for (Map.Entry<String, HashMap<String, Object>> slot : slotSnapshots.entrySet()) {
+                files.put(slot.getKey(), saveDirectory.encodeSlot(slot.getValue()));
+            }
+            files.putAll(records);
+            if (names != null) {
+                files.put(SaveDirectory.NAMES_FILE, names);
+            }
+            if (indexSnapshot != null) {
+                files.put(SaveDirectory.INDEX_FILE, SaveDirectory.encodeIndex(indexSnapshot));
+            }
+            if (parentalSnapshot != null) {
+                files.put(parentalFileName, saveDirectory.encodeParentalControls(parentalSnapshot));
+            }
+            saveDirectory.commitAll(files);
+            System.out.println("Saved " + files.size() + " file(s) in one update in " + saveDirectory.getSaveFormat() + " format.");
+        });
+    }
+
+    /**
+     * Saves a single game slot to its own file, leaving every other save file untouched.
+     *
+     * @param slotId The ID of the game slot to save.
+     */
+    public void saveSlot(String slotId) {
+        if (isSaveRefused("Game slot " + slotId)) {
+            return;
+        }
+        if (updateDepth > 0) {
+            pendingSlots.add(slotId); // written when the update ends
+            return;
+        }
+        if (saveDirectory.getMappedSlots() != null) {
+            saveMappedSlot(slotId);
+            return;
+        }
+        HashMap<String, Object> snapshot = snapshotForSave(slotId);
+        if (snapshot != null) {
+            slotStore.trimResidents();
+            List<SlotSummary> indexSnapshot = slotStore.getSummaries(); // summaries are immutable
+            String fileName = saveDirectory.slotEntryName(slotId);
+            // the slot and the index holding its new summary are journaled as one update
+            saveWriter.submit(fileName, () -> {
+                LinkedHashMap<String, byte[]> files = new LinkedHashMap<>();
+                files.put(fileName, saveDirectory.encodeSlot(snapshot));
+                files.put(SaveDirectory.INDEX_FILE, SaveDirectory.encodeIndex(indexSnapshot));
+                saveDirectory.commitAll(files);
+                System.out.println("Game slot " + slotId + " saved successfully in " + saveDirectory.getSaveFormat() + " format.");
+            });
+        }
+    }
 
-        String jsonString = json.prettyPrint(database);
+    /**
+     * Saves a game slot when slots are kept in the mapped slot file. A slot that already has a
+     * record for its character is overwritten in place, which only touches about a hundred bytes;
+     * the record is forced to disk later by the background writer. Any other slot is saved as a
+     * single-slot update, so its new record or save entry is written together with the side table.
+     *
+     * @param slotId The ID of the game slot to save.
+     */
+    private void saveMappedSlot(String slotId) {
+        MappedSlotFile mappedSlots = saveDirectory.getMappedSlots();
+        CharacterClass character = getLoadedCharacter(slotId);
+        boolean inPlace;
+        try {
+            inPlace = character != null && character.fitsRecord() && mappedSlots.hasIdentity(slotId, character);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not save game slot " + slotId, e);
+        }
+        if (!inPlace) {
+            update(() -> saveSlot(slotId));
+            return;
+        }
+        mappedSlots.apply(slotId, recordForSave(slotId));
+        slotStore.trimResidents();
+        saveWriter.submit(SaveDirectory.MAPPED_FILE, mappedSlots::force);
+        System.out.println("Game slot " + slotId + " saved in place to the mapped slot file.");
+    }
 
-        // Write the properly formatted JSON to the file
-        localFile.writeString(jsonString, false);
+    /**
+     * Captures the record of a slot held in memory for saving, when slots are kept in the mapped
+     * slot file. Registers the slot in the side table if needed, updates its summary and marks its
+     * character clean, like {@link #snapshotForSave(String)}.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The record, or {@code null} if the slot must be saved to its own file instead.
+     */
+    private byte[] recordForSave(String slotId) {
+        MappedSlotFile mappedSlots = saveDirectory.getMappedSlots();
+        if (mappedSlots == null || !slotStore.isResident(slotId)) {
+            return null;
+        }
+        CharacterClass character = getLoadedCharacter(slotId);
+        if (character == null || !character.fitsRecord()) {
+            // saved to its own file from now on, which an old record would otherwise shadow
+            mappedNamesChanged |= mappedSlots.remove(slotId);
+            return null;
+        }
+        try {
+            mappedNamesChanged |= mappedSlots.register(slotId, character);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not save game slot " + slotId, e);
+        }
+        byte[] record = mappedSlots.snapshot(character);
+        slotStore.putSummary(SlotSummary.of(slotId, character, System.currentTimeMillis()));
+        savedSlotIds.add(slotId);
+        recordHistory(slotId, character.snapshot());
+        character.markClean();
+        return record;
+    }
 
-        System.out.println("Database saved successfully in proper JSON format.");
+    /**
+     * Encodes the side table of the mapped slot file.
+     *
+     * @return The encoded side table.
+     */
+    private byte[] encodeMappedNames() {
+        try {
+            return saveDirectory.getMappedSlots().encodeNames();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not encode the mapped slot names", e);
+        }
+    }
+
+    /**
+     * Snapshots a slot held in memory for saving, updating its summary and marking its
+     * character clean since the snapshot holds every change so far.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The snapshot, or {@code null} if the slot is not in memory.
+     */
+    private HashMap<String, Object> snapshotForSave(String slotId) {
+        HashMap<String, Object> snapshot = database.snapshotSlot(slotId);
+        if (snapshot == null) {
+            return null;
+        }
+        CharacterClass character = getLoadedCharacter(slotId);
+        slotStore.putSummary(SlotSummary.of(slotId, character, System.currentTimeMillis()));
+        savedSlotIds.add(slotId);
+        if (character != null) {
+            recordHistory(slotId, (CharacterClass) snapshot.get("character"));
+            character.markClean();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records a saved character as a new version in its slot's history, on the background writer.
+     * Versions saved while an earlier one is still pending replace it.
+     *
+     * @param slotId   The ID of the game slot.
+     * @param snapshot A snapshot of the saved character.
+     */
+    private void recordHistory(String slotId, CharacterClass snapshot) {
+        long savedAt = System.currentTimeMillis();
+        saveWriter.submit(HISTORY_KEY_PREFIX + slotId, () -> saveDirectory.recordVersion(slotId, snapshot, savedAt));
+    }
+
+    /**
+     * Lists the saved versions a game slot can be rolled back to.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The versions, oldest first; empty if the slot was never saved.
+     */
+    public List<SaveHistory.Version> getSlotHistory(String slotId) {
+        flush(); // versions are recorded by the writer thread
+        return saveDirectory.listVersions(slotId);
+    }
+
+    /**
+     * Rolls a game slot back to one of its saved versions and saves it. The rollback is itself
+     * saved as a new version, so it can be undone the same way.
+     *
+     * @param slotId The ID of the game slot.
+     * @param number The number of the version, from {@link #getSlotHistory(String)}.
+     * @return The restored character, without any textures loaded, or {@code null} if the version is no longer kept.
+     */
+    public CharacterClass restoreSlotVersion(String slotId, long number) {
+        flush(); // versions are recorded by the writer thread
+        CharacterClass restored = saveDirectory.readVersion(slotId, number);
+        if (restored == null) {
+            return null;
+        }
+        saveCharacterToGameSlot(slotId, restored);
+        System.out.println("Game slot " + slotId + " restored to version " + number + ".");
+        return restored;
+    }
+
+    /**
+     * Saves the slot summary index to its own file.
+     */
+    private void saveIndex() {
+        if (isReadOnly()) {
+            return; // rebuilt from the lock holder's saves on every reload
+        }
+        List<SlotSummary> snapshot = slotStore.getSummaries(); // summaries are immutable
+        saveWriter.submit(SaveDirectory.INDEX_FILE, () -> saveDirectory.commit(SaveDirectory.INDEX_FILE, SaveDirectory.encodeIndex(snapshot)));
+    }
+
+    /**
+     * Retrieves the summary of a game slot without loading its character.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The slot's summary, or {@code null} if the slot does not exist.
+     */
+    public SlotSummary getSlotSummary(String slotId) {
+        return slotStore.getSummary(slotId);
+    }
+
+    /**
+     * Works out how long ago a game slot was last saved, which is how long its pet was left alone.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The number of whole seconds since the slot was saved, or {@code 0} if that is not known.
+     */
+    public long getSecondsSinceSaved(String slotId) {
+        SlotSummary summary = slotStore.getSummary(slotId);
+        if (summary == null || summary.getLastPlayed() <= 0) {
+            return 0;
+        }
+        return Math.max(0, (System.currentTimeMillis() - summary.getLastPlayed()) / 1000);
+    }
+
+    /**
+     * Retrieves the summaries of every game slot, ordered by slot ID.
+     *
+     * @return The slot summaries.
+     */
+    public Collection<SlotSummary> getSlotSummaries() {
+        return slotStore.getSummaries();
+    }
+
+    /**
+     * Retrieves the summaries of a page of game slots, ordered by slot ID.
+     *
+     * @param offset The position of the first slot to return.
+     * @param limit  The maximum number of slots to return.
+     * @return The slot summaries, fewer than {@code limit} on the last page.
+     */
+    public List<SlotSummary> getSlotSummaries(int offset, int limit) {
+        return slotStore.getSummaries(offset, limit);
+    }
+
+    /**
+     * Retrieves the number of game slots.
+     *
+     * @return The number of game slots, whether they hold a character or not.
+     */
+    public int getSlotCount() {
+        return slotStore.size();
+    }
+
+    /**
+     * Finds IDs a new game slot could be created under.
+     *
+     * @param count The number of IDs to find.
+     * @return The lowest numeric slot IDs not in use.
+     */
+    public List<String> getFreeSlotIds(int count) {
+        return slotStore.getFreeSlotIds(count);
+    }
+
+    /**
+     * Saves the parental controls to their own file, leaving the game slots untouched.
+     */
+    public void saveParentalControls() {
+        if (isSaveRefused("Parental controls")) {
+            return;
+        }
+        if (updateDepth > 0) {
+            pendingParentalControls = true; // written when the update ends
+            return;
+        }
+        ParentalControls snapshot = database.snapshotParentalControls();
+        String fileName = saveDirectory.parentalEntryName();
+        saveWriter.submit(fileName, () -> {
+            saveDirectory.commit(fileName, saveDirectory.encodeParentalControls(snapshot));
+            System.out.println("Parental controls saved successfully in " + saveDirectory.getSaveFormat() + " format.");
+        });
+    }
+
+    /**
+     * Exports every game slot and the parental controls as a single compact JSON file, with
+     * the same structure as the original {@code database.json}.
+     *
+     * <p>The database is streamed straight to the file through a reused buffer, so an export
+     * never holds the whole document in memory, however many slots there are. Slots that are
+     * not in memory are read one at a time and not kept. The file is replaced atomically, so a
+     * failed export leaves the previous one intact.</p>
+     *
+     * @param target The file to write the export to.
+     */
+    public void exportJson(FileHandle target) {
+        exportJson(target, false);
+    }
+
+    /**
+     * Exports every game slot and the parental controls as a single compact JSON file, like
+     * {@link #exportJson(FileHandle)}, optionally streaming it through deflate as it is written.
+     * Compressed exports are recognized and inflated by {@link #importJson(FileHandle)}.
+     *
+     * @param target     The file to write the export to.
+     * @param compressed {@code true} to compress the export, {@code false} to write plain JSON.
+     */
+    public void exportJson(FileHandle target, boolean compressed) {
+        // copied, since a damaged slot is removed from the store when it is read
+        Iterable<Map.Entry<String, HashMap<String, Object>>> slots = () -> new ArrayList<>(slotStore.getSlotIds()).stream()
+            .map(slotId -> (Map.Entry<String, HashMap<String, Object>>) new AbstractMap.SimpleImmutableEntry<>(slotId, readSlotForExport(slotId)))
+            .iterator();
+        saveDirectory.exportDatabase(target, compressed, slots, database);
+    }
+
+    /**
+     * Retrieves a slot's data for an export, reading it from disk without keeping it in memory
+     * if it is not already there.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The slot's data, empty if it has no save entry or its save entry was damaged and has been quarantined.
+     * @throws GdxRuntimeException If the slot could not be read.
+     */
+    private HashMap<String, Object> readSlotForExport(String slotId) {
+        HashMap<String, Object> slot = database.games.get(slotId);
+        if (slot != null) {
+            return slot;
+        }
+        HashMap<String, Object> mappedSlot = readMappedSlot(slotId);
+        if (mappedSlot != null) {
+            return mappedSlot;
+        }
+        Map.Entry<String, byte[]> entry = readSlotEntry(slotId);
+        HashMap<String, Object> entrySlot = entry != null ? decodeSlotEntry(slotId, entry) : null;
+        return entrySlot != null ? entrySlot : new HashMap<>();
+    }
+
+    /**
+     * Replaces every game slot and the parental controls with the contents of a JSON export
+     * (or an original {@code database.json}) and saves them in the current save format.
+     * Compressed exports are detected and inflated as they are read.
+     *
+     * @param source The JSON file to import.
+     */
+    public void importJson(FileHandle source) {
+        if (isSaveRefused("Import of " + source.path())) {
+            return;
+        }
+        Database imported = SaveDirectory.readDatabase(source);
+        flush();
+        List<String> removed = new ArrayList<>();
+        for (String slotId : slotStore.getSlotIds()) {
+            if (!imported.games.containsKey(slotId)) {
+                removed.add(slotId); // would otherwise come back from their old entries
+            }
+        }
+        try {
+            mappedNamesChanged |= saveDirectory.removeSlots(removed); // the side table is saved with the slots below
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not import " + source.path(), e);
+        }
+        slotStore.clear();
+        savedSlotIds.clear(); // the writer has been flushed and every slot is rewritten below
+        // held in memory until saveDatabase has snapshotted them, then trimmed to the limit
+        database.games.putAll(imported.games);
+        database.parentalControls = imported.parentalControls;
+        saveDatabase();
+        System.out.println("Database imported from " + source.path());
+    }
+
+    /**
+     * Checks whether a save must be dropped because another instance of the game holds the save
+     * lock, and reports it if so. The change is kept in memory until the saves are next reloaded.
+     *
+     * @param description What would have been saved, for the log.
+     * @return {@code true} if the saves are read-only, {@code false} if the save may go ahead.
+     */
+    private boolean isSaveRefused(String description) {
+        boolean readOnly = isReadOnly();
+        if (readOnly) {
+            System.out.println(description + " not saved, the saves are in use by another instance of the game.");
+        }
+        return readOnly;
+    }
+
+    /**
+     * Checks whether the saves are open read-only because another instance of the game holds
+     * the save lock. Nothing is written to disk until the game is restarted.
+     *
+     * @return {@code true} if the saves are read-only, {@code false} if this instance writes them.
+     */
+    public boolean isReadOnly() {
+        return saveDirectory.isReadOnly();
+    }
+
+    /**
+     * Reloads the saves if the instance of the game holding the save lock has saved since they
+     * were last loaded, so a read-only instance keeps showing the newest progress. Any change made
+     * in memory since then is dropped, since it could not have been saved anyway. The lock holder
+     * itself never reloads, as it is the only instance writing the saves.
+     *
+     * @return {@code true} if the saves were reloaded, {@code false} if they had not changed.
+     */
+    public boolean reloadIfChanged() {
+        if (!saveDirectory.reopenIfChanged()) {
+            return false;
+        }
+        slotStore.clear();
+        savedSlotIds.clear();
+        loadDatabase();
+        return true;
+    }
+
+    /**
+     * Retrieves the number of character saves that were skipped because the character had
+     * not changed since it was last loaded or saved.
+     *
+     * @return The number of skipped saves.
+     */
+    public int getSkippedSaveCount() {
+        return skippedSaveCount;
+    }
+
+    /**
+     * Blocks until every save requested so far has been written to disk.
+     */
+    public void flush() {
+        saveWriter.flush();
+    }
+
+    /**
+     * Writes any pending saves, checkpoints the store and stops the background writer.
+     * Called once when the application shuts down.
+     */
+    public void dispose() {
+        if (!isReadOnly()) {
+            saveWriter.submit("checkpoint", saveDirectory::checkpoint);
+        }
+        saveWriter.shutdown();
+        slotLoader.close();
+        try {
+            saveDirectory.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the save files: " + e.getMessage());
+        }
     }
 
     /**
@@ -152,10 +892,10 @@ public class JsonHandler {
      * @return {@code true} if any game slots contain saved data, {@code false} otherwise.
      */
     public boolean isSavedFiles() {
-        // Iterate over all game slots
-        for (Map.Entry<String, HashMap<String, Object>> entry : database.games.entrySet()) {
-            // Check if the slot contains any data
-            if (!entry.getValue().isEmpty()) {
+        // Iterate over the summaries of all game slots
+        for (String slotId : slotStore.getSlotIds()) {
+            // Check if the slot contains a character
+            if (!slotStore.getSummary(slotId).isEmpty()) {
                 return true; // Found a slot with saved data
             }
         }
@@ -165,10 +905,10 @@ public class JsonHandler {
     /**
      * Checks if the parental controls are empty or uninitialized.
      *
-     * @return {@code true} if parental controls are null or empty, {@code false} otherwise.
+     * @return {@code true} if parental controls are null, {@code false} otherwise.
      */
     public boolean isEmptyParentalControls() {
-        return database.parentalControls == null || database.parentalControls.isEmpty();
+        return database.parentalControls == null;
     }
 
     /**
@@ -188,11 +928,18 @@ public class JsonHandler {
      */
     // Method to save a CharacterClass to a specific game slot
     public void saveCharacterToGameSlot(String slotId, CharacterClass character) {
-        if (database.games.containsKey(slotId)) {
-            // Update the game slot with new data
-            database.games.get(slotId).put("character", character);
+        if (slotId != null && !slotId.isEmpty()) {
+            if (getLoadedCharacter(slotId) == character && !character.isDirty()) {
+                skippedSaveCount++;
+                System.out.println("Game slot " + slotId + " unchanged, save skipped.");
+                return;
+            }
+            // Update the game slot with new data, creating the slot if it is new
+            HashMap<String, Object> slot = new HashMap<>();
+            slot.put("character", character);
+            slotStore.putResident(slotId, slot);
 
-            saveDatabase(); // Save the updated database to file
+            saveSlot(slotId); // Save only this slot's file; the snapshot marks the character clean
             System.out.println("Character saved to game slot: " + slotId);
         } else {
             System.out.println("Invalid game slot ID: " + slotId);
@@ -208,8 +955,22 @@ public class JsonHandler {
      */
     // Optional: Retrieve a character from a specific game slot
     public CharacterClass getCharacterFromGameSlot(String slotId) {
-        if (database.games.containsKey(slotId) && database.games.get(slotId).containsKey("character")) {
-            return (CharacterClass) database.games.get(slotId).get("character");
+        if (!slotStore.isResident(slotId) && slotStore.contains(slotId)) {
+            loadSlot(slotId); // slots are only read from disk when they are not held in memory
+        }
+        return getLoadedCharacter(slotId);
+    }
+
+    /**
+     * Retrieves the character of a game slot that has already been loaded, without touching disk.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The character in the slot, or {@code null} if the slot is empty or not loaded.
+     */
+    private CharacterClass getLoadedCharacter(String slotId) {
+        HashMap<String, Object> slot = slotStore.getResident(slotId);
+        if (slot != null && slot.containsKey("character")) {
+            return (CharacterClass) slot.get("character");
         }
         return null; // Return null if no character is found
     }
@@ -222,6 +983,7 @@ public class JsonHandler {
      * @return A string representation of the game slot's data, or an error message if the slot does not exist.
      */
     public String gameToString(String slotId) {
+        getCharacterFromGameSlot(slotId); // make sure the slot is loaded
         if (database.games.containsKey(slotId)) {
             HashMap<String, Object> gameData = database.games.get(slotId);
             StringBuilder gameString = new StringBuilder();
@@ -242,90 +1004,20 @@ public class JsonHandler {
      * This includes settings for playtime blocks, total playtime, and sessions.
      */
     public void initializeParentalControls() {
-        //database.parentalControls.put("Password", "");
-        database.parentalControls.put("morningParentBlock", false);
-        database.parentalControls.put("afternoonParentBlock", false);
-        database.parentalControls.put("eveningParentBlock", false);
-        database.parentalControls.put("weekdayParentBlock", false);
-        database.parentalControls.put("weekendParentBlock", false);
-        database.parentalControls.put("totalSecondsPlayed", 0);
-        database.parentalControls.put("totalSessionsPlayed", 0);
-        database.parentalControls.put("averagePlaytimePerSession", 0);
-        saveDatabase();
+        if (database.parentalControls == null) {
+            database.parentalControls = new ParentalControls();
+        }
+        updateParentalControls(ParentalControls::resetToDefaults);
         System.out.println("Parental controls initialized with default values.");
     }
 
-    /**
-     * Displays a message when playtime is blocked due to parental controls.
-     *
-     * @param stage    The stage on which the message should be displayed.
-     * @param viewport The viewport used to size and position elements.
-     * @param mainGame The main game instance, used for navigation.
-     */
-    public void showBlockedTimeMessage(Stage stage, Viewport viewport, Main mainGame) {
-        // Clear previous actors
-        stage.clear();
-        // Create a semi-transparent overlay
-        Texture overlayTexture = new Texture(Gdx.files.internal("parentalControlsScreen/times-up-txtbox.png"));
-        Image overlayImage = new Image(new TextureRegionDrawable(new TextureRegion(overlayTexture)));
-        // Center the overlay image
-        overlayImage.setSize(viewport.getWorldWidth() * 0.7f, viewport.getWorldHeight() * 0.3f);
-        overlayImage.setPosition(
-            (viewport.getWorldWidth() - overlayImage.getWidth()) / 2,
-            (viewport.getWorldHeight() - overlayImage.getHeight()) / 2
-        );
-        //add to stage
-        stage.addActor(overlayImage);
-        // Add the back button
-        ImageButton backButton = mainGame.getBackButton();
-        backButton.setSize(viewport.getWorldWidth() * 0.1f, viewport.getWorldHeight() * 0.1f);
-        backButton.setPosition(
-            (viewport.getWorldWidth() - backButton.getWidth()) / 2, // Center horizontally
-            viewport.getWorldHeight() * 0.2f // Place below the message
-        );
-
-        // Clear any existing listeners on the back button to prevent stacking
-        backButton.clearListeners();
-        //on click clear stack then push a new StartScreen
-        backButton.addListener(new ClickListener() {
-            @Override
-            public void clicked(InputEvent event, float x, float y) {
-                mainGame.clearStackExceptMain();
-                mainGame.popScreen();
-                mainGame.pushScreen(new StartScreen(mainGame)); // Go back to the main menu
-            }
-        });
-        stage.addActor(backButton);
-
-        //for pressing M to go back
-        InputAdapter inputAdapter = new InputAdapter(){
-            @Override
-            public boolean keyDown(int keycode) {
-                if (keycode == Input.Keys.M) {
-                    mainGame.clearStackExceptMain();
-                    mainGame.popScreen();
-                    mainGame.pushScreen(new StartScreen(mainGame));
-                    return true;
-                }
-                return true;
-            }
-        };
-
-        InputMultiplexer multiplexer = new InputMultiplexer();
-        multiplexer.addProcessor(stage);       // Stage for UI interactions
-        multiplexer.addProcessor(inputAdapter); // InputAdapter for key presses
-        Gdx.input.setInputProcessor(multiplexer);  //setting to multiplexer
-    }
-
-
     /**
      * Updates the parental control password if the given password is not null or empty.
      *
      * @param password The new password for parental controls.
      */
     public void setParentalPassword(String password) {
-        database.parentalControls.put("Password", password);
-        saveDatabase();
+        updateParentalControls(parentalControls -> parentalControls.setPassword(password));
 
     }
 
@@ -335,7 +1027,7 @@ public class JsonHandler {
      * @return The parental control password as a {@link String}.
      */
     public String getParentalPassword() {
-        return (String) database.parentalControls.get("Password");
+        return database.parentalControls.getPassword();
     }
 
     /**
@@ -343,9 +1035,21 @@ public class JsonHandler {
      *
      * @param key The key of the parental control to retrieve.
      * @return The boolean value associated with the specified key.
+     * @throws IllegalArgumentException If the key is not a playtime block key.
      */
     public boolean getParentalControlBoolean(String key) {
-        return (boolean) database.parentalControls.getOrDefault(key, false);
+        return database.parentalControls.getBoolean(key);
+    }
+
+    /**
+     * Updates a boolean parental control, such as a playtime block, and saves it.
+     *
+     * @param key   The key of the parental control to update.
+     * @param value The new boolean value to set.
+     * @throws IllegalArgumentException If the key is not a playtime block key.
+     */
+    public void setParentalControlBoolean(String key, boolean value) {
+        updateParentalControls(parentalControls -> parentalControls.setBoolean(key, value));
     }
 
     /**
@@ -353,9 +1057,10 @@ public class JsonHandler {
      *
      * @param key The key of the parental control to retrieve.
      * @return The integer value associated with the specified key.
+     * @throws IllegalArgumentException If the key is not a playtime statistic key.
      */
     public int getParentalControlInt(String key) {
-        return (int) database.parentalControls.get(key);
+        return database.parentalControls.getInt(key);
     }
 
     /**
@@ -363,10 +1068,30 @@ public class JsonHandler {
      *
      * @param key   The key of the parental control to update.
      * @param value The new integer value to set.
+     * @throws IllegalArgumentException If the key is not a playtime statistic key.
      */
     public void setParentalControlInt(String key, int value) {
-        database.parentalControls.put(key, value);
-        saveDatabase();
+        updateParentalControls(parentalControls -> parentalControls.setInt(key, value));
+    }
+
+    /**
+     * Retrieves the parental controls. Changes made to the returned object are not saved
+     * until {@link #saveParentalControls()} is called; prefer {@link #updateParentalControls(Consumer)}.
+     *
+     * @return The parental controls.
+     */
+    public ParentalControls getParentalControls() {
+        return database.parentalControls;
+    }
+
+    /**
+     * Applies any number of changes to the parental controls and saves them once.
+     *
+     * @param update The changes to apply.
+     */
+    public void updateParentalControls(Consumer<ParentalControls> update) {
+        update.accept(database.parentalControls);
+        saveParentalControls();
     }
 
 
@@ -378,8 +1103,7 @@ public class JsonHandler {
      */
     public void setParentalControlPassword(String password) {
         if (password != null && !password.isEmpty()) {
-            database.parentalControls.put("Password", password);
-            saveDatabase(); // Save the updated password to the file
+            setParentalPassword(password); // Save the updated password to the file
             System.out.println("Password updated successfully.");
         } else {
             System.out.println("Password cannot be null.");
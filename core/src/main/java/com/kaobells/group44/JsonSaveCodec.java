@@ -0,0 +1,350 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The {@code JsonSaveCodec} class reads and writes the save model ({@link Database},
+ * {@link CharacterClass}, {@link Item} and {@link ParentalControls}) as JSON without
+ * reflection: every document is written field by field through a {@link JsonWriter} and
+ * read back from a parsed {@link JsonValue} tree.
+ *
+ * <p>The output is byte-for-byte the pretty-printed JSON that LibGDX's reflective
+ * {@code Json} produced for the same model, including the {@code "class"} tag on characters
+ * stored in a game slot, so files written by either can be read by the other. Objects are
+ * created through their constructors rather than reflectively, which keeps startup fast and
+ * works in a GraalVM native image without reflection configuration.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see BinarySaveCodec
+ * @see SaveFormat#JSON
+ */
+public final class JsonSaveCodec {
+
+    /** Class tag written before a character stored in a game slot, as the reflective writer did. */
+    private static final String CHARACTER_CLASS_TAG = "com.kaobells.group44.CharacterClass";
+
+    /** Key of the class tag in a JSON object. */
+    private static final String CLASS_KEY = "class";
+
+    /** Key under which a slot stores its character. */
+    private static final String CHARACTER_KEY = "character";
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private JsonSaveCodec() {
+    }
+
+    /**
+     * Encodes a game slot as pretty-printed JSON.
+     *
+     * @param slot The slot data, holding its character under the {@code "character"} key.
+     * @return The encoded slot, in UTF-8.
+     * @throws IOException If the slot holds a value the save model does not know.
+     */
+    public static byte[] encodeSlot(Map<String, Object> slot) throws IOException {
+        StringWriter buffer = new StringWriter(1024);
+        JsonWriter writer = newWriter(buffer);
+        writeSlot(writer, slot);
+        return prettyPrint(buffer.toString()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a game slot written by {@link #encodeSlot(Map)}.
+     *
+     * @param data The encoded slot, in UTF-8.
+     * @return The slot data, empty if the slot has no character.
+     * @throws SerializationException If the data is not valid JSON.
+     */
+    public static HashMap<String, Object> decodeSlot(byte[] data) {
+        return readSlot(parse(data));
+    }
+
+    /**
+     * Streams a game slot to a writer as compact JSON, read back by {@link #decodeSlot(Reader)}.
+     *
+     * @param out  The writer to stream to, for example one from {@link SaveCompression#newWriter}.
+     * @param slot The slot data, holding its character under the {@code "character"} key.
+     * @throws IOException If the writer failed or the slot holds a value the save model does not know.
+     */
+    public static void writeSlot(Writer out, Map<String, Object> slot) throws IOException {
+        JsonWriter writer = newWriter(out);
+        writeSlot(writer, slot);
+        writer.flush();
+    }
+
+    /**
+     * Decodes a game slot from a reader, which is closed afterwards.
+     *
+     * @param in The reader holding the encoded slot.
+     * @return The slot data, empty if the slot has no character.
+     * @throws SerializationException If the text is not valid JSON or could not be read.
+     */
+    public static HashMap<String, Object> decodeSlot(Reader in) {
+        return readSlot(new JsonReader().parse(in));
+    }
+
+    /**
+     * Encodes the parental controls as pretty-printed JSON.
+     *
+     * @param parentalControls The parental controls.
+     * @return The encoded parental controls, in UTF-8.
+     * @throws IOException If the parental controls could not be encoded.
+     */
+    public static byte[] encodeParentalControls(ParentalControls parentalControls) throws IOException {
+        StringWriter buffer = new StringWriter(512);
+        JsonWriter writer = newWriter(buffer);
+        writer.object();
+        parentalControls.writeJson(writer);
+        writer.pop();
+        return prettyPrint(buffer.toString()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the parental controls written by {@link #encodeParentalControls(ParentalControls)},
+     * or by older versions of the game that stored each value boxed under its key.
+     *
+     * @param data The encoded parental controls, in UTF-8.
+     * @return The parental controls.
+     * @throws SerializationException If the data is not valid JSON.
+     */
+    public static ParentalControls decodeParentalControls(byte[] data) {
+        return ParentalControls.readJson(parse(data));
+    }
+
+    /**
+     * Streams the parental controls to a writer as compact JSON, read back by
+     * {@link #decodeParentalControls(Reader)}.
+     *
+     * @param out              The writer to stream to.
+     * @param parentalControls The parental controls.
+     * @throws IOException If the writer failed.
+     */
+    public static void writeParentalControls(Writer out, ParentalControls parentalControls) throws IOException {
+        JsonWriter writer = newWriter(out);
+        writer.object();
+        parentalControls.writeJson(writer);
+        writer.pop();
+        writer.flush();
+    }
+
+    /**
+     * Decodes the parental controls from a reader, which is closed afterwards.
+     *
+     * @param in The reader holding the encoded parental controls.
+     * @return The parental controls.
+     * @throws SerializationException If the text is not valid JSON or could not be read.
+     */
+    public static ParentalControls decodeParentalControls(Reader in) {
+        return ParentalControls.readJson(new JsonReader().parse(in));
+    }
+
+    /**
+     * Encodes a whole database as pretty-printed JSON, in the layout of the original
+     * {@code database.json}.
+     *
+     * @param database The database to encode.
+     * @return The encoded database.
+     * @throws IOException If a game slot holds a value the save model does not know.
+     */
+    public static String encodeDatabase(Database database) throws IOException {
+        StringWriter buffer = new StringWriter(4096);
+        writeDatabase(buffer, database);
+        return prettyPrint(buffer.toString());
+    }
+
+    /**
+     * Streams a whole database to a writer as compact JSON, one value at a time, without
+     * building the document in memory first. The output holds the same values as
+     * {@link #encodeDatabase(Database)} and is read back by {@link #decodeDatabase(String)}.
+     *
+     * @param out      The writer to stream to, for example a {@link BufferedChannelWriter}.
+     * @param database The database to encode.
+     * @throws IOException If the writer failed or a game slot holds a value the save model does not know.
+     */
+    public static void writeDatabase(Writer out, Database database) throws IOException {
+        writeDatabase(out, database.games != null ? database.games.entrySet() : null,
+            database.characters, database.parentalControls);
+    }
+
+    /**
+     * Streams a database to a writer as compact JSON, taking its game slots one at a time from
+     * an iterable, so slots that are not in memory can be read, written and dropped in turn.
+     *
+     * @param out              The writer to stream to, for example a {@link BufferedChannelWriter}.
+     * @param games            The game slots, keyed by slot ID, or {@code null} if there are none.
+     * @param characters       The character definitions, or {@code null} if there are none.
+     * @param parentalControls The parental controls, or {@code null} to leave them out.
+     * @throws IOException If the writer failed or a game slot holds a value the save model does not know.
+     */
+    public static void writeDatabase(Writer out, Iterable<? extends Map.Entry<String, ? extends Map<String, Object>>> games,
+                                     Map<String, CharacterClass> characters, ParentalControls parentalControls) throws IOException {
+        JsonWriter writer = newWriter(out);
+        writer.object();
+        // like the reflective writer, empty maps are left out since a new Database starts with them
+        Iterator<? extends Map.Entry<String, ? extends Map<String, Object>>> slots = games != null ? games.iterator() : null;
+        if (slots != null && slots.hasNext()) {
+            writer.name("games").object();
+            while (slots.hasNext()) {
+                Map.Entry<String, ? extends Map<String, Object>> entry = slots.next();
+                writer.name(entry.getKey());
+                writeSlot(writer, entry.getValue());
+            }
+            writer.pop();
+        }
+        if (characters != null && !characters.isEmpty()) {
+            writer.name("characters").object();
+            for (Map.Entry<String, CharacterClass> entry : characters.entrySet()) {
+                writer.name(entry.getKey()).object();
+                entry.getValue().writeJson(writer);
+                writer.pop();
+            }
+            writer.pop();
+        }
+        if (parentalControls != null) {
+            writer.name("parentalControls").object();
+            parentalControls.writeJson(writer);
+            writer.pop();
+        }
+        writer.pop();
+        writer.flush();
+    }
+
+    /**
+     * Decodes a database written by {@link #encodeDatabase(Database)} or
+     * {@link #writeDatabase(Writer, Database)}, or an original
+     * {@code database.json}.
+     *
+     * @param text The encoded database.
+     * @return The decoded database.
+     * @throws SerializationException If the text is not valid JSON.
+     */
+    public static Database decodeDatabase(String text) {
+        return readDatabase(new JsonReader().parse(text));
+    }
+
+    /**
+     * Decodes a database from a reader, which is closed afterwards. The reader is consumed as
+     * it is parsed, so when it inflates a compressed file only the JSON text is held in memory.
+     *
+     * @param in The reader holding the encoded database, for example one from {@link SaveCompression#newReader}.
+     * @return The decoded database.
+     * @throws SerializationException If the text is not valid JSON or could not be read.
+     */
+    public static Database decodeDatabase(Reader in) {
+        return readDatabase(new JsonReader().parse(in));
+    }
+
+    /**
+     * Reads a database from its parsed JSON document.
+     *
+     * @param root The root of the document.
+     * @return The database.
+     */
+    private static Database readDatabase(JsonValue root) {
+        Database database = new Database();
+        JsonValue games = root.get("games");
+        if (games != null) {
+            for (JsonValue slot = games.child; slot != null; slot = slot.next) {
+                database.games.put(slot.name, readSlot(slot));
+            }
+        }
+        JsonValue characters = root.get("characters");
+        if (characters != null) {
+            for (JsonValue character = characters.child; character != null; character = character.next) {
+                database.characters.put(character.name, CharacterClass.readJson(character));
+            }
+        }
+        JsonValue parentalControls = root.get("parentalControls");
+        if (parentalControls != null && !parentalControls.isNull()) {
+            database.parentalControls = ParentalControls.readJson(parentalControls);
+        }
+        return database;
+    }
+
+    /**
+     * Creates a JSON writer in the output type used by the save files.
+     *
+     * @param out The writer to write to.
+     * @return The JSON writer.
+     */
+    private static JsonWriter newWriter(Writer out) {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setOutputType(JsonWriter.OutputType.json);
+        return writer;
+    }
+
+    /**
+     * Re-indents compact JSON the way the save files have always been laid out.
+     *
+     * @param compact The compact JSON.
+     * @return The pretty-printed JSON.
+     */
+    private static String prettyPrint(String compact) {
+        return new JsonReader().parse(compact).prettyPrint(JsonWriter.OutputType.json, 0);
+    }
+
+    /**
+     * Parses UTF-8 JSON data.
+     *
+     * @param data The JSON data.
+     * @return The root JSON value.
+     */
+    private static JsonValue parse(byte[] data) {
+        return new JsonReader().parse(new String(data, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a game slot as a JSON object.
+     *
+     * @param writer The writer.
+     * @param slot   The slot data.
+     * @throws IOException If the slot holds a value the save model does not know.
+     */
+    private static void writeSlot(JsonWriter writer, Map<String, Object> slot) throws IOException {
+        writer.object();
+        for (Map.Entry<String, Object> entry : slot.entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof CharacterClass)) {
+                throw new IOException("Unsupported game slot value for " + entry.getKey() + ": " + value);
+            }
+            writer.name(entry.getKey()).object();
+            writer.name(CLASS_KEY).value(CHARACTER_CLASS_TAG);
+            ((CharacterClass) value).writeJson(writer);
+            writer.pop();
+        }
+        writer.pop();
+    }
+
+    /**
+     * Reads a game slot written by {@link #writeSlot(JsonWriter, Map)}.
+     *
+     * @param slotData The slot's JSON object.
+     * @return The slot data.
+     */
+    private static HashMap<String, Object> readSlot(JsonValue slotData) {
+        HashMap<String, Object> slot = new HashMap<>();
+        for (JsonValue entry = slotData.child; entry != null; entry = entry.next) {
+            if (entry.isObject() && (CHARACTER_KEY.equals(entry.name)
+                || CHARACTER_CLASS_TAG.equals(entry.getString(CLASS_KEY, null)))) {
+                slot.put(entry.name, CharacterClass.readJson(entry));
+            } else {
+                System.out.println("Ignoring unknown game slot value: " + entry.name);
+            }
+        }
+        return slot;
+    }
+}
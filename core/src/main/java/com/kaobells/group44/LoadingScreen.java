@@ -0,0 +1,159 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.ScreenAdapter;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * The {@code LoadingScreen} class is the first screen shown when the game starts.
+ * It is drawn right away while the save files are loaded on a background thread and
+ * the start screen's assets are loaded a little every frame.
+ *
+ * <p>Once both are ready, the loaded {@link JsonHandler} is handed to the main game and the
+ * loading screen is replaced by the {@link StartScreen}.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see StartScreen
+ */
+public class LoadingScreen extends ScreenAdapter {
+
+    /** Tag used when logging startup timings. */
+    private static final String LOG_TAG = "Startup";
+
+    /** Longest time, in milliseconds, spent loading assets in a single frame. */
+    private static final int ASSET_LOAD_BUDGET_MILLIS = 8;
+
+    /** Reference to the main game instance. */
+    private final Main mainGame;
+
+    /** Sprite batch used for rendering. */
+    private final SpriteBatch spriteBatch;
+
+    /** Viewport for handling screen size and scaling. */
+    private final Viewport viewport;
+
+    /** Font used for rendering the loading title. */
+    private final BitmapFont font;
+
+    /** Manager loading the start screen's assets, handed to the start screen once loaded. */
+    private final AssetManager assetManager;
+
+    /** Background thread loading the save files. */
+    private final Thread saveLoader;
+
+    /** The loaded save files, set by the loader thread once it is done. */
+    private volatile JsonHandler loadedSaves;
+
+    /** Error thrown by the loader thread, rethrown on the render thread. */
+    private volatile RuntimeException loadFailure;
+
+    /** Whether the loaded saves and assets have been handed over to the start screen. */
+    private boolean handedOff;
+
+    /**
+     * Constructs a new {@code LoadingScreen} and starts loading the save files and the
+     * start screen's assets.
+     *
+     * @param game The main game instance, used for shared resources and screen transitions.
+     */
+    public LoadingScreen(Main game) {
+        mainGame = game;
+        spriteBatch = mainGame.getSharedBatch();
+        viewport = mainGame.getViewport();
+        font = mainGame.resourceManager.getTitleFont();
+
+        assetManager = new AssetManager();
+        StartScreen.queueAssets(assetManager);
+
+        saveLoader = new Thread(this::loadSaves, "save-loader");
+        saveLoader.start();
+    }
+
+    /**
+     * Loads the save files. Runs on the loader thread.
+     */
+    private void loadSaves() {
+        long startTime = TimeUtils.millis();
+        try {
+            loadedSaves = new JsonHandler();
+            System.out.println("Saves loaded in " + TimeUtils.timeSinceMillis(startTime) + " ms.");
+        } catch (RuntimeException e) {
+            loadFailure = e;
+        }
+    }
+
+    /**
+     * Renders the loading screen, and switches to the start screen once the saves and
+     * assets are ready.
+     *
+     * @param delta The time in seconds since the last frame.
+     */
+    @Override
+    public void render(float delta) {
+        ScreenUtils.clear(0, 0, 0, 1);
+
+        spriteBatch.begin();
+        mainGame.drawBackground(spriteBatch, mainGame.resourceManager.get("mainBackground"), font, "Loading...");
+        spriteBatch.end();
+
+        if (loadFailure != null) {
+            throw new GdxRuntimeException("Could not load the save files", loadFailure);
+        }
+        boolean assetsLoaded = assetManager.update(ASSET_LOAD_BUDGET_MILLIS);
+        if (assetsLoaded && loadedSaves != null) {
+            showStartScreen();
+        }
+    }
+
+    /**
+     * Hands the loaded saves to the main game and replaces this screen with the start screen.
+     */
+    private void showStartScreen() {
+        mainGame.jsonHandler = loadedSaves;
+        handedOff = true;
+        Gdx.app.log(LOG_TAG, "Start screen ready after " + mainGame.getMillisSinceStartup() + " ms");
+        mainGame.popScreen();
+        mainGame.pushScreen(new StartScreen(mainGame, assetManager));
+    }
+
+    /**
+     * Resizes the viewport when the screen size changes.
+     *
+     * @param width  The new width of the screen.
+     * @param height The new height of the screen.
+     */
+    @Override
+    public void resize(int width, int height) {
+        if (width != 0 && height != 0) {
+            viewport.update(width, height, true);
+        }
+    }
+
+    /**
+     * Disposes of the assets and saves that were not handed over, waiting for the loader
+     * thread so its save writer can be shut down cleanly.
+     */
+    @Override
+    public void dispose() {
+        if (handedOff) {
+            return;
+        }
+        assetManager.dispose();
+        try {
+            saveLoader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (loadedSaves != null) {
+            loadedSaves.dispose();
+        }
+    }
+}
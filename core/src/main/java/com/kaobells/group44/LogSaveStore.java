@@ -0,0 +1,528 @@
+package com.kaobells.group44;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code LogSaveStore} class keeps every entry of a {@link SaveStore} in a single
+ * append-only log file, tuned for frequent small saves.
+ *
+ * <p>Each write appends one record and forces it to disk, without creating, renaming or
+ * rewriting any file, and the offset of each entry's newest contents is kept in memory, so
+ * a read is one positioned read. Outdated versions pile up in the log until
+ * {@link #checkpoint()} compacts it: the newest version of every entry is copied to a new log,
+ * which atomically replaces the old one.</p>
+ *
+ * <p>Reads take no lock: they look the entry up in the current {@link Log} and read it with a
+ * positioned read, so the {@link SlotLoader} reads slots in parallel while saves are appended.
+ * Writes and compactions are serialized.</p>
+ *
+ * <p>The log starts with an {@code int} magic number and an {@code int} version, followed by
+ * records laid out as:</p>
+ * <ul>
+ *     <li>{@code int} length of the body</li>
+ *     <li>{@code int} CRC32 of the body</li>
+ *     <li>body: {@code int} count, then for each entry a {@code short} name length, UTF-8 name
+ *     bytes, an {@code int} contents length and the contents; a length of -1, with no contents,
+ *     deletes the entry</li>
+ * </ul>
+ * <p>As in the {@link SaveJournal}, a record that is cut short or fails its checksum marks the
+ * end of the log, so the entries of a record are kept together or not at all.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see SaveBackend#LOG
+ */
+public class LogSaveStore implements SaveStore {
+
+    /** Name of the log inside the save directory. */
+    static final String LOG_FILE = "store.log";
+
+    /** Magic number at the start of the log ("KPLS"). */
+    private static final int MAGIC = 0x4B504C53;
+
+    /** Version of the log layout. */
+    private static final int VERSION = 1;
+
+    /** Size of the log header (magic and version), in bytes. */
+    private static final int FILE_HEADER_SIZE = 8;
+
+    /** Size of a record header (body length and checksum), in bytes. */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /** Bytes of outdated versions below which the log is not worth compacting during play. */
+    private static final long COMPACTION_MIN_GARBAGE = 64 * 1024;
+
+    /**
+     * Location of the newest contents of an entry in the log.
+     */
+    private static final class Location {
+
+        /** Offset of the contents in the log. */
+        final long offset;
+
+        /** Length of the contents, in bytes. */
+        final int length;
+
+        /** Bytes the entry takes in a compacted log, where it has a record of its own. */
+        final int size;
+
+        /**
+         * Constructs a location.
+         *
+         * @param offset The offset of the contents in the log.
+         * @param length The length of the contents.
+         * @param size   The bytes the entry takes in a compacted log.
+         */
+        Location(long offset, int length, int size) {
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+        }
+    }
+
+    /**
+     * An open log and where each entry's newest contents are in it, replaced as a whole when
+     * the log is compacted, so a read never looks up an offset in one log and reads another.
+     */
+    private static final class Log {
+
+        /** Channel the log is read and appended through, or {@code null} if a read-only log does not exist yet. */
+        final FileChannel channel;
+
+        /** Location of the newest contents of every entry, keyed by name; updated in place by appends. */
+        final ConcurrentHashMap<String, Location> index;
+
+        /**
+         * Constructs a log.
+         *
+         * @param channel The channel of the log, or {@code null}.
+         * @param index   The location of every entry in the log.
+         */
+        Log(FileChannel channel, ConcurrentHashMap<String, Location> index) {
+            this.channel = channel;
+            this.index = index;
+        }
+    }
+
+    /** The log file. */
+    private final File file;
+
+    /** Whether the log is only read, and left to another process to write. */
+    private final boolean readOnly;
+
+    /** The current log, read without locking and replaced only by compactions. */
+    private volatile Log log = new Log(null, new ConcurrentHashMap<>());
+
+    /** Offset at which the next record is appended: the end of the last intact record. */
+    private long end;
+
+    /** Size the log would be compacted to, without its header; the rest of it is outdated. */
+    private long liveBytes;
+
+    /** Buffer records are assembled in before they are appended, grown as needed and reused. */
+    private ByteBuffer buffer = ByteBuffer.allocate(4 * 1024);
+
+    /** Checksum calculator reused between records. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Opens the log in a save directory, creating it if needed, and indexes every intact record.
+     * Unless the log is read-only, a record torn by a crash is cut off its end.
+     *
+     * @param directory The save directory.
+     * @param readOnly  {@code true} to only read the log, {@code false} to write it too.
+     * @throws IOException If the log could not be opened or is not a save log.
+     */
+    public LogSaveStore(File directory, boolean readOnly) throws IOException {
+        this.file = new File(directory, LOG_FILE);
+        this.readOnly = readOnly;
+        if (readOnly && !file.exists()) {
+            return; // nothing saved yet
+        }
+        if (!readOnly) {
+            Files.createDirectories(directory.toPath());
+        }
+        FileChannel channel = readOnly
+            ? FileChannel.open(file.toPath(), StandardOpenOption.READ)
+            : FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log = new Log(channel, new ConcurrentHashMap<>());
+        try {
+            if (channel.size() == 0 && !readOnly) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                writeFully(channel, header, 0);
+                channel.force(true);
+            }
+            load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a save directory holds a save log.
+     *
+     * @param directory The save directory.
+     * @return {@code true} if the directory has a save log, {@code false} otherwise.
+     */
+    public static boolean exists(File directory) {
+        return new File(directory, LOG_FILE).exists();
+    }
+
+    /**
+     * Reads the newest contents of an entry from its indexed offset, without locking. An entry is
+     * only indexed once its record is on disk, and a compaction closes the old log only after
+     * publishing the new one, in which case the read is retried there.
+     *
+     * @param name The name of the entry.
+     * @return The contents, or {@code null} if there is no such entry.
+     * @throws IOException If the contents could not be read.
+     */
+    @Override
+    public byte[] read(String name) throws IOException {
+        while (true) {
+            Log current = log;
+            Location location = current.index.get(name);
+            if (location == null) {
+                return null;
+            }
+            byte[] data = new byte[location.length];
+            try {
+                readFully(current.channel, ByteBuffer.wrap(data), location.offset);
+                return data;
+            } catch (ClosedChannelException e) {
+                if (current == log) {
+                    throw e; // the store was closed, not compacted
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists every entry in the log.
+     *
+     * @return The entry names.
+     */
+    @Override
+    public Set<String> list() {
+        return new HashSet<>(log.index.keySet());
+    }
+
+    /**
+     * Appends a new version of an entry to the log.
+     *
+     * @param name The name of the entry.
+     * @param data The new contents.
+     * @throws IOException If the record could not be appended, or the log is read-only.
+     */
+    @Override
+    public void write(String name, byte[] data) throws IOException {
+        writeAll(Collections.singletonMap(name, data));
+    }
+
+    /**
+     * Appends several updates to the log as a single record and forces it to disk.
+     *
+     * @param entries The new contents of each entry, keyed by name; {@code null} deletes the entry.
+     * @throws IOException If the record could not be appended, or the log is read-only.
+     */
+    @Override
+    public synchronized void writeAll(Map<String, byte[]> entries) throws IOException {
+        if (readOnly) {
+            throw new IOException("Save log " + file + " is open read-only");
+        }
+        int bodyLength = 4;
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            bodyLength += entrySize(entry.getKey(), entry.getValue());
+        }
+        if (buffer.capacity() < RECORD_HEADER_SIZE + bodyLength) {
+            buffer = ByteBuffer.allocate(Math.max(RECORD_HEADER_SIZE + bodyLength, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(bodyLength);
+        buffer.putInt(0); // checksum is filled in once the body is in place
+        buffer.putInt(entries.size());
+        HashMap<String, Location> locations = new HashMap<>();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            byte[] nameBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            byte[] data = entry.getValue();
+            buffer.putShort((short) nameBytes.length);
+            buffer.put(nameBytes);
+            buffer.putInt(data != null ? data.length : -1);
+            if (data != null) {
+                locations.put(entry.getKey(), new Location(end + buffer.position(), data.length,
+                    compactedSize(entry.getKey(), data)));
+                buffer.put(data);
+            } else {
+                locations.put(entry.getKey(), null);
+            }
+        }
+        crc.reset();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        // a failed append leaves the index as it was, and the next one overwrites what it wrote
+        writeFully(log.channel, buffer, end);
+        log.channel.force(false);
+        end += RECORD_HEADER_SIZE + bodyLength;
+        for (Map.Entry<String, Location> location : locations.entrySet()) {
+            index(location.getKey(), location.getValue());
+        }
+    }
+
+    /**
+     * Checks whether outdated versions take more of the log than the newest ones, and at least
+     * {@value #COMPACTION_MIN_GARBAGE} bytes, so a small log is not rewritten on every save.
+     *
+     * @return {@code true} if the log should be compacted, {@code false} otherwise.
+     */
+    @Override
+    public synchronized boolean needsCheckpoint() {
+        long garbage = garbageBytes();
+        return !readOnly && garbage >= COMPACTION_MIN_GARBAGE && garbage >= liveBytes;
+    }
+
+    /**
+     * Compacts the log if it holds any outdated version: the newest version of every entry is
+     * copied to a new log, one record per entry, which then atomically replaces the old log.
+     *
+     * @throws IOException If the new log could not be written.
+     */
+    @Override
+    public synchronized void checkpoint() throws IOException {
+        if (readOnly || log.channel == null || garbageBytes() <= 0) {
+            return;
+        }
+        long before = end;
+        ConcurrentHashMap<String, Location> compacted = new ConcurrentHashMap<>();
+        long[] position = {0};
+        AtomicFileWriter.write(file, target -> {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            position[0] += writeFully(target, header, position[0]);
+            for (Map.Entry<String, Location> entry : log.index.entrySet()) {
+                byte[] data = read(entry.getKey());
+                byte[] nameBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                int bodyLength = 4 + entrySize(entry.getKey(), data);
+                ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bodyLength);
+                record.putInt(bodyLength).putInt(0).putInt(1);
+                record.putShort((short) nameBytes.length).put(nameBytes).putInt(data.length);
+                compacted.put(entry.getKey(), new Location(position[0] + record.position(), data.length, entry.getValue().size));
+                record.put(data);
+                crc.reset();
+                crc.update(record.array(), RECORD_HEADER_SIZE, bodyLength);
+                record.putInt(4, (int) crc.getValue());
+                record.flip();
+                position[0] += writeFully(target, record, position[0]);
+            }
+        });
+        Log old = log;
+        log = new Log(FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE), compacted);
+        old.channel.close(); // reads still on the old log retry on the new one
+        end = position[0];
+        System.out.println("Compacted the save log from " + before + " to " + end + " bytes.");
+    }
+
+    /**
+     * Stamps the log's size, which grows on every write, and its modification time, which also
+     * changes when a compaction replaces it.
+     *
+     * @return The stamp.
+     */
+    @Override
+    public long stamp() {
+        return file.length() * 31 + file.lastModified();
+    }
+
+    /**
+     * Closes the log.
+     *
+     * @throws IOException If the log could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (log.channel != null) {
+            log.channel.close();
+        }
+    }
+
+    /**
+     * Reads the whole log and indexes the entries of every intact record, cutting off a torn or
+     * damaged tail unless the log is read-only.
+     *
+     * @throws IOException If the log could not be read or is not a save log.
+     */
+    private void load() throws IOException {
+        FileChannel channel = log.channel;
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Save log " + file + " is too large");
+        }
+        ByteBuffer contents = ByteBuffer.allocate((int) size);
+        readFully(channel, contents, 0);
+        contents.flip();
+        if (contents.remaining() < FILE_HEADER_SIZE || contents.getInt() != MAGIC || contents.getInt() != VERSION) {
+            throw new IOException("Not a save log: " + file);
+        }
+        end = FILE_HEADER_SIZE;
+        while (contents.remaining() >= RECORD_HEADER_SIZE) {
+            int bodyLength = contents.getInt();
+            int checksum = contents.getInt();
+            if (bodyLength < 4 || bodyLength > contents.remaining()) {
+                break; // torn record at the end of the log
+            }
+            crc.reset();
+            crc.update(contents.array(), contents.position(), bodyLength);
+            if ((int) crc.getValue() != checksum || !loadRecord(contents, contents.position() + bodyLength)) {
+                break; // damaged record, nothing after it can be trusted
+            }
+            end = contents.position();
+        }
+        if (end < size && !readOnly) {
+            System.out.println("Discarded " + (size - end) + " damaged byte(s) at the end of the save log.");
+            channel.truncate(end);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Indexes the entries of a record whose checksum has already been verified. The entries are
+     * only indexed once the whole record has been read.
+     *
+     * @param contents The log contents, positioned at the start of the record's body.
+     * @param bodyEnd  The position at which the record ends.
+     * @return {@code true} if the record was well formed, {@code false} otherwise.
+     */
+    private boolean loadRecord(ByteBuffer contents, int bodyEnd) {
+        int count = contents.getInt();
+        HashMap<String, Location> locations = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (bodyEnd - contents.position() < 2) {
+                return false;
+            }
+            int nameLength = contents.getShort() & 0xFFFF;
+            if (bodyEnd - contents.position() < nameLength + 4) {
+                return false;
+            }
+            byte[] nameBytes = new byte[nameLength];
+            contents.get(nameBytes);
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            int length = contents.getInt();
+            if (length == -1) {
+                locations.put(name, null);
+                continue;
+            }
+            if (length < 0 || bodyEnd - contents.position() < length) {
+                return false;
+            }
+            locations.put(name, new Location(contents.position(), length, RECORD_HEADER_SIZE + 4 + 2 + nameLength + 4 + length));
+            contents.position(contents.position() + length);
+        }
+        if (contents.position() != bodyEnd) {
+            return false;
+        }
+        for (Map.Entry<String, Location> location : locations.entrySet()) {
+            index(location.getKey(), location.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Records the newest location of an entry, keeping the count of live bytes up to date.
+     *
+     * @param name     The name of the entry.
+     * @param location The location of its newest contents, or {@code null} if it was deleted.
+     */
+    private void index(String name, Location location) {
+        Location previous = location != null ? log.index.put(name, location) : log.index.remove(name);
+        if (previous != null) {
+            liveBytes -= previous.size;
+        }
+        if (location != null) {
+            liveBytes += location.size;
+        }
+    }
+
+    /**
+     * Computes how many bytes of the log are taken by outdated versions and deleted entries.
+     *
+     * @return The number of bytes a compaction could reclaim; negative if entries written in one
+     *         record take less room than the records of their own they get when compacted.
+     */
+    private long garbageBytes() {
+        return end - FILE_HEADER_SIZE - liveBytes;
+    }
+
+    /**
+     * Computes how many bytes of a record's body an entry takes.
+     *
+     * @param name The name of the entry.
+     * @param data Its contents, or {@code null} if it is deleted.
+     * @return The size of the entry, in bytes.
+     */
+    private static int entrySize(String name, byte[] data) {
+        return 2 + name.getBytes(StandardCharsets.UTF_8).length + 4 + (data != null ? data.length : 0);
+    }
+
+    /**
+     * Computes how many bytes an entry takes in a compacted log, where it has a record of its own.
+     *
+     * @param name The name of the entry.
+     * @param data Its contents.
+     * @return The size of the entry's record, in bytes.
+     */
+    private static int compactedSize(String name, byte[] data) {
+        return RECORD_HEADER_SIZE + 4 + entrySize(name, data);
+    }
+
+    /**
+     * Writes a whole buffer at a position of a channel.
+     *
+     * @param channel  The channel.
+     * @param data     The data to write.
+     * @param position The position to write at.
+     * @return The number of bytes written.
+     * @throws IOException If the data could not be written.
+     */
+    private static int writeFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        int written = 0;
+        while (data.hasRemaining()) {
+            written += channel.write(data, position + written);
+        }
+        return written;
+    }
+
+    /**
+     * Fills a buffer from a position of a channel.
+     *
+     * @param channel  The channel.
+     * @param data     The buffer to fill.
+     * @param position The position to read from.
+     * @throws IOException If the channel ends before the buffer is full.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        long offset = position;
+        while (data.hasRemaining()) {
+            int read = channel.read(data, offset);
+            if (read < 0) {
+                throw new IOException("Save log ends before offset " + (position + data.capacity()));
+            }
+            offset += read;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.kaobells.group44;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
@@ -13,6 +16,7 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
@@ -21,6 +25,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -74,19 +79,33 @@ public class Main extends Game {
     /** Stack used for managing and switching between screens. */
     private Stack<Screen> screenStack;
 
+    /** Time, in milliseconds, at which {@link #create()} was called. */
+    private long startupTime;
+
+    /** Whether the time to the first rendered frame has been logged. */
+    private boolean firstFrameLogged;
+
+    /** Seconds between two checks for saves made by another instance of the game, while read-only. */
+    private static final float SAVE_CHECK_INTERVAL = 2f;
+
+    /** Seconds since the saves were last checked for changes made by another instance. */
+    private float saveCheckTimer;
+
 
     /**
      * Initializes the game, setting up resources, the viewport, and the initial screen.
+     *
+     * <p>Only what the {@link LoadingScreen} needs is loaded here. The save files are loaded
+     * in the background, so {@link #jsonHandler} stays {@code null} until the loading screen
+     * hands it over and pushes the {@link StartScreen}.</p>
      */
     @Override
     public void create() {
-
+        startupTime = TimeUtils.millis();
 
 //        assetManager = new AssetManager();
         screenStack = new Stack<>();
 
-        jsonHandler = new JsonHandler();
-
         int baseWidth = 1920;
         int baseHeight = 1080;
 
@@ -102,7 +121,7 @@ public class Main extends Game {
         viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
 
 
-        this.pushScreen(new StartScreen(this));
+        this.pushScreen(new LoadingScreen(this));
 
     }
 
@@ -175,21 +194,49 @@ public class Main extends Game {
     }
 
     /**
-     * Renders the game, delegating rendering tasks to the active screen.
+     * Renders the game, delegating rendering tasks to the active screen, and reloads the saves
+     * every few seconds while another instance of the game holds them.
      */
     @Override
     public void render() {
         super.render(); // important!
+        if (!firstFrameLogged) {
+            firstFrameLogged = true;
+            Gdx.app.log("Startup", "First frame rendered after " + getMillisSinceStartup() + " ms");
+        }
+        if (jsonHandler != null && jsonHandler.isReadOnly()) {
+            saveCheckTimer += Gdx.graphics.getDeltaTime();
+            if (saveCheckTimer >= SAVE_CHECK_INTERVAL) {
+                saveCheckTimer = 0;
+                jsonHandler.reloadIfChanged(); // keep showing the progress saved by the other instance
+            }
+        }
+    }
+
+    /**
+     * Retrieves the time elapsed since the game started.
+     *
+     * @return The number of milliseconds since {@link #create()} was called.
+     */
+    public long getMillisSinceStartup() {
+        return TimeUtils.timeSinceMillis(startupTime);
     }
 
 
     /**
-     * Disposes of all shared resources, including the sprite batch and super resources.
+     * Disposes of all shared resources, including the sprite batch and super resources,
+     * and flushes any saves still pending on the background writer.
      */
     @Override
     public void dispose() {
         sharedBatch.dispose();
         super.dispose();
+        if (getScreen() instanceof LoadingScreen) {
+            getScreen().dispose(); // closed while still loading, the saves were never handed over
+        }
+        if (jsonHandler != null) {
+            jsonHandler.dispose(); // flush pending saves before the process exits
+        }
     }
 
     /**
@@ -408,6 +455,67 @@ public class Main extends Game {
         }
     }
 
+    /**
+     * Displays a message when playtime is blocked due to parental controls.
+     *
+     * @param stage    The stage on which the message should be displayed.
+     * @param viewport The viewport used to size and position elements.
+     */
+    public void showBlockedTimeMessage(Stage stage, Viewport viewport) {
+        // Clear previous actors
+        stage.clear();
+        // Create a semi-transparent overlay
+        Texture overlayTexture = new Texture(Gdx.files.internal("parentalControlsScreen/times-up-txtbox.png"));
+        Image overlayImage = new Image(new TextureRegionDrawable(new TextureRegion(overlayTexture)));
+        // Center the overlay image
+        overlayImage.setSize(viewport.getWorldWidth() * 0.7f, viewport.getWorldHeight() * 0.3f);
+        overlayImage.setPosition(
+            (viewport.getWorldWidth() - overlayImage.getWidth()) / 2,
+            (viewport.getWorldHeight() - overlayImage.getHeight()) / 2
+        );
+        //add to stage
+        stage.addActor(overlayImage);
+        // Add the back button
+        ImageButton backButton = getBackButton();
+        backButton.setSize(viewport.getWorldWidth() * 0.1f, viewport.getWorldHeight() * 0.1f);
+        backButton.setPosition(
+            (viewport.getWorldWidth() - backButton.getWidth()) / 2, // Center horizontally
+            viewport.getWorldHeight() * 0.2f // Place below the message
+        );
+
+        // Clear any existing listeners on the back button to prevent stacking
+        backButton.clearListeners();
+        //on click clear stack then push a new StartScreen
+        backButton.addListener(new ClickListener() {
+            @Override
+            public void clicked(InputEvent event, float x, float y) {
+                clearStackExceptMain();
+                popScreen();
+                pushScreen(new StartScreen(Main.this)); // Go back to the main menu
+            }
+        });
+        stage.addActor(backButton);
+
+        //for pressing M to go back
+        InputAdapter inputAdapter = new InputAdapter(){
+            @Override
+            public boolean keyDown(int keycode) {
+                if (keycode == Input.Keys.M) {
+                    clearStackExceptMain();
+                    popScreen();
+                    pushScreen(new StartScreen(Main.this));
+                    return true;
+                }
+                return true;
+            }
+        };
+
+        InputMultiplexer multiplexer = new InputMultiplexer();
+        multiplexer.addProcessor(stage);       // Stage for UI interactions
+        multiplexer.addProcessor(inputAdapter); // InputAdapter for key presses
+        Gdx.input.setInputProcessor(multiplexer);  //setting to multiplexer
+    }
+
     /**
      * Draws the background and title text.
      *
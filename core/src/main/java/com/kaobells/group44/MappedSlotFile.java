@@ -0,0 +1,568 @@
+package com.kaobells.group44;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code MappedSlotFile} class stores the gameplay state of every game slot in a
+ * memory-mapped file of fixed-size records, so saving a slot overwrites about a hundred
+ * bytes in place instead of rewriting a whole save file.
+ *
+ * <p>Each slot owns one record made of two copies of its state. A save always overwrites the
+ * older copy, stamped with a sequence number higher than any before it and covered by a CRC32,
+ * so a write torn by a crash only ever damages the copy that was being replaced. Reading a slot
+ * returns the intact copy with the highest sequence number.</p>
+ *
+ * <p>Each copy is laid out as:</p>
+ * <ul>
+ *     <li>{@code long} sequence number, 0 if the copy was never written</li>
+ *     <li>{@code int} CRC32 of the rest of the copy</li>
+ *     <li>{@code long} time the copy was saved, in milliseconds since the epoch</li>
+ *     <li>the character's {@link CharacterClass#writeRecord(ByteBuffer) record}</li>
+ * </ul>
+ *
+ * <p>The fields that never change once a character is created, such as its name, are kept in a
+ * small side table that maps each slot ID to its record. The side table is only held in memory
+ * here; it is persisted through {@link #encodeNames()}, and must reach disk after the records it
+ * points to.</p>
+ *
+ * <p>Every method is synchronized, so records can be written on the render thread while the
+ * save writer applies journaled records or forces the file to disk.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public class MappedSlotFile implements Closeable {
+
+    /** Magic number at the start of the record file ("KPMS"). */
+    private static final int RECORD_MAGIC = 0x4B504D53;
+
+    /** Magic number at the start of the side table ("KPMN"). */
+    private static final int NAMES_MAGIC = 0x4B504D4E;
+
+    /** Version of the record layout. */
+    private static final int VERSION = 1;
+
+    /** Size of the record file header (magic, version, copy size and reserved), in bytes. */
+    private static final int HEADER_SIZE = 16;
+
+    /** Offset of the checksummed part of a copy, after the sequence number and checksum. */
+    private static final int CHECKSUMMED_OFFSET = 12;
+
+    /** Offset of the save time in a copy, the first checksummed field. */
+    private static final int SAVED_AT_OFFSET = CHECKSUMMED_OFFSET;
+
+    /** Offset of the character's record in a copy, after the sequence number, checksum and save time. */
+    private static final int STATE_OFFSET = 20;
+
+    /** Offset of the score in a copy, after the five stats of the character's record. */
+    private static final int SCORE_OFFSET = STATE_OFFSET + 20;
+
+    /** Offset of the state ordinal in a copy, after the score and both cooldowns. */
+    private static final int STATE_ORDINAL_OFFSET = SCORE_OFFSET + 12;
+
+    /** Size of one copy of a slot's state, in bytes. Each save writes exactly this much. */
+    public static final int COPY_SIZE = STATE_OFFSET + CharacterClass.RECORD_SIZE;
+
+    /** Size of a slot's record, holding both copies of its state, in bytes. */
+    private static final int RECORD_SIZE = 2 * COPY_SIZE;
+
+    /** Number of records the file has room for when it is created. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Location and identity of one slot's record.
+     */
+    private static final class Entry {
+
+        /** Position of the record in the file. */
+        final int index;
+
+        /** The character's identity, as written by {@link CharacterClass#writeRecordIdentity}. */
+        byte[] identity;
+
+        /** Sequence number of the newest intact copy, 0 if the record holds no intact copy. */
+        long sequence;
+
+        /** Which copy (0 or 1) holds the newest state. */
+        int newestCopy = 1;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param index    The position of the record in the file.
+         * @param identity The character's identity.
+         */
+        Entry(int index, byte[] identity) {
+            this.index = index;
+            this.identity = identity;
+        }
+    }
+
+    /** The file holding the records. */
+    private final File recordFile;
+
+    /** Channel the records are mapped through. */
+    private final FileChannel channel;
+
+    /** The mapped records, remapped whenever the file grows. */
+    private MappedByteBuffer records;
+
+    /** Number of records the current mapping has room for. */
+    private int capacity;
+
+    /** Record and identity of every slot, keyed by slot ID. */
+    private final HashMap<String, Entry> entries = new HashMap<>();
+
+    /** Record positions freed by removed slots, reused before the file grows. */
+    private final ArrayDeque<Integer> freeIndices = new ArrayDeque<>();
+
+    /** Number of record positions handed out so far, including freed ones. */
+    private int usedIndices;
+
+    /** Sequence number of the newest copy written, in any record. */
+    private long lastSequence;
+
+    /** Buffer a copy is assembled in before it is written, reused between saves. */
+    private final ByteBuffer copy = ByteBuffer.allocate(COPY_SIZE);
+
+    /** Checksum calculator reused between saves. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Opens the record file, creating it if it does not exist yet, and finds the newest intact
+     * copy of every slot listed in the side table.
+     *
+     * @param recordFile The file holding the records.
+     * @param names      The side table, as encoded by {@link #encodeNames()}, or {@code null} if there is none yet.
+     * @throws IOException If the file could not be opened or is not a record file.
+     */
+    public MappedSlotFile(File recordFile, byte[] names) throws IOException {
+        this.recordFile = recordFile;
+        if (recordFile.getParentFile() != null) {
+            Files.createDirectories(recordFile.getParentFile().toPath());
+        }
+        channel = FileChannel.open(recordFile.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                map(INITIAL_CAPACITY);
+                records.putInt(0, RECORD_MAGIC).putInt(4, VERSION).putInt(8, COPY_SIZE);
+            } else {
+                map((int) Math.max(1, (channel.size() - HEADER_SIZE) / RECORD_SIZE));
+                if (records.getInt(0) != RECORD_MAGIC || records.getInt(4) != VERSION || records.getInt(8) != COPY_SIZE) {
+                    throw new IOException("Not a mapped slot file: " + recordFile);
+                }
+            }
+            if (names != null) {
+                decodeNames(names);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        for (Entry entry : entries.values()) {
+            findNewestCopy(entry);
+            lastSequence = Math.max(lastSequence, entry.sequence);
+        }
+    }
+
+    /**
+     * Checks whether a slot has a record.
+     *
+     * @param slotId The ID of the slot.
+     * @return {@code true} if the slot is in the side table, {@code false} otherwise.
+     */
+    public synchronized boolean contains(String slotId) {
+        return entries.containsKey(slotId);
+    }
+
+    /**
+     * Retrieves the IDs of every slot with a record.
+     *
+     * @return The slot IDs, in {@link SlotSummary#SLOT_ORDER}.
+     */
+    public synchronized Set<String> getSlotIds() {
+        Set<String> slotIds = new TreeSet<>(SlotSummary.SLOT_ORDER);
+        slotIds.addAll(entries.keySet());
+        return Collections.unmodifiableSet(slotIds);
+    }
+
+    /**
+     * Gives a slot a record for the given character, or updates the identity of its record.
+     * Only the side table in memory changes; the caller persists it through {@link #encodeNames()}
+     * once the slot's first copy has been written.
+     *
+     * @param slotId    The ID of the slot.
+     * @param character The character saved in the slot.
+     * @return {@code true} if the side table changed, {@code false} if the slot already had this identity.
+     * @throws IOException If the character's identity could not be encoded.
+     */
+    public synchronized boolean register(String slotId, CharacterClass character) throws IOException {
+        byte[] identityBytes = identityOf(character);
+        Entry entry = entries.get(slotId);
+        if (entry != null) {
+            if (Arrays.equals(entry.identity, identityBytes)) {
+                return false;
+            }
+            entry.identity = identityBytes;
+            return true;
+        }
+        int index = freeIndices.isEmpty() ? usedIndices++ : freeIndices.poll();
+        if (index >= capacity) {
+            map(Math.max(capacity * 2, index + 1));
+        }
+        // a reused position may still hold copies of the slot it belonged to
+        int offset = recordOffset(index);
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            records.put(offset + i, (byte) 0);
+        }
+        entries.put(slotId, new Entry(index, identityBytes));
+        return true;
+    }
+
+    /**
+     * Checks whether a slot has a record for the given character, so saving it only has to
+     * overwrite the record.
+     *
+     * @param slotId    The ID of the slot.
+     * @param character The character saved in the slot.
+     * @return {@code true} if the slot is registered with the character's identity, {@code false} otherwise.
+     * @throws IOException If the character's identity could not be encoded.
+     */
+    public synchronized boolean hasIdentity(String slotId, CharacterClass character) throws IOException {
+        Entry entry = entries.get(slotId);
+        return entry != null && Arrays.equals(entry.identity, identityOf(character));
+    }
+
+    /**
+     * Removes a slot's record. Only the side table in memory changes, the caller persists it
+     * through {@link #encodeNames()}.
+     *
+     * @param slotId The ID of the slot.
+     * @return {@code true} if the slot had a record, {@code false} otherwise.
+     */
+    public synchronized boolean remove(String slotId) {
+        Entry entry = entries.remove(slotId);
+        if (entry == null) {
+            return false;
+        }
+        freeIndices.add(entry.index);
+        return true;
+    }
+
+    /**
+     * Captures a character's gameplay state as a copy ready to be {@link #apply(String, byte[]) applied},
+     * stamped with a new sequence number. Copies may be journaled and applied later; a copy is
+     * only ever applied over an older one.
+     *
+     * @param character The character to capture, which must {@link CharacterClass#fitsRecord() fit in a record}.
+     * @return The copy, {@value #COPY_SIZE} bytes long.
+     */
+    public synchronized byte[] snapshot(CharacterClass character) {
+        copy.clear();
+        copy.putLong(++lastSequence);
+        copy.putInt(0); // checksum, filled in below
+        copy.putLong(System.currentTimeMillis());
+        character.writeRecord(copy);
+        crc.reset();
+        crc.update(copy.array(), CHECKSUMMED_OFFSET, COPY_SIZE - CHECKSUMMED_OFFSET);
+        copy.putInt(8, (int) crc.getValue());
+        return copy.array().clone();
+    }
+
+    /**
+     * Writes a copy over the older copy of a slot's record, unless the record already holds a
+     * newer state. The write goes to the page cache; {@link #force()} makes it durable.
+     *
+     * @param slotId The ID of the slot, which must have been {@link #register registered}.
+     * @param state  The copy to write, as returned by {@link #snapshot(CharacterClass)}.
+     * @return {@code true} if the copy was written, {@code false} if it was older or the slot has no record.
+     */
+    public synchronized boolean apply(String slotId, byte[] state) {
+        Entry entry = entries.get(slotId);
+        if (entry == null || state.length != COPY_SIZE) {
+            return false;
+        }
+        long sequence = ByteBuffer.wrap(state).getLong(0);
+        if (sequence <= entry.sequence) {
+            return false;
+        }
+        int target = 1 - entry.newestCopy;
+        records.position(recordOffset(entry.index) + target * COPY_SIZE);
+        records.put(state);
+        entry.sequence = sequence;
+        entry.newestCopy = target;
+        lastSequence = Math.max(lastSequence, sequence);
+        return true;
+    }
+
+    /**
+     * Saves a character's gameplay state in place: {@link #snapshot(CharacterClass)} followed by
+     * {@link #apply(String, byte[])}.
+     *
+     * @param slotId    The ID of the slot, which must have been {@link #register registered}.
+     * @param character The character to save.
+     * @return {@code true} if the state was written, {@code false} if the slot has no record.
+     */
+    public synchronized boolean write(String slotId, CharacterClass character) {
+        return apply(slotId, snapshot(character));
+    }
+
+    /**
+     * Reads the character saved in a slot from the newest intact copy of its record.
+     *
+     * @param slotId The ID of the slot.
+     * @return The character, or {@code null} if the slot has no record or neither copy is intact.
+     * @throws IOException If the slot's identity could not be read.
+     */
+    public synchronized CharacterClass read(String slotId) throws IOException {
+        ByteBuffer state = readNewestCopy(slotId);
+        if (state == null) {
+            return null;
+        }
+        state.position(STATE_OFFSET);
+        DataInputStream identity = new DataInputStream(new ByteArrayInputStream(entries.get(slotId).identity));
+        return CharacterClass.readRecord(identity, state);
+    }
+
+    /**
+     * Summarizes the character saved in a slot without building it.
+     *
+     * @param slotId The ID of the slot.
+     * @return The summary, or {@code null} if the slot has no record or neither copy is intact.
+     * @throws IOException If the slot's identity could not be read.
+     */
+    public synchronized SlotSummary summarize(String slotId) throws IOException {
+        ByteBuffer state = readNewestCopy(slotId);
+        if (state == null) {
+            return null;
+        }
+        DataInputStream identity = new DataInputStream(new ByteArrayInputStream(entries.get(slotId).identity));
+        String name = identity.readUTF();
+        if (identity.readBoolean()) {
+            identity.readUTF(); // the slot field
+        }
+        identity.readInt(); // the character number
+        String characterType = identity.readUTF();
+        int stateOrdinal = state.get(STATE_ORDINAL_OFFSET);
+        return new SlotSummary(slotId, name, characterType, stateOrdinal < 0 ? null : State.values()[stateOrdinal],
+            state.getInt(SCORE_OFFSET), state.getLong(SAVED_AT_OFFSET));
+    }
+
+    /**
+     * Encodes the side table, mapping every slot ID to its record and identity.
+     *
+     * @return The encoded side table.
+     * @throws IOException If the side table could not be encoded.
+     */
+    public synchronized byte[] encodeNames() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + entries.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(NAMES_MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> slot : entries.entrySet()) {
+            out.writeUTF(slot.getKey());
+            out.writeInt(slot.getValue().index);
+            out.writeShort(slot.getValue().identity.length);
+            out.write(slot.getValue().identity);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the highest sequence number stamped on any copy of a record, which grows with every
+     * save made in place, including saves made by another process that has the file mapped.
+     *
+     * @return The highest sequence number, 0 if no record holds a copy yet.
+     */
+    public synchronized long readNewestSequence() {
+        long newest = 0;
+        for (Entry entry : entries.values()) {
+            int offset = recordOffset(entry.index);
+            newest = Math.max(newest, Math.max(records.getLong(offset), records.getLong(offset + COPY_SIZE)));
+        }
+        return newest;
+    }
+
+    /**
+     * Forces every record written so far to disk.
+     */
+    public synchronized void force() {
+        records.force();
+    }
+
+    /**
+     * Forces the records to disk and closes the file.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        records.force();
+        channel.close();
+    }
+
+    /**
+     * Retrieves the file holding the records.
+     *
+     * @return The record file.
+     */
+    public File getRecordFile() {
+        return recordFile;
+    }
+
+    /**
+     * Encodes the fields of a character that are kept in the side table.
+     *
+     * @param character The character.
+     * @return The encoded identity.
+     * @throws IOException If the identity could not be encoded.
+     */
+    private static byte[] identityOf(CharacterClass character) throws IOException {
+        ByteArrayOutputStream identity = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(identity);
+        character.writeRecordIdentity(out);
+        out.flush();
+        return identity.toByteArray();
+    }
+
+    /**
+     * Reads the side table into memory.
+     *
+     * @param names The encoded side table.
+     * @throws IOException If the side table is damaged or points outside the record file.
+     */
+    private void decodeNames(byte[] names) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(names));
+        if (in.readInt() != NAMES_MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a mapped slot side table");
+        }
+        int count = in.readInt();
+        boolean[] used = new boolean[capacity];
+        for (int i = 0; i < count; i++) {
+            String slotId = in.readUTF();
+            int index = in.readInt();
+            byte[] identity = new byte[in.readUnsignedShort()];
+            in.readFully(identity);
+            if (index < 0 || index >= capacity) {
+                throw new IOException("Game slot " + slotId + " points outside the record file");
+            }
+            used[index] = true;
+            usedIndices = Math.max(usedIndices, index + 1);
+            entries.put(slotId, new Entry(index, identity));
+        }
+        for (int index = 0; index < usedIndices; index++) {
+            if (!used[index]) {
+                freeIndices.add(index);
+            }
+        }
+    }
+
+    /**
+     * Finds which copy of a record is the newest intact one.
+     *
+     * @param entry The record's entry, updated in place.
+     */
+    private void findNewestCopy(Entry entry) {
+        entry.sequence = 0;
+        entry.newestCopy = 1; // so the first save goes to copy 0
+        for (int i = 0; i < 2; i++) {
+            int offset = recordOffset(entry.index) + i * COPY_SIZE;
+            long sequence = records.getLong(offset);
+            if (sequence > entry.sequence && isIntact(offset)) {
+                entry.sequence = sequence;
+                entry.newestCopy = i;
+            }
+        }
+    }
+
+    /**
+     * Copies the newest intact copy of a slot's record out of the mapped file, checking it again
+     * in case the file was damaged since it was opened.
+     *
+     * @param slotId The ID of the slot.
+     * @return A buffer holding the copy, or {@code null} if the slot has no record or neither copy is intact.
+     */
+    private ByteBuffer readNewestCopy(String slotId) {
+        Entry entry = entries.get(slotId);
+        if (entry == null || entry.sequence == 0) {
+            return null;
+        }
+        int offset = recordOffset(entry.index) + entry.newestCopy * COPY_SIZE;
+        if (!isIntact(offset)) {
+            findNewestCopy(entry);
+            if (entry.sequence == 0) {
+                return null;
+            }
+            offset = recordOffset(entry.index) + entry.newestCopy * COPY_SIZE;
+        }
+        byte[] state = new byte[COPY_SIZE];
+        records.position(offset);
+        records.get(state);
+        return ByteBuffer.wrap(state);
+    }
+
+    /**
+     * Checks a copy against its checksum.
+     *
+     * @param offset The offset of the copy in the file.
+     * @return {@code true} if the copy is intact, {@code false} otherwise.
+     */
+    private boolean isIntact(int offset) {
+        records.position(offset);
+        records.get(copy.array(), 0, COPY_SIZE);
+        crc.reset();
+        crc.update(copy.array(), CHECKSUMMED_OFFSET, COPY_SIZE - CHECKSUMMED_OFFSET);
+        return copy.getInt(8) == (int) crc.getValue();
+    }
+
+    /**
+     * Maps the record file with room for the given number of records, growing it if needed.
+     *
+     * @param recordCount The number of records to make room for.
+     * @throws IOException If the file could not be mapped.
+     */
+    private void map(int recordCount) throws IOException {
+        if (records != null) {
+            records.force(); // the old mapping is dropped with whatever it still held
+        }
+        long size = HEADER_SIZE + (long) recordCount * RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Mapped slot file cannot grow past " + capacity + " slots");
+        }
+        records = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = recordCount;
+    }
+
+    /**
+     * Retrieves the offset of a record in the file.
+     *
+     * @param index The position of the record.
+     * @return The offset of the record's first copy.
+     */
+    private static int recordOffset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+}
@@ -148,12 +148,15 @@ public class NameInput extends ScreenAdapter {
                     boolean[] compoundingStates= new boolean[3];
                     CharacterClass newCharacter = new CharacterClass(mainGame, nameInputField.getText(), previousScreenVar.getCharacterIndex(), previousScreenVar.getCharacterType(previousScreenVar.getCharacterIndex()),inventory, compoundingStates, slot,0);
 
-                    GameSession newGame = new GameSession(newCharacter,mainGame);
-                    if(!(newGame.blockedPlayTimeCheck())){ //checks for playing during active parental block
-                        mainGame.pushScreen(new GameScreen(mainGame, newGame));
-                    } else {
-                        mainGame.jsonHandler.showBlockedTimeMessage(stage, viewport, mainGame);
-                    }
+                    // counting the session and taking it back if playtime is blocked is a single save
+                    mainGame.jsonHandler.update(() -> {
+                        GameSession newGame = new GameSession(newCharacter,mainGame);
+                        if(!(newGame.blockedPlayTimeCheck())){ //checks for playing during active parental block
+                            mainGame.pushScreen(new GameScreen(mainGame, newGame));
+                        } else {
+                            mainGame.showBlockedTimeMessage(stage, viewport);
+                        }
+                    });
                 }
                 else{
                     mainGame.sendError("Sorry buster but you need to name your student");
@@ -0,0 +1,176 @@
+package com.kaobells.group44;
+
+/**
+ * The {@code OfflineProgression} class ages a pet by the time the game was closed, in a single
+ * calculation instead of one {@link PetModel#statBarTick()} per second away.
+ *
+ * <p>While the game is closed nothing feeds, gifts or wakes the pet, so its stats follow straight
+ * lines between a handful of events:
+ * <ul>
+ *     <li>happiness and fullness only go down, so the second each of them runs out, making the pet
+ *     angry or hungry for good, is known from the start;</li>
+ *     <li>health only goes down while the pet is hungry, twice as fast once it is also angry
+ *     ("hangry"), and by a fixed amount every time the pet falls asleep from exhaustion;</li>
+ *     <li>sleep goes down until the pet falls asleep, then back up five times as fast until it
+ *     wakes, over and over.</li>
+ * </ul>
+ * Between two events the stats are worked out directly from their rates, and the events
+ * themselves follow the thresholds of {@link PetModel#stateDetermine()}. Every sleep costs
+ * {@value PetModel#EXHAUSTION_HEALTH_COST} health, so a pet lives through at most about ten of
+ * them, and the number of events, hence the cost, does not grow with the time away.</p>
+ *
+ * <p>Only the decay is replayed: the score a pet earns each second is a reward for playing, so
+ * the time away only costs the score penalties of its states. The result matches ticking second
+ * by second, up to the rounding of the stats, which are kept in floats while playing; a stat
+ * landing right on a threshold may change the pet's state a second earlier or later.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see PetModel
+ */
+public final class OfflineProgression {
+
+    /** Number of seconds standing for an event that never happens. */
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private OfflineProgression() {
+    }
+
+    /**
+     * Ages a pet by a number of seconds without any care, as that many stat ticks would.
+     * The pet's rates of change must have been set by {@link PetModel#modifyModifiers(int)}.
+     *
+     * @param pet     The pet to age.
+     * @param seconds The number of seconds the pet was left alone.
+     */
+    public static void apply(PetModel pet, long seconds) {
+        if (seconds <= 0) {
+            return;
+        }
+        pet.updateCooldowns(seconds);
+        pet.stateDetermine();
+        if (pet.isDead() || pet.getCompoundingStates() == null) {
+            return;
+        }
+        double happinessChange = pet.getHappinessChange();
+        double fullnessChange = pet.getFullnessChange();
+        double healthChange = pet.getHealthChange();
+        double sleepChange = pet.getSleepChange();
+
+        boolean[] flags = pet.getCompoundingStates();
+        boolean asleep = flags[PetModel.SLEEPING_INDEX];
+        boolean angry = flags[PetModel.ANGRY_INDEX];
+        boolean hungry = flags[PetModel.HUNGRY_INDEX];
+        // happiness and fullness never go back up, so they run out at a known second, if not already
+        long angryAt = angry ? NEVER : secondsUntilBelow(pet.getHappiness(), happinessChange);
+        long hungryAt = hungry ? NEVER : secondsUntilBelow(pet.getHunger(), fullnessChange);
+
+        double health = pet.getHealth();
+        double sleep = pet.getSleep();
+        int score = pet.getScore();
+        boolean dead = false;
+        long elapsed = 0;
+        while (elapsed < seconds) {
+            double healthRate = hungry ? healthChange * (angry ? PetModel.HANGRY_FACTOR : 1) : 0;
+            double sleepRate = asleep ? sleepChange * PetModel.SLEEP_RECOVERY_FACTOR : -sleepChange;
+
+            // jump straight to the next second anything changes
+            long next = seconds;
+            next = Math.min(next, angryAt);
+            next = Math.min(next, hungryAt);
+            next = Math.min(next, plus(elapsed, asleep
+                ? secondsUntilAbove(sleep, sleepRate, PetModel.WAKE_ABOVE)
+                : secondsUntilBelow(sleep, sleepChange)));
+            next = Math.min(next, plus(elapsed, health < PetModel.RUN_OUT_BELOW
+                ? 1 // exhaustion took the last of its health, which the next tick finds
+                : secondsUntilBelow(health, healthRate)));
+            long span = next - elapsed;
+            health = Math.max(0, health - healthRate * span);
+            sleep = Math.min(100, Math.max(0, sleep + sleepRate * span));
+            elapsed = next;
+
+            // then settle the state as stateDetermine does after that tick
+            if (health < PetModel.RUN_OUT_BELOW) {
+                dead = true;
+                break;
+            }
+            if (!asleep && sleep < PetModel.RUN_OUT_BELOW) {
+                asleep = true;
+                health = Math.max(0, health - PetModel.EXHAUSTION_HEALTH_COST);
+                score = Math.max(0, score - PetModel.EXHAUSTION_SCORE_COST);
+            }
+            if (elapsed == angryAt) {
+                angry = true;
+                angryAt = NEVER;
+                score = Math.max(0, score - PetModel.NEED_SCORE_COST);
+            }
+            if (elapsed == hungryAt) {
+                hungry = true;
+                hungryAt = NEVER;
+                score = Math.max(0, score - PetModel.NEED_SCORE_COST);
+            }
+            if (asleep && sleep > PetModel.WAKE_ABOVE) {
+                asleep = false;
+            }
+        }
+
+        pet.setScore(score);
+        if (dead) {
+            pet.killPet();
+            return;
+        }
+        pet.setHappiness((float) Math.max(0, pet.getHappiness() - happinessChange * seconds));
+        pet.setHunger((float) Math.max(0, pet.getHunger() - fullnessChange * seconds));
+        pet.setHealth((float) health);
+        pet.setSleep((float) sleep);
+        pet.setCompoundingState(PetModel.SLEEPING_INDEX, asleep);
+        pet.setCompoundingState(PetModel.ANGRY_INDEX, angry);
+        pet.setCompoundingState(PetModel.HUNGRY_INDEX, hungry);
+        pet.stateEvaluate();
+        pet.determineStress();
+    }
+
+    /**
+     * Works out the first second at which a falling stat drops below
+     * {@value PetModel#RUN_OUT_BELOW}.
+     *
+     * @param value The stat's current value, at least {@value PetModel#RUN_OUT_BELOW}.
+     * @param rate  How much the stat falls each second.
+     * @return The number of seconds from now, at least 1, or {@link #NEVER} if the stat does not fall.
+     */
+    private static long secondsUntilBelow(double value, double rate) {
+        if (rate <= 0) {
+            return NEVER;
+        }
+        return Math.max(1, (long) Math.floor((value - PetModel.RUN_OUT_BELOW) / rate) + 1);
+    }
+
+    /**
+     * Works out the first second at which a rising stat goes above a limit.
+     *
+     * @param value The stat's current value, at most {@code limit}.
+     * @param rate  How much the stat rises each second.
+     * @param limit The value the stat must go above.
+     * @return The number of seconds from now, at least 1, or {@link #NEVER} if the stat does not rise.
+     */
+    private static long secondsUntilAbove(double value, double rate, double limit) {
+        if (rate <= 0) {
+            return NEVER;
+        }
+        return Math.max(1, (long) Math.floor((limit - value) / rate) + 1);
+    }
+
+    /**
+     * Adds a number of seconds to a time, where {@link #NEVER} stays never.
+     *
+     * @param time    The time, in seconds.
+     * @param seconds The number of seconds to add, or {@link #NEVER}.
+     * @return The sum, or {@link #NEVER}.
+     */
+    private static long plus(long time, long seconds) {
+        return seconds == NEVER ? NEVER : time + seconds;
+    }
+}
@@ -0,0 +1,462 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The {@code ParentalControls} class holds the parental control settings: the blocked
+ * playtime periods, the playtime statistics and the parental password.
+ *
+ * <p>Settings are plain primitive fields. The string-keyed accessors ({@link #getBoolean(String)},
+ * {@link #getInt(String)}, {@link #setBoolean(String, boolean)} and {@link #setInt(String, int)})
+ * use the same keys as the original {@code HashMap} layout, and old saves that stored each value
+ * as a boxed object under its key are still read by {@link #read(Json, JsonValue)} and
+ * {@link #fromMap(Map)}.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler#updateParentalControls(java.util.function.Consumer)
+ */
+public class ParentalControls implements Json.Serializable {
+
+    /** Key of the morning playtime block. */
+    public static final String MORNING_BLOCK = "morningParentBlock";
+
+    /** Key of the afternoon playtime block. */
+    public static final String AFTERNOON_BLOCK = "afternoonParentBlock";
+
+    /** Key of the evening playtime block. */
+    public static final String EVENING_BLOCK = "eveningParentBlock";
+
+    /** Key of the weekday playtime block. */
+    public static final String WEEKDAY_BLOCK = "weekdayParentBlock";
+
+    /** Key of the weekend playtime block. */
+    public static final String WEEKEND_BLOCK = "weekendParentBlock";
+
+    /** Key of the total playtime, in seconds. */
+    public static final String TOTAL_SECONDS_PLAYED = "totalSecondsPlayed";
+
+    /** Key of the number of sessions played. */
+    public static final String TOTAL_SESSIONS_PLAYED = "totalSessionsPlayed";
+
+    /** Key of the average playtime per session, in seconds. */
+    public static final String AVERAGE_PLAYTIME_PER_SESSION = "averagePlaytimePerSession";
+
+    /** Key of the parental password. */
+    public static final String PASSWORD = "Password";
+
+    /** Whether play is blocked in the morning. */
+    private boolean morningParentBlock;
+
+    /** Whether play is blocked in the afternoon. */
+    private boolean afternoonParentBlock;
+
+    /** Whether play is blocked in the evening. */
+    private boolean eveningParentBlock;
+
+    /** Whether play is blocked on weekdays. */
+    private boolean weekdayParentBlock;
+
+    /** Whether play is blocked on weekends. */
+    private boolean weekendParentBlock;
+
+    /** Total playtime of all sessions, in seconds. */
+    private int totalSecondsPlayed;
+
+    /** Number of sessions played. */
+    private int totalSessionsPlayed;
+
+    /** Average playtime per session, in seconds. */
+    private int averagePlaytimePerSession;
+
+    /** Parental password, or {@code null} if none has been set. */
+    private String password;
+
+    /**
+     * Constructs parental controls with nothing blocked and empty statistics.
+     */
+    public ParentalControls() {
+    }
+
+    /**
+     * Constructs a copy of other parental controls.
+     *
+     * @param source The parental controls to copy.
+     */
+    private ParentalControls(ParentalControls source) {
+        this.morningParentBlock = source.morningParentBlock;
+        this.afternoonParentBlock = source.afternoonParentBlock;
+        this.eveningParentBlock = source.eveningParentBlock;
+        this.weekdayParentBlock = source.weekdayParentBlock;
+        this.weekendParentBlock = source.weekendParentBlock;
+        this.totalSecondsPlayed = source.totalSecondsPlayed;
+        this.totalSessionsPlayed = source.totalSessionsPlayed;
+        this.averagePlaytimePerSession = source.averagePlaytimePerSession;
+        this.password = source.password;
+    }
+
+    /**
+     * Creates a copy of these parental controls, safe to serialize on another thread.
+     *
+     * @return An independent copy.
+     */
+    public ParentalControls copy() {
+        return new ParentalControls(this);
+    }
+
+    /**
+     * Clears every playtime block and the playtime statistics. The password is kept.
+     */
+    public void resetToDefaults() {
+        morningParentBlock = false;
+        afternoonParentBlock = false;
+        eveningParentBlock = false;
+        weekdayParentBlock = false;
+        weekendParentBlock = false;
+        resetPlaytimeStats();
+    }
+
+    /**
+     * Clears the playtime statistics.
+     */
+    public void resetPlaytimeStats() {
+        totalSecondsPlayed = 0;
+        totalSessionsPlayed = 0;
+        averagePlaytimePerSession = 0;
+    }
+
+    /**
+     * Retrieves a playtime block by its key.
+     *
+     * @param key One of the block keys, e.g. {@link #MORNING_BLOCK}.
+     * @return {@code true} if play is blocked in that period, {@code false} otherwise.
+     * @throws IllegalArgumentException If the key is not a block key.
+     */
+    public boolean getBoolean(String key) {
+        switch (key) {
+            case MORNING_BLOCK: return morningParentBlock;
+            case AFTERNOON_BLOCK: return afternoonParentBlock;
+            case EVENING_BLOCK: return eveningParentBlock;
+            case WEEKDAY_BLOCK: return weekdayParentBlock;
+            case WEEKEND_BLOCK: return weekendParentBlock;
+            default: throw new IllegalArgumentException("Unknown parental control: " + key);
+        }
+    }
+
+    /**
+     * Updates a playtime block by its key.
+     *
+     * @param key   One of the block keys, e.g. {@link #MORNING_BLOCK}.
+     * @param value {@code true} to block play in that period, {@code false} to allow it.
+     * @throws IllegalArgumentException If the key is not a block key.
+     */
+    public void setBoolean(String key, boolean value) {
+        switch (key) {
+            case MORNING_BLOCK: morningParentBlock = value; break;
+            case AFTERNOON_BLOCK: afternoonParentBlock = value; break;
+            case EVENING_BLOCK: eveningParentBlock = value; break;
+            case WEEKDAY_BLOCK: weekdayParentBlock = value; break;
+            case WEEKEND_BLOCK: weekendParentBlock = value; break;
+            default: throw new IllegalArgumentException("Unknown parental control: " + key);
+        }
+    }
+
+    /**
+     * Retrieves a playtime statistic by its key.
+     *
+     * @param key One of the statistic keys, e.g. {@link #TOTAL_SECONDS_PLAYED}.
+     * @return The value of the statistic.
+     * @throws IllegalArgumentException If the key is not a statistic key.
+     */
+    public int getInt(String key) {
+        switch (key) {
+            case TOTAL_SECONDS_PLAYED: return totalSecondsPlayed;
+            case TOTAL_SESSIONS_PLAYED: return totalSessionsPlayed;
+            case AVERAGE_PLAYTIME_PER_SESSION: return averagePlaytimePerSession;
+            default: throw new IllegalArgumentException("Unknown parental control: " + key);
+        }
+    }
+
+    /**
+     * Updates a playtime statistic by its key.
+     *
+     * @param key   One of the statistic keys, e.g. {@link #TOTAL_SECONDS_PLAYED}.
+     * @param value The new value of the statistic.
+     * @throws IllegalArgumentException If the key is not a statistic key.
+     */
+    public void setInt(String key, int value) {
+        switch (key) {
+            case TOTAL_SECONDS_PLAYED: totalSecondsPlayed = value; break;
+            case TOTAL_SESSIONS_PLAYED: totalSessionsPlayed = value; break;
+            case AVERAGE_PLAYTIME_PER_SESSION: averagePlaytimePerSession = value; break;
+            default: throw new IllegalArgumentException("Unknown parental control: " + key);
+        }
+    }
+
+    /** @return Whether play is blocked in the morning. */
+    public boolean isMorningParentBlock() { return morningParentBlock; }
+
+    /** @param morningParentBlock Whether play is blocked in the morning. */
+    public void setMorningParentBlock(boolean morningParentBlock) { this.morningParentBlock = morningParentBlock; }
+
+    /** @return Whether play is blocked in the afternoon. */
+    public boolean isAfternoonParentBlock() { return afternoonParentBlock; }
+
+    /** @param afternoonParentBlock Whether play is blocked in the afternoon. */
+    public void setAfternoonParentBlock(boolean afternoonParentBlock) { this.afternoonParentBlock = afternoonParentBlock; }
+
+    /** @return Whether play is blocked in the evening. */
+    public boolean isEveningParentBlock() { return eveningParentBlock; }
+
+    /** @param eveningParentBlock Whether play is blocked in the evening. */
+    public void setEveningParentBlock(boolean eveningParentBlock) { this.eveningParentBlock = eveningParentBlock; }
+
+    /** @return Whether play is blocked on weekdays. */
+    public boolean isWeekdayParentBlock() { return weekdayParentBlock; }
+
+    /** @param weekdayParentBlock Whether play is blocked on weekdays. */
+    public void setWeekdayParentBlock(boolean weekdayParentBlock) { this.weekdayParentBlock = weekdayParentBlock; }
+
+    /** @return Whether play is blocked on weekends. */
+    public boolean isWeekendParentBlock() { return weekendParentBlock; }
+
+    /** @param weekendParentBlock Whether play is blocked on weekends. */
+    public void setWeekendParentBlock(boolean weekendParentBlock) { this.weekendParentBlock = weekendParentBlock; }
+
+    /** @return The total playtime of all sessions, in seconds. */
+    public int getTotalSecondsPlayed() { return totalSecondsPlayed; }
+
+    /** @param totalSecondsPlayed The total playtime of all sessions, in seconds. */
+    public void setTotalSecondsPlayed(int totalSecondsPlayed) { this.totalSecondsPlayed = totalSecondsPlayed; }
+
+    /** @return The number of sessions played. */
+    public int getTotalSessionsPlayed() { return totalSessionsPlayed; }
+
+    /** @param totalSessionsPlayed The number of sessions played. */
+    public void setTotalSessionsPlayed(int totalSessionsPlayed) { this.totalSessionsPlayed = totalSessionsPlayed; }
+
+    /** @return The average playtime per session, in seconds. */
+    public int getAveragePlaytimePerSession() { return averagePlaytimePerSession; }
+
+    /** @param averagePlaytimePerSession The average playtime per session, in seconds. */
+    public void setAveragePlaytimePerSession(int averagePlaytimePerSession) { this.averagePlaytimePerSession = averagePlaytimePerSession; }
+
+    /** @return The parental password, or {@code null} if none has been set. */
+    public String getPassword() { return password; }
+
+    /** @param password The parental password. */
+    public void setPassword(String password) { this.password = password; }
+
+    /**
+     * Serializes the parental controls to JSON, one plain value per key.
+     *
+     * @param json The {@link Json} instance to handle serialization.
+     */
+    @Override
+    public void write(Json json) {
+        try {
+            writeJson(json.getWriter());
+        } catch (IOException e) {
+            throw new SerializationException(e);
+        }
+    }
+
+    /**
+     * Writes the parental controls into an open JSON object, one plain value per key,
+     * without going through reflection.
+     *
+     * @param writer The writer, positioned inside the parental controls' JSON object.
+     * @throws IOException If the parental controls could not be written.
+     * @see JsonSaveCodec
+     */
+    public void writeJson(JsonWriter writer) throws IOException {
+        writer.name(MORNING_BLOCK).value(morningParentBlock);
+        writer.name(AFTERNOON_BLOCK).value(afternoonParentBlock);
+        writer.name(EVENING_BLOCK).value(eveningParentBlock);
+        writer.name(WEEKDAY_BLOCK).value(weekdayParentBlock);
+        writer.name(WEEKEND_BLOCK).value(weekendParentBlock);
+        writer.name(TOTAL_SECONDS_PLAYED).value(totalSecondsPlayed);
+        writer.name(TOTAL_SESSIONS_PLAYED).value(totalSessionsPlayed);
+        writer.name(AVERAGE_PLAYTIME_PER_SESSION).value(averagePlaytimePerSession);
+        if (password != null) {
+            writer.name(PASSWORD).value(password);
+        }
+    }
+
+    /**
+     * Reads parental controls written by {@link #writeJson(JsonWriter)}, or in the boxed
+     * layout of older saves.
+     *
+     * @param jsonData The parental controls' JSON object.
+     * @return The parental controls that were read.
+     */
+    public static ParentalControls readJson(JsonValue jsonData) {
+        ParentalControls parentalControls = new ParentalControls();
+        parentalControls.readFields(jsonData);
+        return parentalControls;
+    }
+
+    /**
+     * Deserializes the parental controls from JSON. Reads both plain values and the boxed
+     * {@code {"class": ..., "value": ...}} values written by older versions of the game.
+     *
+     * @param json     The {@link Json} instance to handle deserialization.
+     * @param jsonData The {@link JsonValue} containing the serialized data.
+     */
+    @Override
+    public void read(Json json, JsonValue jsonData) {
+        readFields(jsonData);
+    }
+
+    /**
+     * Reads the fields of a JSON object into this object.
+     *
+     * @param jsonData The JSON object to read.
+     */
+    private void readFields(JsonValue jsonData) {
+        morningParentBlock = readBoolean(jsonData, MORNING_BLOCK);
+        afternoonParentBlock = readBoolean(jsonData, AFTERNOON_BLOCK);
+        eveningParentBlock = readBoolean(jsonData, EVENING_BLOCK);
+        weekdayParentBlock = readBoolean(jsonData, WEEKDAY_BLOCK);
+        weekendParentBlock = readBoolean(jsonData, WEEKEND_BLOCK);
+        totalSecondsPlayed = readInt(jsonData, TOTAL_SECONDS_PLAYED);
+        totalSessionsPlayed = readInt(jsonData, TOTAL_SESSIONS_PLAYED);
+        averagePlaytimePerSession = readInt(jsonData, AVERAGE_PLAYTIME_PER_SESSION);
+        JsonValue passwordValue = unbox(jsonData.get(PASSWORD));
+        password = passwordValue == null || passwordValue.isNull() ? null : passwordValue.asString();
+    }
+
+    /**
+     * Reads a boolean setting from JSON, plain or boxed.
+     *
+     * @param jsonData The JSON object holding the settings.
+     * @param key      The key of the setting.
+     * @return The setting, or {@code false} if it is missing.
+     */
+    private static boolean readBoolean(JsonValue jsonData, String key) {
+        JsonValue value = unbox(jsonData.get(key));
+        return value != null && value.asBoolean();
+    }
+
+    /**
+     * Reads an integer setting from JSON, plain or boxed.
+     *
+     * @param jsonData The JSON object holding the settings.
+     * @param key      The key of the setting.
+     * @return The setting, or {@code 0} if it is missing.
+     */
+    private static int readInt(JsonValue jsonData, String key) {
+        JsonValue value = unbox(jsonData.get(key));
+        return value == null ? 0 : value.asInt();
+    }
+
+    /**
+     * Unwraps a boxed {@code {"class": ..., "value": ...}} JSON value.
+     *
+     * @param value The JSON value, possibly boxed.
+     * @return The plain value, or {@code null} if there is none.
+     */
+    private static JsonValue unbox(JsonValue value) {
+        return value != null && value.isObject() ? value.get("value") : value;
+    }
+
+    /**
+     * Creates parental controls from the boxed key-value layout of older saves.
+     *
+     * @param values The boxed values, keyed by their setting key. Unknown keys are ignored.
+     * @return The parental controls.
+     */
+    public static ParentalControls fromMap(Map<String, ?> values) {
+        ParentalControls parentalControls = new ParentalControls();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (PASSWORD.equals(key)) {
+                parentalControls.password = value == null ? null : value.toString();
+            } else if (value instanceof Boolean) {
+                try {
+                    parentalControls.setBoolean(key, (Boolean) value);
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Ignoring unknown parental control " + key);
+                }
+            } else if (value instanceof Number) {
+                try {
+                    parentalControls.setInt(key, ((Number) value).intValue());
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Ignoring unknown parental control " + key);
+                }
+            }
+        }
+        return parentalControls;
+    }
+
+    /**
+     * Writes the parental controls in the compact binary save format.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the parental controls could not be written.
+     * @see BinarySaveCodec
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        int blocks = (morningParentBlock ? 1 : 0)
+            | (afternoonParentBlock ? 1 << 1 : 0)
+            | (eveningParentBlock ? 1 << 2 : 0)
+            | (weekdayParentBlock ? 1 << 3 : 0)
+            | (weekendParentBlock ? 1 << 4 : 0);
+        out.writeByte(blocks);
+        out.writeInt(totalSecondsPlayed);
+        out.writeInt(totalSessionsPlayed);
+        out.writeInt(averagePlaytimePerSession);
+        out.writeBoolean(password != null);
+        if (password != null) {
+            out.writeUTF(password);
+        }
+    }
+
+    /**
+     * Reads parental controls written by {@link #writeBinary(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @return The parental controls that were read.
+     * @throws IOException If the parental controls could not be read.
+     */
+    public static ParentalControls readBinary(DataInput in) throws IOException {
+        ParentalControls parentalControls = new ParentalControls();
+        int blocks = in.readUnsignedByte();
+        parentalControls.morningParentBlock = (blocks & 1) != 0;
+        parentalControls.afternoonParentBlock = (blocks & 1 << 1) != 0;
+        parentalControls.eveningParentBlock = (blocks & 1 << 2) != 0;
+        parentalControls.weekdayParentBlock = (blocks & 1 << 3) != 0;
+        parentalControls.weekendParentBlock = (blocks & 1 << 4) != 0;
+        parentalControls.totalSecondsPlayed = in.readInt();
+        parentalControls.totalSessionsPlayed = in.readInt();
+        parentalControls.averagePlaytimePerSession = in.readInt();
+        if (in.readBoolean()) {
+            parentalControls.password = in.readUTF();
+        }
+        return parentalControls;
+    }
+
+    /**
+     * Returns a readable description of the parental controls, for logging.
+     *
+     * @return The settings, with the password hidden.
+     */
+    @Override
+    public String toString() {
+        return "ParentalControls{morning=" + morningParentBlock + ", afternoon=" + afternoonParentBlock
+            + ", evening=" + eveningParentBlock + ", weekday=" + weekdayParentBlock
+            + ", weekend=" + weekendParentBlock + ", totalSecondsPlayed=" + totalSecondsPlayed
+            + ", totalSessionsPlayed=" + totalSessionsPlayed
+            + ", averagePlaytimePerSession=" + averagePlaytimePerSession
+            + ", passwordSet=" + (password != null && !password.isEmpty()) + "}";
+    }
+}
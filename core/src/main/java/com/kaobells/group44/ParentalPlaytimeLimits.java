@@ -152,8 +152,7 @@ public class ParentalPlaytimeLimits extends ScreenAdapter {
             public void clicked(InputEvent event, float x, float y) {
                 boolean currentState = mainGame.jsonHandler.getParentalControlBoolean(jsonKey);
                 boolean newState = !currentState; // Toggle the state
-                mainGame.jsonHandler.getDatabase().parentalControls.put(jsonKey, newState);
-                mainGame.jsonHandler.saveDatabase();
+                mainGame.jsonHandler.setParentalControlBoolean(jsonKey, newState);
 
                 // Update button texture
                 TextureRegionDrawable newDrawable = new TextureRegionDrawable(new TextureRegion(newState ? textures.get("unchecked") : textures.get("checked")));
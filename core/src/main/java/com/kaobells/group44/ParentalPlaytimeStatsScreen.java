@@ -167,9 +167,7 @@ public class ParentalPlaytimeStatsScreen extends ScreenAdapter {
      * Resets the playtime statistics to zero.
      */
     private void resetPlaytimeStats() {
-        mainGame.jsonHandler.setParentalControlInt("averagePlaytimePerSession", 0);
-        mainGame.jsonHandler.setParentalControlInt("totalSecondsPlayed", 0);
-        mainGame.jsonHandler.setParentalControlInt("totalSessionsPlayed", 0);
+        mainGame.jsonHandler.updateParentalControls(ParentalControls::resetPlaytimeStats);
     }
 
     /**
@@ -0,0 +1,885 @@
+package com.kaobells.group44;
+
+/**
+ * The {@code PetModel} class holds the gameplay state of a pet and the rules it changes by:
+ * its stats, score, state and compounding states, how the stats tick down each second, the
+ * cooldowns of its actions, and the effects of actions and items on its stats.
+ *
+ * <p>It has no libGDX dependency, so it can be simulated without a window or GL context, in tests
+ * and batch tools as well as in game. {@link CharacterClass} drives a model for the character on
+ * screen, and adds the sprites, sounds and animations showing what the model does.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see CharacterClass#getPet()
+ */
+public class PetModel {
+
+    /** Index of the sleeping state in the compounding states. */
+    public static final int SLEEPING_INDEX = 0;
+
+    /** Index of the angry state in the compounding states. */
+    public static final int ANGRY_INDEX = 1;
+
+    /** Index of the hungry state in the compounding states. */
+    public static final int HUNGRY_INDEX = 2;
+
+    /** Value below which a stat runs out: health kills, sleep puts to sleep, happiness angers and fullness starves. */
+    static final float RUN_OUT_BELOW = 1.0f;
+
+    /** Sleep above which a sleeping pet wakes up. */
+    static final float WAKE_ABOVE = 97.5f;
+
+    /** Happiness above which an angry pet calms down. */
+    static final float CALM_ABOVE = 45.0f;
+
+    /** Fullness above which a hungry pet is fed. */
+    static final float FED_ABOVE = 30.0f;
+
+    /** Health lost when the pet falls asleep from exhaustion. */
+    static final float EXHAUSTION_HEALTH_COST = 10.0f;
+
+    /** Score lost when the pet falls asleep from exhaustion. */
+    static final int EXHAUSTION_SCORE_COST = 100;
+
+    /** Score lost when the pet becomes angry or hungry. */
+    static final int NEED_SCORE_COST = 50;
+
+    /** How many times faster sleep goes up while asleep than it goes down while awake. */
+    static final float SLEEP_RECOVERY_FACTOR = 5.0f;
+
+    /** How many times faster health goes down while hungry and angry than while only hungry. */
+    static final float HANGRY_FACTOR = 2.0f;
+
+    /** Current score of the pet. */
+    private int score;
+
+    /** Current state of the pet (e.g., NEUTRAL, SLEEPING). */
+    private State state = State.NEUTRAL;
+
+    /** Current health of the pet, from 0 to 100. */
+    private float health = 100.0f;
+
+    /** Current sleep level of the pet, from 0 to 100. */
+    private float sleep = 100.0f;
+
+    /** Current happiness of the pet, from 0 to 100. */
+    private float happiness = 100.0f;
+
+    /** Current fullness of the pet, from 0 to 100. */
+    private float fullness = 100.0f;
+
+    /** Current stress level of the pet, from 0 to 100. */
+    private float stress = 100.0f;
+
+    /** Health lost per second while hungry. */
+    private float healthChange;
+
+    /** Sleep lost per second while awake. */
+    private float sleepChange;
+
+    /** Happiness lost per second. */
+    private float happinessChange;
+
+    /** Fullness lost per second. */
+    private float fullnessChange;
+
+    /** Stress lost per second, before stress is recalculated from the other stats. */
+    private float stressChange = 1.0f;
+
+    /** States that can be active together: sleeping, angry and hungry, by index. */
+    private boolean[] compoundingStates = new boolean[3];
+
+    /** Remaining cooldown time for doctor action, in seconds. */
+    private float doctorCooldownRemaining = 0;
+
+    /** Remaining cooldown time for play action, in seconds. */
+    private float playCooldownRemaining = 0;
+
+    /** Remaining time actions are blocked for, in seconds. Not saved. */
+    private float actionBlockCooldownRemaining = 0;
+
+    /** Indicates whether any saved field changed since the pet was last loaded or saved. */
+    private boolean dirty = true;
+
+    /**
+     * Constructs a pet with every stat full, no compounding state and no rates of change.
+     */
+    public PetModel() {
+    }
+
+    /**
+     * Constructs a copy of another pet's state.
+     *
+     * @param source The pet to copy.
+     */
+    public PetModel(PetModel source) {
+        this.score = source.score;
+        this.state = source.state;
+        this.health = source.health;
+        this.sleep = source.sleep;
+        this.happiness = source.happiness;
+        this.fullness = source.fullness;
+        this.stress = source.stress;
+        this.healthChange = source.healthChange;
+        this.sleepChange = source.sleepChange;
+        this.happinessChange = source.happinessChange;
+        this.fullnessChange = source.fullnessChange;
+        this.stressChange = source.stressChange;
+        this.compoundingStates = source.compoundingStates == null ? null : source.compoundingStates.clone();
+        this.doctorCooldownRemaining = source.doctorCooldownRemaining;
+        this.playCooldownRemaining = source.playCooldownRemaining;
+        this.actionBlockCooldownRemaining = source.actionBlockCooldownRemaining;
+        this.dirty = source.dirty;
+    }
+
+    /**
+     * Sets the starting stats of a new pet of a given character type.
+     *
+     * @param characterTypeNumber The character type as an integer.
+     * @throws IllegalArgumentException If there is no such character type.
+     */
+    public void setUpStats(int characterTypeNumber) {
+        switch (characterTypeNumber) {
+            // case 0 = relaxed character type selected
+            case 0:
+                setStats(80.0f, 80.0f, 80.0f, 80.0f, 80.0f);
+                break;
+            // case 1 = quirky character type selected
+            case 1:
+                setStats(90.0f, 90.0f, 90.0f, 90.0f, 90.0f);
+                break;
+            // case 2 = hasty character type selected
+            case 2:
+                setStats(100.0f, 100.0f, 100.0f, 100.0f, 100.0f);
+                break;
+            // case 3 == brave character type selected
+            case 3:
+                setStats(10.0f, 100.0f, 100.0f, 100.0f, 77.5f);
+                break;
+            // case 4 == serious character type selected
+            case 4:
+                setStats(50.0f, 50.0f, 25.0f, 25.0f, 37.5f);
+                break;
+            // catch
+            default: throw new IllegalArgumentException("Invalid character index: " + characterTypeNumber);
+        }
+    }
+
+    /**
+     * Sets every stat at once.
+     *
+     * @param health    The new health value.
+     * @param sleep     The new sleep value.
+     * @param happiness The new happiness value.
+     * @param fullness  The new fullness value.
+     * @param stress    The new stress value.
+     */
+    private void setStats(float health, float sleep, float happiness, float fullness, float stress) {
+        setHealth(health);
+        setSleep(sleep);
+        setHappiness(happiness);
+        setHunger(fullness);
+        setStress(stress);
+    }
+
+    //sets the stat change modifiers based on character type
+    /**
+     * Modifies the stat change rates (modifiers) based on the character type.
+     *
+     * @param characterTypeNumber The character type as an integer.
+     */
+    public void modifyModifiers(int characterTypeNumber){
+        switch (characterTypeNumber){
+            // case 0 == relaxed character type selected, the "default" character
+            case 0:
+                this.healthChange = 0.5f;
+                this.sleepChange = 0.5f;
+                this.happinessChange = 0.5f;
+                this.fullnessChange = 0.5f;
+                break;
+            // case 1 == quirky character type selected, health and sleep go down faster but happiness and hunger go down slower
+            case 1:
+                this.healthChange = 0.75f;
+                this.sleepChange = 0.75f;
+                this.happinessChange = 0.75f;
+                this.fullnessChange = 0.75f;
+                break;
+            // case 2 == hasty character type selected, sleep is twice as fast but happiness and slowness are slower
+            case 2:
+                this.healthChange = 1.0f;
+                this.sleepChange = 1.5f;
+                this.happinessChange = 0.9f;
+                this.fullnessChange = 0.9f;
+                break;
+            // case 3 == brave character type selected, start with a super low health but if you can pull it up then you have a 15% slower tick speed
+            case 3:
+                this.healthChange = 1.25f;
+                this.sleepChange = 1.25f;
+                this.happinessChange = 1.25f;
+                this.fullnessChange = 1.25f;
+                break;
+            // case 4 == serious character type selected, starts you in a rough spot but if you can pull up your stats the reduced tick rate will be crazy useful
+            case 4:
+                this.healthChange = 2f;
+                this.sleepChange = 1.5f;
+                this.happinessChange = 1.5f;
+                this.fullnessChange = 1.5f;
+                break;
+        }
+    }
+
+    /**
+     * Gets the pet's score.
+     *
+     * @return The current score.
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Increments the pet's score by one.
+     */
+    public void incrementScore() { setScore(score + 1); }
+
+    /**
+     * Sets the pet's score to the specified value.
+     *
+     * @param score The new score value.
+     */
+    public void setScore(int score) {
+        if (this.score != score) {
+            this.score = score;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's health.
+     *
+     * @return The current health value.
+     */
+    public float getHealth() { return health; }
+
+    /**
+     * Sets the pet's health, keeping it within valid bounds (0-100).
+     *
+     * @param health The new health value.
+     */
+    public void setHealth(float health) {
+        float clamped = clampStat(health);
+        if (this.health != clamped) {
+            this.health = clamped;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's happiness.
+     *
+     * @return The current happiness value.
+     */
+    public float getHappiness() { return happiness; }
+
+    /**
+     * Sets the pet's happiness, keeping it within valid bounds (0-100).
+     *
+     * @param happiness The new happiness value.
+     */
+    public void setHappiness(float happiness) {
+        float clamped = clampStat(happiness);
+        if (this.happiness != clamped) {
+            this.happiness = clamped;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's hunger level, which is how full it is.
+     *
+     * @return The current fullness value.
+     */
+    public float getHunger() { return fullness; }
+
+    /**
+     * Sets the pet's hunger level, keeping it within valid bounds (0-100).
+     *
+     * @param hunger The new fullness value.
+     */
+    public void setHunger(float hunger) {
+        float clamped = clampStat(hunger);
+        if (this.fullness != clamped) {
+            this.fullness = clamped;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's sleep level.
+     *
+     * @return The current sleep value.
+     */
+    public float getSleep() { return sleep; }
+
+    /**
+     * Sets the pet's sleep level, keeping it within valid bounds (0-100).
+     *
+     * @param sleep The new sleep value.
+     */
+    public void setSleep(float sleep) {
+        float clamped = clampStat(sleep);
+        if (this.sleep != clamped) {
+            this.sleep = clamped;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's stress level.
+     *
+     * @return The current stress value.
+     */
+    public float getStress() { return stress; }
+
+    /**
+     * Sets the pet's stress level, keeping it within valid bounds (0-100).
+     *
+     * @param stress The new stress value.
+     */
+    public void setStress(float stress) {
+        float clamped = clampStat(stress);
+        if (this.stress != clamped) {
+            this.stress = clamped;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Clamps a stat value to the valid bounds (0-100).
+     *
+     * @param value The stat value to clamp.
+     * @return The value, or the nearest bound if it is out of bounds.
+     */
+    static float clampStat(float value) {
+        if (value >= 0.0f && value <= 100.0f) {
+            return value;
+        } else if (value <= 0.0f) {
+            return 0.0f;
+        } else {
+            return 100.0f;
+        }
+    }
+
+    //stress is calculated using the average of the values of the other stats
+    /**
+     * Determines the pet's stress level based on other stats.
+     */
+    public void determineStress() {
+        setStress((getHappiness()+getHunger()+getSleep()+getHealth())/4.0f);
+    }
+
+    /**
+     * Gets the pet's health lost per second while hungry.
+     *
+     * @return The health change rate.
+     */
+    public float getHealthChange() { return healthChange; }
+
+    /**
+     * Gets the pet's sleep lost per second while awake.
+     *
+     * @return The sleep change rate.
+     */
+    public float getSleepChange() { return sleepChange; }
+
+    /**
+     * Gets the pet's happiness lost per second.
+     *
+     * @return The happiness change rate.
+     */
+    public float getHappinessChange() { return happinessChange; }
+
+    /**
+     * Gets the pet's fullness lost per second.
+     *
+     * @return The fullness change rate.
+     */
+    public float getFullnessChange() { return fullnessChange; }
+
+    //Updates the stats based on characters change multipliers and any active states
+    /**
+     * Updates the pet's stats by one second of time, based on its rates and compounding states.
+     */
+    public void statBarTick(){
+        setHappiness(this.getHappiness() - this.happinessChange);
+        setHunger(this.getHunger() - this.fullnessChange);
+        setStress(this.getStress() - this.stressChange);
+        if (compoundingStates[HUNGRY_INDEX]){ //if hungry then health starts going down
+            if (compoundingStates[ANGRY_INDEX]) { // if "hangry" (hungry & angry) then health goes down at double speed
+                setHealth(this.getHealth() - HANGRY_FACTOR*this.healthChange);
+            } else { //case for hungry but not angry
+                setHealth(this.getHealth() - this.healthChange);
+            }
+        }
+        if(isSleeping()){ //when asleep sleep bar goes up at 5 times speed
+            setSleep(this.getSleep() + (SLEEP_RECOVERY_FACTOR*sleepChange));
+        } else { //if not asleep then sleep will be going down
+            setSleep(this.getSleep() - sleepChange);
+        }
+        determineStress(); //stress is calculated using the average of the values of the other stats
+    }
+
+    //Method to evaluate if any states should be triggered or resolved
+    //After checks sets state variable to highest priority state
+    /**
+     * Determines the pet's state based on its stats, killing it if it has run out of health.
+     */
+    public void stateDetermine() {
+        //Checks if dead, if not dead then move further in if not go into the death sequence
+        if (getHealth() < RUN_OUT_BELOW) {
+            killPet();
+        } else {
+            //check if sleeping should be triggered
+            if (getSleep() < RUN_OUT_BELOW && !this.compoundingStates[SLEEPING_INDEX]) {
+                setCompoundingState(SLEEPING_INDEX, true);
+                setHealth(Math.max(0.0f, (getHealth()-EXHAUSTION_HEALTH_COST)));
+                setScore(Math.max(0,getScore()-EXHAUSTION_SCORE_COST));
+            }
+            //check if angry should be triggered
+            if(getHappiness() < RUN_OUT_BELOW && !this.compoundingStates[ANGRY_INDEX]) {
+                setCompoundingState(ANGRY_INDEX, true);
+                setScore(Math.max(0,getScore()-NEED_SCORE_COST));
+            }
+            //check if hungry should be triggered
+            if(getHunger() < RUN_OUT_BELOW && !this.compoundingStates[HUNGRY_INDEX]) {
+                setCompoundingState(HUNGRY_INDEX, true);
+                setScore(Math.max(0,getScore()-NEED_SCORE_COST));
+            }
+            //check if sleeping should be stopped
+            if(compoundingStates[SLEEPING_INDEX] && getSleep() > WAKE_ABOVE){
+                setCompoundingState(SLEEPING_INDEX, false);
+            }
+            //check if angry should be stopped
+            if(compoundingStates[ANGRY_INDEX] && getHappiness() > CALM_ABOVE){
+                setCompoundingState(ANGRY_INDEX, false);
+            }
+            //check if hungry should be resolved
+            if(compoundingStates[HUNGRY_INDEX] && getHunger() > FED_ABOVE){
+                setCompoundingState(HUNGRY_INDEX, false);
+            }
+            stateEvaluate();
+        }
+    }
+
+    //Sets state variable to highest priority State
+    /**
+     * Evaluates and assigns the highest-priority state to the pet.
+     */
+    public void stateEvaluate(){
+        if (compoundingStates[SLEEPING_INDEX]){
+            setState(State.SLEEPING);
+        } else if (compoundingStates[ANGRY_INDEX]){
+            setState(State.ANGRY);
+        } else if (compoundingStates[HUNGRY_INDEX]) {
+            setState(State.HUNGRY);
+        } else {
+            setState(State.NEUTRAL);
+        }
+    }
+
+    /**
+     * Retrieves the current state of the pet.
+     *
+     * @return The {@link State} of the pet.
+     */
+    public State getState(){ return state; }
+
+    /**
+     * Sets the state of the pet.
+     *
+     * @param state The new {@link State} to be assigned to the pet.
+     */
+    public void setState(State state) {
+        if (this.state != state) {
+            this.state = state;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the pet's compounding states: sleeping, angry and hungry, by index.
+     *
+     * @return The compounding states, or {@code null} if a save had none.
+     */
+    public boolean[] getCompoundingStates() { return compoundingStates; }
+
+    /**
+     * Replaces the pet's compounding states, such as when it is read from a save.
+     *
+     * @param compoundingStates The compounding states, by index.
+     */
+    public void setCompoundingStates(boolean[] compoundingStates) {
+        this.compoundingStates = compoundingStates;
+        dirty = true;
+    }
+
+    /**
+     * Sets one of the compounding states.
+     *
+     * @param index The index of the state: {@link #SLEEPING_INDEX}, {@link #ANGRY_INDEX} or {@link #HUNGRY_INDEX}.
+     * @param value {@code true} if the state is active, otherwise {@code false}.
+     */
+    public void setCompoundingState(int index, boolean value) {
+        if (compoundingStates[index] != value) {
+            compoundingStates[index] = value;
+            dirty = true;
+        }
+    }
+
+    //function to update pet to be dead
+    /**
+     * Sets the pet as dead, resetting all stats and compounding states.
+     */
+    public void killPet(){
+        setHealth(0.0f);
+        setSleep(0.0f);
+        setHunger(0.0f);
+        setStress(0.0f);
+        setHappiness(0.0f);
+        setState(State.DEAD);
+        setCompoundingState(SLEEPING_INDEX, false);
+        setCompoundingState(ANGRY_INDEX, false);
+        setCompoundingState(HUNGRY_INDEX, false);
+    }
+
+    /**
+     * Checks if the pet is currently in a sleeping state.
+     *
+     * @return {@code true} if the pet is sleeping, otherwise {@code false}.
+     */
+    public boolean isSleeping() {
+        return (state == State.SLEEPING);
+    }
+
+    /**
+     * Checks if the pet is currently in a dead state.
+     *
+     * @return {@code true} if the pet is dead, otherwise {@code false}.
+     */
+    public boolean isDead() {
+        return (state == State.DEAD);
+    }
+
+    /**
+     * Checks if the pet is angry, whatever its highest-priority state.
+     *
+     * @return {@code true} if the pet is angry, otherwise {@code false}.
+     */
+    public boolean isAngry() {
+        return compoundingStates[ANGRY_INDEX];
+    }
+
+    /**
+     * Checks if the pet is hungry, whatever its highest-priority state.
+     *
+     * @return {@code true} if the pet is hungry, otherwise {@code false}.
+     */
+    public boolean isHungry() {
+        return compoundingStates[HUNGRY_INDEX];
+    }
+
+    //Action Block Check
+    /**
+     * Checks if the pet's actions are currently blocked.
+     *
+     * @return {@code true} if actions are blocked, otherwise {@code false}.
+     */
+    public boolean actionBlocked(){
+        return actionBlockCooldownRemaining != 0;
+    }
+
+    /**
+     * Blocks the pet's actions for a duration, unless they are blocked already.
+     *
+     * @param val The duration in seconds.
+     */
+    public void setActionBlocked(float val){
+        if (actionBlockCooldownRemaining == 0){
+            actionBlockCooldownRemaining = val;
+        }
+    }
+
+    /**
+     * Blocks the pet's actions for a duration, replacing any block already running.
+     *
+     * @param duration The duration in seconds.
+     */
+    public void blockActions(float duration) {
+        actionBlockCooldownRemaining = duration;
+    }
+
+    /**
+     * Gets the time the pet's actions remain blocked for.
+     *
+     * @return The remaining time, in seconds.
+     */
+    public float getActionBlockCooldownRemaining() { return actionBlockCooldownRemaining; }
+
+    /**
+     * Gets the time before the pet can be taken to the doctor again.
+     *
+     * @return The remaining time, in seconds.
+     */
+    public float getDoctorCooldownRemaining() { return doctorCooldownRemaining; }
+
+    /**
+     * Sets the time before the pet can be taken to the doctor again, such as when it is read from a save.
+     *
+     * @param doctorCooldownRemaining The remaining time, in seconds.
+     */
+    public void setDoctorCooldownRemaining(float doctorCooldownRemaining) {
+        this.doctorCooldownRemaining = doctorCooldownRemaining;
+    }
+
+    /**
+     * Gets the time before the pet can play again.
+     *
+     * @return The remaining time, in seconds.
+     */
+    public float getPlayCooldownRemaining() { return playCooldownRemaining; }
+
+    /**
+     * Sets the time before the pet can play again, such as when it is read from a save.
+     *
+     * @param playCooldownRemaining The remaining time, in seconds.
+     */
+    public void setPlayCooldownRemaining(float playCooldownRemaining) {
+        this.playCooldownRemaining = playCooldownRemaining;
+    }
+
+    /**
+     * Counts down the action cooldowns.
+     *
+     * @param deltaTime The time elapsed since the last update, in seconds.
+     */
+    public void updateCooldowns(float deltaTime) {
+        if (doctorCooldownRemaining > 0) { //update doctor cooldown
+            doctorCooldownRemaining = Math.max(0, doctorCooldownRemaining - deltaTime);
+            dirty = true;
+        }
+        if (playCooldownRemaining > 0){ //update play cooldown
+            playCooldownRemaining = Math.max(0, playCooldownRemaining - deltaTime);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Counts down the time actions remain blocked for.
+     *
+     * @param deltaTime The time elapsed since the last update, in seconds.
+     */
+    public void updateActionBlock(float deltaTime) {
+        if (actionBlockCooldownRemaining > 0) {
+            actionBlockCooldownRemaining = Math.max(0, actionBlockCooldownRemaining - deltaTime);
+        }
+    }
+
+    /**
+     * Checks whether the pet may exercise.
+     *
+     * @return {@code true} if the pet may exercise, otherwise {@code false}.
+     */
+    public boolean canExercise() {
+        return !actionBlocked() && !compoundingStates[ANGRY_INDEX] && state != State.SLEEPING && !isDead();
+    }
+
+    //exercise action
+    /**
+     * Makes the pet exercise, trading fullness and sleep for health. An exercise that exhausts
+     * the pet past saving kills it.
+     *
+     * @return {@code true} if the pet exercised and survived, {@code false} if it may not
+     *         exercise or died from it.
+     */
+    public boolean exercise(){
+        if (!canExercise()) {
+            return false;
+        }
+        //Update Stats
+        setHunger(getHunger() - 5.0f);
+        setSleep(getSleep() - 20.0f);
+        if (!compoundingStates[HUNGRY_INDEX]) { //if not hungry health goes up by 10
+            setHealth(getHealth() + 5.0f);
+        } else { //for game balencing if exercising while hungry makes the health gained only 5 and the sleep lost 10
+            setHealth(getHealth() + 5.0f);
+            setSleep(getSleep() - 10.0f);
+        }
+        stateDetermine(); //state check
+        if (this.getHealth()>1.0f) {
+            return true;
+        }
+        //if exercising leads to a pet falling asleep which leads to their death cut exercise short and kill pet
+        killPet();
+        return false;
+    }
+
+    //Play action method stat change and cooldown
+    /**
+     * Starts playing with the pet, which puts play on cooldown. The happiness it brings is only
+     * given once the mini-game is over, through {@link #givePlay()}.
+     *
+     * @return {@code true} if the pet may play, otherwise {@code false}.
+     */
+    public boolean play(){
+        if(!actionBlocked() && !(playCooldownRemaining > 0)){ //check if action is allowed
+            playCooldownRemaining = 30.0f;
+            dirty = true;
+            actionBlockCooldownRemaining = (5f);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives the pet the happiness of a finished game.
+     */
+    public void givePlay(){
+        setHappiness(getHappiness() + 20.0f);
+    }
+
+    /**
+     * Checks whether the pet may be taken to the doctor.
+     *
+     * @param revive {@code true} to allow taking a dead pet, otherwise {@code false}.
+     * @return {@code true} if the pet may be taken to the doctor, otherwise {@code false}.
+     */
+    public boolean canTakeToDoctor(boolean revive) {
+        return !actionBlocked() && !compoundingStates[ANGRY_INDEX] && (!isDead() || revive) && !(doctorCooldownRemaining > 0);
+    }
+
+    //Take to doctor action
+    /**
+     * Takes the pet to the doctor, increasing health, then puts the doctor on cooldown.
+     *
+     * @param revive {@code true} to allow taking a dead pet, otherwise {@code false}.
+     * @return {@code true} if the pet was taken to the doctor, otherwise {@code false}.
+     */
+    public boolean takeToDoctor(boolean revive){
+        if (!canTakeToDoctor(revive)) {
+            return false;
+        }
+        doctorCooldownRemaining = 30.0f; // Reset cooldown
+        dirty = true;
+        setHealth(getHealth() + 20.0f);
+        return true;
+    }
+
+    /**
+     * Checks whether the pet may use an item.
+     *
+     * @param itemId The ID of the item.
+     * @return {@code true} if the pet may eat the food or receive the gift, otherwise {@code false}.
+     */
+    public boolean canUseItem(int itemId) {
+        if (isFood(itemId)) {
+            return !actionBlocked() && !compoundingStates[ANGRY_INDEX] && !isDead() && !isSleeping();
+        }
+        return isGift(itemId) && !actionBlocked() && !isDead() && !isSleeping();
+    }
+
+    /**
+     * Makes the pet use an item: food raises its fullness, a gift its happiness, both by the
+     * item's {@link #itemStatValue(int) stat value}.
+     *
+     * @param itemId The ID of the item.
+     * @return {@code true} if the item was used, otherwise {@code false}.
+     */
+    public boolean useItem(int itemId) {
+        if (!canUseItem(itemId)) {
+            return false;
+        }
+        if (isFood(itemId)) {
+            setHunger(getHunger() + itemStatValue(itemId));
+        } else {
+            setHappiness(getHappiness() + itemStatValue(itemId));
+        }
+        return true;
+    }
+
+    //go to sleep action
+    /**
+     * Puts the pet to sleep, replenishing sleep levels until it wakes up.
+     *
+     * @return {@code true} if the pet went to sleep, otherwise {@code false}.
+     */
+    public boolean sleep(){
+        if(!actionBlocked() && !compoundingStates[ANGRY_INDEX] && !isDead()) { //if action is allowed set state to sleeping
+            setCompoundingState(SLEEPING_INDEX, true);
+            setState(State.SLEEPING);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets how much an item changes the stat it affects.
+     *
+     * @param itemId The ID of the item.
+     * @return The stat change, or {@code 0} for an unknown item.
+     */
+    public static float itemStatValue(int itemId) {
+        switch (itemId){
+            //case 0 = apple food item
+            case 0:
+                return 50.0f;
+            //case 1 = lemon food item
+            case 1:
+                return 75.0f;
+            //case 2 = orange food item
+            case 2:
+                return 100.0f;
+            //case 3 = duck gift item
+            case 3:
+                return 30.0f;
+            //case 4 = orange duck gift item
+            case 4:
+                return 60.0f;
+            //case 5 = blue duck gift item
+            case 5:
+                return 90.0f;
+            default:
+                return 0.0f;
+        }
+    }
+
+    /**
+     * Determines if an item is a food item.
+     *
+     * @param itemId The ID of the item.
+     * @return {@code true} if the item is food, {@code false} otherwise.
+     */
+    public static boolean isFood(int itemId) {
+        return itemId == 0 || itemId == 1 || itemId == 2;
+    }
+
+    /**
+     * Determines if an item is a gift item.
+     *
+     * @param itemId The ID of the item.
+     * @return {@code true} if the item is a gift, {@code false} otherwise.
+     */
+    public static boolean isGift(int itemId) {
+        return itemId == 3 || itemId == 4 || itemId == 5;
+    }
+
+    /**
+     * Checks whether any saved field changed since the pet was last loaded or saved.
+     *
+     * @return {@code true} if the pet needs to be saved, otherwise {@code false}.
+     */
+    public boolean isDirty() { return dirty; }
+
+    /**
+     * Marks the pet as saved, so that {@link #isDirty()} returns {@code false} until a saved field changes again.
+     */
+    public void markClean() { dirty = false; }
+}
@@ -0,0 +1,483 @@
+package com.kaobells.group44;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PetPopulation} class simulates many pets at once, such as a whole classroom's, by
+ * the same rules as {@link PetModel#statBarTick()} followed by {@link PetModel#stateDetermine()}.
+ *
+ * <p>Rather than one object per pet, each stat is kept in an array indexed by pet, so a tick walks
+ * each array from start to end. The stats are ticked down in a first pass of plain float arithmetic
+ * with no branches, one loop per stat, which the JIT can compile to vector instructions; the
+ * health and sleep a pet loses or gains each second, which depend on its states, are worked out
+ * ahead of that pass, in {@link #healthLoss} and {@link #sleepGain}, whenever its states change.
+ * The states are then settled in a second pass, which only branches off for the few pets that
+ * crossed a threshold.</p>
+ *
+ * <p>Every operation is the same float operation, in the same order, as on a {@link PetModel},
+ * so the stats come out identical to the last bit, not merely close.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see PetModel
+ */
+public class PetPopulation {
+
+    /** Bit of {@link #flags} set while a pet is sleeping. */
+    private static final int SLEEPING = 1 << PetModel.SLEEPING_INDEX;
+
+    /** Bit of {@link #flags} set while a pet is angry. */
+    private static final int ANGRY = 1 << PetModel.ANGRY_INDEX;
+
+    /** Bit of {@link #flags} set while a pet is hungry. */
+    private static final int HUNGRY = 1 << PetModel.HUNGRY_INDEX;
+
+    /** Bits of {@link PetModel#RUN_OUT_BELOW}, which stats are compared with as ints. */
+    private static final int RUN_OUT_BITS = Float.floatToRawIntBits(PetModel.RUN_OUT_BELOW);
+
+    /** Bits of {@link PetModel#WAKE_ABOVE}. */
+    private static final int WAKE_BITS = Float.floatToRawIntBits(PetModel.WAKE_ABOVE);
+
+    /** Bits of {@link PetModel#CALM_ABOVE}. */
+    private static final int CALM_BITS = Float.floatToRawIntBits(PetModel.CALM_ABOVE);
+
+    /** Bits of {@link PetModel#FED_ABOVE}. */
+    private static final int FED_BITS = Float.floatToRawIntBits(PetModel.FED_ABOVE);
+
+    /** Every state, by ordinal. */
+    private static final State[] STATES = State.values();
+
+    /** Ordinal of the dead state. */
+    private static final byte DEAD = (byte) State.DEAD.ordinal();
+
+    /** Ordinal of the highest-priority state of each combination of compounding state bits. */
+    private static final byte[] STATE_OF_FLAGS = new byte[8];
+
+    /** Multiple of its health change each combination of compounding state bits loses per tick. */
+    private static final float[] HEALTH_LOSS_FACTOR = new float[8];
+
+    /** Multiple of its sleep change each state gains per tick. */
+    private static final float[] SLEEP_GAIN_FACTOR = new float[STATES.length];
+
+    static {
+        for (int bits = 0; bits < 8; bits++) {
+            STATE_OF_FLAGS[bits] = (byte) stateOf(bits).ordinal();
+            if ((bits & HUNGRY) != 0) {
+                HEALTH_LOSS_FACTOR[bits] = (bits & ANGRY) != 0 ? PetModel.HANGRY_FACTOR : 1.0f;
+            }
+        }
+        for (State state : STATES) {
+            SLEEP_GAIN_FACTOR[state.ordinal()] = state == State.SLEEPING ? PetModel.SLEEP_RECOVERY_FACTOR : -1.0f;
+        }
+    }
+
+    /** Number of pets in the population. */
+    private int size;
+
+    /** Health of each pet. */
+    private float[] health;
+
+    /** Sleep of each pet. */
+    private float[] sleep;
+
+    /** Happiness of each pet. */
+    private float[] happiness;
+
+    /** Fullness of each pet. */
+    private float[] fullness;
+
+    /** Stress of each pet. */
+    private float[] stress;
+
+    /** Happiness each pet loses per second. */
+    private float[] happinessChange;
+
+    /** Fullness each pet loses per second. */
+    private float[] fullnessChange;
+
+    /** Health each pet loses per second while hungry. */
+    private float[] healthChange;
+
+    /** Sleep each pet loses per second while awake. */
+    private float[] sleepChange;
+
+    /** Health each pet loses at its next tick, given its current states. */
+    private float[] healthLoss;
+
+    /** Sleep each pet gains at its next tick, given its current state, negative while awake. */
+    private float[] sleepGain;
+
+    /** Score of each pet. */
+    private int[] score;
+
+    /** Compounding states of each pet, as {@link #SLEEPING}, {@link #ANGRY} and {@link #HUNGRY} bits. */
+    private byte[] flags;
+
+    /** State of each pet, by {@link State} ordinal. */
+    private byte[] state;
+
+    /**
+     * Constructs an empty population.
+     *
+     * @param capacity The number of pets to make room for; more may be added.
+     */
+    public PetPopulation(int capacity) {
+        resize(Math.max(1, capacity));
+    }
+
+    /**
+     * Adds a pet to the population, copying its stats, states, score and rates of change.
+     *
+     * @param pet The pet to add, whose rates must have been set by {@link PetModel#modifyModifiers(int)}.
+     * @return The index of the pet in the population.
+     */
+    public int add(PetModel pet) {
+        if (size == health.length) {
+            resize(size * 2);
+        }
+        int i = size++;
+        health[i] = pet.getHealth();
+        sleep[i] = pet.getSleep();
+        happiness[i] = pet.getHappiness();
+        fullness[i] = pet.getHunger();
+        stress[i] = pet.getStress();
+        happinessChange[i] = pet.getHappinessChange();
+        fullnessChange[i] = pet.getFullnessChange();
+        healthChange[i] = pet.getHealthChange();
+        sleepChange[i] = pet.getSleepChange();
+        score[i] = pet.getScore();
+        boolean[] compoundingStates = pet.getCompoundingStates();
+        int bits = 0;
+        if (compoundingStates != null) {
+            bits |= compoundingStates[PetModel.SLEEPING_INDEX] ? SLEEPING : 0;
+            bits |= compoundingStates[PetModel.ANGRY_INDEX] ? ANGRY : 0;
+            bits |= compoundingStates[PetModel.HUNGRY_INDEX] ? HUNGRY : 0;
+        }
+        flags[i] = (byte) bits;
+        state[i] = (byte) pet.getState().ordinal();
+        updateRates(i);
+        return i;
+    }
+
+    /**
+     * Gets the number of pets in the population.
+     *
+     * @return The number of pets.
+     */
+    public int size() { return size; }
+
+    /**
+     * Ages every pet by one second: ticks its stats down, then settles its state, as
+     * {@link PetModel#statBarTick()} and {@link PetModel#stateDetermine()} would.
+     */
+    public void tick() {
+        tickStats();
+        determineStates();
+    }
+
+    /**
+     * Ticks every pet's stats down by a second, as {@link PetModel#statBarTick()} does.
+     */
+    private void tickStats() {
+        decay(happiness, happinessChange);
+        decay(fullness, fullnessChange);
+        decay(health, healthLoss);
+        rise(sleep, sleepGain);
+        float[] health = this.health;
+        float[] sleep = this.sleep;
+        float[] happiness = this.happiness;
+        float[] fullness = this.fullness;
+        float[] stress = this.stress;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            stress[i] = clamp((happiness[i] + fullness[i] + sleep[i] + health[i]) / 4.0f);
+        }
+    }
+
+    /**
+     * Lowers one stat of every pet. Each stat gets a loop of its own, which the JIT vectorizes
+     * more readily than one loop over every stat.
+     *
+     * @param values  The stat of each pet.
+     * @param changes How much each pet's stat goes down.
+     */
+    private void decay(float[] values, float[] changes) {
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            values[i] = clamp(values[i] - changes[i]);
+        }
+    }
+
+    /**
+     * Raises one stat of every pet.
+     *
+     * @param values  The stat of each pet.
+     * @param changes How much each pet's stat goes up, negative to go down.
+     */
+    private void rise(float[] values, float[] changes) {
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            values[i] = clamp(values[i] + changes[i]);
+        }
+    }
+
+    /**
+     * Settles every pet's compounding states and state, as {@link PetModel#stateDetermine()} does.
+     *
+     * <p>Most ticks change nothing for most pets, so each pet is first checked against every
+     * threshold at once, in integer arithmetic with no branches, and only the few that crossed one
+     * take the branch to {@link #settle(int)}. A dead pet, whose stats stay at zero, crosses none.
+     * The check may let through a pet that settles to the same state, but never misses one.</p>
+     *
+     * <p>The stats are compared by the bits of their floats: the stat pass has just clamped them
+     * to {@code +0} to {@code 100}, and non-negative floats order the same way as their bits do as
+     * ints, small enough that subtracting two of them cannot overflow.</p>
+     */
+    private void determineStates() {
+        float[] health = this.health;
+        float[] sleep = this.sleep;
+        float[] happiness = this.happiness;
+        float[] fullness = this.fullness;
+        byte[] flags = this.flags;
+        byte[] state = this.state;
+        int size = this.size;
+        for (int i = 0; i < size; i++) {
+            int l = Float.floatToRawIntBits(health[i]);
+            int s = Float.floatToRawIntBits(sleep[i]);
+            int h = Float.floatToRawIntBits(happiness[i]);
+            int f = Float.floatToRawIntBits(fullness[i]);
+            int bits = flags[i];
+            int asleep = bits & SLEEPING;
+            int angry = (bits & ANGRY) >> PetModel.ANGRY_INDEX;
+            int hungry = (bits & HUNGRY) >> PetModel.HUNGRY_INDEX;
+            int crossed = below(l, RUN_OUT_BITS)
+                | below(s, RUN_OUT_BITS) & ~asleep | below(WAKE_BITS, s) & asleep
+                | below(h, RUN_OUT_BITS) & ~angry | below(CALM_BITS, h) & angry
+                | below(f, RUN_OUT_BITS) & ~hungry | below(FED_BITS, f) & hungry
+                | below(0, state[i] ^ STATE_OF_FLAGS[bits]);
+            int dead = below(state[i] ^ DEAD, 1) & below(bits | l | s | h | f, 1);
+            if ((crossed & ~dead) != 0) {
+                settle(i);
+            }
+        }
+    }
+
+    /**
+     * Compares two non-negative ints without branching.
+     *
+     * @param a The first int, at least {@code 0}.
+     * @param b The second int, at least {@code 0}.
+     * @return {@code 1} if {@code a < b}, otherwise {@code 0}.
+     */
+    private static int below(int a, int b) {
+        return (a - b) >>> 31;
+    }
+
+    /**
+     * Settles one pet's compounding states and state, exactly as {@link PetModel#stateDetermine()}
+     * does, and works out the health and sleep it will lose or gain at its next tick.
+     *
+     * @param i The index of the pet.
+     */
+    private void settle(int i) {
+        if (health[i] < PetModel.RUN_OUT_BELOW) {
+            kill(i);
+            return;
+        }
+        int bits = flags[i];
+        if (sleep[i] < PetModel.RUN_OUT_BELOW && (bits & SLEEPING) == 0) {
+            bits |= SLEEPING;
+            health[i] = Math.max(0.0f, health[i] - PetModel.EXHAUSTION_HEALTH_COST);
+            score[i] = Math.max(0, score[i] - PetModel.EXHAUSTION_SCORE_COST);
+        }
+        if (happiness[i] < PetModel.RUN_OUT_BELOW && (bits & ANGRY) == 0) {
+            bits |= ANGRY;
+            score[i] = Math.max(0, score[i] - PetModel.NEED_SCORE_COST);
+        }
+        if (fullness[i] < PetModel.RUN_OUT_BELOW && (bits & HUNGRY) == 0) {
+            bits |= HUNGRY;
+            score[i] = Math.max(0, score[i] - PetModel.NEED_SCORE_COST);
+        }
+        if (sleep[i] > PetModel.WAKE_ABOVE) {
+            bits &= ~SLEEPING;
+        }
+        if (happiness[i] > PetModel.CALM_ABOVE) {
+            bits &= ~ANGRY;
+        }
+        if (fullness[i] > PetModel.FED_ABOVE) {
+            bits &= ~HUNGRY;
+        }
+        flags[i] = (byte) bits;
+        state[i] = STATE_OF_FLAGS[bits];
+        updateRates(i);
+    }
+
+    /**
+     * Sets a pet as dead, as {@link PetModel#killPet()} does.
+     *
+     * @param i The index of the pet.
+     */
+    private void kill(int i) {
+        health[i] = 0.0f;
+        sleep[i] = 0.0f;
+        fullness[i] = 0.0f;
+        stress[i] = 0.0f;
+        happiness[i] = 0.0f;
+        flags[i] = 0;
+        state[i] = DEAD;
+        updateRates(i);
+    }
+
+    /**
+     * Works out the health and sleep a pet loses or gains at its next tick, from its states, as
+     * {@link PetModel#statBarTick()} does. Multiplying by a factor of {@code 1} or {@code 0}, or
+     * {@code -1} to subtract, gives the exact same floats as its branches do.
+     *
+     * @param i The index of the pet.
+     */
+    private void updateRates(int i) {
+        healthLoss[i] = HEALTH_LOSS_FACTOR[flags[i]] * healthChange[i];
+        // statBarTick goes by the state rather than the flag, which only differ before the first tick
+        sleepGain[i] = SLEEP_GAIN_FACTOR[state[i]] * sleepChange[i];
+    }
+
+    /**
+     * Works out the highest-priority state of a pet's compounding states, as
+     * {@link PetModel#stateEvaluate()} does.
+     *
+     * @param bits The compounding states, as bits.
+     * @return The state.
+     */
+    private static State stateOf(int bits) {
+        if ((bits & SLEEPING) != 0) {
+            return State.SLEEPING;
+        } else if ((bits & ANGRY) != 0) {
+            return State.ANGRY;
+        } else if ((bits & HUNGRY) != 0) {
+            return State.HUNGRY;
+        }
+        return State.NEUTRAL;
+    }
+
+    /**
+     * Clamps a stat value to the valid bounds (0-100), as {@link PetModel#clampStat(float)} does,
+     * without branching.
+     *
+     * @param value The stat value to clamp.
+     * @return The value, or the nearest bound if it is out of bounds.
+     */
+    private static float clamp(float value) {
+        return Math.min(Math.max(value, 0.0f), 100.0f);
+    }
+
+    /**
+     * Copies a pet's stats, states and score back onto a model, such as to save or show it.
+     *
+     * @param i   The index of the pet.
+     * @param pet The model to copy onto.
+     */
+    public void copyTo(int i, PetModel pet) {
+        pet.setHealth(health[i]);
+        pet.setSleep(sleep[i]);
+        pet.setHappiness(happiness[i]);
+        pet.setHunger(fullness[i]);
+        pet.setStress(stress[i]);
+        pet.setScore(score[i]);
+        if (pet.getCompoundingStates() == null) {
+            pet.setCompoundingStates(new boolean[3]);
+        }
+        pet.setCompoundingState(PetModel.SLEEPING_INDEX, (flags[i] & SLEEPING) != 0);
+        pet.setCompoundingState(PetModel.ANGRY_INDEX, (flags[i] & ANGRY) != 0);
+        pet.setCompoundingState(PetModel.HUNGRY_INDEX, (flags[i] & HUNGRY) != 0);
+        pet.setState(getState(i));
+    }
+
+    /**
+     * Gets a pet's health.
+     *
+     * @param i The index of the pet.
+     * @return The pet's health.
+     */
+    public float getHealth(int i) { return health[i]; }
+
+    /**
+     * Gets a pet's sleep.
+     *
+     * @param i The index of the pet.
+     * @return The pet's sleep.
+     */
+    public float getSleep(int i) { return sleep[i]; }
+
+    /**
+     * Gets a pet's happiness.
+     *
+     * @param i The index of the pet.
+     * @return The pet's happiness.
+     */
+    public float getHappiness(int i) { return happiness[i]; }
+
+    /**
+     * Gets a pet's fullness.
+     *
+     * @param i The index of the pet.
+     * @return The pet's fullness.
+     */
+    public float getHunger(int i) { return fullness[i]; }
+
+    /**
+     * Gets a pet's stress.
+     *
+     * @param i The index of the pet.
+     * @return The pet's stress.
+     */
+    public float getStress(int i) { return stress[i]; }
+
+    /**
+     * Gets a pet's score.
+     *
+     * @param i The index of the pet.
+     * @return The pet's score.
+     */
+    public int getScore(int i) { return score[i]; }
+
+    /**
+     * Gets a pet's state.
+     *
+     * @param i The index of the pet.
+     * @return The pet's state.
+     */
+    public State getState(int i) { return STATES[state[i]]; }
+
+    /**
+     * Resizes every array to hold a number of pets.
+     *
+     * @param capacity The number of pets, at least {@link #size}.
+     */
+    private void resize(int capacity) {
+        health = grow(health, capacity);
+        sleep = grow(sleep, capacity);
+        happiness = grow(happiness, capacity);
+        fullness = grow(fullness, capacity);
+        stress = grow(stress, capacity);
+        happinessChange = grow(happinessChange, capacity);
+        fullnessChange = grow(fullnessChange, capacity);
+        healthChange = grow(healthChange, capacity);
+        sleepChange = grow(sleepChange, capacity);
+        healthLoss = grow(healthLoss, capacity);
+        sleepGain = grow(sleepGain, capacity);
+        score = score == null ? new int[capacity] : Arrays.copyOf(score, capacity);
+        flags = flags == null ? new byte[capacity] : Arrays.copyOf(flags, capacity);
+        state = state == null ? new byte[capacity] : Arrays.copyOf(state, capacity);
+    }
+
+    /**
+     * Resizes an array of stats.
+     *
+     * @param values   The array, or {@code null} for none yet.
+     * @param capacity The new length.
+     * @return The resized array.
+     */
+    private static float[] grow(float[] values, int capacity) {
+        return values == null ? new float[capacity] : Arrays.copyOf(values, capacity);
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaobells.group44;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The {@code SaveBackend} enum represents the {@link SaveStore}s {@link JsonHandler} can keep
+ * the saves in.
+ *
+ * <p>The possible backends are:
+ * <ul>
+ *     <li>{@code FILES} - One file per entry, with updates journaled by {@link FileSaveStore}
+ *     and checkpointed into the files. Used by default, and easy to inspect by hand.</li>
+ *     <li>{@code LOG} - A single append-only log of entries, compacted by {@link LogSaveStore}
+ *     once most of it is outdated. Suited to frequent small saves, which cost one append each.</li>
+ * </ul>
+ *
+ * <p>Saves kept in one backend are converted when the other one is used.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ */
+public enum SaveBackend {
+    FILES, LOG;
+
+    /**
+     * Checks whether a save directory holds saves kept in this backend.
+     *
+     * @param directory The save directory.
+     * @return {@code true} if this backend has saves in the directory, {@code false} otherwise.
+     */
+    public boolean exists(File directory) {
+        return this == LOG ? LogSaveStore.exists(directory) : FileSaveStore.exists(directory);
+    }
+
+    /**
+     * Opens the store of this backend in a save directory, creating it if needed.
+     *
+     * @param directory The save directory.
+     * @param readOnly  {@code true} to only read the store, leaving it to another process that writes it.
+     * @return The open store.
+     * @throws IOException If the store could not be opened or recovered.
+     */
+    public SaveStore open(File directory, boolean readOnly) throws IOException {
+        return this == LOG ? new LogSaveStore(directory, readOnly) : new FileSaveStore(directory, readOnly);
+    }
+}
@@ -0,0 +1,117 @@
+package com.kaobells.group44;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code SaveChecksum} class seals the contents of a save file with a CRC-32 of its data,
+ * so a damaged file is recognized when it is loaded instead of being decoded into garbage.
+ *
+ * <p>The checksum is a single line of text appended after the data,
+ * {@code "\n// crc32 1a2b3c4d\n"}, which leaves JSON save files readable by hand; after editing
+ * one by hand, remove the line and the file is loaded unchecked, as files saved before checksums
+ * were added are. Compressed files are not sealed, since gzip already checks a CRC-32 of their
+ * contents when they are inflated.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public final class SaveChecksum {
+
+    /** Text of the checksum line before the checksum itself. */
+    private static final byte[] PREFIX = "\n// crc32 ".getBytes(StandardCharsets.US_ASCII);
+
+    /** Number of hexadecimal digits in the checksum. */
+    private static final int DIGITS = 8;
+
+    /** Size, in bytes, of the checksum line, including its final line break. */
+    public static final int TRAILER_SIZE = PREFIX.length + DIGITS + 1;
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private SaveChecksum() {
+    }
+
+    /**
+     * Appends the checksum line to the contents of a save file.
+     *
+     * @param data The contents of the save file.
+     * @return The contents followed by their checksum, or the same contents if they are compressed.
+     */
+    public static byte[] seal(byte[] data) {
+        if (SaveCompression.isCompressed(data)) {
+            return data;
+        }
+        byte[] sealed = Arrays.copyOf(data, data.length + TRAILER_SIZE);
+        System.arraycopy(PREFIX, 0, sealed, data.length, PREFIX.length);
+        String digits = String.format("%08x", crc(data, data.length));
+        for (int i = 0; i < DIGITS; i++) {
+            sealed[data.length + PREFIX.length + i] = (byte) digits.charAt(i);
+        }
+        sealed[sealed.length - 1] = '\n';
+        return sealed;
+    }
+
+    /**
+     * Checks whether the contents of a save file end with a checksum line.
+     *
+     * @param data The contents of the save file.
+     * @return {@code true} if the contents are sealed, {@code false} if they were saved without a checksum.
+     */
+    public static boolean isSealed(byte[] data) {
+        if (data.length < TRAILER_SIZE || data[data.length - 1] != '\n') {
+            return false;
+        }
+        int start = data.length - TRAILER_SIZE;
+        for (int i = 0; i < PREFIX.length; i++) {
+            if (data[start + i] != PREFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifies the checksum of the contents of a save file and strips it.
+     *
+     * @param data The contents of the save file, sealed or not.
+     * @return The contents without their checksum line, or the same contents if they are not sealed.
+     * @throws IOException If the contents do not match their checksum.
+     */
+    public static byte[] open(byte[] data) throws IOException {
+        if (!isSealed(data)) {
+            return data;
+        }
+        int length = data.length - TRAILER_SIZE;
+        long expected = 0;
+        for (int i = length + PREFIX.length; i < data.length - 1; i++) {
+            int digit = Character.digit(data[i], 16);
+            if (digit < 0) {
+                throw new IOException("Damaged checksum line");
+            }
+            expected = expected << 4 | digit;
+        }
+        long actual = crc(data, length);
+        if (actual != expected) {
+            throw new IOException(String.format("Checksum mismatch: expected %08x but the data has %08x", expected, actual));
+        }
+        return Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Computes the CRC-32 of the start of an array.
+     *
+     * @param data   The array.
+     * @param length The number of bytes to include.
+     * @return The CRC-32 value.
+     */
+    private static long crc(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,109 @@
+package com.kaobells.group44;
+
+import java.io.BufferedInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code SaveCompression} class streams save documents through deflate, in the gzip
+ * container, and reads them back whether they were compressed or not.
+ *
+ * <p>Compressed documents are recognized by the gzip magic number, which can never start
+ * a JSON document or a {@link BinarySaveCodec} one, so plain files keep loading without
+ * knowing how they were written. Data is deflated and inflated through fixed-size buffers
+ * as it is written and read; neither side holds the compressed document in memory.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see SaveFormat#COMPRESSED_JSON
+ */
+public final class SaveCompression {
+
+    /** First byte of the gzip magic number. */
+    private static final int MAGIC_FIRST = 0x1F;
+
+    /** Second byte of the gzip magic number. */
+    private static final int MAGIC_SECOND = 0x8B;
+
+    /** Size, in bytes, of the buffers data is deflated and inflated through. */
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private SaveCompression() {
+    }
+
+    /**
+     * Checks whether the given data starts with the gzip magic number.
+     *
+     * @param data The data to check.
+     * @return {@code true} if the data is compressed, {@code false} otherwise.
+     */
+    public static boolean isCompressed(byte[] data) {
+        return data.length >= 2 && (data[0] & 0xFF) == MAGIC_FIRST && (data[1] & 0xFF) == MAGIC_SECOND;
+    }
+
+    /**
+     * Opens a UTF-8 writer whose text is deflated into a stream. Closing the writer
+     * finishes the compressed data and closes the stream.
+     *
+     * @param out The stream the compressed data is written to.
+     * @return The writer.
+     * @throws IOException If the compressed header could not be written.
+     */
+    public static Writer newWriter(OutputStream out) throws IOException {
+        return new OutputStreamWriter(new GZIPOutputStream(out, BUFFER_SIZE), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a stream whose data is deflated into a file channel. Closing the stream finishes
+     * the compressed data but leaves the channel open, for its owner to force and close.
+     *
+     * @param channel The channel the compressed data is written to.
+     * @return The stream.
+     * @throws IOException If the compressed header could not be written.
+     */
+    public static OutputStream compress(FileChannel channel) throws IOException {
+        OutputStream unclosable = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len); // FilterOutputStream would write one byte at a time
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        return new GZIPOutputStream(unclosable, BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a UTF-8 reader on a stream, inflating its data if it is compressed and reading it
+     * as it is otherwise. Closing the reader closes the stream.
+     *
+     * @param in The stream to read.
+     * @return The reader.
+     * @throws IOException If the start of the stream could not be read.
+     */
+    public static Reader newReader(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        boolean compressed = buffered.read() == MAGIC_FIRST && buffered.read() == MAGIC_SECOND;
+        buffered.reset();
+        InputStream data = compressed ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+        return new InputStreamReader(data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,1067 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@code SaveDirectory} class owns the saves on disk: the {@link SaveStore} holding every save
+ * entry, the optional {@link MappedSlotFile}, each slot's {@link SaveHistory} and the
+ * {@link SaveLock} deciding which running instance of the game writes them.
+ *
+ * <p>It takes care of the lifecycle of the saves rather than of the slots in memory: opening them,
+ * converting saves kept in another backend, format or slot layout and migrating the single-file
+ * database on first start; encoding and decoding entries in the chosen save format; quarantining
+ * damaged entries; reopening the saves when the lock holder has saved; and exporting or importing
+ * the whole database as JSON. Which slots are held in memory, and when they are saved, is up to
+ * {@link JsonHandler}.</p>
+ *
+ * <p>Entries are read on the render thread. Updates are made durable through
+ * {@link #commitAll(Map)} and {@link #checkpoint()}, on the save writer thread only.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public class SaveDirectory {
+
+    /** Base name of the file holding the parental controls inside the save directory. */
+    private static final String PARENTAL_FILE = "parental";
+
+    /** Prefix of the per-slot save file names inside the save directory. */
+    private static final String SLOT_FILE_PREFIX = "slot-";
+
+    /** Name of the slot summary index inside the save directory, always in the binary format. */
+    static final String INDEX_FILE = "index.sav";
+
+    /** Name of the memory-mapped file holding the slot records, when they are used. */
+    static final String MAPPED_FILE = "slots.map";
+
+    /** Name of the side table mapping slot IDs to their records and character names. */
+    static final String NAMES_FILE = "slots.names";
+
+    /** Prefix of the store entries under which slot records are written ahead, followed by the slot ID. */
+    private static final String MAPPED_RECORD_PREFIX = MAPPED_FILE + "#";
+
+    /** Name of the directory, inside the save directory, holding each slot's save history. */
+    private static final String HISTORY_DIRECTORY = "history";
+
+    /** Number of saved versions kept per slot for rolling it back. */
+    private static final int HISTORY_CAPACITY = 20;
+
+    /** Number of versions between two versions stored in full in a slot's history. */
+    private static final int HISTORY_KEYFRAME_INTERVAL = 8;
+
+    /** Size, in bytes, a slot's history is kept under. */
+    private static final long HISTORY_MAX_BYTES = 4 * 1024;
+
+    /** Prefix of the entries damaged save files are moved to, where they are kept but never loaded. */
+    private static final String QUARANTINE_DIRECTORY = "quarantine";
+
+    /** Name of the file, inside the save directory, locked by the instance of the game that writes the saves. */
+    private static final String LOCK_FILE = "session.lock";
+
+    /** Name of the single-file database used before saves were split per slot. */
+    private static final String LEGACY_FILE = "database.json";
+
+    /** Size, in characters, of the reused buffer JSON exports are streamed through. */
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
+    /** Writer reused by every export to stream JSON to disk through the same fixed buffers. */
+    private final BufferedChannelWriter exportWriter = new BufferedChannelWriter(EXPORT_BUFFER_SIZE);
+
+    /** The local directory holding the saves. */
+    private final FileHandle directory;
+
+    /** The format new save files are written in. */
+    private final SaveFormat saveFormat;
+
+    /** The kind of store the save entries are kept in. */
+    private final SaveBackend backend;
+
+    /** Whether each slot's gameplay state is saved in place in the mapped slot file. */
+    private final boolean useMappedSlots;
+
+    /** Lock keeping other instances of the game from writing the saves while this one does. */
+    private final SaveLock saveLock;
+
+    /** Whether another instance of the game holds the save lock, so this one must not write the saves. */
+    private final boolean readOnly;
+
+    /** Stamp of the store and mapped slot files another instance writes when it saves, as last opened. */
+    private long diskStamp;
+
+    /** Store holding every save entry. */
+    private SaveStore store;
+
+    /** Fixed-size records holding each slot's gameplay state, or {@code null} if slots are saved to their own files. */
+    private MappedSlotFile mappedSlots;
+
+    /** The last few saved versions of each slot, for rolling a slot back. */
+    private final SaveHistory history;
+
+    /**
+     * Store entries of slot records applied in place but maybe not forced to disk yet, which are
+     * kept in the store until they are. Used by the writer thread only.
+     */
+    private final HashSet<String> unforcedRecords = new HashSet<>();
+
+    /**
+     * Opens the saves in a directory, taking the save lock if no other instance of the game holds
+     * it. The lock holder creates the saves on first start and converts any kept in another
+     * backend or slot layout; any other instance opens them read-only and never writes them.
+     *
+     * @param directory The local directory holding the saves.
+     * @param options   How the saves are kept on disk.
+     * @throws GdxRuntimeException If the directory could not be locked or the saves could not be opened.
+     */
+    public SaveDirectory(FileHandle directory, SaveOptions options) {
+        this.directory = directory;
+        this.saveFormat = options.getSaveFormat();
+        this.backend = options.getBackend();
+        this.useMappedSlots = options.isMappedSlots();
+        saveLock = new SaveLock(directory.child(LOCK_FILE).file());
+        try {
+            readOnly = !saveLock.tryAcquire();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not lock the save directory", e);
+        }
+        if (readOnly) {
+            System.out.println("Saves are in use by another instance of the game, opening them read-only.");
+        }
+        openStore();
+        if (!readOnly) {
+            initializeLocalFile();
+        }
+        history = new SaveHistory(directory.child(HISTORY_DIRECTORY).file(),
+            HISTORY_CAPACITY, HISTORY_KEYFRAME_INTERVAL, HISTORY_MAX_BYTES);
+        open(readFileStamp());
+    }
+
+    /**
+     * Opens the store, converting any saves kept in the other backend into it unless the saves are read-only.
+     */
+    private void openStore() {
+        try {
+            store = backend.open(directory.file(), readOnly);
+            if (!readOnly) {
+                for (SaveBackend other : SaveBackend.values()) {
+                    if (other != backend && other.exists(directory.file())) {
+                        convertBackend(other);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open the saves", e);
+        }
+    }
+
+    /**
+     * Moves every save entry kept in another backend into the store, then removes the other
+     * backend's store. Entries are copied in one update before any is removed, so a conversion
+     * cut short by a crash is simply made again on the next start.
+     *
+     * @param other The backend the saves were kept in.
+     * @throws IOException If the saves could not be moved.
+     */
+    private void convertBackend(SaveBackend other) throws IOException {
+        LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>();
+        LinkedHashMap<String, byte[]> removed = new LinkedHashMap<>();
+        try (SaveStore source = other.open(directory.file(), false)) {
+            for (String name : source.list()) {
+                if (isSaveEntry(name)) {
+                    entries.put(name, source.read(name));
+                    removed.put(name, null);
+                }
+            }
+            store.writeAll(entries);
+            // the file store keeps its entries as files, which must go so they do not shadow newer saves
+            source.writeAll(removed);
+            source.checkpoint();
+        }
+        directory.child(other == SaveBackend.LOG ? LogSaveStore.LOG_FILE : FileSaveStore.JOURNAL_FILE).delete();
+        System.out.println("Converted " + entries.size() + " save entries from the " + other + " to the " + backend + " backend.");
+    }
+
+    /**
+     * Checks whether a store entry belongs to the saves: a slot, the parental controls in any
+     * format, the slot index, the mapped slot side table or a slot record written ahead.
+     *
+     * @param name The name of the entry.
+     * @return {@code true} if the entry is part of the saves, {@code false} for other files in the save directory.
+     */
+    private static boolean isSaveEntry(String name) {
+        if (slotIdOf(name) != null || name.equals(INDEX_FILE) || name.equals(NAMES_FILE)
+            || name.startsWith(MAPPED_RECORD_PREFIX)) {
+            return true;
+        }
+        for (SaveFormat format : SaveFormat.values()) {
+            if (name.equals(PARENTAL_FILE + format.getExtension())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Opens the mapped slot file: the lock holder first applies any slot record a crash left in
+     * the store, while a read-only instance only reads.
+     *
+     * @param fileStamp The stamp of the store, taken before any entry is loaded.
+     */
+    private void open(long fileStamp) {
+        try {
+            if (readOnly) {
+                openMappedSlots(false);
+            } else {
+                recoverMappedSlots();
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open the mapped slot file", e);
+        }
+        diskStamp = addRecordSequence(fileStamp); // the mapped slot file is only open now
+    }
+
+    /**
+     * Ensures that the save directory exists, migrating the single-file database
+     * into per-slot entries on first start.
+     */
+    private void initializeLocalFile() {
+        if (readEntry(PARENTAL_FILE) != null) {
+            System.out.println("Local save directory previously created.");
+            return;
+        }
+
+        FileHandle legacyFile = Gdx.files.local(LEGACY_FILE);
+        if (legacyFile.exists()) {
+            migrateLegacyDatabase(legacyFile);
+            // keep the old file around as a backup instead of deleting it
+            legacyFile.moveTo(Gdx.files.local(LEGACY_FILE + ".migrated"));
+            System.out.println("Local database JSON migrated to per-slot save files.");
+        } else {
+            migrateLegacyDatabase(Gdx.files.internal(LEGACY_FILE));
+            System.out.println("Save directory created in local storage");
+        }
+    }
+
+    /**
+     * Splits a single-file database into one entry per game slot and a parental controls entry.
+     *
+     * @param legacyFile The single-file database to split.
+     */
+    private void migrateLegacyDatabase(FileHandle legacyFile) {
+        Database legacy = new Database();
+        if (legacyFile.exists()) {
+            try {
+                legacy = readDatabase(legacyFile);
+            } catch (RuntimeException e) { // damaged JSON or values fail with runtime exceptions
+                // a local file is still kept as a backup by the caller
+                System.out.println("Database " + legacyFile.path() + " is damaged, starting with empty slots: " + e.getMessage());
+            }
+        }
+        try {
+            LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>();
+            for (String slotId : legacy.games.keySet()) {
+                entries.put(slotEntryName(slotId), encodeSlot(legacy.snapshotSlot(slotId)));
+            }
+            // its presence marks the migration as complete, so it is written in the same update as the slots
+            entries.put(parentalEntryName(), encodeParentalControls(legacy.snapshotParentalControls()));
+            store.writeAll(entries);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not migrate the legacy database", e);
+        }
+    }
+
+    /**
+     * Opens the mapped slot file and applies any slot record a crash left in the store, so the
+     * records are up to date before they are loaded, then converts the records to save entries
+     * if slots are no longer saved in place.
+     *
+     * @throws IOException If the mapped slot file or the store could not be read or written.
+     */
+    private void recoverMappedSlots() throws IOException {
+        // opened once the side table is recovered, so every record left in the store has a slot to go to
+        openMappedSlots(useMappedSlots);
+        LinkedHashMap<String, byte[]> recovered = new LinkedHashMap<>();
+        for (String name : store.list()) {
+            if (name.startsWith(MAPPED_RECORD_PREFIX)) {
+                if (mappedSlots != null) {
+                    // ignored if a newer copy was saved in place
+                    mappedSlots.apply(name.substring(MAPPED_RECORD_PREFIX.length()), store.read(name));
+                }
+                recovered.put(name, null);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            if (mappedSlots != null) {
+                mappedSlots.force();
+            }
+            store.writeAll(recovered);
+            System.out.println("Recovered " + recovered.size() + " slot record(s) from the save store.");
+        }
+        if (!useMappedSlots && mappedSlots != null) {
+            convertMappedSlots();
+        }
+    }
+
+    /**
+     * Opens the mapped slot file if slots are saved in it, or if it holds slots saved
+     * while they were.
+     *
+     * @param useMappedSlots Whether slots are saved in the mapped slot file.
+     * @throws IOException If the mapped slot file or its side table could not be read.
+     */
+    private void openMappedSlots(boolean useMappedSlots) throws IOException {
+        FileHandle recordFile = directory.child(MAPPED_FILE);
+        if (!useMappedSlots && !recordFile.exists()) {
+            return;
+        }
+        mappedSlots = new MappedSlotFile(recordFile.file(), store.read(NAMES_FILE));
+    }
+
+    /**
+     * Writes every slot held in the mapped slot file back to its own save entry, then deletes
+     * the mapped slot file and its side table.
+     *
+     * @throws IOException If a save entry could not be written.
+     */
+    private void convertMappedSlots() throws IOException {
+        LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>();
+        for (String slotId : mappedSlots.getSlotIds()) {
+            CharacterClass character = mappedSlots.read(slotId);
+            if (character == null) {
+                System.out.println("Mapped record of game slot " + slotId + " is damaged, keeping its save file.");
+                continue;
+            }
+            HashMap<String, Object> slot = new HashMap<>();
+            slot.put("character", character);
+            entries.put(slotEntryName(slotId), encodeSlot(slot));
+        }
+        // the side table goes with them, a record file without one holds no slots
+        entries.put(NAMES_FILE, null);
+        store.writeAll(entries);
+        mappedSlots.close();
+        mappedSlots = null;
+        directory.child(MAPPED_FILE).delete();
+        System.out.println("Converted " + (entries.size() - 1) + " mapped game slot(s) to save files.");
+    }
+
+    /**
+     * Reopens the saves if the instance of the game holding the save lock has saved since they
+     * were last opened. Only the stamp of the store and the mapped slot file are checked, since
+     * the lock holder writes to at least one of them on every save; records saved in place are
+     * checked by their sequence numbers.
+     *
+     * @return {@code true} if the saves were reopened, {@code false} if they had not changed or
+     * this instance holds the save lock.
+     * @throws GdxRuntimeException If the saves could not be closed or opened again.
+     */
+    public boolean reopenIfChanged() {
+        if (!readOnly) {
+            return false;
+        }
+        // taken before the store is reopened, so a save made while reloading is noticed by the next check
+        long fileStamp = readFileStamp();
+        if (addRecordSequence(fileStamp) == diskStamp) {
+            return false;
+        }
+        System.out.println("Saves changed on disk, reloading them.");
+        try {
+            if (mappedSlots != null) {
+                mappedSlots.close();
+                mappedSlots = null;
+            }
+            store.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not close the saves", e);
+        }
+        openStore();
+        open(fileStamp);
+        return true;
+    }
+
+    /**
+     * Combines the stamp of the store with the size and modification time of the mapped slot
+     * file, so comparing two stamps tells whether the lock holder has saved in between.
+     *
+     * @return The stamp.
+     */
+    private long readFileStamp() {
+        File recordFile = directory.child(MAPPED_FILE).file();
+        long stamp = store.stamp();
+        stamp = stamp * 31 + recordFile.length();
+        return stamp * 31 + recordFile.lastModified();
+    }
+
+    /**
+     * Adds the newest sequence number of the mapped slot records to a stamp, since saving a record
+     * in place does not reliably update the file's modification time.
+     *
+     * @param stamp The stamp of the files, from {@link #readFileStamp()}.
+     * @return The stamp including the records, or the same stamp if slots are not mapped.
+     */
+    private long addRecordSequence(long stamp) {
+        return mappedSlots != null ? stamp * 31 + mappedSlots.readNewestSequence() : stamp;
+    }
+
+    /**
+     * Checks whether the saves are open read-only because another instance of the game holds
+     * the save lock.
+     *
+     * @return {@code true} if the saves are read-only, {@code false} if this instance writes them.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Gets the format new save files are written in.
+     *
+     * @return The save format.
+     */
+    public SaveFormat getSaveFormat() {
+        return saveFormat;
+    }
+
+    /**
+     * Gets the mapped slot file. It is replaced whenever the saves are reopened, so it is
+     * looked up again for every use rather than kept.
+     *
+     * @return The mapped slot file, or {@code null} if slots are saved to their own files.
+     */
+    public MappedSlotFile getMappedSlots() {
+        return mappedSlots;
+    }
+
+    /**
+     * Lists the IDs of every game slot that has a save entry, in any format, or a record
+     * in the mapped slot file.
+     *
+     * @return The slot IDs found in the store.
+     * @throws GdxRuntimeException If the store could not be listed.
+     */
+    public Set<String> listSlotIds() {
+        Set<String> slotIds = new TreeSet<>(SlotSummary.SLOT_ORDER);
+        if (mappedSlots != null) {
+            slotIds.addAll(mappedSlots.getSlotIds());
+        }
+        try {
+            for (String name : store.list()) {
+                String slotId = slotIdOf(name);
+                if (slotId != null) {
+                    slotIds.add(slotId);
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not list the saves", e);
+        }
+        return slotIds;
+    }
+
+    /**
+     * Retrieves the ID of the game slot a save entry belongs to.
+     *
+     * @param fileName The name of the entry, with its extension.
+     * @return The slot ID, or {@code null} if the entry is not a slot's save entry in any format.
+     */
+    private static String slotIdOf(String fileName) {
+        if (!fileName.startsWith(SLOT_FILE_PREFIX)) {
+            return null;
+        }
+        for (SaveFormat format : SaveFormat.values()) {
+            // backups such as "slot-1.sav.migrated" have no save format's extension
+            if (fileName.endsWith(format.getExtension())) {
+                return fileName.substring(SLOT_FILE_PREFIX.length(), fileName.length() - format.getExtension().length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the name of a game slot's save entry in the current save format.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The name of the entry, which may not exist yet.
+     */
+    public String slotEntryName(String slotId) {
+        return saveFileName(slotFileName(slotId));
+    }
+
+    /**
+     * Retrieves the name of the parental controls' save entry in the current save format.
+     *
+     * @return The name of the entry.
+     */
+    public String parentalEntryName() {
+        return saveFileName(PARENTAL_FILE);
+    }
+
+    /**
+     * Retrieves the name of the store entry a slot record is written ahead under.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The name of the entry.
+     */
+    public static String recordEntryName(String slotId) {
+        return MAPPED_RECORD_PREFIX + slotId;
+    }
+
+    /**
+     * Retrieves the base name (without extension) of a game slot's save entry.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The base name of the slot's save entry.
+     */
+    private static String slotFileName(String slotId) {
+        return SLOT_FILE_PREFIX + slotId;
+    }
+
+    /**
+     * Retrieves the name of the save entry with the given base name in the current save format.
+     *
+     * @param baseName The base name of the entry.
+     * @return The name of the entry, which may not exist yet.
+     */
+    private String saveFileName(String baseName) {
+        return baseName + saveFormat.getExtension();
+    }
+
+    /**
+     * Retrieves the base name of a save entry, without its save format's extension.
+     *
+     * @param name The name of the entry.
+     * @return The base name.
+     */
+    private static String baseNameOf(String name) {
+        int extension = name.lastIndexOf('.');
+        return extension >= 0 ? name.substring(0, extension) : name;
+    }
+
+    /**
+     * Checks whether a save entry is stored in the current save format.
+     *
+     * @param name The name of the entry to check.
+     * @return {@code true} if the entry has the current format's extension, {@code false} otherwise.
+     */
+    public boolean isInSaveFormat(String name) {
+        return name.endsWith(saveFormat.getExtension());
+    }
+
+    /**
+     * Reads a game slot's save entry, preferring the current save format.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The name and contents of the entry, or {@code null} if the slot has none in any format.
+     * @throws GdxRuntimeException If the entry could not be read.
+     */
+    public Map.Entry<String, byte[]> readSlotEntry(String slotId) {
+        return readEntry(slotFileName(slotId));
+    }
+
+    /**
+     * Reads the save entry with the given base name, preferring the current save format; a
+     * read-only instance may find it in the lock holder's format.
+     *
+     * @param baseName The base name of the entry.
+     * @return The name and contents of the entry, or {@code null} if there is none in any format.
+     * @throws GdxRuntimeException If the entry could not be read.
+     */
+    private Map.Entry<String, byte[]> readEntry(String baseName) {
+        try {
+            String preferred = saveFileName(baseName);
+            byte[] data = store.read(preferred);
+            if (data != null) {
+                return new AbstractMap.SimpleImmutableEntry<>(preferred, data);
+            }
+            for (SaveFormat format : SaveFormat.values()) {
+                String name = baseName + format.getExtension();
+                data = store.read(name);
+                if (data != null) {
+                    return new AbstractMap.SimpleImmutableEntry<>(name, data);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + baseName, e);
+        }
+    }
+
+    /**
+     * Reads the slot summary index.
+     *
+     * @return The summaries in the index, or {@code null} if there is no index or it is damaged and must be rebuilt.
+     * @throws GdxRuntimeException If the index could not be read.
+     */
+    public List<SlotSummary> readIndex() {
+        byte[] index;
+        try {
+            index = store.read(INDEX_FILE);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the slot index", e);
+        }
+        if (index == null) {
+            return null;
+        }
+        try {
+            return BinarySaveCodec.decodeIndex(SaveChecksum.open(index));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Slot index could not be read, rebuilding it: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the parental controls. Parental controls saved in another format are rewritten in the
+     * current one; damaged ones are quarantined and replaced with the defaults right away, since a
+     * missing parental entry would make the next start migrate from scratch.
+     *
+     * @param defaults The parental controls to use if none could be loaded.
+     * @return The loaded parental controls, or {@code defaults} if there are none yet or they are damaged.
+     * @throws GdxRuntimeException If the parental controls could not be rewritten.
+     */
+    public ParentalControls loadParentalControls(ParentalControls defaults) {
+        Map.Entry<String, byte[]> entry = readEntry(PARENTAL_FILE);
+        if (entry == null) {
+            // only while the lock holder is still creating the save directory
+            System.out.println("No parental controls saved yet, using the defaults.");
+            return defaults;
+        }
+        try {
+            ParentalControls parentalControls = defaults;
+            try {
+                ParentalControls decoded = decodeParentalControls(entry.getValue());
+                if (decoded != null) {
+                    parentalControls = decoded;
+                }
+            } catch (IOException | RuntimeException e) {
+                if (readOnly) {
+                    // left in place for the lock holder to quarantine
+                    System.out.println("Parental controls could not be read, using the defaults: " + e.getMessage());
+                } else {
+                    quarantine(entry, e, encodeParentalControls(defaults));
+                    System.out.println("Parental controls reset to their defaults.");
+                    return defaults;
+                }
+            }
+            if (!readOnly && !isInSaveFormat(entry.getKey())) {
+                convertToSaveFormat(entry, encodeParentalControls(parentalControls));
+            }
+            return parentalControls;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not load the parental controls", e);
+        }
+    }
+
+    /**
+     * Checks whether a game slot has a record in the mapped slot file.
+     *
+     * @param slotId The ID of the game slot.
+     * @return {@code true} if the slot has a record, {@code false} if slots are not mapped or it has none.
+     */
+    public boolean hasMappedRecord(String slotId) {
+        return mappedSlots != null && mappedSlots.contains(slotId);
+    }
+
+    /**
+     * Reads a game slot's character from its record in the mapped slot file.
+     *
+     * @param slotId The ID of the game slot, which must have a record.
+     * @return The character, or {@code null} if the record is damaged and the slot must be read from its save entry.
+     * @throws GdxRuntimeException If the record could not be read.
+     */
+    public CharacterClass readMappedCharacter(String slotId) {
+        try {
+            CharacterClass character = mappedSlots.read(slotId);
+            if (character == null) {
+                System.out.println("Mapped record of game slot " + slotId + " is damaged, reading its save file instead.");
+            }
+            return character;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the record of game slot " + slotId, e);
+        }
+    }
+
+    /**
+     * Summarizes a game slot from its record in the mapped slot file.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The summary, or {@code null} if the slot has no intact record.
+     * @throws GdxRuntimeException If the record could not be read.
+     */
+    public SlotSummary summarizeMappedSlot(String slotId) {
+        if (!hasMappedRecord(slotId)) {
+            return null;
+        }
+        try {
+            return mappedSlots.summarize(slotId);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the record of game slot " + slotId, e);
+        }
+    }
+
+    /**
+     * Sets aside a slot's damaged save entry: it is quarantined, unless the saves are read-only,
+     * in which case it is left in place for the lock holder to quarantine. Any saved versions the
+     * slot can still be restored from are reported.
+     *
+     * @param slotId The ID of the game slot.
+     * @param entry  The name and contents of the damaged entry.
+     * @param cause  Why the entry could not be decoded.
+     * @throws GdxRuntimeException If the entry could not be quarantined.
+     */
+    public void setAsideSlotEntry(String slotId, Map.Entry<String, byte[]> entry, Exception cause) {
+        if (readOnly) {
+            System.out.println("Save file " + entry.getKey() + " could not be read: " + cause.getMessage());
+        } else {
+            try {
+                quarantine(entry, cause, null);
+            } catch (IOException quarantineError) {
+                throw new GdxRuntimeException("Could not quarantine " + entry.getKey(), quarantineError);
+            }
+        }
+        try {
+            int versions = history.list(slotId).size();
+            if (versions > 0) {
+                System.out.println("Game slot " + slotId + " has " + versions
+                    + " saved version(s) that can still be restored.");
+            }
+        } catch (IOException historyError) {
+            System.out.println("History of game slot " + slotId + " could not be read: " + historyError.getMessage());
+        }
+    }
+
+    /**
+     * Moves a damaged save entry under the quarantine prefix, where it is kept for inspection
+     * but never loaded again, optionally replacing it in the same update.
+     *
+     * @param entry       The name and contents of the damaged entry.
+     * @param cause       Why the entry could not be loaded.
+     * @param replacement The new contents of the entry, or {@code null} to remove it.
+     * @throws IOException If the entry could not be moved.
+     */
+    private void quarantine(Map.Entry<String, byte[]> entry, Exception cause, byte[] replacement) throws IOException {
+        String target = QUARANTINE_DIRECTORY + "/" + System.currentTimeMillis() + "-" + entry.getKey();
+        LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put(target, entry.getValue());
+        entries.put(entry.getKey(), null);
+        if (replacement != null) {
+            entries.put(saveFileName(baseNameOf(entry.getKey())), replacement);
+        }
+        store.writeAll(entries);
+        System.out.println("Save file " + entry.getKey() + " is damaged and was moved to " + target + ": " + cause.getMessage());
+    }
+
+    /**
+     * Rewrites a slot's save entry that was loaded from another format or an older schema version
+     * in the current save format, keeping the old contents as a backup, in a single update.
+     *
+     * @param loaded   The name and contents of the entry the slot was loaded from.
+     * @param snapshot A snapshot of the slot.
+     * @throws IOException If the converted entry could not be encoded or written.
+     */
+    public void convertSlotToSaveFormat(Map.Entry<String, byte[]> loaded, HashMap<String, Object> snapshot) throws IOException {
+        convertToSaveFormat(loaded, encodeSlot(snapshot));
+    }
+
+    /**
+     * Rewrites a save entry that was loaded from another format or an older schema version in
+     * the current save format, keeping the old contents as a backup, in a single update.
+     *
+     * @param loaded The name and contents of the entry the data was loaded from.
+     * @param data   The data encoded in the current save format.
+     * @throws IOException If the converted entry could not be written.
+     */
+    private void convertToSaveFormat(Map.Entry<String, byte[]> loaded, byte[] data) throws IOException {
+        String target = saveFileName(baseNameOf(loaded.getKey()));
+        LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put(loaded.getKey() + ".migrated", loaded.getValue());
+        if (!target.equals(loaded.getKey())) {
+            entries.put(loaded.getKey(), null);
+        }
+        entries.put(target, data);
+        store.writeAll(entries);
+        System.out.println("Converted " + loaded.getKey() + " to the " + saveFormat + " save format.");
+    }
+
+    /**
+     * Serializes a slot snapshot into the contents of its save file, in the current save format,
+     * sealed with their checksum.
+     *
+     * @param snapshot The slot snapshot to serialize.
+     * @return The encoded contents.
+     * @throws IOException If the slot could not be encoded.
+     */
+    public byte[] encodeSlot(HashMap<String, Object> snapshot) throws IOException {
+        if (saveFormat == SaveFormat.BINARY) {
+            return SaveChecksum.seal(BinarySaveCodec.encodeSlot(snapshot));
+        }
+        if (saveFormat == SaveFormat.COMPRESSED_JSON) {
+            // slots are stored as a whole, so they are deflated in memory; each is only a few hundred bytes
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (Writer out = SaveCompression.newWriter(bytes)) {
+                JsonSaveCodec.writeSlot(out, snapshot);
+            }
+            return bytes.toByteArray(); // gzip checks its own CRC-32
+        }
+        return SaveChecksum.seal(JsonSaveCodec.encodeSlot(snapshot));
+    }
+
+    /**
+     * Serializes a parental controls snapshot into the contents of its save file, in the
+     * current save format, sealed with their checksum.
+     *
+     * @param snapshot The parental controls snapshot to serialize.
+     * @return The encoded contents.
+     * @throws IOException If the parental controls could not be encoded.
+     */
+    public byte[] encodeParentalControls(ParentalControls snapshot) throws IOException {
+        if (saveFormat == SaveFormat.BINARY) {
+            return SaveChecksum.seal(BinarySaveCodec.encodeParentalControls(snapshot));
+        }
+        if (saveFormat == SaveFormat.COMPRESSED_JSON) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (Writer out = SaveCompression.newWriter(bytes)) {
+                JsonSaveCodec.writeParentalControls(out, snapshot);
+            }
+            return bytes.toByteArray();
+        }
+        return SaveChecksum.seal(JsonSaveCodec.encodeParentalControls(snapshot));
+    }
+
+    /**
+     * Serializes the slot summaries into the contents of the index file, sealed with their checksum.
+     *
+     * @param summaries The summaries of every game slot.
+     * @return The encoded contents.
+     * @throws IOException If the index could not be encoded.
+     */
+    public static byte[] encodeIndex(Collection<SlotSummary> summaries) throws IOException {
+        return SaveChecksum.seal(BinarySaveCodec.encodeIndex(summaries));
+    }
+
+    /**
+     * Reads the contents of the parental controls save file, detecting whether it is binary,
+     * compressed JSON or JSON, after verifying their checksum if they have one.
+     *
+     * @param data The contents of the save file.
+     * @return The parental controls.
+     * @throws IOException If the contents do not match their checksum, or binary or compressed data could not be decoded.
+     */
+    private static ParentalControls decodeParentalControls(byte[] data) throws IOException {
+        data = SaveChecksum.open(data);
+        if (BinarySaveCodec.isBinary(data)) {
+            return BinarySaveCodec.decodeParentalControls(data);
+        }
+        if (SaveCompression.isCompressed(data)) {
+            return JsonSaveCodec.decodeParentalControls(SaveCompression.newReader(new ByteArrayInputStream(data)));
+        }
+        return JsonSaveCodec.decodeParentalControls(data);
+    }
+
+    /**
+     * Makes a save entry update durable by writing it to the store, and checkpoints the store
+     * once it asks for it. Runs on the writer thread only.
+     *
+     * @param fileName The name of the save entry.
+     * @param data     The new contents of the save entry.
+     * @throws IOException If the update could not be made durable.
+     */
+    public void commit(String fileName, byte[] data) throws IOException {
+        commitAll(Collections.singletonMap(fileName, data));
+    }
+
+    /**
+     * Makes updates to several save entries durable together as a single store update, and
+     * checkpoints the store once it asks for it. Slot records written ahead under
+     * {@link #recordEntryName(String)} are then applied in place. Runs on the writer thread only.
+     *
+     * @param files The new contents of each save entry, keyed by entry name.
+     * @throws IOException If the updates could not be made durable.
+     */
+    public void commitAll(Map<String, byte[]> files) throws IOException {
+        store.writeAll(files);
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            if (file.getKey().startsWith(MAPPED_RECORD_PREFIX)) {
+                // a slot record is written in place now that it is durable, unless a newer one already was
+                mappedSlots.apply(file.getKey().substring(MAPPED_RECORD_PREFIX.length()), file.getValue());
+                unforcedRecords.add(file.getKey());
+            }
+        }
+        if (store.needsCheckpoint()) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Forces the slot records to disk, removes the copies written ahead of them from the store,
+     * then checkpoints the store. Runs on the writer thread only.
+     *
+     * @throws IOException If the records could not be forced or the store could not be checkpointed.
+     */
+    public void checkpoint() throws IOException {
+        if (mappedSlots != null) {
+            mappedSlots.force(); // records written ahead, and the side table pointing at them, only live in the store until then
+        }
+        if (!unforcedRecords.isEmpty()) {
+            LinkedHashMap<String, byte[]> forced = new LinkedHashMap<>();
+            for (String record : unforcedRecords) {
+                forced.put(record, null);
+            }
+            store.writeAll(forced);
+            unforcedRecords.clear();
+        }
+        store.checkpoint();
+    }
+
+    /**
+     * Records a saved character as a new version in its slot's history. Runs on the writer thread only.
+     *
+     * @param slotId   The ID of the game slot.
+     * @param snapshot A snapshot of the saved character.
+     * @param savedAt  When the character was saved, in milliseconds since the epoch.
+     * @throws IOException If the version could not be recorded.
+     */
+    public void recordVersion(String slotId, CharacterClass snapshot, long savedAt) throws IOException {
+        history.record(slotId, snapshot, savedAt);
+    }
+
+    /**
+     * Lists the saved versions a game slot can be rolled back to.
+     *
+     * @param slotId The ID of the game slot.
+     * @return The versions, oldest first; empty if the slot was never saved.
+     * @throws GdxRuntimeException If the history could not be read.
+     */
+    public List<SaveHistory.Version> listVersions(String slotId) {
+        try {
+            return history.list(slotId);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the history of game slot " + slotId, e);
+        }
+    }
+
+    /**
+     * Reads one of the saved versions of a game slot's character.
+     *
+     * @param slotId The ID of the game slot.
+     * @param number The number of the version, from {@link #listVersions(String)}.
+     * @return The character as it was saved, or {@code null} if the version is no longer kept.
+     * @throws GdxRuntimeException If the history could not be read.
+     */
+    public CharacterClass readVersion(String slotId, long number) {
+        CharacterClass restored;
+        try {
+            restored = history.restore(slotId, number);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read the history of game slot " + slotId, e);
+        }
+        if (restored == null) {
+            System.out.println("Version " + number + " of game slot " + slotId + " is no longer kept.");
+        }
+        return restored;
+    }
+
+    /**
+     * Streams a whole database to a single compact JSON file through a reused buffer, optionally
+     * deflating it as it is written. The file is replaced atomically, so a failed export leaves
+     * the previous one intact.
+     *
+     * @param target     The file to write the export to.
+     * @param compressed {@code true} to compress the export, {@code false} to write plain JSON.
+     * @param slots      Every game slot's data, read one at a time as the export is written.
+     * @param database   The database holding the characters and parental controls to export.
+     * @throws GdxRuntimeException If the export could not be written.
+     */
+    public void exportDatabase(FileHandle target, boolean compressed,
+                               Iterable<Map.Entry<String, HashMap<String, Object>>> slots, Database database) {
+        try {
+            AtomicFileWriter.write(target.file(), channel -> {
+                if (!compressed) {
+                    exportWriter.open(channel);
+                    JsonSaveCodec.writeDatabase(exportWriter, slots, database.characters, database.parentalControls);
+                    exportWriter.finish();
+                    return;
+                }
+                try (OutputStream deflated = SaveCompression.compress(channel)) {
+                    exportWriter.open(Channels.newChannel(deflated));
+                    JsonSaveCodec.writeDatabase(exportWriter, slots, database.characters, database.parentalControls);
+                    exportWriter.finish();
+                }
+            });
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not export the database", e);
+        }
+        System.out.println("Database exported to " + target.path());
+    }
+
+    /**
+     * Reads a whole database from a JSON file, inflating it first if it is compressed.
+     *
+     * @param source The JSON file, compressed or not.
+     * @return The decoded database.
+     * @throws GdxRuntimeException If the file could not be read.
+     */
+    public static Database readDatabase(FileHandle source) {
+        try {
+            return JsonSaveCodec.decodeDatabase(SaveCompression.newReader(source.read()));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read " + source.path(), e);
+        }
+    }
+
+    /**
+     * Removes game slots from disk: their save entries in every format, their history and their
+     * records in the mapped slot file. The mapped slot file's side table is not saved here.
+     *
+     * @param slotIds The IDs of the game slots to remove.
+     * @return {@code true} if the side table of the mapped slot file changed and must be saved, {@code false} otherwise.
+     * @throws IOException If the save entries could not be removed.
+     */
+    public boolean removeSlots(Collection<String> slotIds) throws IOException {
+        LinkedHashMap<String, byte[]> removed = new LinkedHashMap<>();
+        boolean namesChanged = false;
+        for (String slotId : slotIds) {
+            for (SaveFormat format : SaveFormat.values()) {
+                removed.put(slotFileName(slotId) + format.getExtension(), null);
+            }
+            if (mappedSlots != null) {
+                namesChanged |= mappedSlots.remove(slotId);
+            }
+            history.delete(slotId);
+        }
+        store.writeAll(removed);
+        return namesChanged;
+    }
+
+    /**
+     * Closes the store and the mapped slot file, then releases the save lock, once every save has
+     * reached the disk.
+     *
+     * @throws IOException If the saves could not be closed.
+     */
+    public void close() throws IOException {
+        store.close();
+        if (mappedSlots != null) {
+            mappedSlots.close();
+        }
+        saveLock.close(); // released last, once every save has reached the disk
+    }
+}
@@ -0,0 +1,45 @@
+package com.kaobells.group44;
+
+/**
+ * The {@code SaveFormat} enum represents the encodings {@link JsonHandler} can use
+ * for the save files it writes.
+ *
+ * <p>The possible formats are:
+ * <ul>
+ *     <li>{@code BINARY} - The compact, versioned encoding of {@link BinarySaveCodec}. Used by default.</li>
+ *     <li>{@code JSON} - The original pretty-printed LibGDX JSON encoding, readable by hand.</li>
+ *     <li>{@code COMPRESSED_JSON} - Compact JSON streamed through deflate by {@link SaveCompression}. Far
+ *     smaller than {@code JSON} on disk, at the cost of slower saves and loads than {@code BINARY}.</li>
+ * </ul>
+ *
+ * <p>Files are always read in whichever format they were written in, so switching
+ * the format keeps existing saves loadable. Compressed files are recognized from their
+ * contents, not their extension.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ */
+public enum SaveFormat {
+    BINARY(".sav"), JSON(".json"), COMPRESSED_JSON(".jsonz");
+
+    /** File extension used for save files in this format. */
+    private final String extension;
+
+    /**
+     * Constructs a save format.
+     *
+     * @param extension The file extension used for save files in this format.
+     */
+    SaveFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Retrieves the file extension used for save files in this format.
+     *
+     * @return The file extension, including the leading dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
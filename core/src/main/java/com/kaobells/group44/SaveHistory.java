@@ -0,0 +1,567 @@
+package com.kaobells.group44;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code SaveHistory} class keeps the last few saved versions of every game slot's
+ * character, so a slot can be rolled back after a bad session.
+ *
+ * <p>Each slot has its own history file, a ring of versions appended one record at a time.
+ * A version is stored as a delta against the version before it: the runs of bytes that changed
+ * in the character's {@link CharacterClass#writeBinary binary encoding}, which for an autosave is
+ * usually a few stats and the score. Every {@code keyframeInterval}-th version, and any version
+ * whose delta would not be smaller, is stored in full as a keyframe, so restoring a version never
+ * replays more than a handful of deltas.</p>
+ *
+ * <p>Once a file holds more than {@code capacity} versions or grows past {@code maxBytes}, it is
+ * rewritten with only the newest versions that fit, the oldest of them turned into a keyframe,
+ * so the history of a slot never takes more than about {@code maxBytes} on disk.</p>
+ *
+ * <p>Each record is laid out as:</p>
+ * <ul>
+ *     <li>{@code int} length of the body</li>
+ *     <li>{@code int} CRC32 of the body</li>
+ *     <li>body: {@code long} version number, {@code long} save time, {@code byte} kind, then either
+ *     the full encoding (keyframe) or an {@code int} new length, an {@code int} run count and, for each
+ *     run, an {@code int} offset, a {@code short} length and the new bytes (delta)</li>
+ * </ul>
+ * <p>A record that is cut short or fails its checksum marks the end of the history, like in
+ * {@link SaveJournal}. History is a rollback aid: appends are not forced to disk, so a crash may
+ * lose the newest versions, never the save files themselves.</p>
+ *
+ * <p>Every method is synchronized; versions are recorded on the save writer thread and listed or
+ * restored on the render thread.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler#getSlotHistory(String)
+ */
+public class SaveHistory {
+
+    /** Size of the record header (body length and checksum), in bytes. */
+    private static final int HEADER_SIZE = 8;
+
+    /** Size of the fixed part of a record body (version, save time and kind), in bytes. */
+    private static final int BODY_PREFIX_SIZE = 17;
+
+    /** Record kind of a version stored in full. */
+    private static final byte KEYFRAME = 0;
+
+    /** Record kind of a version stored as a delta against the version before it. */
+    private static final byte DELTA = 1;
+
+    /** Number of unchanged bytes between two changed runs below which the runs are merged into one. */
+    private static final int MERGE_GAP = 6;
+
+    /** Extension of the history files. */
+    private static final String EXTENSION = ".hist";
+
+    /**
+     * A saved version of a slot, as listed by {@link #list(String)}.
+     */
+    public static final class Version {
+
+        /** The version number, increasing with every save of the slot. */
+        private final long number;
+
+        /** Time the version was saved, in milliseconds since the epoch. */
+        private final long savedAt;
+
+        /** Whether the version is stored in full. */
+        private final boolean keyframe;
+
+        /** Size of the version's record on disk, in bytes. */
+        private final int storedSize;
+
+        /**
+         * Constructs a version.
+         *
+         * @param number     The version number.
+         * @param savedAt    The time the version was saved.
+         * @param keyframe   Whether the version is stored in full.
+         * @param storedSize The size of the version's record on disk.
+         */
+        Version(long number, long savedAt, boolean keyframe, int storedSize) {
+            this.number = number;
+            this.savedAt = savedAt;
+            this.keyframe = keyframe;
+            this.storedSize = storedSize;
+        }
+
+        /**
+         * Gets the version number.
+         *
+         * @return The version number, increasing with every save of the slot.
+         */
+        public long getNumber() { return number; }
+
+        /**
+         * Gets the time the version was saved.
+         *
+         * @return The save time, in milliseconds since the epoch.
+         */
+        public long getSavedAt() { return savedAt; }
+
+        /**
+         * Checks whether the version is stored in full.
+         *
+         * @return {@code true} if the version is a keyframe, {@code false} if it is a delta.
+         */
+        public boolean isKeyframe() { return keyframe; }
+
+        /**
+         * Gets the size of the version's record on disk.
+         *
+         * @return The size, in bytes.
+         */
+        public int getStoredSize() { return storedSize; }
+    }
+
+    /**
+     * One version read back from a history file, with its full encoding.
+     */
+    private static final class Entry {
+
+        /** The version's listing. */
+        final Version version;
+
+        /** The character's full binary encoding at this version. */
+        final byte[] state;
+
+        /** The record body as stored on disk. */
+        final byte[] body;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param version The version's listing.
+         * @param state   The character's full binary encoding at this version.
+         * @param body    The record body as stored on disk.
+         */
+        Entry(Version version, byte[] state, byte[] body) {
+            this.version = version;
+            this.state = state;
+            this.body = body;
+        }
+    }
+
+    /**
+     * What is known about the end of a slot's history file, so versions can be appended
+     * without reading the file again.
+     */
+    private static final class Tail {
+
+        /** Number of the newest version. */
+        long number;
+
+        /** The character's full binary encoding at the newest version, or {@code null} if there is none. */
+        byte[] state;
+
+        /** Number of deltas appended since the last keyframe. */
+        int deltasSinceKeyframe;
+
+        /** Number of versions in the file. */
+        int count;
+
+        /** Size of the file, in bytes. */
+        long size;
+    }
+
+    /** Directory holding one history file per slot. */
+    private final File directory;
+
+    /** Maximum number of versions kept per slot. */
+    private final int capacity;
+
+    /** Number of versions between two keyframes. */
+    private final int keyframeInterval;
+
+    /** Size, in bytes, above which a slot's history file is compacted. */
+    private final long maxBytes;
+
+    /** End of every history file read or written so far, keyed by slot ID. */
+    private final HashMap<String, Tail> tails = new HashMap<>();
+
+    /** Checksum calculator reused between records. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructs a history kept in the given directory, which is created when the first
+     * version is recorded.
+     *
+     * @param directory        The directory holding one history file per slot.
+     * @param capacity         The maximum number of versions kept per slot.
+     * @param keyframeInterval The number of versions between two keyframes.
+     * @param maxBytes         The size, in bytes, above which a slot's history is compacted.
+     */
+    public SaveHistory(File directory, int capacity, int keyframeInterval, long maxBytes) {
+        if (capacity < 1 || keyframeInterval < 1) {
+            throw new IllegalArgumentException("A history must keep at least one version and have a keyframe interval of at least one");
+        }
+        this.directory = directory;
+        this.capacity = capacity;
+        this.keyframeInterval = keyframeInterval;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Records a new version of a slot's character, compacting the slot's history if it grew
+     * past its bounds. A character identical to the newest version is not recorded again.
+     *
+     * @param slotId    The ID of the slot.
+     * @param character A snapshot of the character.
+     * @param savedAt   The time the character was saved, in milliseconds since the epoch.
+     * @return The number of the version, or the newest version's number if nothing changed.
+     * @throws IOException If the history file could not be read or written.
+     */
+    public synchronized long record(String slotId, CharacterClass character, long savedAt) throws IOException {
+        byte[] state = encode(character);
+        Tail tail = tail(slotId);
+        if (tail.state != null && Arrays.equals(tail.state, state)) {
+            return tail.number;
+        }
+
+        long number = tail.number + 1;
+        byte[] delta = tail.state == null || tail.deltasSinceKeyframe + 1 >= keyframeInterval ? null : diff(tail.state, state);
+        boolean keyframe = delta == null || delta.length >= state.length;
+        byte[] record = record(body(number, savedAt, keyframe, keyframe ? state : delta));
+
+        File file = historyFile(slotId);
+        Files.createDirectories(directory.toPath());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        tail.number = number;
+        tail.state = state;
+        tail.deltasSinceKeyframe = keyframe ? 0 : tail.deltasSinceKeyframe + 1;
+        tail.count++;
+        tail.size += record.length;
+
+        if (tail.count > capacity || tail.size > maxBytes) {
+            compact(slotId);
+        }
+        return number;
+    }
+
+    /**
+     * Lists the versions kept for a slot.
+     *
+     * @param slotId The ID of the slot.
+     * @return The versions, oldest first; empty if the slot has no history.
+     * @throws IOException If the history file could not be read.
+     */
+    public synchronized List<Version> list(String slotId) throws IOException {
+        List<Version> versions = new ArrayList<>();
+        for (Entry entry : read(slotId)) {
+            versions.add(entry.version);
+        }
+        return versions;
+    }
+
+    /**
+     * Rebuilds a slot's character as it was at a given version.
+     *
+     * @param slotId The ID of the slot.
+     * @param number The number of the version.
+     * @return The character, without any textures loaded, or {@code null} if the version is no longer kept.
+     * @throws IOException If the history file could not be read.
+     */
+    public synchronized CharacterClass restore(String slotId, long number) throws IOException {
+        for (Entry entry : read(slotId)) {
+            if (entry.version.getNumber() == number) {
+                return CharacterClass.readBinary(new DataInputStream(new ByteArrayInputStream(entry.state)));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the history of a slot.
+     *
+     * @param slotId The ID of the slot.
+     */
+    public synchronized void delete(String slotId) {
+        tails.remove(slotId);
+        historyFile(slotId).delete();
+    }
+
+    /**
+     * Retrieves the size of a slot's history on disk.
+     *
+     * @param slotId The ID of the slot.
+     * @return The size of the slot's history file, in bytes, or 0 if it has none.
+     */
+    public synchronized long size(String slotId) {
+        return historyFile(slotId).length();
+    }
+
+    /**
+     * Rewrites a slot's history file with only the newest versions that fit in its bounds,
+     * the oldest of them stored in full.
+     *
+     * @param slotId The ID of the slot.
+     * @throws IOException If the history file could not be read or written.
+     */
+    private void compact(String slotId) throws IOException {
+        List<Entry> entries = read(slotId);
+        // the newest version is always kept; older ones are added while they fit, the oldest as a keyframe
+        int first = entries.size() - 1;
+        long newerSize = 0;
+        while (first > 0 && entries.size() - first < capacity) {
+            long withOlder = newerSize + entries.get(first).version.getStoredSize() + keyframeSize(entries.get(first - 1));
+            if (withOlder > maxBytes) {
+                break;
+            }
+            newerSize += entries.get(first).version.getStoredSize();
+            first--;
+        }
+
+        ByteArrayOutputStream compacted = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE, maxBytes));
+        Tail tail = new Tail();
+        for (int i = first; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            byte[] body = entry.body;
+            if (i == first && !entry.version.isKeyframe()) {
+                body = body(entry.version.getNumber(), entry.version.getSavedAt(), true, entry.state);
+            }
+            byte[] record = record(body);
+            compacted.write(record);
+            boolean keyframe = body[BODY_PREFIX_SIZE - 1] == KEYFRAME;
+            tail.deltasSinceKeyframe = keyframe ? 0 : tail.deltasSinceKeyframe + 1;
+            tail.number = entry.version.getNumber();
+            tail.state = entry.state;
+            tail.count++;
+            tail.size += record.length;
+        }
+        AtomicFileWriter.write(historyFile(slotId), compacted.toByteArray());
+        tails.put(slotId, tail);
+    }
+
+    /**
+     * Computes the size of a version's record once it is stored in full.
+     *
+     * @param entry The version.
+     * @return The size of its record as a keyframe, in bytes.
+     */
+    private static long keyframeSize(Entry entry) {
+        return HEADER_SIZE + BODY_PREFIX_SIZE + entry.state.length;
+    }
+
+    /**
+     * Reads every intact version of a slot's history, rebuilding each one's full encoding.
+     *
+     * @param slotId The ID of the slot.
+     * @return The versions, oldest first.
+     * @throws IOException If the history file could not be read.
+     */
+    private List<Entry> read(String slotId) throws IOException {
+        File file = historyFile(slotId);
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        byte[] state = null;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int bodyLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (bodyLength < BODY_PREFIX_SIZE || bodyLength > buffer.remaining()) {
+                break; // torn record at the end of the history
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), bodyLength);
+            if ((int) crc.getValue() != checksum) {
+                break; // corrupt record, nothing after it can be trusted
+            }
+            byte[] body = new byte[bodyLength];
+            buffer.get(body);
+            ByteBuffer fields = ByteBuffer.wrap(body);
+            long number = fields.getLong();
+            long savedAt = fields.getLong();
+            boolean keyframe = fields.get() == KEYFRAME;
+            if (keyframe) {
+                state = new byte[fields.remaining()];
+                fields.get(state);
+            } else if (state == null) {
+                break; // a delta with nothing to apply it to
+            } else {
+                state = patch(state, fields);
+            }
+            entries.add(new Entry(new Version(number, savedAt, keyframe, HEADER_SIZE + bodyLength), state, body));
+        }
+        return entries;
+    }
+
+    /**
+     * Retrieves the end of a slot's history file, reading the file the first time.
+     *
+     * @param slotId The ID of the slot.
+     * @return The tail, updated in place as versions are appended.
+     * @throws IOException If the history file could not be read.
+     */
+    private Tail tail(String slotId) throws IOException {
+        Tail tail = tails.get(slotId);
+        if (tail == null) {
+            tail = new Tail();
+            for (Entry entry : read(slotId)) {
+                tail.number = entry.version.getNumber();
+                tail.state = entry.state;
+                tail.deltasSinceKeyframe = entry.version.isKeyframe() ? 0 : tail.deltasSinceKeyframe + 1;
+                tail.count++;
+                tail.size += entry.version.getStoredSize();
+            }
+            tails.put(slotId, tail);
+            // a torn record past the intact ones would hide every version appended after it
+            if (tail.size != historyFile(slotId).length()) {
+                if (tail.count > 0) {
+                    compact(slotId);
+                    tail = tails.get(slotId);
+                } else {
+                    historyFile(slotId).delete();
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Builds the body of a record.
+     *
+     * @param number   The version number.
+     * @param savedAt  The time the version was saved.
+     * @param keyframe Whether the data is a full encoding rather than a delta.
+     * @param data     The full encoding or the delta.
+     * @return The record body.
+     */
+    private static byte[] body(long number, long savedAt, boolean keyframe, byte[] data) {
+        ByteBuffer body = ByteBuffer.allocate(BODY_PREFIX_SIZE + data.length);
+        body.putLong(number);
+        body.putLong(savedAt);
+        body.put(keyframe ? KEYFRAME : DELTA);
+        body.put(data);
+        return body.array();
+    }
+
+    /**
+     * Frames a record body with its length and checksum.
+     *
+     * @param body The record body.
+     * @return The record.
+     */
+    private byte[] record(byte[] body) {
+        crc.reset();
+        crc.update(body, 0, body.length);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        record.putInt(body.length);
+        record.putInt((int) crc.getValue());
+        record.put(body);
+        return record.array();
+    }
+
+    /**
+     * Encodes a character in the binary save format.
+     *
+     * @param character The character.
+     * @return The encoding.
+     * @throws IOException If the character could not be encoded.
+     */
+    private static byte[] encode(CharacterClass character) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        character.writeBinary(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Computes the delta that turns one encoding into another: the new length, then every run
+     * of changed bytes. Runs separated by only a few unchanged bytes are merged, since each run
+     * costs six bytes of framing.
+     *
+     * @param base   The previous encoding.
+     * @param target The new encoding.
+     * @return The delta.
+     */
+    static byte[] diff(byte[] base, byte[] target) {
+        List<int[]> runs = new ArrayList<>();
+        int i = 0;
+        while (i < target.length) {
+            if (i < base.length && base[i] == target[i]) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            int unchanged = 0;
+            for (int j = i + 1; j < target.length && unchanged <= MERGE_GAP && end - i < Short.MAX_VALUE; j++) {
+                if (j < base.length && base[j] == target[j]) {
+                    unchanged++;
+                } else {
+                    unchanged = 0;
+                    end = j + 1;
+                }
+            }
+            runs.add(new int[] {i, end});
+            i = end;
+        }
+        ByteBuffer delta = ByteBuffer.allocate(8 + runs.size() * 6 + target.length);
+        delta.putInt(target.length);
+        delta.putInt(runs.size());
+        for (int[] run : runs) {
+            delta.putInt(run[0]);
+            delta.putShort((short) (run[1] - run[0]));
+            delta.put(target, run[0], run[1] - run[0]);
+        }
+        byte[] result = new byte[delta.position()];
+        delta.flip();
+        delta.get(result);
+        return result;
+    }
+
+    /**
+     * Applies a delta computed by {@link #diff(byte[], byte[])} to the encoding it was computed against.
+     *
+     * @param base  The previous encoding.
+     * @param delta The delta, positioned at its start.
+     * @return The new encoding.
+     */
+    static byte[] patch(byte[] base, ByteBuffer delta) {
+        byte[] target = new byte[delta.getInt()];
+        System.arraycopy(base, 0, target, 0, Math.min(base.length, target.length));
+        int runs = delta.getInt();
+        for (int i = 0; i < runs; i++) {
+            int offset = delta.getInt();
+            int length = delta.getShort() & 0xFFFF;
+            delta.get(target, offset, length);
+        }
+        return target;
+    }
+
+    /**
+     * Retrieves the history file of a slot.
+     *
+     * @param slotId The ID of the slot.
+     * @return The history file, which may not exist.
+     */
+    private File historyFile(String slotId) {
+        return new File(directory, "slot-" + slotId + EXTENSION);
+    }
+}
@@ -0,0 +1,288 @@
+package com.kaobells.group44;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code SaveJournal} class is a small append-only write-ahead log of save file updates.
+ *
+ * <p>Every update is appended as one record holding the name of the save file and its new
+ * contents, and forced to disk before the append returns. Appending is much cheaper than
+ * rewriting the save files, so the files themselves only need to be rewritten at checkpoints.
+ * After a crash, {@link #replay()} returns the newest contents recorded for each file.</p>
+ *
+ * <p>Each record is laid out as:</p>
+ * <ul>
+ *     <li>{@code int} length of the body</li>
+ *     <li>{@code int} CRC32 of the body</li>
+ *     <li>body: {@code short} key length, UTF-8 key bytes, payload bytes</li>
+ * </ul>
+ * <p>A record that is cut short or fails its checksum marks the end of the journal,
+ * which discards a write that was torn by a crash.</p>
+ *
+ * <p>Updates to several files that must be applied together are appended as a single batch
+ * record, whose body starts with an empty key followed by an {@code int} count and, for each
+ * file, a {@code short} key length, UTF-8 key bytes, an {@code int} payload length and the
+ * payload bytes. Since the whole batch is covered by one checksum, a crash either keeps
+ * every update in it or none of them. A payload length of -1, with no payload bytes, records
+ * that the file was deleted.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see AtomicFileWriter
+ */
+public class SaveJournal implements Closeable {
+
+    /** Size of the record header (body length and checksum), in bytes. */
+    private static final int HEADER_SIZE = 8;
+
+    /** The file backing the journal. */
+    private final File file;
+
+    /** Channel used to append to the journal. */
+    private final FileChannel channel;
+
+    /** Checksum calculator reused between appends. */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Opens the journal, creating the file if it does not exist yet.
+     *
+     * @param file The file backing the journal.
+     * @throws IOException If the file could not be opened.
+     */
+    public SaveJournal(File file) throws IOException {
+        this.file = file;
+        if (file.getParentFile() != null) {
+            Files.createDirectories(file.getParentFile().toPath());
+        }
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends an update to the journal and forces it to disk.
+     *
+     * @param key  The name of the save file being updated.
+     * @param data The new contents of the save file.
+     * @throws IOException If the record could not be written.
+     */
+    public synchronized void append(String key, byte[] data) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 2 + keyBytes.length + data.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bodyLength);
+        buffer.putInt(bodyLength);
+        buffer.putInt(0); // checksum is filled in once the body is in place
+        buffer.putShort((short) keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.put(data);
+
+        crc.reset();
+        crc.update(buffer.array(), HEADER_SIZE, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Appends updates to several save files as a single batch record and forces it to disk,
+     * so that after a crash either all of them or none of them are replayed.
+     *
+     * @param updates The new contents of each save file, keyed by file name; {@code null} for a deleted file.
+     * @throws IOException If the record could not be written.
+     */
+    public synchronized void appendAll(Map<String, byte[]> updates) throws IOException {
+        if (updates.size() == 1) {
+            Map.Entry<String, byte[]> update = updates.entrySet().iterator().next();
+            if (update.getValue() != null) {
+                append(update.getKey(), update.getValue());
+                return;
+            }
+        }
+        int bodyLength = 2 + 4;
+        for (Map.Entry<String, byte[]> update : updates.entrySet()) {
+            byte[] data = update.getValue();
+            bodyLength += 2 + update.getKey().getBytes(StandardCharsets.UTF_8).length + 4 + (data != null ? data.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bodyLength);
+        buffer.putInt(bodyLength);
+        buffer.putInt(0); // checksum is filled in once the body is in place
+        buffer.putShort((short) 0); // an empty key marks a batch
+        buffer.putInt(updates.size());
+        for (Map.Entry<String, byte[]> update : updates.entrySet()) {
+            byte[] keyBytes = update.getKey().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) keyBytes.length);
+            buffer.put(keyBytes);
+            if (update.getValue() == null) {
+                buffer.putInt(-1);
+                continue;
+            }
+            buffer.putInt(update.getValue().length);
+            buffer.put(update.getValue());
+        }
+        crc.reset();
+        crc.update(buffer.array(), HEADER_SIZE, bodyLength);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Reads every intact record in the journal.
+     *
+     * @return The newest contents recorded for each save file, in first-written order; {@code null} for a deleted file.
+     * @throws IOException If the journal could not be read.
+     */
+    public synchronized LinkedHashMap<String, byte[]> replay() throws IOException {
+        return parse(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Reads every intact record in a journal without opening it for writing, which leaves the
+     * journal to the process that owns it.
+     *
+     * @param file The file backing the journal.
+     * @return The newest contents recorded for each save file, in first-written order; empty if there is no journal.
+     * @throws IOException If the journal could not be read.
+     */
+    public static LinkedHashMap<String, byte[]> read(File file) throws IOException {
+        if (!file.exists()) {
+            return new LinkedHashMap<>();
+        }
+        return parse(Files.readAllBytes(file.toPath()));
+    }
+
+    /**
+     * Decodes the intact records at the start of a journal's contents.
+     *
+     * @param contents The contents of the journal.
+     * @return The newest contents recorded for each save file, in first-written order.
+     */
+    private static LinkedHashMap<String, byte[]> parse(byte[] contents) {
+        LinkedHashMap<String, byte[]> updates = new LinkedHashMap<>();
+        ByteBuffer buffer = ByteBuffer.wrap(contents);
+        CRC32 check = new CRC32();
+
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int bodyLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (bodyLength < 2 || bodyLength > buffer.remaining()) {
+                break; // torn record at the end of the journal
+            }
+            check.reset();
+            check.update(buffer.array(), buffer.position(), bodyLength);
+            if ((int) check.getValue() != checksum) {
+                break; // corrupt record, nothing after it can be trusted
+            }
+
+            int bodyEnd = buffer.position() + bodyLength;
+            int keyLength = buffer.getShort() & 0xFFFF;
+            if (keyLength == 0) {
+                if (!readBatch(buffer, bodyEnd, updates)) {
+                    break;
+                }
+                continue;
+            }
+            if (keyLength > bodyLength - 2) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            byte[] data = new byte[bodyLength - 2 - keyLength];
+            buffer.get(data);
+            updates.put(new String(keyBytes, StandardCharsets.UTF_8), data);
+        }
+        return updates;
+    }
+
+    /**
+     * Reads the updates of a batch record whose checksum has already been verified.
+     * The updates are only added once the whole batch has been read.
+     *
+     * @param buffer  The journal contents, positioned after the batch's empty key.
+     * @param bodyEnd The position at which the batch record ends.
+     * @param updates The updates read so far, to add the batch to.
+     * @return {@code true} if the batch was well formed, {@code false} otherwise.
+     */
+    private static boolean readBatch(ByteBuffer buffer, int bodyEnd, LinkedHashMap<String, byte[]> updates) {
+        if (bodyEnd - buffer.position() < 4) {
+            return false;
+        }
+        int count = buffer.getInt();
+        LinkedHashMap<String, byte[]> batch = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            if (bodyEnd - buffer.position() < 2) {
+                return false;
+            }
+            int keyLength = buffer.getShort() & 0xFFFF;
+            if (bodyEnd - buffer.position() < keyLength + 4) {
+                return false;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            int dataLength = buffer.getInt();
+            if (dataLength == -1) {
+                batch.put(new String(keyBytes, StandardCharsets.UTF_8), null);
+                continue;
+            }
+            if (dataLength < 0 || bodyEnd - buffer.position() < dataLength) {
+                return false;
+            }
+            byte[] data = new byte[dataLength];
+            buffer.get(data);
+            batch.put(new String(keyBytes, StandardCharsets.UTF_8), data);
+        }
+        if (buffer.position() != bodyEnd) {
+            return false;
+        }
+        updates.putAll(batch);
+        return true;
+    }
+
+    /**
+     * Empties the journal once its updates have been checkpointed into the save files.
+     *
+     * @throws IOException If the journal could not be truncated.
+     */
+    public synchronized void reset() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    /**
+     * Retrieves the current size of the journal.
+     *
+     * @return The size of the journal, in bytes.
+     * @throws IOException If the size could not be read.
+     */
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
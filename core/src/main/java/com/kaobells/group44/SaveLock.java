@@ -0,0 +1,95 @@
+package com.kaobells.group44;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code SaveLock} class is an advisory, cross-process lock on the save directory, so only
+ * one running instance of the game writes the save files at a time.
+ *
+ * <p>The lock is an exclusive {@link FileLock} on a small lock file, held for as long as the
+ * instance runs. The operating system releases it when the process exits, even after a crash,
+ * so a stale lock never keeps the saves read-only. The lock is only advisory: it keeps other
+ * instances of the game from writing, not other programs.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler#isReadOnly()
+ */
+public class SaveLock implements Closeable {
+
+    /** The lock file. */
+    private final File file;
+
+    /** Channel the lock is taken through, kept open for as long as the lock is held. */
+    private FileChannel channel;
+
+    /** The lock, or {@code null} if another instance holds it. */
+    private FileLock lock;
+
+    /**
+     * Creates a lock on the given lock file, without acquiring it yet.
+     *
+     * @param file The lock file, created if it does not exist yet.
+     */
+    public SaveLock(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Tries to acquire the lock without waiting for another instance to release it.
+     *
+     * @return {@code true} if the lock is now held, {@code false} if another instance holds it.
+     * @throws IOException If the lock file could not be opened.
+     */
+    public synchronized boolean tryAcquire() throws IOException {
+        if (lock != null) {
+            return true;
+        }
+        if (channel == null) {
+            if (file.getParentFile() != null) {
+                Files.createDirectories(file.getParentFile().toPath());
+            }
+            // closing a second channel on the file could drop the lock on some systems, so one is kept
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // held by another instance running in this same process
+        }
+        return lock != null;
+    }
+
+    /**
+     * Checks whether this instance holds the lock.
+     *
+     * @return {@code true} if the lock is held, {@code false} otherwise.
+     */
+    public synchronized boolean isHeld() {
+        return lock != null;
+    }
+
+    /**
+     * Releases the lock, if it is held, and closes the lock file.
+     *
+     * @throws IOException If the lock file could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (lock != null) {
+            lock.release();
+            lock = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.kaobells.group44;
+
+/**
+ * The {@code SaveOptions} class chooses how a {@link JsonHandler} keeps the saves on disk.
+ *
+ * <p>Every option has a default, so only the ones that differ need to be named:</p>
+ * <pre>{@code
+ * new JsonHandler(new SaveOptions().withMappedSlots(true).withBackend(SaveBackend.LOG));
+ * }</pre>
+ *
+ * <p>Saves made with other options are converted when the handler opens them, so the options
+ * can be changed between runs of the game.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler#JsonHandler(SaveOptions)
+ */
+public class SaveOptions {
+
+    /** The format new save files are written in. */
+    private SaveFormat saveFormat = SaveFormat.BINARY;
+
+    /** Whether each slot's gameplay state is saved in place in a memory-mapped file of fixed-size records. */
+    private boolean mappedSlots;
+
+    /** The kind of store the save entries are kept in. */
+    private SaveBackend backend = SaveBackend.FILES;
+
+    /**
+     * Sets the format new save files are written in. Defaults to {@link SaveFormat#BINARY}.
+     *
+     * @param saveFormat The save format.
+     * @return These options, for chaining.
+     */
+    public SaveOptions withSaveFormat(SaveFormat saveFormat) {
+        if (saveFormat == null) {
+            throw new IllegalArgumentException("A save format is required");
+        }
+        this.saveFormat = saveFormat;
+        return this;
+    }
+
+    /**
+     * Sets whether each slot's gameplay state is saved in place in a memory-mapped file of
+     * fixed-size records, rather than every slot being saved to its own file. Defaults to {@code false}.
+     *
+     * @param mappedSlots {@code true} to save slots in the mapped slot file.
+     * @return These options, for chaining.
+     */
+    public SaveOptions withMappedSlots(boolean mappedSlots) {
+        this.mappedSlots = mappedSlots;
+        return this;
+    }
+
+    /**
+     * Sets the kind of store the save entries are kept in. Defaults to {@link SaveBackend#FILES}.
+     *
+     * @param backend The store backend.
+     * @return These options, for chaining.
+     */
+    public SaveOptions withBackend(SaveBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("A save backend is required");
+        }
+        this.backend = backend;
+        return this;
+    }
+
+    /**
+     * Gets the format new save files are written in.
+     *
+     * @return The save format.
+     */
+    public SaveFormat getSaveFormat() {
+        return saveFormat;
+    }
+
+    /**
+     * Checks whether slots are saved in place in the mapped slot file.
+     *
+     * @return {@code true} if slots are saved in the mapped slot file, {@code false} if each is saved to its own file.
+     */
+    public boolean isMappedSlots() {
+        return mappedSlots;
+    }
+
+    /**
+     * Gets the kind of store the save entries are kept in.
+     *
+     * @return The store backend.
+     */
+    public SaveBackend getBackend() {
+        return backend;
+    }
+}
@@ -0,0 +1,220 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code SaveSchema} class versions the layout of a saved character and upgrades
+ * characters saved in an older layout through a chain of registered migrations.
+ *
+ * <p>Every character written by {@link CharacterClass#writeJson} carries the schema version
+ * under {@value #VERSION_KEY}; characters without one were saved before the schema was
+ * versioned and are version 0. When an older character is read, each migration from its
+ * version up to {@link #CURRENT_VERSION} rewrites its JSON object in turn, so the reader only
+ * ever sees the current layout. Fields the current layout does not know are reported rather
+ * than silently ignored.</p>
+ *
+ * <p>Characters are upgraded one at a time, as each slot is read, so existing saves cost
+ * nothing until they are used. {@link JsonHandler} then writes an upgraded slot back in the
+ * current layout, so it is only migrated once.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see CharacterClass#getLoadedSchemaVersion()
+ */
+public final class SaveSchema {
+
+    /** Version of the layout characters are written in. */
+    public static final int CURRENT_VERSION = 2;
+
+    /** Key under which a saved character stores its schema version. */
+    public static final String VERSION_KEY = "schemaVersion";
+
+    /** Value of a stat missing from a character saved in version 1 or earlier, as a new character starts with. */
+    private static final float DEFAULT_STAT = 100.0f;
+
+    /** Number of item slots in a character's inventory. */
+    private static final int INVENTORY_SIZE = 6;
+
+    /** Number of compounding states (sleeping, angry and hungry) of a character. */
+    private static final int COMPOUNDING_SIZE = 3;
+
+    /** Animation timers and flags that version 0 saves persisted, which start over on every load. */
+    private static final String[] TRANSIENT_FIELDS = {
+        "blinkTimer", "blinkDurationTimer", "isBlinking", "sleepTimer", "isSleepState1",
+        "hungerTimer", "isHungry1", "saveTimer", "actionBlockCooldownRemaining"
+    };
+
+    /** Every field of a character in the current layout, including the class tag of a game slot's character. */
+    private static final Set<String> CURRENT_FIELDS = new HashSet<>(Arrays.asList(
+        "class", VERSION_KEY, "name", "slot", "score", "characterNumber", "characterType", "state",
+        "health", "sleep", "happiness", "fullness", "stress", "inventory", "compoundingStates",
+        "doctorCooldownRemaining", "playCooldownRemaining"));
+
+    /** Registered migrations, where the migration at index {@code i} upgrades version {@code i} to {@code i + 1}. */
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        register(0, SaveSchema::dropTransientFields);
+        register(1, SaveSchema::fillMissingFields);
+    }
+
+    /**
+     * Upgrades a character's JSON object from one schema version to the next.
+     */
+    public interface Migration {
+
+        /**
+         * Rewrites a character's JSON object in place.
+         *
+         * @param character The character's JSON object, in the layout of the migration's source version.
+         */
+        void migrate(JsonValue character);
+    }
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private SaveSchema() {
+    }
+
+    /**
+     * Registers the migration from a schema version to the next one. Migrations are registered
+     * in order, one per version, when this class is loaded.
+     *
+     * @param fromVersion The version the migration upgrades from.
+     * @param migration   The migration.
+     * @throws IllegalStateException If the migration does not follow the last one registered.
+     */
+    private static void register(int fromVersion, Migration migration) {
+        if (fromVersion != MIGRATIONS.size()) {
+            throw new IllegalStateException("Expected the migration from version " + MIGRATIONS.size()
+                + " but got one from version " + fromVersion);
+        }
+        MIGRATIONS.add(migration);
+    }
+
+    /**
+     * Upgrades a character's JSON object to the current schema version in place, and reports
+     * any field the current layout does not know.
+     *
+     * @param character The character's JSON object, as read from a save.
+     * @return The schema version the character was saved in.
+     * @throws SerializationException If the character was saved by a newer version of the game.
+     */
+    public static int upgrade(JsonValue character) {
+        int version = character.getInt(VERSION_KEY, 0);
+        if (version > CURRENT_VERSION) {
+            throw new SerializationException("Character saved in schema version " + version
+                + ", newer than the supported version " + CURRENT_VERSION);
+        }
+        for (int from = version; from < CURRENT_VERSION; from++) {
+            MIGRATIONS.get(from).migrate(character);
+        }
+        if (version < CURRENT_VERSION) {
+            character.remove(VERSION_KEY);
+            character.addChild(VERSION_KEY, new JsonValue(CURRENT_VERSION));
+        }
+        for (JsonValue field = character.child; field != null; field = field.next) {
+            if (!CURRENT_FIELDS.contains(field.name)) {
+                System.out.println("Ignoring unknown character field: " + field.name);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Upgrades a character that was read from a layout without room for its schema version,
+     * such as a binary save written before the schema was versioned, by running its fields
+     * through the same migrations as a JSON save.
+     *
+     * @param character The character as it was read.
+     * @param version   The schema version its fields were saved in.
+     * @return The upgraded character, or the same one if it is already current.
+     * @throws IOException If the character was saved by a newer version of the game, or could not be converted.
+     */
+    public static CharacterClass upgrade(CharacterClass character, int version) throws IOException {
+        if (version > CURRENT_VERSION) {
+            throw new IOException("Character saved in schema version " + version
+                + ", newer than the supported version " + CURRENT_VERSION);
+        }
+        if (version == CURRENT_VERSION) {
+            return character;
+        }
+        StringWriter text = new StringWriter(512);
+        JsonWriter writer = new JsonWriter(text);
+        writer.setOutputType(JsonWriter.OutputType.json);
+        writer.object();
+        character.writeJson(writer);
+        writer.pop();
+        JsonValue fields = new JsonReader().parse(text.toString());
+        fields.remove(VERSION_KEY); // written as current, but the fields are not yet
+        fields.addChild(VERSION_KEY, new JsonValue(version));
+        return CharacterClass.readJson(fields);
+    }
+
+    /**
+     * Version 0 to 1: removes the animation timers and flags that the reflective writer used
+     * to persist, since they start over every time a character is loaded.
+     *
+     * @param character The character's JSON object.
+     */
+    private static void dropTransientFields(JsonValue character) {
+        for (String field : TRANSIENT_FIELDS) {
+            character.remove(field);
+        }
+    }
+
+    /**
+     * Version 1 to 2: writes out the fields older saves could leave out or null, with the values
+     * a new character starts with, instead of relying on whatever the reader defaults to. A
+     * missing state or inventory used to be read back as {@code null}, which the game cannot play.
+     *
+     * @param character The character's JSON object.
+     */
+    private static void fillMissingFields(JsonValue character) {
+        fillIfMissing(character, "score", new JsonValue(0));
+        fillIfMissing(character, "state", new JsonValue(State.NEUTRAL.name()));
+        for (String stat : new String[] {"health", "sleep", "happiness", "fullness", "stress"}) {
+            fillIfMissing(character, stat, new JsonValue(DEFAULT_STAT));
+        }
+        JsonValue inventory = new JsonValue(JsonValue.ValueType.array);
+        for (int itemId = 0; itemId < INVENTORY_SIZE; itemId++) {
+            JsonValue item = new JsonValue(JsonValue.ValueType.object);
+            item.addChild("itemID", new JsonValue(itemId));
+            item.addChild("itemCount", new JsonValue(0));
+            inventory.addChild(item);
+        }
+        fillIfMissing(character, "inventory", inventory);
+        JsonValue compoundingStates = new JsonValue(JsonValue.ValueType.array);
+        for (int i = 0; i < COMPOUNDING_SIZE; i++) {
+            compoundingStates.addChild(new JsonValue(false));
+        }
+        fillIfMissing(character, "compoundingStates", compoundingStates);
+    }
+
+    /**
+     * Adds a field to a JSON object if it is missing or {@code null}.
+     *
+     * @param object The JSON object.
+     * @param name   The name of the field.
+     * @param value  The value to give the field.
+     */
+    private static void fillIfMissing(JsonValue object, String name, JsonValue value) {
+        JsonValue existing = object.get(name);
+        if (existing == null || existing.isNull()) {
+            object.remove(name);
+            object.addChild(name, value);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.kaobells.group44;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code SaveStore} interface is the storage engine behind {@link JsonHandler}: a durable
+ * map from entry names to their encoded contents.
+ *
+ * <p>It holds every game slot, the parental settings (which include the playtime stats) and the
+ * index of slot stats shown by the slot menu, each as one entry named like the save file it
+ * replaced, such as {@code slot-3.sav} or {@code parental.json}. Entries are encoded and decoded
+ * by {@link JsonHandler}, so any store can hold saves in any {@link SaveFormat}.</p>
+ *
+ * <p>A write returns once its entries are durable, and the entries of one
+ * {@link #writeAll(Map) writeAll} call survive a crash together or not at all. Stores are safe
+ * to use from the render thread and the background writer at once.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see SaveBackend
+ */
+public interface SaveStore extends Closeable {
+
+    /**
+     * Reads the newest contents of an entry.
+     *
+     * @param name The name of the entry.
+     * @return The contents, or {@code null} if there is no such entry.
+     * @throws IOException If the entry could not be read.
+     */
+    byte[] read(String name) throws IOException;
+
+    /**
+     * Lists the names of every entry in the store.
+     *
+     * @return The entry names, in no particular order.
+     * @throws IOException If the store could not be listed.
+     */
+    Set<String> list() throws IOException;
+
+    /**
+     * Durably replaces the contents of an entry, creating it if needed.
+     *
+     * @param name The name of the entry.
+     * @param data The new contents.
+     * @throws IOException If the entry could not be written.
+     */
+    void write(String name, byte[] data) throws IOException;
+
+    /**
+     * Durably replaces or deletes several entries as one atomic update.
+     *
+     * @param entries The new contents of each entry, keyed by name; {@code null} deletes the entry.
+     * @throws IOException If the update could not be written.
+     */
+    void writeAll(Map<String, byte[]> entries) throws IOException;
+
+    /**
+     * Checks whether enough has been written since the last {@link #checkpoint()} that one is worth its cost.
+     *
+     * @return {@code true} if the store should be checkpointed, {@code false} otherwise.
+     * @throws IOException If the store's size could not be read.
+     */
+    boolean needsCheckpoint() throws IOException;
+
+    /**
+     * Tidies up what writes have left behind, such as updates held in a log, so the store opens
+     * quickly and takes little space. Runs on the background writer.
+     *
+     * @throws IOException If the store could not be rewritten.
+     */
+    void checkpoint() throws IOException;
+
+    /**
+     * Stamps the state of the store on disk, so another process can tell whether it has been
+     * written to since the stamp was taken, without reading any entry.
+     *
+     * @return The stamp.
+     */
+    long stamp();
+}
@@ -0,0 +1,177 @@
+package com.kaobells.group44;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * The {@code SaveWriter} class runs save jobs on a dedicated background thread
+ * so that serialization and file I/O never block the render thread.
+ *
+ * <p>Jobs are submitted under a key (usually the file they write). If a job for the
+ * same key is still waiting when a new one arrives, the older job is replaced, so a
+ * burst of save requests is coalesced into a single write of the latest snapshot.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public class SaveWriter {
+
+    /**
+     * A unit of work executed on the writer thread.
+     */
+    public interface Job {
+
+        /**
+         * Serializes and writes the data captured by this job.
+         *
+         * @throws IOException If the data could not be written.
+         */
+        void write() throws IOException;
+    }
+
+    /** Lock guarding the pending queue and the writer state. */
+    private final Object lock = new Object();
+
+    /** Jobs waiting to be written, keyed by target so newer jobs replace older ones. */
+    private final LinkedHashMap<String, Job> pending = new LinkedHashMap<>();
+
+    /** Background thread executing the pending jobs. */
+    private final Thread thread;
+
+    /** Indicates whether the writer thread is currently executing jobs. */
+    private boolean writing = false;
+
+    /** Indicates whether the writer accepts and executes new jobs. */
+    private boolean running = true;
+
+    /** Number of jobs handed to the writer. */
+    private long submittedCount = 0;
+
+    /** Number of jobs actually executed after coalescing. */
+    private long writtenCount = 0;
+
+    /**
+     * Constructs a new {@code SaveWriter} and starts its background thread.
+     *
+     * @param name The name given to the writer thread.
+     */
+    public SaveWriter(String name) {
+        thread = new Thread(this::runLoop, name);
+        thread.setDaemon(true); // never keep the application alive on its own
+        thread.start();
+    }
+
+    /**
+     * Queues a job for the writer thread, replacing any job still pending for the same key.
+     *
+     * @param key The target of the job, e.g. the file it writes.
+     * @param job The job to execute.
+     */
+    public void submit(String key, Job job) {
+        synchronized (lock) {
+            if (!running) {
+                throw new IllegalStateException("SaveWriter has been shut down");
+            }
+            pending.remove(key); // re-insert so the key moves to the back of the queue
+            pending.put(key, job);
+            submittedCount++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until every job submitted so far has been written.
+     */
+    public void flush() {
+        synchronized (lock) {
+            while (!pending.isEmpty() || writing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all pending jobs and stops the writer thread.
+     */
+    public void shutdown() {
+        flush();
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retrieves the number of jobs submitted to the writer.
+     *
+     * @return The number of submitted jobs.
+     */
+    public long getSubmittedCount() {
+        synchronized (lock) {
+            return submittedCount;
+        }
+    }
+
+    /**
+     * Retrieves the number of jobs executed by the writer.
+     *
+     * @return The number of written jobs.
+     */
+    public long getWrittenCount() {
+        synchronized (lock) {
+            return writtenCount;
+        }
+    }
+
+    /**
+     * Main loop of the writer thread, draining the pending queue until shut down.
+     */
+    private void runLoop() {
+        List<Job> batch = new ArrayList<>();
+        while (true) {
+            synchronized (lock) {
+                while (pending.isEmpty() && running) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // keep draining; shutdown() is the only way out
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return; // shut down with nothing left to write
+                }
+                batch.addAll(pending.values());
+                pending.clear();
+                writing = true;
+            }
+
+            for (Job job : batch) {
+                try {
+                    job.write();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Background save failed: " + e.getMessage());
+                }
+            }
+
+            synchronized (lock) {
+                writtenCount += batch.size();
+                writing = false;
+                lock.notifyAll();
+            }
+            batch.clear();
+        }
+    }
+}
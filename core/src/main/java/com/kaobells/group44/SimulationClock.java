@@ -0,0 +1,193 @@
+package com.kaobells.group44;
+
+import java.util.ArrayList;
+
+/**
+ * The {@code SimulationClock} class advances a game session in fixed steps of simulated time,
+ * whatever the frame rate.
+ *
+ * <p>The time of each rendered frame is added to an accumulator, which is then spent in steps of
+ * exactly {@link #STEP} seconds, so the pet ages by the same amount whether frames are short, long
+ * or stalled for a moment by a save. A stall is caught up over the following frames, at most
+ * {@value #MAX_STEPS_PER_FRAME} steps a frame, and anything beyond {@value #MAX_BACKLOG} seconds
+ * behind is dropped rather than replayed, so one long freeze cannot leave every later frame
+ * catching up. What is left in the accumulator after the steps is the fraction of a step the
+ * renderer should {@link #getAlpha() interpolate} by.</p>
+ *
+ * <p>Tasks are scheduled on the clock much like on libGDX's {@code Timer}, but run between steps
+ * in simulated time, so they stay in step with the rest of the simulation and pause with it.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see GameSession
+ */
+public class SimulationClock {
+
+    /** Length of one simulation step, in seconds. */
+    public static final float STEP = 1f / 60f;
+
+    /** Most steps run in a single frame while catching up. */
+    static final int MAX_STEPS_PER_FRAME = 60;
+
+    /** Most simulated time, in seconds, the clock may fall behind before the rest is dropped. */
+    static final float MAX_BACKLOG = 5f;
+
+    /** Frame time, in seconds, short of a whole step that still counts as one, absorbing rounding errors. */
+    private static final double TOLERANCE = 1e-5;
+
+    /**
+     * A task run in simulated time, once or repeatedly, until it is cancelled.
+     */
+    public abstract static class Task implements Runnable {
+
+        /** The clock the task is scheduled on, or {@code null} if it is not scheduled. */
+        private SimulationClock clock;
+
+        /** Step at which the task next runs. */
+        private long dueStep;
+
+        /** Steps between runs, or {@code 0} to run only once. */
+        private long intervalSteps;
+
+        /**
+         * Stops the task from running again. Cancelling a task that is not scheduled does nothing.
+         */
+        public void cancel() {
+            if (clock != null) {
+                clock.tasks.remove(this);
+                clock = null;
+            }
+        }
+
+        /**
+         * Checks whether the task is waiting to run.
+         *
+         * @return {@code true} if the task is scheduled, {@code false} otherwise.
+         */
+        public boolean isScheduled() {
+            return clock != null;
+        }
+    }
+
+    /** Tasks waiting to run, in the order they were scheduled. */
+    private final ArrayList<Task> tasks = new ArrayList<>();
+
+    /** Number of steps run so far. */
+    private long steps;
+
+    /** Frame time not yet spent on steps, in seconds. */
+    private double accumulator;
+
+    /**
+     * Runs as many whole steps as the time of a frame allows, plus any backlog left by earlier
+     * frames. Each step first runs the tasks that are due, then {@code step}.
+     *
+     * @param frameTime The time elapsed since the previous frame, in seconds.
+     * @param step      Advances the simulation by {@link #STEP} seconds.
+     * @return The number of steps run.
+     */
+    public int advance(float frameTime, Runnable step) {
+        accumulator += Math.max(0, frameTime);
+        if (accumulator > MAX_BACKLOG) {
+            System.out.printf("Simulation fell %.2fs behind, skipping %.2fs.%n", accumulator, accumulator - MAX_BACKLOG);
+            accumulator = MAX_BACKLOG;
+        }
+        int run = 0;
+        while (accumulator >= STEP - TOLERANCE && run < MAX_STEPS_PER_FRAME) {
+            accumulator = Math.max(0, accumulator - STEP);
+            steps++;
+            runDueTasks();
+            step.run();
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * Schedules a task to run once.
+     *
+     * @param task  The task, which must not already be scheduled.
+     * @param delay The simulated time to wait before running it, in seconds.
+     * @return The task.
+     */
+    public Task schedule(Task task, float delay) {
+        return schedule(task, delay, 0);
+    }
+
+    /**
+     * Schedules a task to run repeatedly until it is cancelled.
+     *
+     * @param task     The task, which must not already be scheduled.
+     * @param delay    The simulated time to wait before running it first, in seconds; {@code 0} runs it at the next step.
+     * @param interval The simulated time between runs, in seconds, or {@code 0} to run it only once.
+     * @return The task.
+     * @throws IllegalArgumentException If the task is already scheduled.
+     */
+    public Task schedule(Task task, float delay, float interval) {
+        if (task.clock != null) {
+            throw new IllegalArgumentException("The task is already scheduled.");
+        }
+        task.clock = this;
+        task.dueStep = steps + Math.max(1, toSteps(delay));
+        task.intervalSteps = interval > 0 ? Math.max(1, toSteps(interval)) : 0;
+        tasks.add(task);
+        return task;
+    }
+
+    /**
+     * Cancels every scheduled task.
+     */
+    public void clear() {
+        for (Task task : tasks) {
+            task.clock = null;
+        }
+        tasks.clear();
+    }
+
+    /**
+     * Gets the simulated time elapsed so far.
+     *
+     * @return The simulated time, in seconds.
+     */
+    public float getTime() { return steps * STEP; }
+
+    /**
+     * Gets how far the frame being rendered is between the last step and the next one, by which
+     * the renderer should blend the state before the last step with the state after it.
+     *
+     * @return The fraction of a step, from {@code 0} inclusive to {@code 1} exclusive.
+     */
+    public float getAlpha() { return (float) Math.min(accumulator / STEP, 1); }
+
+    /**
+     * Runs the tasks due by the current step, rescheduling repeating ones. A task scheduled
+     * while they run waits for the next step.
+     */
+    private void runDueTasks() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        for (Task task : new ArrayList<>(tasks)) {
+            if (task.clock != this || task.dueStep > steps) { // cancelled by an earlier task, or not due
+                continue;
+            }
+            if (task.intervalSteps > 0) {
+                task.dueStep += task.intervalSteps;
+            } else {
+                tasks.remove(task);
+                task.clock = null;
+            }
+            task.run();
+        }
+    }
+
+    /**
+     * Converts a simulated time into a whole number of steps.
+     *
+     * @param seconds The simulated time, in seconds.
+     * @return The nearest number of steps, at least {@code 0}.
+     */
+    private static long toSteps(float seconds) {
+        return Math.max(0, Math.round(seconds / STEP));
+    }
+}
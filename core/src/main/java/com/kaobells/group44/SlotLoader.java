@@ -0,0 +1,264 @@
+package com.kaobells.group44;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code SlotLoader} class reads and decodes many game slots at once, spreading them over
+ * every core with a fork/join pool.
+ *
+ * <p>The slot IDs are split in halves until each task holds at most {@value #LEAF_SIZE} slots,
+ * which idle workers steal from busy ones, so a few slow slots never leave the other cores
+ * waiting. Each slot is only read and decoded off the calling thread, into the plain
+ * {@link CharacterClass} data a save holds: no texture, sound or other libGDX resource is
+ * touched, since those may only be created on the render thread. Whatever must happen next,
+ * such as putting the slots in memory or quarantining damaged ones, is left to the caller.</p>
+ *
+ * <p>A single leaf's worth of slots is decoded on the calling thread, without waking the pool.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler#loadSlots(java.util.Collection)
+ */
+public class SlotLoader implements AutoCloseable {
+
+    /** Largest number of slots decoded by one task without splitting it further. */
+    static final int LEAF_SIZE = 16;
+
+    /**
+     * Reads the save entry of a game slot. Called from the pool's worker threads, so it must be
+     * safe to call concurrently.
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Reads the save entry of a game slot.
+         *
+         * @param slotId The ID of the game slot.
+         * @return The name and contents of the entry, or {@code null} if the slot has none.
+         * @throws IOException If the entry could not be read.
+         */
+        Map.Entry<String, byte[]> read(String slotId) throws IOException;
+    }
+
+    /**
+     * The outcome of loading one game slot: its decoded data, or why it could not be decoded.
+     */
+    public static final class Loaded {
+
+        /** The ID of the game slot. */
+        private final String slotId;
+
+        /** The name and contents of the slot's save entry, or {@code null} if it has none. */
+        private final Map.Entry<String, byte[]> entry;
+
+        /** The decoded slot data, or {@code null} if the slot has no entry or could not be decoded. */
+        private final HashMap<String, Object> slot;
+
+        /** Why the slot could not be read or decoded, or {@code null} if it was. */
+        private final Exception error;
+
+        /**
+         * Constructs the outcome of loading a slot.
+         *
+         * @param slotId The ID of the game slot.
+         * @param entry  The slot's save entry, or {@code null} if it has none.
+         * @param slot   The decoded slot data, or {@code null}.
+         * @param error  Why the slot could not be loaded, or {@code null}.
+         */
+        Loaded(String slotId, Map.Entry<String, byte[]> entry, HashMap<String, Object> slot, Exception error) {
+            this.slotId = slotId;
+            this.entry = entry;
+            this.slot = slot;
+            this.error = error;
+        }
+
+        /**
+         * Gets the ID of the game slot.
+         *
+         * @return The slot ID.
+         */
+        public String getSlotId() { return slotId; }
+
+        /**
+         * Gets the save entry the slot was read from.
+         *
+         * @return The name and contents of the entry, or {@code null} if the slot has none.
+         */
+        public Map.Entry<String, byte[]> getEntry() { return entry; }
+
+        /**
+         * Gets the decoded slot data.
+         *
+         * @return The slot data, or {@code null} if the slot has no entry or could not be decoded.
+         */
+        public HashMap<String, Object> getSlot() { return slot; }
+
+        /**
+         * Gets why the slot could not be loaded.
+         *
+         * @return The failure, or {@code null} if the slot was read and decoded.
+         */
+        public Exception getError() { return error; }
+    }
+
+    /** Pool the slots are decoded on. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a loader using every available core.
+     */
+    public SlotLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a loader using a given number of worker threads, which are only started once
+     * there is work for them.
+     *
+     * @param parallelism The number of worker threads.
+     */
+    public SlotLoader(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Retrieves the number of worker threads slots are decoded on.
+     *
+     * @return The number of worker threads.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Reads and decodes several game slots in parallel, blocking until every one is done.
+     * A slot that cannot be read or decoded does not stop the others.
+     *
+     * @param slotIds The IDs of the game slots.
+     * @param source  Reads the save entry of each slot, from any thread.
+     * @return The outcome of loading each slot, in the order of {@code slotIds}.
+     */
+    public List<Loaded> loadAll(List<String> slotIds, Source source) {
+        Loaded[] results = new Loaded[slotIds.size()];
+        LoadTask task = new LoadTask(slotIds, source, results, 0, results.length);
+        if (results.length <= LEAF_SIZE) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Reads and decodes a single game slot, catching any failure so it is reported with the slot.
+     *
+     * @param slotId The ID of the game slot.
+     * @param source Reads the slot's save entry.
+     * @return The outcome of loading the slot.
+     */
+    private static Loaded load(String slotId, Source source) {
+        Map.Entry<String, byte[]> entry = null;
+        try {
+            entry = source.read(slotId);
+            if (entry == null) {
+                return new Loaded(slotId, null, null, null);
+            }
+            HashMap<String, Object> slot = decodeSlot(entry.getValue());
+            return new Loaded(slotId, entry, slot != null ? slot : new HashMap<>(), null);
+        } catch (IOException | RuntimeException e) { // damaged JSON or values fail with runtime exceptions
+            return new Loaded(slotId, entry, null, e);
+        }
+    }
+
+    /**
+     * Reads the contents of a slot save entry, detecting whether it is binary, compressed JSON or JSON,
+     * after verifying their checksum if they have one. Safe to call from any thread.
+     *
+     * @param data The contents of the save entry.
+     * @return The slot data.
+     * @throws IOException If the contents do not match their checksum, or binary or compressed data could not be decoded.
+     */
+    static HashMap<String, Object> decodeSlot(byte[] data) throws IOException {
+        data = SaveChecksum.open(data);
+        if (BinarySaveCodec.isBinary(data)) {
+            return BinarySaveCodec.decodeSlot(data);
+        }
+        if (SaveCompression.isCompressed(data)) {
+            return JsonSaveCodec.decodeSlot(SaveCompression.newReader(new ByteArrayInputStream(data)));
+        }
+        return JsonSaveCodec.decodeSlot(data);
+    }
+
+    /**
+     * Loads a range of slots, splitting it in halves until it is small enough to decode directly.
+     */
+    private static final class LoadTask extends RecursiveAction {
+
+        /** Version of the serialized form, which fork/join tasks inherit but never use. */
+        private static final long serialVersionUID = 1L;
+
+        /** The IDs of every slot being loaded. */
+        private final List<String> slotIds;
+
+        /** Reads the save entry of each slot. */
+        private final Source source;
+
+        /** The outcome of each slot, filled in by position. */
+        private final Loaded[] results;
+
+        /** Position of the first slot of the range. */
+        private final int from;
+
+        /** Position after the last slot of the range. */
+        private final int to;
+
+        /**
+         * Creates a task loading a range of slots.
+         *
+         * @param slotIds The IDs of every slot being loaded.
+         * @param source  Reads the save entry of each slot.
+         * @param results The outcome of each slot, filled in by position.
+         * @param from    Position of the first slot of the range.
+         * @param to      Position after the last slot of the range.
+         */
+        LoadTask(List<String> slotIds, Source source, Loaded[] results, int from, int to) {
+            this.slotIds = slotIds;
+            this.source = source;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Decodes the range directly if it is small enough, or splits it and loads both halves in parallel.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    results[i] = load(slotIds.get(i), source);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LoadTask(slotIds, source, results, from, middle),
+                new LoadTask(slotIds, source, results, middle, to));
+        }
+    }
+}
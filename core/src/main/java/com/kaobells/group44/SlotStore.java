@@ -0,0 +1,260 @@
+package com.kaobells.group44;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code SlotStore} class keeps track of every game slot without keeping every
+ * character in memory.
+ *
+ * <p>Each slot has a {@link SlotSummary}, found by slot ID in constant time and kept in
+ * {@link SlotSummary#SLOT_ORDER} so the slots can be browsed a page at a time. The full slot
+ * data is only held for a limited number of recently used slots; the least recently used
+ * slot is dropped whenever the limit is exceeded and read back from its save file the next
+ * time it is needed. Slots whose character has unsaved changes are never dropped.</p>
+ *
+ * <p>A store is not thread-safe and is only used from the render thread.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public class SlotStore {
+
+    /** Key under which a slot stores its character. */
+    private static final String CHARACTER_KEY = "character";
+
+    /** Summary of every slot, keyed by slot ID. */
+    private final HashMap<String, SlotSummary> summaries = new HashMap<>();
+
+    /** ID of every slot, sorted in {@link SlotSummary#SLOT_ORDER}. */
+    private final ArrayList<String> orderedIds = new ArrayList<>();
+
+    /** Data of the slots held in memory, from least to most recently used. */
+    private final LinkedHashMap<String, HashMap<String, Object>> residentSlots = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Maximum number of slots held in memory, unless they have unsaved changes. */
+    private final int residentLimit;
+
+    /**
+     * Constructs an empty slot store.
+     *
+     * @param residentLimit The maximum number of slots held in memory.
+     */
+    public SlotStore(int residentLimit) {
+        if (residentLimit < 1) {
+            throw new IllegalArgumentException("A slot store must hold at least one slot in memory");
+        }
+        this.residentLimit = residentLimit;
+    }
+
+    /**
+     * Checks whether a slot exists.
+     *
+     * @param slotId The ID of the slot.
+     * @return {@code true} if the slot has a summary, {@code false} otherwise.
+     */
+    public boolean contains(String slotId) {
+        return summaries.containsKey(slotId);
+    }
+
+    /**
+     * Retrieves the summary of a slot.
+     *
+     * @param slotId The ID of the slot.
+     * @return The summary, or {@code null} if the slot does not exist.
+     */
+    public SlotSummary getSummary(String slotId) {
+        return summaries.get(slotId);
+    }
+
+    /**
+     * Adds a slot or replaces its summary.
+     *
+     * @param summary The summary of the slot.
+     */
+    public void putSummary(SlotSummary summary) {
+        if (summaries.put(summary.getSlotId(), summary) == null) {
+            int position = Collections.binarySearch(orderedIds, summary.getSlotId(), SlotSummary.SLOT_ORDER);
+            orderedIds.add(-position - 1, summary.getSlotId());
+        }
+    }
+
+    /**
+     * Removes a slot, including its data if it is held in memory.
+     *
+     * @param slotId The ID of the slot.
+     * @return {@code true} if the slot existed, {@code false} otherwise.
+     */
+    public boolean remove(String slotId) {
+        residentSlots.remove(slotId);
+        if (summaries.remove(slotId) == null) {
+            return false;
+        }
+        orderedIds.remove(Collections.binarySearch(orderedIds, slotId, SlotSummary.SLOT_ORDER));
+        return true;
+    }
+
+    /**
+     * Removes every slot whose ID is not in the given set.
+     *
+     * @param slotIds The IDs of the slots to keep.
+     * @return {@code true} if any slot was removed, {@code false} otherwise.
+     */
+    public boolean retainAll(Set<String> slotIds) {
+        if (!summaries.keySet().retainAll(slotIds)) {
+            return false;
+        }
+        orderedIds.retainAll(slotIds);
+        residentSlots.keySet().retainAll(slotIds);
+        return true;
+    }
+
+    /**
+     * Removes every slot, including the ones held in memory.
+     */
+    public void clear() {
+        summaries.clear();
+        orderedIds.clear();
+        residentSlots.clear();
+    }
+
+    /**
+     * Retrieves the number of slots.
+     *
+     * @return The number of slots.
+     */
+    public int size() {
+        return orderedIds.size();
+    }
+
+    /**
+     * Retrieves the IDs of every slot, in {@link SlotSummary#SLOT_ORDER}.
+     *
+     * @return A read-only view of the slot IDs.
+     */
+    public List<String> getSlotIds() {
+        return Collections.unmodifiableList(orderedIds);
+    }
+
+    /**
+     * Retrieves the summaries of every slot, in {@link SlotSummary#SLOT_ORDER}.
+     *
+     * @return The summaries.
+     */
+    public List<SlotSummary> getSummaries() {
+        return getSummaries(0, orderedIds.size());
+    }
+
+    /**
+     * Retrieves the summaries of a range of slots, in {@link SlotSummary#SLOT_ORDER}.
+     *
+     * @param offset The position of the first slot to return.
+     * @param limit  The maximum number of slots to return.
+     * @return The summaries, fewer than {@code limit} at the end of the store.
+     */
+    public List<SlotSummary> getSummaries(int offset, int limit) {
+        int from = Math.max(0, Math.min(offset, orderedIds.size()));
+        int to = (int) Math.min(orderedIds.size(), (long) from + Math.max(0, limit));
+        List<SlotSummary> page = new ArrayList<>(to - from);
+        for (String slotId : orderedIds.subList(from, to)) {
+            page.add(summaries.get(slotId));
+        }
+        return page;
+    }
+
+    /**
+     * Finds slot IDs that are not in use, counting up from 1.
+     *
+     * @param count The number of free IDs to find.
+     * @return The free IDs, in increasing order.
+     */
+    public List<String> getFreeSlotIds(int count) {
+        List<String> freeIds = new ArrayList<>(count);
+        for (int candidate = 1; freeIds.size() < count; candidate++) {
+            String slotId = Integer.toString(candidate);
+            if (!summaries.containsKey(slotId)) {
+                freeIds.add(slotId);
+            }
+        }
+        return freeIds;
+    }
+
+    /**
+     * Retrieves the data of every slot held in memory. The map is ordered from least to most
+     * recently used, and reading from it with {@link Map#get(Object)} marks a slot as used.
+     * Slots should only be added through {@link #putResident(String, HashMap)}.
+     *
+     * @return The slots held in memory, keyed by slot ID.
+     */
+    public LinkedHashMap<String, HashMap<String, Object>> getResidentSlots() {
+        return residentSlots;
+    }
+
+    /**
+     * Checks whether a slot is held in memory.
+     *
+     * @param slotId The ID of the slot.
+     * @return {@code true} if the slot's data is in memory, {@code false} otherwise.
+     */
+    public boolean isResident(String slotId) {
+        return residentSlots.containsKey(slotId);
+    }
+
+    /**
+     * Retrieves the data of a slot held in memory and marks it as the most recently used.
+     *
+     * @param slotId The ID of the slot.
+     * @return The slot's data, or {@code null} if it is not in memory.
+     */
+    public HashMap<String, Object> getResident(String slotId) {
+        return residentSlots.get(slotId);
+    }
+
+    /**
+     * Holds the data of a slot in memory as the most recently used slot, then drops the
+     * least recently used slots beyond the limit.
+     *
+     * @param slotId The ID of the slot.
+     * @param slot   The slot's data.
+     */
+    public void putResident(String slotId, HashMap<String, Object> slot) {
+        residentSlots.put(slotId, slot);
+        trimResidents();
+    }
+
+    /**
+     * Drops the least recently used slots until no more than the limit are held in memory,
+     * skipping slots whose character has unsaved changes and the most recently used slot.
+     *
+     * @return The number of slots dropped.
+     */
+    public int trimResidents() {
+        int dropped = 0;
+        int candidates = residentSlots.size() - 1; // the most recently used slot is always kept
+        Iterator<Map.Entry<String, HashMap<String, Object>>> slots = residentSlots.entrySet().iterator();
+        while (residentSlots.size() > residentLimit && candidates-- > 0) {
+            Object character = slots.next().getValue().get(CHARACTER_KEY);
+            if (!(character instanceof CharacterClass) || !((CharacterClass) character).isDirty()) {
+                slots.remove();
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Retrieves the maximum number of slots held in memory.
+     *
+     * @return The limit.
+     */
+    public int getResidentLimit() {
+        return residentLimit;
+    }
+}
@@ -0,0 +1,172 @@
+package com.kaobells.group44;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Comparator;
+
+/**
+ * The {@code SlotSummary} class is a lightweight description of a game slot: just enough
+ * to draw the slot on the slot selection screen without loading its full {@link CharacterClass}.
+ *
+ * <p>Summaries are kept in the slot index next to the save files and updated on every save.</p>
+ *
+ * @author group 44
+ * @version 1.0
+ * @see JsonHandler
+ */
+public class SlotSummary {
+
+    /** Orders slot IDs numerically when they are numbers ("2" before "10"), and alphabetically otherwise. */
+    public static final Comparator<String> SLOT_ORDER = Comparator.comparingInt(String::length)
+        .thenComparing(Comparator.naturalOrder());
+
+    /** ID of the game slot. */
+    private final String slotId;
+
+    /** Name of the character in the slot, or {@code null} if the slot is empty. */
+    private final String name;
+
+    /** Type of the character in the slot, e.g. relaxed, brave. */
+    private final String characterType;
+
+    /** State of the character in the slot. */
+    private final State state;
+
+    /** Score of the character in the slot. */
+    private final int score;
+
+    /** Time the slot was last saved, in milliseconds since the epoch. */
+    private final long lastPlayed;
+
+    /**
+     * Constructs a slot summary.
+     *
+     * @param slotId        The ID of the game slot.
+     * @param name          The name of the character, or {@code null} if the slot is empty.
+     * @param characterType The type of the character.
+     * @param state         The state of the character.
+     * @param score         The score of the character.
+     * @param lastPlayed    The time the slot was last saved, in milliseconds since the epoch.
+     */
+    public SlotSummary(String slotId, String name, String characterType, State state, int score, long lastPlayed) {
+        this.slotId = slotId;
+        this.name = name;
+        this.characterType = characterType;
+        this.state = state;
+        this.score = score;
+        this.lastPlayed = lastPlayed;
+    }
+
+    /**
+     * Creates the summary of a game slot.
+     *
+     * @param slotId     The ID of the game slot.
+     * @param character  The character in the slot, or {@code null} if the slot is empty.
+     * @param lastPlayed The time the slot was last saved, in milliseconds since the epoch.
+     * @return The summary of the slot.
+     */
+    public static SlotSummary of(String slotId, CharacterClass character, long lastPlayed) {
+        if (character == null) {
+            return new SlotSummary(slotId, null, null, null, 0, lastPlayed);
+        }
+        return new SlotSummary(slotId, character.getName(), character.getCharacterType(),
+            character.getState(), character.getScore(), lastPlayed);
+    }
+
+    /**
+     * Gets the ID of the game slot.
+     *
+     * @return The slot ID.
+     */
+    public String getSlotId() { return slotId; }
+
+    /**
+     * Checks whether the slot holds no character.
+     *
+     * @return {@code true} if the slot is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() { return name == null; }
+
+    /**
+     * Gets the name of the character in the slot.
+     *
+     * @return The character's name, or {@code null} if the slot is empty.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Gets the type of the character in the slot.
+     *
+     * @return The character type.
+     */
+    public String getCharacterType() { return characterType; }
+
+    /**
+     * Gets the state of the character in the slot.
+     *
+     * @return The character's {@link State}.
+     */
+    public State getState() { return state; }
+
+    /**
+     * Checks whether the character in the slot is dead.
+     *
+     * @return {@code true} if the character is dead, {@code false} otherwise.
+     */
+    public boolean isDead() { return state == State.DEAD; }
+
+    /**
+     * Gets the score of the character in the slot.
+     *
+     * @return The character's score.
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Gets the time the slot was last saved.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getLastPlayed() { return lastPlayed; }
+
+    /**
+     * Writes the summary in the compact binary save format.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the summary could not be written.
+     * @see BinarySaveCodec
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        out.writeUTF(slotId);
+        out.writeBoolean(name != null);
+        if (name != null) {
+            out.writeUTF(name);
+            out.writeUTF(characterType == null ? "" : characterType);
+            out.writeByte(state == null ? -1 : state.ordinal());
+            out.writeInt(score);
+        }
+        out.writeLong(lastPlayed);
+    }
+
+    /**
+     * Reads a summary written by {@link #writeBinary(DataOutput)}.
+     *
+     * @param in The stream to read from.
+     * @return The summary that was read.
+     * @throws IOException If the summary could not be read.
+     */
+    public static SlotSummary readBinary(DataInput in) throws IOException {
+        String slotId = in.readUTF();
+        if (!in.readBoolean()) {
+            return new SlotSummary(slotId, null, null, null, 0, in.readLong());
+        }
+        String name = in.readUTF();
+        String characterType = in.readUTF();
+        int stateOrdinal = in.readByte();
+        int score = in.readInt();
+        long lastPlayed = in.readLong();
+        return new SlotSummary(slotId, name, characterType,
+            stateOrdinal < 0 ? null : State.values()[stateOrdinal], score, lastPlayed);
+    }
+}
@@ -50,7 +50,7 @@ public class StartScreen extends ScreenAdapter {
     private final Stage stage;
 
     /** Manager for loading and managing game assets. */
-    private AssetManager assetManager;
+    private final AssetManager assetManager;
 
     /** Font used for rendering text in the UI. */
     private final BitmapFont font;
@@ -81,12 +81,25 @@ public class StartScreen extends ScreenAdapter {
 
 
     /**
-     * Constructs a new {@code StartScreen}.
+     * Constructs a new {@code StartScreen}, loading its assets synchronously.
      *
      * @param game The main game instance to manage shared resources and transitions.
      */
     public StartScreen(Main game) {
+        this(game, loadAssets());
+    }
+
+    /**
+     * Constructs a new {@code StartScreen} from assets that have already been loaded,
+     * for example in the background by the {@link LoadingScreen}.
+     *
+     * @param game         The main game instance to manage shared resources and transitions.
+     * @param assetManager A manager holding every asset queued by {@link #queueAssets(AssetManager)},
+     *                     fully loaded. The screen takes ownership of it and disposes of it.
+     */
+    public StartScreen(Main game, AssetManager assetManager) {
         mainGame = game;
+        this.assetManager = assetManager;
         spriteBatch = mainGame.getSharedBatch();
         viewport = mainGame.getViewport();
         stage = new Stage(viewport, spriteBatch);
@@ -97,7 +110,6 @@ public class StartScreen extends ScreenAdapter {
             game.jsonHandler.initializeParentalControls();
         }
 
-        loadTextures();
         initializeUI();
     }
 
@@ -289,11 +301,24 @@ public class StartScreen extends ScreenAdapter {
     }
 
     /**
-     * Loads textures and assets for the start screen.
+     * Loads textures and assets for the start screen, blocking until they are ready.
+     *
+     * @return A manager holding the loaded assets.
      */
-    private void loadTextures() {
-        assetManager = new AssetManager();
+    private static AssetManager loadAssets() {
+        AssetManager assetManager = new AssetManager();
+        queueAssets(assetManager);
+        // Load assets synchronously
+        assetManager.finishLoading();
+        return assetManager;
+    }
 
+    /**
+     * Queues every texture and asset the start screen needs, without loading them.
+     *
+     * @param assetManager The manager to queue the assets on.
+     */
+    public static void queueAssets(AssetManager assetManager) {
         // Queue textures for loading
         assetManager.load("startScreen/start-game-btn.png", Texture.class);
         assetManager.load("startScreen/load-game-btn.png", Texture.class);
@@ -316,10 +341,6 @@ public class StartScreen extends ScreenAdapter {
         assetManager.load("characters/serious-blink.png", Texture.class);
 
         assetManager.load("music/jb-sample-lowqual.mp3", Music.class);
-
-
-        // Load assets synchronously
-        assetManager.finishLoading();
     }
 
     /**
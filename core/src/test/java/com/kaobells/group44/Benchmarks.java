@@ -0,0 +1,60 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.utils.JsonReader;
+
+/**
+ * The {@code Benchmarks} class holds what the benchmark mains share: the character they fill
+ * their slots with, and the conversion of elapsed times into per-iteration figures.
+ *
+ * @author group 44
+ * @version 1.0
+ */
+final class Benchmarks {
+
+    /** Template character, in the layout of the original database.json. */
+    private static final String TEMPLATE_CHARACTER = "{"
+        + "\"name\": \"josh\", \"slot\": \"1\", \"score\": 133, \"characterNumber\": 0,"
+        + "\"characterType\": \"relaxed\", \"state\": \"NEUTRAL\", \"health\": 64.5, \"sleep\": 72.5,"
+        + "\"happiness\": 92.5, \"fullness\": 82.5, \"stress\": 86.875,"
+        + "\"inventory\": [{\"itemID\": 0, \"itemCount\": 0}, {\"itemID\": 1, \"itemCount\": 0},"
+        + "{\"itemID\": 2, \"itemCount\": 0}, {\"itemID\": 3, \"itemCount\": 2},"
+        + "{\"itemID\": 4, \"itemCount\": 0}, {\"itemID\": 5, \"itemCount\": 1}],"
+        + "\"compoundingStates\": [false, false, false], \"playCooldownRemaining\": 19.29}";
+
+    /**
+     * Private constructor, this class only offers static helpers.
+     */
+    private Benchmarks() {
+    }
+
+    /**
+     * Creates the character the benchmarks fill their slots with.
+     *
+     * @return A new copy of the template character.
+     */
+    static CharacterClass templateCharacter() {
+        return CharacterClass.readJson(new JsonReader().parse(TEMPLATE_CHARACTER));
+    }
+
+    /**
+     * Converts an elapsed time into milliseconds per iteration.
+     *
+     * @param start      The start time, from {@link System#nanoTime()}.
+     * @param iterations The number of iterations timed.
+     * @return The average time per iteration, in milliseconds.
+     */
+    static double millis(long start, int iterations) {
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    /**
+     * Converts an elapsed time into microseconds per iteration.
+     *
+     * @param start      The start time, from {@link System#nanoTime()}.
+     * @param iterations The number of iterations timed.
+     * @return The average time per iteration, in microseconds.
+     */
+    static double micros(long start, int iterations) {
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+}
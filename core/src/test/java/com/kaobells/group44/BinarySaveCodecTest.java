@@ -0,0 +1,123 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.utils.Json;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+
+class BinarySaveCodecTest {
+
+    private static final String CHARACTER_JSON = "{"
+        + "\"name\": \"josh\", \"slot\": \"3\", \"score\": 133, \"characterNumber\": 0,"
+        + "\"characterType\": \"relaxed\", \"state\": \"HUNGRY\", \"health\": 64.5, \"sleep\": 72.5,"
+        + "\"happiness\": 92.5, \"fullness\": 0.5, \"stress\": 57.5,"
+        + "\"inventory\": [{\"itemID\": 0, \"itemCount\": 4}, {\"itemID\": 5, \"itemCount\": 1}],"
+        + "\"compoundingStates\": [false, false, true], \"doctorCooldownRemaining\": 12.5}";
+
+    @Test
+    void slotRoundTrip() throws IOException {
+        Json json = new Json();
+        json.setIgnoreUnknownFields(true);
+        HashMap<String, Object> slot = new HashMap<>();
+        slot.put("character", json.fromJson(CharacterClass.class, CHARACTER_JSON));
+
+        byte[] data = BinarySaveCodec.encodeSlot(slot);
+        assertTrue(BinarySaveCodec.isBinary(data), "Encoded slot should start with the binary header");
+
+        CharacterClass character = (CharacterClass) BinarySaveCodec.decodeSlot(data).get("character");
+        assertEquals("josh", character.getName());
+        assertEquals("3", character.getSlotNumber());
+        assertEquals(133, character.getScore());
+        assertEquals("relaxed", character.getCharacterType());
+        assertEquals(State.HUNGRY, character.getState());
+        assertEquals(64.5f, character.getHealth());
+        assertEquals(0.5f, character.getHunger());
+        assertEquals(2, character.getInventory().length, "Inventory length should be kept");
+        assertEquals(4, character.getInventory()[0].getItemCount());
+        assertEquals(5, character.getInventory()[1].getItemID());
+    }
+
+    @Test
+    void emptySlotRoundTrip() throws IOException {
+        assertTrue(BinarySaveCodec.decodeSlot(BinarySaveCodec.encodeSlot(new HashMap<>())).isEmpty(),
+            "A slot without a character should stay empty");
+    }
+
+    @Test
+    void parentalControlsRoundTrip() throws IOException {
+        ParentalControls parentalControls = new ParentalControls();
+        parentalControls.setEveningParentBlock(true);
+        parentalControls.setTotalSessionsPlayed(197);
+        parentalControls.setPassword("1234");
+
+        ParentalControls decoded = BinarySaveCodec.decodeParentalControls(
+            BinarySaveCodec.encodeParentalControls(parentalControls));
+        assertTrue(decoded.isEveningParentBlock(), "Blocks should be kept");
+        assertFalse(decoded.isMorningParentBlock(), "Other blocks should stay clear");
+        assertEquals(197, decoded.getTotalSessionsPlayed());
+        assertEquals("1234", decoded.getPassword());
+    }
+
+    @Test
+    void taggedParentalControlsFromVersionOneStillLoad() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinarySaveCodec.MAGIC);
+        out.writeShort(1);
+        out.writeByte(2); // parental controls
+        out.writeShort(3);
+        out.writeUTF("morningParentBlock");
+        out.writeByte(0);
+        out.writeBoolean(true);
+        out.writeUTF("totalSecondsPlayed");
+        out.writeByte(1);
+        out.writeInt(112);
+        out.writeUTF("Password");
+        out.writeByte(2);
+        out.writeUTF("4321");
+
+        ParentalControls decoded = BinarySaveCodec.decodeParentalControls(bytes.toByteArray());
+        assertTrue(decoded.isMorningParentBlock(), "Boxed booleans should be read");
+        assertEquals(112, decoded.getTotalSecondsPlayed(), "Boxed integers should be read");
+        assertEquals("4321", decoded.getPassword());
+    }
+
+    @Test
+    void slotsFromVersionTwoAreUpgradedToTheCurrentSchema() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinarySaveCodec.MAGIC);
+        out.writeShort(2);
+        out.writeByte(1); // game slot, without a schema version
+        out.writeBoolean(true);
+        new CharacterClass().writeBinary(out); // no state, inventory or compounding states
+
+        CharacterClass decoded = (CharacterClass) BinarySaveCodec.decodeSlot(bytes.toByteArray()).get("character");
+        assertEquals(1, decoded.getLoadedSchemaVersion(), "Unversioned binary slots never held animation timers");
+        assertEquals(State.NEUTRAL, decoded.getState(), "A missing state should be filled in");
+        assertEquals(6, decoded.getInventory().length, "A missing inventory should be filled in");
+        assertEquals(100.0f, decoded.getHealth(), "Saved values should be kept");
+    }
+
+    @Test
+    void boxedJsonParentalControlsStillLoad() {
+        String boxed = "{\"weekendParentBlock\": {\"class\": \"java.lang.Boolean\", \"value\": true},"
+            + "\"totalSessionsPlayed\": {\"class\": \"java.lang.Integer\", \"value\": 197},"
+            + "\"Password\": \"1234\"}";
+        ParentalControls decoded = new Json().fromJson(ParentalControls.class, boxed);
+        assertTrue(decoded.isWeekendParentBlock(), "Boxed booleans should be read");
+        assertEquals(197, decoded.getTotalSessionsPlayed(), "Boxed integers should be read");
+        assertEquals("1234", decoded.getPassword());
+    }
+
+    @Test
+    void jsonIsNotMistakenForBinary() {
+        assertFalse(BinarySaveCodec.isBinary("{\"games\": {}}".getBytes()));
+        assertThrows(IOException.class, () -> BinarySaveCodec.decodeSlot("{}".getBytes()));
+    }
+}
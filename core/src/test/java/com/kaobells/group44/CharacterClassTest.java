@@ -0,0 +1,104 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.utils.Json;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CharacterClassTest {
+
+    private CharacterClass character;
+
+    @BeforeEach
+    void loadCharacter() {
+        Json json = new Json();
+        json.setIgnoreUnknownFields(true);
+        character = json.fromJson(CharacterClass.class, "{"
+            + "\"name\": \"josh\", \"slot\": \"3\", \"score\": 133, \"characterNumber\": 0,"
+            + "\"characterType\": \"relaxed\", \"state\": \"NEUTRAL\", \"health\": 64.5, \"sleep\": 72.5,"
+            + "\"happiness\": 92.5, \"fullness\": 0.5, \"stress\": 57.5,"
+            + "\"inventory\": [{\"itemID\": 0, \"itemCount\": 4}],"
+            + "\"compoundingStates\": [false, false, false]}");
+        character.markClean();
+    }
+
+    @Test
+    void unchangedCharacterIsClean() {
+        character.setHealth(64.5f);
+        character.setScore(133);
+        character.setState(State.NEUTRAL);
+        assertFalse(character.isDirty(), "Setting the same values should not mark the character dirty");
+    }
+
+    @Test
+    void clampedStatAtBoundIsClean() {
+        character.setHappiness(100f);
+        character.markClean();
+        character.setHappiness(120f);
+        assertFalse(character.isDirty(), "A stat already at its bound should stay clean");
+    }
+
+    @Test
+    void statChangeMarksDirty() {
+        character.setHealth(60f);
+        assertTrue(character.isDirty(), "Changing a stat should mark the character dirty");
+        character.markClean();
+        assertFalse(character.isDirty(), "Marking clean should reset the flag");
+    }
+
+    @Test
+    void compoundingStateChangeMarksDirty() {
+        character.stateDetermine(); // fullness below 1 makes the character hungry
+        assertTrue(character.isDirty(), "Becoming hungry should mark the character dirty");
+        assertEquals(State.HUNGRY, character.getState());
+    }
+
+    @Test
+    void inventoryChangeMarksDirty() {
+        character.getInventory()[0].reduceCount();
+        assertTrue(character.isDirty(), "Using an item should mark the character dirty");
+        character.markClean();
+        assertFalse(character.getInventory()[0].isDirty(), "Marking the character clean should clean its items");
+    }
+
+    @Test
+    void characterSimulatedInThisRunIsNotAgedFromItsSave() {
+        character.markSimulated(); // its game screen just closed
+        character.progressOffline(3600);
+        assertEquals(72.5f, character.getSleep(), "Time already simulated should not be counted again");
+        assertEquals(64.5f, character.getHealth(), "Time already simulated should not be counted again");
+    }
+
+    @Test
+    void jsonRoundTripKeepsGameplayStateOnly() {
+        Json json = new Json();
+        String written = json.toJson(character);
+        assertFalse(written.contains("Timer"), "Animation timers should not be written: " + written);
+        assertFalse(written.contains("isSleepState1"), "Animation flags should not be written: " + written);
+
+        CharacterClass read = json.fromJson(CharacterClass.class, written);
+        assertEquals("josh", read.getName());
+        assertEquals("3", read.getSlotNumber());
+        assertEquals(133, read.getScore());
+        assertEquals("relaxed", read.getCharacterType());
+        assertEquals(State.NEUTRAL, read.getState());
+        assertEquals(0.5f, read.getHunger());
+        assertEquals(4, read.getInventory()[0].getItemCount());
+    }
+
+    @Test
+    void olderSaveWithTimersStillLoads() {
+        CharacterClass read = new Json().fromJson(CharacterClass.class, "{"
+            + "\"class\": \"com.kaobells.group44.CharacterClass\", \"name\": \"BR\", \"slot\": \"1\","
+            + "\"characterNumber\": 4, \"characterType\": \"serious\", \"state\": \"NEUTRAL\", \"sleep\": 87.25,"
+            + "\"inventory\": [{\"itemID\": 3, \"itemCount\": 2}], \"compoundingStates\": [false, true, false],"
+            + "\"saveTimer\": 12.5, \"blinkDurationTimer\": 0.1, \"isBlinking\": true, \"sleepTimer\": 0.25,"
+            + "\"isSleepState1\": false, \"hungerTimer\": 0.4}");
+        assertEquals("BR", read.getName());
+        assertEquals(87.25f, read.getSleep());
+        assertEquals(100f, read.getHealth(), "Values left out by older saves should keep their defaults");
+        assertTrue(read.isAngry());
+        assertEquals(2, read.getInventory()[0].getItemCount());
+    }
+}
@@ -0,0 +1,142 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.millis;
+import static com.kaobells.group44.Benchmarks.templateCharacter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Measures what verifying {@link SaveChecksum}s costs when slots are loaded: the time to verify
+ * every slot file compared with the time to decode them, and the same for the slot index, for
+ * 3, 100 and 10,000 slots in the binary and JSON save formats.
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class ChecksumBenchmark {
+
+    /** Slot counts measured by the benchmark. */
+    private static final int[] SLOT_COUNTS = {3, 100, 10_000};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     * @throws IOException If a slot could not be encoded or decoded.
+     */
+    public static void main(String[] args) throws IOException {
+        CharacterClass template = templateCharacter();
+
+        System.out.printf("%8s %7s | %12s %12s %9s | %12s %12s%n", "slots", "format",
+            "decode ms", "verify ms", "overhead", "index ms", "verify ms");
+        for (int slotCount : SLOT_COUNTS) {
+            List<byte[]> binaryFiles = new ArrayList<>();
+            List<byte[]> jsonFiles = new ArrayList<>();
+            List<SlotSummary> summaries = new ArrayList<>();
+            for (int i = 1; i <= slotCount; i++) {
+                CharacterClass character = template.snapshot();
+                character.setScore(i);
+                HashMap<String, Object> slot = new HashMap<>();
+                slot.put("character", character);
+                binaryFiles.add(SaveChecksum.seal(BinarySaveCodec.encodeSlot(slot)));
+                jsonFiles.add(SaveChecksum.seal(JsonSaveCodec.encodeSlot(slot)));
+                summaries.add(SlotSummary.of(String.valueOf(i), character, 0));
+            }
+            byte[] index = SaveChecksum.seal(BinarySaveCodec.encodeIndex(summaries));
+            int iterations = Math.max(3, 3_000 / slotCount);
+
+            double[] indexTimes = null;
+            double[] binaryTimes = null;
+            double[] jsonTimes = null;
+            for (int warmup = 0; warmup < 2; warmup++) {
+                indexTimes = timeIndex(index, iterations);
+                binaryTimes = timeSlots(binaryFiles, false, iterations);
+                jsonTimes = timeSlots(jsonFiles, true, Math.max(1, iterations / 4));
+            }
+            System.out.printf("%8d %7s | %12.3f %12.3f %8.2f%% | %12.3f %12.3f%n", slotCount, "binary",
+                binaryTimes[0], binaryTimes[1], overhead(binaryTimes), indexTimes[0], indexTimes[1]);
+            System.out.printf("%8d %7s | %12.3f %12.3f %8.2f%% |%n", slotCount, "json",
+                jsonTimes[0], jsonTimes[1], overhead(jsonTimes));
+        }
+    }
+
+    /**
+     * Decodes every slot file, then verifies and strips the checksum of every slot file.
+     *
+     * @param files      The sealed contents of every slot file.
+     * @param json       {@code true} if the files are JSON, {@code false} if they are binary.
+     * @param iterations The number of times every file is decoded and verified.
+     * @return The average time to decode every file and to verify every file, in milliseconds.
+     * @throws IOException If a file could not be decoded or does not match its checksum.
+     */
+    private static double[] timeSlots(List<byte[]> files, boolean json, int iterations) throws IOException {
+        List<byte[]> stripped = new ArrayList<>();
+        for (byte[] file : files) {
+            stripped.add(Arrays.copyOf(file, file.length - SaveChecksum.TRAILER_SIZE));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] data : stripped) {
+                decode(data, json);
+            }
+        }
+        double decode = millis(start, iterations);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] file : files) {
+                SaveChecksum.open(file);
+            }
+        }
+        return new double[] {decode, millis(start, iterations)};
+    }
+
+    /**
+     * Decodes the slot index, then verifies and strips its checksum.
+     *
+     * @param index      The sealed contents of the index file.
+     * @param iterations The number of times the index is decoded and verified.
+     * @return The average time to decode the index and to verify it, in milliseconds.
+     * @throws IOException If the index could not be decoded or does not match its checksum.
+     */
+    private static double[] timeIndex(byte[] index, int iterations) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            BinarySaveCodec.decodeIndex(index); // the trailing checksum line is ignored
+        }
+        double decode = millis(start, iterations);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SaveChecksum.open(index);
+        }
+        return new double[] {decode, millis(start, iterations)};
+    }
+
+    /**
+     * Decodes the contents of a slot file.
+     *
+     * @param data The contents, without their checksum line.
+     * @param json {@code true} if the contents are JSON, {@code false} if they are binary.
+     * @throws IOException If the contents could not be decoded.
+     */
+    private static void decode(byte[] data, boolean json) throws IOException {
+        if (json) {
+            JsonSaveCodec.decodeSlot(data);
+        } else {
+            BinarySaveCodec.decodeSlot(data);
+        }
+    }
+
+    /**
+     * Computes the verification time as a share of the decode time.
+     *
+     * @param times The decode and verification times.
+     * @return The overhead, as a percentage of the decode time.
+     */
+    private static double overhead(double[] times) {
+        return times[1] / times[0] * 100;
+    }
+}
@@ -0,0 +1,164 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.millis;
+import static com.kaobells.group44.Benchmarks.templateCharacter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+/**
+ * Compares plain and deflate-compressed JSON: the size and the write and load times of a
+ * whole-database export, streamed the way {@link JsonHandler#exportJson(com.badlogic.gdx.files.FileHandle, boolean)}
+ * writes it and {@link JsonHandler#importJson(com.badlogic.gdx.files.FileHandle)} reads it, for 3, 100 and
+ * 10,000 slots. It also prints the size and decode time of a single slot file in each {@link SaveFormat}.
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class CompressedSaveBenchmark {
+
+    /** Slot counts measured by the benchmark. */
+    private static final int[] SLOT_COUNTS = {3, 100, 10_000};
+
+    /** Number of single-slot decodes timed for each format. */
+    private static final int SLOT_DECODES = 20_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     * @throws IOException If an export could not be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        File directory = Files.createTempDirectory("compressed-save-benchmark").toFile();
+        CharacterClass template = templateCharacter();
+        BufferedChannelWriter writer = new BufferedChannelWriter(16 * 1024);
+
+        System.out.printf("%8s | %12s %12s %12s | %12s %12s %12s | %7s%n", "slots",
+            "plain bytes", "write ms", "load ms", "gz bytes", "write ms", "load ms", "ratio");
+        for (int slotCount : SLOT_COUNTS) {
+            Database database = new Database();
+            for (int i = 1; i <= slotCount; i++) {
+                CharacterClass character = template.snapshot();
+                character.setScore(i * 7); // slots that differ a little, like real ones
+                HashMap<String, Object> slot = new HashMap<>();
+                slot.put("character", character);
+                database.games.put(String.valueOf(i), slot);
+            }
+            File plain = new File(directory, "export-" + slotCount + ".json");
+            File compressed = new File(directory, "export-" + slotCount + ".jsonz");
+            int iterations = Math.max(3, 3_000 / slotCount);
+
+            double[] plainTimes = null;
+            double[] compressedTimes = null;
+            for (int warmup = 0; warmup < 2; warmup++) {
+                plainTimes = exportAndLoad(database, plain, false, writer, iterations);
+                compressedTimes = exportAndLoad(database, compressed, true, writer, iterations);
+            }
+            System.out.printf("%8d | %12d %12.3f %12.3f | %12d %12.3f %12.3f | %6.1fx%n", slotCount,
+                plain.length(), plainTimes[0], plainTimes[1],
+                compressed.length(), compressedTimes[0], compressedTimes[1],
+                (double) plain.length() / compressed.length());
+        }
+
+        HashMap<String, Object> slot = new HashMap<>();
+        slot.put("character", template);
+        System.out.printf("%n%16s | %10s %12s%n", "slot file", "bytes", "decode us");
+        for (SaveFormat format : SaveFormat.values()) {
+            byte[] data = encodeSlot(format, slot);
+            double micros = 0;
+            for (int warmup = 0; warmup < 2; warmup++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < SLOT_DECODES; i++) {
+                    decodeSlot(data);
+                }
+                micros = (System.nanoTime() - start) / 1_000.0 / SLOT_DECODES;
+            }
+            System.out.printf("%16s | %10d %12.2f%n", format, data.length, micros);
+        }
+    }
+
+    /**
+     * Exports a database to a file and loads it back, each the given number of times.
+     *
+     * @param database   The database to export.
+     * @param target     The file to export to.
+     * @param compressed {@code true} to stream the export through deflate.
+     * @param writer     The reused writer the export is streamed through.
+     * @param iterations The number of exports and loads timed.
+     * @return The average export and load times, in milliseconds.
+     * @throws IOException If the export could not be written or read.
+     */
+    private static double[] exportAndLoad(Database database, File target, boolean compressed,
+                                          BufferedChannelWriter writer, int iterations) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            AtomicFileWriter.write(target, channel -> {
+                if (!compressed) {
+                    writer.open(channel);
+                    JsonSaveCodec.writeDatabase(writer, database);
+                    writer.finish();
+                    return;
+                }
+                try (OutputStream deflated = SaveCompression.compress(channel)) {
+                    writer.open(Channels.newChannel(deflated));
+                    JsonSaveCodec.writeDatabase(writer, database);
+                    writer.finish();
+                }
+            });
+        }
+        double write = millis(start, iterations);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            JsonSaveCodec.decodeDatabase(SaveCompression.newReader(new FileInputStream(target)));
+        }
+        return new double[] {write, millis(start, iterations)};
+    }
+
+    /**
+     * Encodes a slot the way {@link JsonHandler} writes its save file in the given format.
+     *
+     * @param format The save format.
+     * @param slot   The slot data.
+     * @return The contents of the slot's save file.
+     * @throws IOException If the slot could not be encoded.
+     */
+    private static byte[] encodeSlot(SaveFormat format, HashMap<String, Object> slot) throws IOException {
+        if (format == SaveFormat.BINARY) {
+            return BinarySaveCodec.encodeSlot(slot);
+        }
+        if (format == SaveFormat.JSON) {
+            return JsonSaveCodec.encodeSlot(slot);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (Writer out = SaveCompression.newWriter(bytes)) {
+            JsonSaveCodec.writeSlot(out, slot);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a slot save file, detecting its format the way {@link JsonHandler} does.
+     *
+     * @param data The contents of the save file.
+     * @return The slot data.
+     * @throws IOException If the data could not be decoded.
+     */
+    private static HashMap<String, Object> decodeSlot(byte[] data) throws IOException {
+        if (BinarySaveCodec.isBinary(data)) {
+            return BinarySaveCodec.decodeSlot(data);
+        }
+        if (SaveCompression.isCompressed(data)) {
+            return JsonSaveCodec.decodeSlot(SaveCompression.newReader(new ByteArrayInputStream(data)));
+        }
+        return JsonSaveCodec.decodeSlot(data);
+    }
+}
@@ -0,0 +1,26 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+class FileSaveStoreTest extends SaveStoreTest {
+
+    @Override
+    SaveStore open(File directory, boolean readOnly) throws IOException {
+        return new FileSaveStore(directory, readOnly);
+    }
+
+    @Test
+    void checkpointWritesOneFilePerEntry() throws IOException {
+        try (SaveStore store = open(directory, false)) {
+            store.write("slot-1.sav", bytes("slot"));
+            assertFalse(new File(directory, "slot-1.sav").exists(), "Writes should only be journaled");
+            store.checkpoint();
+        }
+        assertEquals("slot", string(Files.readAllBytes(new File(directory, "slot-1.sav").toPath())));
+    }
+}
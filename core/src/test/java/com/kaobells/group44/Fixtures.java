@@ -0,0 +1,59 @@
+package com.kaobells.group44;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import java.util.HashMap;
+
+/**
+ * Characters, slots and pets shared by the tests, so each one builds them the same way.
+ */
+final class Fixtures {
+
+    /** A character with every persisted field set, a name that needs multi-byte UTF-8 and a full inventory. */
+    static final String CHARACTER_JSON = "{"
+        + "\"name\": \"Jösh\", \"slot\": \"3\", \"score\": 133, \"characterNumber\": 2,"
+        + "\"characterType\": \"relaxed\", \"state\": \"HUNGRY\", \"health\": 64.5, \"sleep\": 72.5,"
+        + "\"happiness\": 92.5, \"fullness\": 0.1, \"stress\": 57.5,"
+        + "\"inventory\": [{\"itemID\": 0, \"itemCount\": 4}, {\"itemID\": 1, \"itemCount\": 0},"
+        + "{\"itemID\": 2, \"itemCount\": 0}, {\"itemID\": 3, \"itemCount\": 2},"
+        + "{\"itemID\": 4, \"itemCount\": 0}, {\"itemID\": 5, \"itemCount\": 1}],"
+        + "\"compoundingStates\": [false, true, true], \"doctorCooldownRemaining\": 12.25}";
+
+    private Fixtures() {
+    }
+
+    static CharacterClass character(String name, int score) {
+        JsonValue json = new JsonReader().parse(CHARACTER_JSON);
+        json.get("name").set(name);
+        json.get("score").set(score, null);
+        return CharacterClass.readJson(json);
+    }
+
+    static CharacterClass character(int score) {
+        return character("Jösh", score);
+    }
+
+    static CharacterClass character(String name) {
+        return character(name, 133);
+    }
+
+    static HashMap<String, Object> slotWith(CharacterClass character) {
+        HashMap<String, Object> slot = new HashMap<>();
+        slot.put("character", character);
+        return slot;
+    }
+
+    static PetModel newPet(int characterType) {
+        PetModel pet = new PetModel();
+        pet.setUpStats(characterType);
+        pet.modifyModifiers(characterType);
+        return pet;
+    }
+
+    static PetModel newPet(int characterType, int score) {
+        PetModel pet = newPet(characterType);
+        pet.setScore(score);
+        return pet;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+class JsonSaveCodecTest {
+
+    private static final String CHARACTER_JSON = "{"
+        + "\"name\": \"josh\", \"slot\": \"3\", \"score\": 133, \"characterNumber\": 0,"
+        + "\"characterType\": \"relaxed\", \"state\": \"HUNGRY\", \"health\": 64.5, \"sleep\": 72.5,"
+        + "\"happiness\": 92.5, \"fullness\": 0.1, \"stress\": 57.5,"
+        + "\"inventory\": [{\"itemID\": 0, \"itemCount\": 4}, {\"itemID\": 5, \"itemCount\": 1}],"
+        + "\"compoundingStates\": [false, false, true], \"doctorCooldownRemaining\": 12.3}";
+
+    /** Reflective LibGDX JSON, used to read the fixture and to check the codec's output stays readable. */
+    private Json reflective;
+
+    private Database database;
+
+    @BeforeEach
+    void createDatabase() {
+        reflective = new Json();
+        reflective.setOutputType(JsonWriter.OutputType.json);
+        reflective.setIgnoreUnknownFields(true);
+        database = new Database();
+        for (String slotId : new String[] {"1", "2", "3"}) {
+            HashMap<String, Object> slot = new HashMap<>();
+            if (!slotId.equals("2")) {
+                slot.put("character", reflective.fromJson(CharacterClass.class, CHARACTER_JSON));
+            }
+            database.games.put(slotId, slot);
+        }
+        database.parentalControls.setWeekdayParentBlock(true);
+        database.parentalControls.setTotalSecondsPlayed(112);
+        database.parentalControls.setPassword("1234");
+    }
+
+    // documents the reflective serializer wrote for this fixture before the codec replaced it;
+    // reflective Json now delegates to the codec, so it cannot be the reference any more
+    private static String reflectiveDocument(String name) throws IOException {
+        try (InputStream in = JsonSaveCodecTest.class.getResourceAsStream("reflective/" + name)) {
+            assertNotNull(in, "Missing reflective document " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // the schema version, added after the codec, deliberately breaks byte-identity with the
+    // reflective layout; it is the only field that does
+    private static String withoutSchemaVersion(String document) {
+        return document.replaceAll("\\n\\t*\"" + SaveSchema.VERSION_KEY + "\": \\d+,", "");
+    }
+
+    @Test
+    void databaseMatchesReflectiveOutput() throws IOException {
+        assertEquals(reflectiveDocument("database.json"), withoutSchemaVersion(JsonSaveCodec.encodeDatabase(database)));
+    }
+
+    @Test
+    void slotMatchesReflectiveOutput() throws IOException {
+        String encoded = new String(JsonSaveCodec.encodeSlot(database.games.get("1")), StandardCharsets.UTF_8);
+        assertEquals(reflectiveDocument("slot.json"), withoutSchemaVersion(encoded));
+    }
+
+    @Test
+    void parentalControlsMatchReflectiveOutput() throws IOException {
+        assertEquals(reflectiveDocument("parental.json"),
+            new String(JsonSaveCodec.encodeParentalControls(database.parentalControls), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void schemaVersionIsTheOnlyChangeFromTheReflectiveLayout() throws IOException {
+        String encoded = new String(JsonSaveCodec.encodeSlot(database.games.get("1")), StandardCharsets.UTF_8);
+        assertTrue(encoded.contains("\"" + SaveSchema.VERSION_KEY + "\": " + SaveSchema.CURRENT_VERSION + ","),
+            "Characters should carry the schema version the reflective layout did not have");
+        assertNotEquals(reflectiveDocument("slot.json"), encoded);
+    }
+
+    @Test
+    void databaseRoundTrip() throws IOException {
+        Database decoded = JsonSaveCodec.decodeDatabase(JsonSaveCodec.encodeDatabase(database));
+        assertEquals(3, decoded.games.size(), "Every slot should be read back, even empty ones");
+        assertTrue(decoded.games.get("2").isEmpty(), "The empty slot should stay empty");
+        CharacterClass character = (CharacterClass) decoded.games.get("3").get("character");
+        assertEquals("josh", character.getName());
+        assertEquals(State.HUNGRY, character.getState());
+        assertEquals(0.1f, character.getHunger());
+        assertEquals(1, character.getInventory()[1].getItemCount());
+        assertTrue(decoded.parentalControls.isWeekdayParentBlock());
+        assertEquals("1234", decoded.parentalControls.getPassword());
+    }
+
+    @Test
+    void reflectiveReaderReadsCodecOutput() throws IOException {
+        Database decoded = reflective.fromJson(Database.class, JsonSaveCodec.encodeDatabase(database));
+        CharacterClass character = (CharacterClass) decoded.games.get("1").get("character");
+        assertEquals(133, character.getScore(), "Files written by the codec should stay readable by LibGDX Json");
+    }
+
+    @Test
+    void streamedDatabaseMatchesEncodedDatabase(@TempDir Path directory) throws IOException {
+        // a tiny buffer makes every value cross buffer boundaries, the name needs multi-byte UTF-8
+        database.games.get("3").put("character",
+            reflective.fromJson(CharacterClass.class, CHARACTER_JSON.replace("josh", "J\u00f6sh \uD83D\uDC3E")));
+        BufferedChannelWriter writer = new BufferedChannelWriter(7);
+        for (int round = 0; round < 2; round++) { // the second export reuses the same buffers
+            File target = directory.resolve("export-" + round + ".json").toFile();
+            AtomicFileWriter.write(target, channel -> {
+                writer.open(channel);
+                JsonSaveCodec.writeDatabase(writer, database);
+                writer.finish();
+            });
+            String streamed = new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8);
+            assertFalse(streamed.contains("\n"), "Streamed exports should be compact");
+            assertEquals(JsonSaveCodec.encodeDatabase(database),
+                JsonSaveCodec.encodeDatabase(JsonSaveCodec.decodeDatabase(streamed)),
+                "Streaming should write the same values as the pretty-printed export");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+class LogSaveStoreTest extends SaveStoreTest {
+
+    @Override
+    SaveStore open(File directory, boolean readOnly) throws IOException {
+        return new LogSaveStore(directory, readOnly);
+    }
+
+    @Test
+    void checkpointCompactsOutdatedVersions() throws IOException {
+        File log = new File(directory, LogSaveStore.LOG_FILE);
+        try (SaveStore store = open(directory, false)) {
+            for (int i = 0; i < 100; i++) {
+                store.write("slot-1.sav", bytes("version " + i));
+            }
+            store.write("parental.sav", bytes("parental"));
+            long before = log.length();
+            store.checkpoint();
+            assertTrue(log.length() < before / 10, "Compaction should drop every outdated version");
+            long compacted = log.length();
+            store.checkpoint();
+            assertEquals(compacted, log.length(), "A compacted log has nothing left to drop");
+            store.write("slot-1.sav", bytes("after compaction"));
+        }
+        try (SaveStore store = open(directory, false)) {
+            assertEquals("after compaction", string(store.read("slot-1.sav")));
+            assertEquals("parental", string(store.read("parental.sav")));
+        }
+    }
+
+    @Test
+    void tornTailIsDiscarded() throws IOException {
+        File log = new File(directory, LogSaveStore.LOG_FILE);
+        try (SaveStore store = open(directory, false)) {
+            store.write("slot-1.sav", bytes("intact"));
+            store.write("slot-1.sav", bytes("torn by a crash"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.setLength(raf.length() - 3); // cut the last record short
+        }
+        try (SaveStore store = open(directory, false)) {
+            assertEquals("intact", string(store.read("slot-1.sav")), "A torn record should be dropped");
+            store.write("slot-1.sav", bytes("written over the torn tail"));
+        }
+        try (SaveStore store = open(directory, false)) {
+            assertEquals("written over the torn tail", string(store.read("slot-1.sav")));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.micros;
+import static com.kaobells.group44.Benchmarks.templateCharacter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Compares saving the game through the journal, the way {@link JsonHandler#saveDatabase()} does,
+ * with saving a slot's record in place in a {@link MappedSlotFile}.
+ *
+ * <p>For 3, 100 and 10,000 slots, it measures one {@code saveDatabase()}-style save of every slot
+ * (snapshot, binary encoding of each slot and the index, one forced journal record), one autosave
+ * of a single slot through the journal, and one autosave of a single slot in place, with and without
+ * forcing it to disk. The bytes column is what each save writes.</p>
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class MappedSlotBenchmark {
+
+    /** Slot counts measured by the benchmark. */
+    private static final int[] SLOT_COUNTS = {3, 100, 10_000};
+
+    /** Number of single-slot autosaves timed for each slot count. */
+    private static final int AUTOSAVES = 2_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     * @throws IOException If a save could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        File directory = Files.createTempDirectory("mapped-slot-benchmark").toFile();
+        CharacterClass template = templateCharacter();
+
+        System.out.printf("%8s | %14s %12s | %14s %12s | %14s %14s %8s%n", "slots",
+            "saveDb ms", "saveDb bytes", "journal us", "journal bytes", "mapped us", "mapped+force us", "bytes");
+        for (int slotCount : SLOT_COUNTS) {
+            Database database = new Database();
+            List<SlotSummary> summaries = new ArrayList<>();
+            for (int i = 1; i <= slotCount; i++) {
+                HashMap<String, Object> slot = new HashMap<>();
+                slot.put("character", template.snapshot());
+                database.games.put(String.valueOf(i), slot);
+                summaries.add(SlotSummary.of(String.valueOf(i), template, 0));
+            }
+
+            File journalFile = new File(directory, "journal-" + slotCount + ".log");
+            File recordFile = new File(directory, "slots-" + slotCount + ".map");
+            try (SaveJournal journal = new SaveJournal(journalFile);
+                 MappedSlotFile mapped = new MappedSlotFile(recordFile, null)) {
+                for (String slotId : database.games.keySet()) {
+                    mapped.register(slotId, template);
+                }
+                CharacterClass character = (CharacterClass) database.games.get("1").get("character");
+
+                int iterations = Math.max(3, 3_000 / slotCount);
+                long saveDatabaseBytes = 0;
+                for (int warmup = 0; warmup < 2; warmup++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        saveDatabaseBytes = saveDatabase(database, summaries, journal);
+                        journal.reset();
+                    }
+                    if (warmup == 1) {
+                        double saveDatabase = (System.nanoTime() - start) / 1_000_000.0 / iterations;
+                        System.out.printf("%8d | %14.3f %12d | ", slotCount, saveDatabase, saveDatabaseBytes);
+                    }
+                }
+
+                long journalBytes = 0;
+                double journalMicros = 0;
+                double mappedMicros = 0;
+                double forcedMicros = 0;
+                for (int warmup = 0; warmup < 2; warmup++) {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < AUTOSAVES; i++) {
+                        character.setScore(i);
+                        byte[] data = BinarySaveCodec.encodeSlot(database.snapshotSlot("1"));
+                        journal.append("slot-1.sav", data);
+                        journalBytes = data.length;
+                    }
+                    journalMicros = micros(start, AUTOSAVES);
+                    journal.reset();
+
+                    start = System.nanoTime();
+                    for (int i = 0; i < AUTOSAVES; i++) {
+                        character.setScore(i);
+                        mapped.write("1", character);
+                    }
+                    mappedMicros = micros(start, AUTOSAVES);
+
+                    start = System.nanoTime();
+                    for (int i = 0; i < AUTOSAVES; i++) {
+                        character.setScore(i);
+                        mapped.write("1", character);
+                        mapped.force();
+                    }
+                    forcedMicros = micros(start, AUTOSAVES);
+                }
+                System.out.printf("%14.2f %12d | %14.2f %14.2f %8d%n",
+                    journalMicros, journalBytes, mappedMicros, forcedMicros, MappedSlotFile.COPY_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Does the work {@link JsonHandler#saveDatabase()} does for every slot: snapshots each slot,
+     * encodes it and the slot index, and appends them to the journal as one forced record.
+     *
+     * @param database  The database to save.
+     * @param summaries The slot summaries written to the index.
+     * @param journal   The journal to append to.
+     * @return The number of bytes encoded.
+     * @throws IOException If the journal could not be written.
+     */
+    private static long saveDatabase(Database database, List<SlotSummary> summaries, SaveJournal journal) throws IOException {
+        LinkedHashMap<String, byte[]> files = new LinkedHashMap<>();
+        long bytes = 0;
+        for (String slotId : database.games.keySet()) {
+            byte[] data = BinarySaveCodec.encodeSlot(database.snapshotSlot(slotId));
+            files.put("slot-" + slotId + ".sav", data);
+            bytes += data.length;
+        }
+        byte[] index = BinarySaveCodec.encodeIndex(summaries);
+        files.put("index.sav", index);
+        journal.appendAll(files);
+        return bytes + index.length;
+    }
+}
@@ -0,0 +1,101 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Fixtures.character;
+import static com.kaobells.group44.Fixtures.slotWith;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+class MappedSlotFileTest {
+
+    /** Size of the record file header, before the first record. */
+    private static final int HEADER_SIZE = 16;
+
+    @TempDir
+    File directory;
+
+    /** Encodes a character the way its slot file would, to compare every persisted field at once. */
+    private static String encode(CharacterClass character) throws IOException {
+        return new String(JsonSaveCodec.encodeSlot(slotWith(character)), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void savedCharacterIsReadBackAfterReopening() throws IOException {
+        File recordFile = new File(directory, "slots.map");
+        CharacterClass saved = character(133);
+        byte[] names;
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, null)) {
+            assertTrue(slots.register("3", saved), "A new slot should change the side table");
+            assertTrue(slots.write("3", saved));
+            assertFalse(slots.register("3", saved), "Saving the same character again should not");
+            names = slots.encodeNames();
+        }
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, names)) {
+            assertEquals(encode(saved), encode(slots.read("3")), "Every persisted field should be read back");
+            SlotSummary summary = slots.summarize("3");
+            assertEquals("Jösh", summary.getName());
+            assertEquals(State.HUNGRY, summary.getState());
+            assertEquals(133, summary.getScore());
+        }
+    }
+
+    @Test
+    void tornCopyFallsBackToThePreviousSave() throws IOException {
+        File recordFile = new File(directory, "slots.map");
+        byte[] names;
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, null)) {
+            slots.register("1", character(1));
+            slots.write("1", character(1));
+            slots.write("1", character(2));
+            names = slots.encodeNames();
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(recordFile, "rw")) {
+            // the second save went to the second copy of the first record
+            raf.seek(HEADER_SIZE + MappedSlotFile.COPY_SIZE + 30);
+            raf.write(0x7F);
+        }
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, names)) {
+            assertEquals(1, slots.read("1").getScore(), "A damaged copy should be ignored in favour of the older one");
+            assertTrue(slots.write("1", character(3)), "The damaged copy should be the one overwritten next");
+            assertEquals(3, slots.read("1").getScore());
+        }
+    }
+
+    @Test
+    void olderCopyNeverReplacesNewerOne() throws IOException {
+        File recordFile = new File(directory, "slots.map");
+        byte[] names;
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, null)) {
+            slots.register("1", character(0));
+            byte[] journaled = slots.snapshot(character(10));
+            assertTrue(slots.write("1", character(20)));
+            assertFalse(slots.apply("1", journaled), "A journaled copy applied late should not undo a newer save");
+            assertEquals(20, slots.read("1").getScore());
+            names = slots.encodeNames();
+        }
+        try (MappedSlotFile slots = new MappedSlotFile(recordFile, names)) {
+            assertTrue(slots.write("1", character(30)), "Sequence numbers should carry on after reopening");
+            assertEquals(30, slots.read("1").getScore());
+        }
+    }
+
+    @Test
+    void reusedRecordStartsEmpty() throws IOException {
+        try (MappedSlotFile slots = new MappedSlotFile(new File(directory, "slots.map"), null)) {
+            for (int i = 1; i <= 40; i++) { // grows the file past its initial size
+                slots.register(Integer.toString(i), character(i));
+                slots.write(Integer.toString(i), character(i));
+            }
+            assertTrue(slots.remove("7"));
+            slots.register("41", character(41));
+            assertNull(slots.read("41"), "A new slot should not see the state of the slot that had its record");
+            assertEquals(40, slots.read("40").getScore());
+        }
+    }
+}
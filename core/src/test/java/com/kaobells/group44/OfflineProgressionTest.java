@@ -0,0 +1,74 @@
+package com.kaobells.group44;
+
+import org.junit.jupiter.api.Test;
+
+import static com.kaobells.group44.Fixtures.newPet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflineProgressionTest {
+
+    // what the game screen does each second, without the score it earns for playing
+    private static void tick(PetModel pet, long seconds) {
+        pet.stateDetermine();
+        for (long i = 0; i < seconds && !pet.isDead(); i++) {
+            pet.updateCooldowns(1);
+            pet.statBarTick();
+            pet.stateDetermine();
+        }
+    }
+
+    private static void assertSamePet(PetModel expected, PetModel actual, String message) {
+        assertEquals(expected.getState(), actual.getState(), message);
+        assertEquals(expected.getScore(), actual.getScore(), message);
+        assertEquals(expected.getHealth(), actual.getHealth(), 0.01f, message);
+        assertEquals(expected.getSleep(), actual.getSleep(), 0.01f, message);
+        assertEquals(expected.getHappiness(), actual.getHappiness(), 0.01f, message);
+        assertEquals(expected.getHunger(), actual.getHunger(), 0.01f, message);
+        assertEquals(expected.getStress(), actual.getStress(), 0.01f, message);
+        if (!expected.isDead()) {
+            assertArrayEquals(expected.getCompoundingStates(), actual.getCompoundingStates(), message);
+        }
+    }
+
+    @Test
+    void matchesTickingEverySecond() {
+        // 0.9 is not exact in a float, so a stat ticked down by it may run out a second early or late;
+        // none of these durations end on such a second
+        long[] durations = {1, 7, 45, 100, 300, 1000, 3600};
+        for (int type = 0; type < 5; type++) {
+            for (long seconds : durations) {
+                PetModel ticked = newPet(type, 1000);
+                PetModel skipped = newPet(type, 1000);
+                tick(ticked, seconds);
+                OfflineProgression.apply(skipped, seconds);
+                assertSamePet(ticked, skipped, "type " + type + " after " + seconds + "s");
+            }
+        }
+    }
+
+    @Test
+    void matchesTickingFromAWornOutPet() {
+        PetModel ticked = newPet(1, 1000);
+        ticked.setHealth(35f);
+        ticked.setSleep(12.5f);
+        ticked.setHappiness(0.5f);
+        ticked.setHunger(20f);
+        ticked.setDoctorCooldownRemaining(20f);
+        PetModel skipped = new PetModel(ticked);
+
+        tick(ticked, 90);
+        OfflineProgression.apply(skipped, 90);
+        assertSamePet(ticked, skipped, "a worn out pet should age the same either way");
+        assertEquals(0f, skipped.getDoctorCooldownRemaining(), "cooldowns should run down while away");
+    }
+
+    @Test
+    void aPetLeftAloneLongEnoughDies() {
+        PetModel pet = newPet(0, 1000);
+        OfflineProgression.apply(pet, 30L * 24 * 60 * 60);
+        assertTrue(pet.isDead(), "a month without care should be fatal");
+        assertEquals(State.DEAD, pet.getState());
+    }
+}
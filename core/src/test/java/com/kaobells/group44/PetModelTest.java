@@ -0,0 +1,67 @@
+package com.kaobells.group44;
+
+import org.junit.jupiter.api.Test;
+
+import static com.kaobells.group44.Fixtures.newPet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetModelTest {
+
+    @Test
+    void tickLowersStatsByTheTypeRates() {
+        PetModel pet = newPet(2);
+        pet.statBarTick();
+        assertEquals(99.1f, pet.getHappiness(), 1e-4f, "hasty pets should lose 0.9 happiness a second");
+        assertEquals(99.1f, pet.getHunger(), 1e-4f, "hasty pets should lose 0.9 fullness a second");
+        assertEquals(98.5f, pet.getSleep(), 1e-4f, "hasty pets should lose 1.5 sleep a second");
+        assertEquals(100f, pet.getHealth(), "health should only drop while hungry");
+        assertEquals((99.1f + 99.1f + 98.5f + 100f) / 4, pet.getStress(), 1e-4f, "stress should average the other stats");
+    }
+
+    @Test
+    void hangryPetsLoseHealthTwiceAsFast() {
+        PetModel pet = newPet(0);
+        pet.setHunger(0.5f);
+        pet.stateDetermine();
+        pet.statBarTick();
+        assertEquals(State.HUNGRY, pet.getState());
+        assertEquals(79.5f, pet.getHealth(), 1e-4f, "hungry pets should lose health at their rate");
+
+        pet.setHappiness(0.5f);
+        pet.stateDetermine();
+        pet.statBarTick();
+        assertEquals(State.ANGRY, pet.getState(), "angry should outrank hungry");
+        assertEquals(78.5f, pet.getHealth(), 1e-4f, "hangry pets should lose health at twice their rate");
+    }
+
+    @Test
+    void runningOutOfHealthKillsThePet() {
+        PetModel pet = newPet(3);
+        pet.setSleep(0.5f);
+        pet.stateDetermine(); // falling asleep costs 10 health, all a brave pet starts with
+        pet.stateDetermine();
+        assertTrue(pet.isDead(), "a pet out of health should die");
+        assertFalse(pet.exercise(), "a dead pet should not exercise");
+        assertFalse(pet.useItem(0), "a dead pet should not eat");
+    }
+
+    @Test
+    void actionsRespectCooldownsAndBlocks() {
+        PetModel pet = newPet(1);
+        pet.setHealth(50f);
+        assertTrue(pet.takeToDoctor(false));
+        assertEquals(70f, pet.getHealth(), "the doctor should heal 20 health");
+        assertFalse(pet.takeToDoctor(false), "the doctor should be on cooldown");
+
+        pet.updateCooldowns(30f);
+        pet.blockActions(5f);
+        assertFalse(pet.takeToDoctor(false), "a blocked pet should not go to the doctor");
+        pet.updateActionBlock(5f);
+        assertTrue(pet.takeToDoctor(false), "the doctor should be available once the cooldown and block are over");
+
+        assertTrue(pet.useItem(3));
+        assertEquals(100f, pet.getHappiness(), "a gift should raise happiness, up to 100");
+    }
+}
@@ -0,0 +1,109 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.micros;
+
+import java.util.Random;
+
+/**
+ * Measures how long a tick of 1,000, 10,000 and 100,000 pets takes through a {@link PetPopulation},
+ * compared with calling {@link PetModel#statBarTick()} and {@link PetModel#stateDetermine()} on
+ * each pet's own model.
+ *
+ * <p>Pets start with random stats and types, so some are asleep, angry, hungry or dead, as in a
+ * classroom left running. Each round ticks fresh pets for a minute, so few of them die.</p>
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class PetPopulationBenchmark {
+
+    /** Population sizes measured by the benchmark. */
+    private static final int[] PET_COUNTS = {1_000, 10_000, 100_000};
+
+    /** Seconds ticked from fresh pets, short enough that most of them are still alive. */
+    private static final int TICKS = 60;
+
+    /** Pet ticks per measurement, spread over fewer rounds the more pets there are. */
+    private static final int PET_TICKS = 20_000_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        System.out.printf("%8s | %14s %14s %8s%n", "pets", "models us/tick", "arrays us/tick", "speedup");
+        for (int petCount : PET_COUNTS) {
+            double models = 0;
+            double arrays = 0;
+            int rounds = Math.max(1, PET_TICKS / petCount / TICKS);
+            for (int warmup = 0; warmup < 3; warmup++) {
+                models = 0;
+                arrays = 0;
+                for (int round = 0; round < rounds; round++) {
+                    models += timeModels(newPets(petCount)) / rounds;
+                    arrays += timePopulation(newPets(petCount)) / rounds;
+                }
+            }
+            System.out.printf("%8d | %14.1f %14.1f %7.1fx%n", petCount, models, arrays, models / arrays);
+        }
+    }
+
+    /**
+     * Creates pets of random types and stats, the same ones for the same count.
+     *
+     * @param petCount The number of pets.
+     * @return The pets.
+     */
+    private static PetModel[] newPets(int petCount) {
+        Random random = new Random(petCount);
+        PetModel[] pets = new PetModel[petCount];
+        for (int i = 0; i < petCount; i++) {
+            int type = random.nextInt(5);
+            PetModel pet = new PetModel();
+            pet.setUpStats(type);
+            pet.modifyModifiers(type);
+            pet.setSleep(random.nextFloat() * 100);
+            pet.setHappiness(random.nextFloat() * 100);
+            pet.setHunger(random.nextFloat() * 100);
+            pet.stateDetermine();
+            pets[i] = pet;
+        }
+        return pets;
+    }
+
+    /**
+     * Ticks every pet on its own model.
+     *
+     * @param pets The pets.
+     * @return The average time per tick, in microseconds.
+     */
+    private static double timeModels(PetModel[] pets) {
+        long start = System.nanoTime();
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (PetModel pet : pets) {
+                pet.statBarTick();
+                pet.stateDetermine();
+            }
+        }
+        return micros(start, TICKS);
+    }
+
+    /**
+     * Ticks every pet through a population.
+     *
+     * @param pets The pets.
+     * @return The average time per tick, in microseconds.
+     */
+    private static double timePopulation(PetModel[] pets) {
+        PetPopulation population = new PetPopulation(pets.length);
+        for (PetModel pet : pets) {
+            population.add(pet);
+        }
+        long start = System.nanoTime();
+        for (int tick = 0; tick < TICKS; tick++) {
+            population.tick();
+        }
+        return micros(start, TICKS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.kaobells.group44;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PetPopulationTest {
+
+    private static PetModel randomPet(Random random) {
+        int type = random.nextInt(5);
+        PetModel pet = new PetModel();
+        pet.setUpStats(type);
+        pet.modifyModifiers(type);
+        pet.setScore(random.nextInt(500));
+        pet.setHealth(random.nextFloat() * 100);
+        pet.setSleep(random.nextFloat() * 100);
+        pet.setHappiness(random.nextFloat() * 100);
+        pet.setHunger(random.nextFloat() * 100);
+        pet.stateDetermine();
+        pet.determineStress();
+        return pet;
+    }
+
+    private static void assertSamePet(PetModel expected, PetPopulation population, int i, String message) {
+        assertEquals(expected.getState(), population.getState(i), message);
+        assertEquals(expected.getScore(), population.getScore(i), message);
+        assertEquals(expected.getHealth(), population.getHealth(i), message);
+        assertEquals(expected.getSleep(), population.getSleep(i), message);
+        assertEquals(expected.getHappiness(), population.getHappiness(i), message);
+        assertEquals(expected.getHunger(), population.getHunger(i), message);
+        assertEquals(expected.getStress(), population.getStress(i), message);
+    }
+
+    @Test
+    void ticksExactlyLikeEachPetOnItsOwn() {
+        Random random = new Random(44);
+        List<PetModel> pets = new ArrayList<>();
+        PetPopulation population = new PetPopulation(8); // grows past its capacity
+        for (int i = 0; i < 200; i++) {
+            PetModel pet = randomPet(random);
+            pets.add(pet);
+            assertEquals(i, population.add(new PetModel(pet)));
+        }
+
+        for (int second = 1; second <= 400; second++) {
+            population.tick();
+            for (int i = 0; i < pets.size(); i++) {
+                PetModel pet = pets.get(i);
+                pet.statBarTick();
+                pet.stateDetermine();
+                assertSamePet(pet, population, i, "pet " + i + " after " + second + "s");
+            }
+        }
+    }
+
+    @Test
+    void copiesThePetBackOntoAModel() {
+        PetModel pet = new PetModel();
+        pet.setUpStats(1);
+        pet.modifyModifiers(1);
+        pet.setHunger(0.5f);
+        PetPopulation population = new PetPopulation(1);
+        population.add(pet);
+        population.tick();
+
+        PetModel copy = new PetModel(pet);
+        population.copyTo(0, copy);
+        pet.statBarTick();
+        pet.stateDetermine();
+        assertEquals(State.HUNGRY, copy.getState());
+        assertEquals(pet.getHealth(), copy.getHealth(), "the copy should carry the ticked stats");
+        assertEquals(pet.getScore(), copy.getScore(), "the copy should carry the hunger penalty");
+        assertTrue(copy.getCompoundingStates()[PetModel.HUNGRY_INDEX], "the copy should be hungry");
+    }
+}
@@ -0,0 +1,29 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class SaveChecksumTest {
+
+    @Test
+    void sealedDataIsVerifiedAndStripped() throws IOException {
+        byte[] data = "{\"character\": {\"name\": \"josh\"}}".getBytes(StandardCharsets.UTF_8);
+        byte[] sealed = SaveChecksum.seal(data);
+        assertTrue(SaveChecksum.isSealed(sealed));
+        assertArrayEquals(data, SaveChecksum.open(sealed), "Opening should give back the data that was sealed");
+        assertArrayEquals(data, SaveChecksum.open(data), "Files saved without a checksum should load unchecked");
+
+        sealed[5] ^= 1;
+        assertThrows(IOException.class, () -> SaveChecksum.open(sealed), "A flipped bit should be detected");
+    }
+
+    @Test
+    void compressedDataIsLeftToGzip() {
+        byte[] compressed = {0x1F, (byte) 0x8B, 8, 0};
+        assertSame(compressed, SaveChecksum.seal(compressed));
+    }
+}
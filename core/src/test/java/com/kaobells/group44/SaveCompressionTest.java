@@ -0,0 +1,79 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Fixtures.character;
+import static com.kaobells.group44.Fixtures.slotWith;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+
+class SaveCompressionTest {
+
+    @TempDir
+    File directory;
+
+    private static HashMap<String, Object> slot() {
+        return slotWith(character("J\u00f6sh \uD83D\uDC3E")); // the name needs multi-byte UTF-8
+    }
+
+    @Test
+    void compressedSlotIsDetectedAndReadBack() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = SaveCompression.newWriter(bytes)) {
+            JsonSaveCodec.writeSlot(out, slot());
+        }
+        byte[] compressed = bytes.toByteArray();
+        byte[] plain = JsonSaveCodec.encodeSlot(slot());
+
+        assertTrue(SaveCompression.isCompressed(compressed));
+        assertFalse(SaveCompression.isCompressed(plain), "JSON should never look compressed");
+        assertFalse(SaveCompression.isCompressed(BinarySaveCodec.encodeSlot(slot())), "Neither should binary saves");
+        assertArrayEquals(plain, JsonSaveCodec.encodeSlot(
+            JsonSaveCodec.decodeSlot(SaveCompression.newReader(new ByteArrayInputStream(compressed)))));
+        assertArrayEquals(plain, JsonSaveCodec.encodeSlot(
+            JsonSaveCodec.decodeSlot(SaveCompression.newReader(new ByteArrayInputStream(plain)))),
+            "Plain files should be read as they are");
+    }
+
+    @Test
+    void streamedCompressedExportMatchesPlainExport() throws IOException {
+        Database database = new Database();
+        for (int i = 1; i <= 200; i++) {
+            database.games.put(String.valueOf(i), slot());
+        }
+        BufferedChannelWriter writer = new BufferedChannelWriter(64);
+        File plain = new File(directory, "export.json");
+        File compressed = new File(directory, "export.jsonz");
+        AtomicFileWriter.write(plain, channel -> {
+            writer.open(channel);
+            JsonSaveCodec.writeDatabase(writer, database);
+            writer.finish();
+        });
+        AtomicFileWriter.write(compressed, channel -> {
+            try (OutputStream deflated = SaveCompression.compress(channel)) {
+                writer.open(Channels.newChannel(deflated));
+                JsonSaveCodec.writeDatabase(writer, database);
+                writer.finish();
+            }
+            assertTrue(channel.isOpen(), "Finishing the compressed stream should leave the file open to be forced");
+        });
+
+        assertTrue(compressed.length() * 10 < plain.length(), "Repetitive slots should compress well");
+        Database decoded = JsonSaveCodec.decodeDatabase(SaveCompression.newReader(new FileInputStream(compressed)));
+        String expected = new String(Files.readAllBytes(plain.toPath()), StandardCharsets.UTF_8);
+        assertEquals(JsonSaveCodec.encodeDatabase(JsonSaveCodec.decodeDatabase(expected)),
+            JsonSaveCodec.encodeDatabase(decoded), "The compressed export should hold the same document");
+    }
+}
@@ -0,0 +1,98 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.millis;
+import static com.kaobells.group44.Benchmarks.templateCharacter;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * Compares the pretty-printed JSON save format with the compact binary format of
+ * {@link BinarySaveCodec}: encode time, decode time and size, for 3, 100 and 10,000 slots.
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class SaveFormatBenchmark {
+
+    /** Slot counts measured by the benchmark. */
+    private static final int[] SLOT_COUNTS = {3, 100, 10_000};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     * @throws IOException If the binary codec fails.
+     */
+    public static void main(String[] args) throws IOException {
+        Json json = new Json();
+        json.setOutputType(JsonWriter.OutputType.json);
+        json.setIgnoreUnknownFields(true);
+        CharacterClass template = templateCharacter();
+
+        System.out.printf("%8s | %12s %12s %12s | %12s %12s %12s%n",
+            "slots", "json enc ms", "json dec ms", "json bytes", "bin enc ms", "bin dec ms", "bin bytes");
+        for (int slotCount : SLOT_COUNTS) {
+            Database database = createDatabase(template, slotCount);
+            int iterations = Math.max(3, 30_000 / slotCount);
+
+            // warm up both paths before timing
+            for (int i = 0; i < iterations; i++) {
+                json.fromJson(Database.class, json.prettyPrint(database));
+                BinarySaveCodec.decodeDatabase(BinarySaveCodec.encodeDatabase(database));
+            }
+
+            String jsonString = null;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                jsonString = json.prettyPrint(database);
+            }
+            double jsonEncode = millis(start, iterations);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                json.fromJson(Database.class, jsonString);
+            }
+            double jsonDecode = millis(start, iterations);
+
+            byte[] binary = null;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                binary = BinarySaveCodec.encodeDatabase(database);
+            }
+            double binaryEncode = millis(start, iterations);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                BinarySaveCodec.decodeDatabase(binary);
+            }
+            double binaryDecode = millis(start, iterations);
+
+            System.out.printf("%8d | %12.3f %12.3f %12d | %12.3f %12.3f %12d%n", slotCount,
+                jsonEncode, jsonDecode, jsonString.getBytes(StandardCharsets.UTF_8).length,
+                binaryEncode, binaryDecode, binary.length);
+        }
+    }
+
+    /**
+     * Builds a database holding copies of the template character in the given number of slots.
+     *
+     * @param template  The character copied into every slot.
+     * @param slotCount The number of slots.
+     * @return The database.
+     */
+    private static Database createDatabase(CharacterClass template, int slotCount) {
+        Database database = new Database();
+        for (int i = 1; i <= slotCount; i++) {
+            HashMap<String, Object> slot = new HashMap<>();
+            slot.put("character", template.snapshot());
+            database.games.put(String.valueOf(i), slot);
+        }
+        database.parentalControls.setTotalSessionsPlayed(197);
+        database.parentalControls.setTotalSecondsPlayed(112);
+        database.parentalControls.setPassword("1234");
+        return database;
+    }
+}
@@ -0,0 +1,88 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Fixtures.character;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class SaveHistoryTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void everyKeptVersionCanBeRestored() throws IOException {
+        SaveHistory history = new SaveHistory(directory, 20, 8, 64 * 1024);
+        for (int score = 1; score <= 30; score++) {
+            history.record("1", character(score), score);
+        }
+        assertEquals(30, history.record("1", character(30), 31), "An unchanged character should not add a version");
+
+        List<SaveHistory.Version> versions = history.list("1");
+        assertEquals(20, versions.size(), "Only the newest versions should be kept");
+        assertEquals(11, versions.get(0).getNumber());
+        assertTrue(versions.get(0).isKeyframe(), "The oldest kept version should be stored in full");
+        for (SaveHistory.Version version : versions) {
+            assertEquals((int) version.getNumber(), history.restore("1", version.getNumber()).getScore());
+        }
+        assertNull(history.restore("1", 3), "A dropped version should not be restorable");
+    }
+
+    @Test
+    void deltasAreSmallerThanKeyframes() throws IOException {
+        SaveHistory history = new SaveHistory(directory, 20, 4, 64 * 1024);
+        for (int score = 1; score <= 9; score++) {
+            history.record("1", character(score), score);
+        }
+        List<SaveHistory.Version> versions = history.list("1");
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(i % 4 == 0, versions.get(i).isKeyframe(), "Every fourth version should be a keyframe");
+        }
+        assertTrue(versions.get(1).getStoredSize() < versions.get(0).getStoredSize() / 2,
+            "A score change should take a fraction of a full copy");
+    }
+
+    @Test
+    void historyStaysWithinItsSizeBound() throws IOException {
+        SaveHistory history = new SaveHistory(directory, 1000, 8, 600);
+        for (int score = 1; score <= 200; score++) {
+            history.record("1", character(score), score);
+            assertTrue(history.size("1") <= 600 + 100, "The history should be compacted once it passes its bound");
+        }
+        List<SaveHistory.Version> versions = history.list("1");
+        assertEquals(200, versions.get(versions.size() - 1).getNumber());
+        assertEquals(200, history.restore("1", 200).getScore());
+    }
+
+    @Test
+    void tornVersionIsDropped() throws IOException {
+        SaveHistory history = new SaveHistory(directory, 20, 8, 64 * 1024);
+        for (int score = 1; score <= 3; score++) {
+            history.record("1", character(score), score);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(new File(directory, "slot-1.hist"), "rw")) {
+            raf.setLength(raf.length() - 3); // cut the newest version short
+        }
+        SaveHistory reopened = new SaveHistory(directory, 20, 8, 64 * 1024);
+        assertEquals(2, reopened.list("1").size());
+        assertEquals(3, reopened.record("1", character(5), 5), "Versions should carry on after the torn one");
+        assertEquals(5, reopened.restore("1", 3).getScore());
+        assertEquals(2, reopened.restore("1", 2).getScore());
+    }
+
+    @Test
+    void deltaHandlesLengthChanges() {
+        byte[] base = "a fairly long name, then stats".getBytes(StandardCharsets.UTF_8);
+        byte[] target = "a short name, then stats and more".getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(target, SaveHistory.patch(base, ByteBuffer.wrap(SaveHistory.diff(base, target))));
+        assertArrayEquals(base, SaveHistory.patch(target, ByteBuffer.wrap(SaveHistory.diff(target, base))));
+    }
+}
@@ -0,0 +1,127 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class SaveJournalTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void replayReturnsNewestUpdatePerFile() throws IOException {
+        File file = new File(directory, "journal.log");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("first"));
+            journal.append("parental.json", bytes("parental"));
+            journal.append("slot-1.json", bytes("second"));
+        }
+        try (SaveJournal journal = new SaveJournal(file)) {
+            Map<String, byte[]> updates = journal.replay();
+            assertEquals(2, updates.size(), "One update per file should be replayed");
+            assertEquals("second", string(updates.get("slot-1.json")), "The newest update should win");
+            assertEquals("parental", string(updates.get("parental.json")));
+        }
+    }
+
+    @Test
+    void readSeesUpdatesWithoutOwningTheJournal() throws IOException {
+        File file = new File(directory, "journal.log");
+        assertTrue(SaveJournal.read(file).isEmpty(), "A missing journal holds no updates");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("saved by the lock holder"));
+            assertEquals("saved by the lock holder", string(SaveJournal.read(file).get("slot-1.json")),
+                "Updates should be visible while the journal is still open");
+        }
+    }
+
+    @Test
+    void tornTailIsIgnored() throws IOException {
+        File file = new File(directory, "journal.log");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("intact"));
+            journal.append("slot-1.json", bytes("torn by a crash"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3); // cut the last record short
+        }
+        try (SaveJournal journal = new SaveJournal(file)) {
+            assertEquals("intact", string(journal.replay().get("slot-1.json")), "A torn record should be dropped");
+        }
+    }
+
+    @Test
+    void batchIsReplayedTogether() throws IOException {
+        File file = new File(directory, "journal.log");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("before"));
+            LinkedHashMap<String, byte[]> batch = new LinkedHashMap<>();
+            batch.put("slot-1.json", bytes("slot"));
+            batch.put("parental.json", bytes("parental"));
+            journal.appendAll(batch);
+        }
+        try (SaveJournal journal = new SaveJournal(file)) {
+            Map<String, byte[]> updates = journal.replay();
+            assertEquals("slot", string(updates.get("slot-1.json")), "The batch should replace older updates");
+            assertEquals("parental", string(updates.get("parental.json")));
+        }
+    }
+
+    @Test
+    void tornBatchIsDroppedWhole() throws IOException {
+        File file = new File(directory, "journal.log");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("intact"));
+            LinkedHashMap<String, byte[]> batch = new LinkedHashMap<>();
+            batch.put("slot-1.json", bytes("slot"));
+            batch.put("parental.json", bytes("parental"));
+            journal.appendAll(batch);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3); // cut the batch short, after its first update
+        }
+        try (SaveJournal journal = new SaveJournal(file)) {
+            Map<String, byte[]> updates = journal.replay();
+            assertEquals("intact", string(updates.get("slot-1.json")), "No part of a torn batch should be replayed");
+            assertNull(updates.get("parental.json"));
+        }
+    }
+
+    @Test
+    void resetEmptiesJournal() throws IOException {
+        File file = new File(directory, "journal.log");
+        try (SaveJournal journal = new SaveJournal(file)) {
+            journal.append("slot-1.json", bytes("data"));
+            assertTrue(journal.size() > 0, "Append should grow the journal");
+            journal.reset();
+            assertEquals(0, journal.size(), "Reset should empty the journal");
+            assertTrue(journal.replay().isEmpty(), "An empty journal has nothing to replay");
+        }
+    }
+
+    @Test
+    void atomicWriteReplacesContents() throws IOException {
+        File target = new File(directory, "slot-1.json");
+        AtomicFileWriter.write(target, bytes("old"));
+        AtomicFileWriter.write(target, bytes("new"));
+        assertEquals("new", string(Files.readAllBytes(target.toPath())));
+        assertFalse(new File(directory, "slot-1.json.tmp").exists(), "The temporary file should be renamed away");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+class SaveLockTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void onlyOneInstanceHoldsTheLock() throws IOException {
+        File file = new File(directory, "saves/session.lock");
+        SaveLock first = new SaveLock(file);
+        SaveLock second = new SaveLock(file);
+        try {
+            assertTrue(first.tryAcquire(), "The first instance should get the lock");
+            assertFalse(second.tryAcquire(), "A second instance should fall back to read-only");
+            assertFalse(second.isHeld());
+
+            first.close();
+            assertTrue(second.tryAcquire(), "The lock should be free once its holder exits");
+        } finally {
+            second.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+class SaveSchemaTest {
+
+    /** Slot 1 of the original database.json: no health, and animation timers persisted by the reflective writer. */
+    private static final String LEGACY_SLOT = "{\"character\": {"
+        + "\"class\": \"com.kaobells.group44.CharacterClass\", \"name\": \"BR\", \"slot\": \"1\", \"score\": 298,"
+        + "\"characterNumber\": 4, \"characterType\": \"serious\", \"sleep\": 87.25, \"happiness\": 92.5,"
+        + "\"fullness\": 65.5, \"stress\": 86.3125, \"compoundingStates\": [false, false, true],"
+        + "\"blinkDurationTimer\": 0.5164263, \"sleepTimer\": 0.31245327, \"isSleepState1\": false,"
+        + "\"hungerTimer\": 0.083709404}}";
+
+    @Test
+    void legacySlotIsUpgradedToTheCurrentLayout() throws IOException {
+        HashMap<String, Object> slot = JsonSaveCodec.decodeSlot(LEGACY_SLOT.getBytes(StandardCharsets.UTF_8));
+        CharacterClass character = (CharacterClass) slot.get("character");
+        assertEquals(0, character.getLoadedSchemaVersion(), "Saves without a version predate the schema");
+        assertEquals(298, character.getScore());
+        assertEquals(100.0f, character.getHealth(), "Missing stats should start where a new character does");
+        assertEquals(State.NEUTRAL, character.getState(), "A missing state should not be read back as null");
+        assertEquals(6, character.getInventory().length, "A missing inventory should be filled in");
+
+        JsonValue upgraded = new JsonReader().parse(
+            new String(JsonSaveCodec.encodeSlot(slot), StandardCharsets.UTF_8)).get("character");
+        assertEquals(SaveSchema.CURRENT_VERSION, upgraded.getInt(SaveSchema.VERSION_KEY));
+        assertNull(upgraded.get("sleepTimer"), "Animation timers should not survive the upgrade");
+        assertTrue(upgraded.get("compoundingStates").asBooleanArray()[2], "Saved values should be kept");
+
+        CharacterClass reread = (CharacterClass) JsonSaveCodec.decodeSlot(JsonSaveCodec.encodeSlot(slot)).get("character");
+        assertEquals(SaveSchema.CURRENT_VERSION, reread.getLoadedSchemaVersion(), "An upgraded slot should only be migrated once");
+    }
+
+    @Test
+    void migrationsRunInOrderFromTheSavedVersion() {
+        JsonValue character = new JsonReader().parse("{\"schemaVersion\": 1, \"name\": \"josh\", \"hungerTimer\": 2.5}");
+        assertEquals(1, SaveSchema.upgrade(character));
+        assertNotNull(character.get("hungerTimer"), "Version 1 saves should not be run through earlier migrations");
+        assertEquals("NEUTRAL", character.getString("state"));
+        assertEquals(SaveSchema.CURRENT_VERSION, character.getInt(SaveSchema.VERSION_KEY));
+    }
+
+    @Test
+    void newerSchemaIsRejected() {
+        JsonValue character = new JsonReader().parse("{\"schemaVersion\": " + (SaveSchema.CURRENT_VERSION + 1) + "}");
+        assertThrows(SerializationException.class, () -> SaveSchema.upgrade(character));
+    }
+}
@@ -0,0 +1,187 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistence tests every {@link SaveStore} must pass, run against each backend by a subclass.
+ */
+abstract class SaveStoreTest {
+
+    @TempDir
+    File directory;
+
+    abstract SaveStore open(File directory, boolean readOnly) throws IOException;
+
+    @Test
+    void writeReplacesContents() throws IOException {
+        try (SaveStore store = open(directory, false)) {
+            assertNull(store.read("slot-1.sav"), "A new store holds no entries");
+            store.write("slot-1.sav", bytes("first"));
+            store.write("slot-1.sav", bytes("second"));
+            assertEquals("second", string(store.read("slot-1.sav")), "The newest contents should be read back");
+        }
+    }
+
+    @Test
+    void writeAllReplacesAndDeletesTogether() throws IOException {
+        try (SaveStore store = open(directory, false)) {
+            store.write("slot-1.sav", bytes("slot"));
+            store.write("slot-2.sav", bytes("removed"));
+            LinkedHashMap<String, byte[]> update = new LinkedHashMap<>();
+            update.put("slot-1.sav", bytes("updated"));
+            update.put("slot-2.sav", null);
+            update.put("parental.sav", bytes("parental"));
+            store.writeAll(update);
+            assertEquals("updated", string(store.read("slot-1.sav")));
+            assertNull(store.read("slot-2.sav"), "A null value should delete the entry");
+            assertEquals("parental", string(store.read("parental.sav")));
+            assertFalse(store.list().contains("slot-2.sav"), "A deleted entry should not be listed");
+        }
+    }
+
+    @Test
+    void entriesSurviveReopen() throws IOException {
+        try (SaveStore store = open(directory, false)) {
+            store.write("slot-1.sav", bytes("kept"));
+            store.write("slot-2.sav", bytes("removed"));
+            store.writeAll(Collections.singletonMap("slot-2.sav", null));
+            store.write("index.sav", bytes("index"));
+        }
+        try (SaveStore store = open(directory, false)) {
+            assertEquals("kept", string(store.read("slot-1.sav")), "Entries should survive closing without a checkpoint");
+            assertNull(store.read("slot-2.sav"), "Deletions should survive closing without a checkpoint");
+            store.checkpoint();
+        }
+        try (SaveStore store = open(directory, false)) {
+            assertEquals("kept", string(store.read("slot-1.sav")), "Entries should survive a checkpoint");
+            assertEquals("index", string(store.read("index.sav")));
+            assertTrue(store.list().contains("slot-1.sav"));
+            assertFalse(store.list().contains("slot-2.sav"));
+        }
+    }
+
+    @Test
+    void readOnlyStoreSeesWritesAndRefusesOwn() throws IOException {
+        try (SaveStore writer = open(directory, false)) {
+            writer.write("slot-1.sav", bytes("saved"));
+            try (SaveStore reader = open(directory, true)) {
+                assertEquals("saved", string(reader.read("slot-1.sav")), "A reader should see entries not yet checkpointed");
+                assertThrows(IOException.class, () -> reader.write("slot-1.sav", bytes("refused")),
+                    "A read-only store must not be written");
+            }
+            long stamp = writer.stamp();
+            writer.write("slot-1.sav", bytes("saved again, with more bytes"));
+            assertNotEquals(stamp, writer.stamp(), "A write should change the stamp");
+        }
+    }
+
+    @Test
+    void frequentSmallWritesStayBounded() throws IOException {
+        try (SaveStore store = open(directory, false)) {
+            byte[] data = new byte[200];
+            for (int i = 0; i < 2000; i++) {
+                data[0] = (byte) i;
+                store.write("slot-1.sav", data);
+                if (store.needsCheckpoint()) {
+                    store.checkpoint();
+                }
+            }
+            assertEquals((byte) 1999, store.read("slot-1.sav")[0], "The newest write should be read back");
+            assertFalse(store.needsCheckpoint(), "Checkpoints should keep up with the writes");
+        }
+        assertTrue(sizeOf(directory) < 128 * 1024, "The store should not keep every version: " + sizeOf(directory));
+    }
+
+    @Test
+    void readsDoNotWaitForWrites() throws Exception {
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try (SaveStore store = open(directory, false)) {
+            store.write("slot-1.sav", bytes("saved"));
+            synchronized (store) { // as a write or checkpoint in progress holds it
+                Future<byte[]> read = reader.submit(() -> store.read("slot-1.sav"));
+                assertEquals("saved", string(read.get(5, TimeUnit.SECONDS)), "A read should not wait for the store's lock");
+            }
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    void parallelReadsSeeWholeVersionsDuringWritesAndCheckpoints() throws Exception {
+        int slots = 8;
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try (SaveStore store = open(directory, false)) {
+            for (int slot = 0; slot < slots; slot++) {
+                store.write("slot-" + slot + ".sav", version(slot, 0));
+            }
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(readers.submit(() -> {
+                    int count = 0;
+                    do {
+                        for (int slot = 0; slot < slots; slot++) {
+                            byte[] data = store.read("slot-" + slot + ".sav");
+                            assertNotNull(data, "An entry should never disappear while it is rewritten");
+                            for (byte b : data) {
+                                assertEquals(data[0], b, "A read should see one whole version");
+                            }
+                            count++;
+                        }
+                    } while (writing.get());
+                    return count;
+                }));
+            }
+            for (int round = 1; round <= 200; round++) {
+                store.write("slot-" + round % slots + ".sav", version(round % slots, round));
+                if (round % 25 == 0) {
+                    store.checkpoint();
+                }
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                assertTrue(read.get(30, TimeUnit.SECONDS) > 0, "Every reader should have read");
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    static byte[] version(int slot, int round) {
+        byte[] data = new byte[512 + slot * 64]; // entries of different sizes move when compacted
+        Arrays.fill(data, (byte) round);
+        return data;
+    }
+
+    static long sizeOf(File directory) {
+        long size = 0;
+        for (File file : directory.listFiles()) {
+            size += file.isDirectory() ? sizeOf(file) : file.length();
+        }
+        return size;
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
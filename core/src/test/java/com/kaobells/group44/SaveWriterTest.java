@@ -0,0 +1,56 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SaveWriterTest {
+
+    @Test
+    void flushWaitsForPendingJobs() {
+        SaveWriter writer = new SaveWriter("test-writer");
+        AtomicInteger written = new AtomicInteger();
+        writer.submit("a", written::incrementAndGet);
+        writer.submit("b", written::incrementAndGet);
+        writer.flush();
+        assertEquals(2, written.get(), "Both jobs should be written after flush");
+        writer.shutdown();
+    }
+
+    @Test
+    void burstForSameKeyIsCoalesced() throws InterruptedException {
+        SaveWriter writer = new SaveWriter("test-writer");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        AtomicInteger lastValue = new AtomicInteger();
+        // hold the writer thread busy so the burst queues up behind it
+        writer.submit("block", () -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await(); // the writer has taken the blocking job off the queue
+        for (int i = 1; i <= 10; i++) {
+            int value = i;
+            writer.submit("slot", () -> lastValue.set(value));
+        }
+        blocker.countDown();
+        writer.flush();
+        assertEquals(10, lastValue.get(), "The newest job should win");
+        assertEquals(11, writer.getSubmittedCount(), "Every submission should be counted");
+        assertEquals(2, writer.getWrittenCount(), "The burst should collapse into one write");
+        writer.shutdown();
+    }
+
+    @Test
+    void submitAfterShutdownFails() {
+        SaveWriter writer = new SaveWriter("test-writer");
+        writer.shutdown();
+        assertThrows(IllegalStateException.class, () -> writer.submit("a", () -> { }));
+    }
+}
@@ -0,0 +1,73 @@
+package com.kaobells.group44;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationClockTest {
+
+    @Test
+    void simulatesTheSameStepsWhateverTheFrameRate() {
+        SimulationClock smooth = new SimulationClock();
+        SimulationClock stalled = new SimulationClock();
+        AtomicInteger smoothSteps = new AtomicInteger();
+        AtomicInteger stalledSteps = new AtomicInteger();
+
+        for (int frame = 0; frame < 120; frame++) {
+            smooth.advance(1f / 120f, smoothSteps::incrementAndGet);
+        }
+        stalled.advance(0.75f, stalledSteps::incrementAndGet); // a stall, caught up over the next frames
+        stalled.advance(0.25f, stalledSteps::incrementAndGet);
+
+        assertEquals(60, smoothSteps.get(), "a second of short frames should run a second of steps");
+        assertEquals(smoothSteps.get(), stalledSteps.get(), "a stalled second should run the same steps");
+        assertTrue(smooth.getAlpha() < 1f, "the leftover frame time should be less than a step");
+    }
+
+    @Test
+    void limitsHowFarALongStallIsCaughtUp() {
+        SimulationClock clock = new SimulationClock();
+        AtomicInteger steps = new AtomicInteger();
+
+        int run = clock.advance(60f, steps::incrementAndGet);
+        while (clock.advance(0f, steps::incrementAndGet) > 0) {
+            assertTrue(steps.get() > run, "each frame should catch up some of the backlog");
+        }
+
+        assertEquals(SimulationClock.MAX_STEPS_PER_FRAME, run, "a single frame should run a bounded number of steps");
+        assertEquals(Math.round(SimulationClock.MAX_BACKLOG / SimulationClock.STEP), steps.get(),
+            "time behind beyond the backlog limit should be dropped");
+    }
+
+    @Test
+    void runsTasksInSimulatedTime() {
+        SimulationClock clock = new SimulationClock();
+        AtomicInteger repeats = new AtomicInteger();
+        SimulationClock.Task once = clock.schedule(new SimulationClock.Task() {
+            @Override
+            public void run() {
+                repeats.addAndGet(100);
+            }
+        }, 0.5f);
+        SimulationClock.Task repeating = clock.schedule(new SimulationClock.Task() {
+            @Override
+            public void run() {
+                repeats.incrementAndGet();
+            }
+        }, 0f, 0.25f);
+
+        for (int frame = 0; frame < 60; frame++) {
+            clock.advance(1f / 60f, () -> { });
+        }
+        repeating.cancel();
+        clock.advance(1f, () -> { });
+
+        assertFalse(once.isScheduled(), "a one-off task should be unscheduled once it has run");
+        assertFalse(repeating.isScheduled(), "a cancelled task should be unscheduled");
+        assertEquals(104, repeats.get(), "the tasks should run on schedule and stop once cancelled");
+    }
+}
@@ -0,0 +1,140 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Benchmarks.millis;
+import static com.kaobells.group44.Benchmarks.templateCharacter;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how loading slots through the {@link SlotLoader} scales with the number of cores:
+ * the time to read and decode 1, 100 and 10,000 slots one at a time on a single thread,
+ * compared with the fork/join loader at 1, 2, 4 and more worker threads, up to the number of
+ * available cores, in the binary and JSON save formats.
+ *
+ * <p>Slots are read from memory, so only decoding is measured, not the disk.</p>
+ *
+ * <p>This is not a unit test. Run its {@code main} method from the IDE, or with the
+ * test classpath, to print a results table.</p>
+ */
+public class SlotLoadBenchmark {
+
+    /** Slot counts measured by the benchmark. */
+    private static final int[] SLOT_COUNTS = {1, 100, 10_000};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Unused.
+     * @throws IOException If a slot could not be encoded or decoded.
+     */
+    public static void main(String[] args) throws IOException {
+        CharacterClass template = templateCharacter();
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> parallelisms = new ArrayList<>();
+        for (int parallelism = 1; parallelism < cores; parallelism *= 2) {
+            parallelisms.add(parallelism);
+        }
+        parallelisms.add(cores);
+
+        System.out.println("Available cores: " + cores);
+        System.out.printf("%8s %7s | %12s", "slots", "format", "serial ms");
+        for (int parallelism : parallelisms) {
+            System.out.printf(" %12s", "fj x" + parallelism);
+        }
+        System.out.println();
+        for (int slotCount : SLOT_COUNTS) {
+            List<String> slotIds = new ArrayList<>();
+            Map<String, byte[]> binaryEntries = new HashMap<>();
+            Map<String, byte[]> jsonEntries = new HashMap<>();
+            for (int i = 1; i <= slotCount; i++) {
+                CharacterClass character = template.snapshot();
+                character.setScore(i);
+                HashMap<String, Object> slot = new HashMap<>();
+                slot.put("character", character);
+                String slotId = String.valueOf(i);
+                slotIds.add(slotId);
+                binaryEntries.put(slotId, SaveChecksum.seal(BinarySaveCodec.encodeSlot(slot)));
+                jsonEntries.put(slotId, SaveChecksum.seal(JsonSaveCodec.encodeSlot(slot)));
+            }
+            int iterations = Math.max(3, 3_000 / slotCount);
+            printRow(slotCount, "binary", slotIds, binaryEntries, parallelisms, iterations);
+            printRow(slotCount, "json", slotIds, jsonEntries, parallelisms, Math.max(1, iterations / 4));
+        }
+    }
+
+    /**
+     * Times loading every slot serially and through loaders of each parallelism, and prints one row.
+     *
+     * @param slotCount     The number of slots.
+     * @param format        The name of the save format, for the table.
+     * @param slotIds       The IDs of every slot.
+     * @param entries       The sealed contents of every slot, keyed by slot ID.
+     * @param parallelisms  The numbers of worker threads to measure.
+     * @param iterations    The number of times every slot is loaded per measurement.
+     * @throws IOException If a slot could not be decoded.
+     */
+    private static void printRow(int slotCount, String format, List<String> slotIds, Map<String, byte[]> entries,
+                                 List<Integer> parallelisms, int iterations) throws IOException {
+        SlotLoader.Source source = slotId -> new AbstractMap.SimpleImmutableEntry<>(slotId, entries.get(slotId));
+        double serial = 0;
+        double[] parallel = new double[parallelisms.size()];
+        for (int warmup = 0; warmup < 2; warmup++) {
+            serial = timeSerial(slotIds, entries, iterations);
+            for (int i = 0; i < parallelisms.size(); i++) {
+                try (SlotLoader loader = new SlotLoader(parallelisms.get(i))) {
+                    parallel[i] = timeLoader(loader, slotIds, source, iterations);
+                }
+            }
+        }
+        System.out.printf("%8d %7s | %12.3f", slotCount, format, serial);
+        for (double time : parallel) {
+            System.out.printf(" %12.3f", time);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Decodes every slot one at a time on the calling thread, as slots were loaded before the loader.
+     *
+     * @param slotIds    The IDs of every slot.
+     * @param entries    The sealed contents of every slot, keyed by slot ID.
+     * @param iterations The number of times every slot is decoded.
+     * @return The average time to decode every slot, in milliseconds.
+     * @throws IOException If a slot could not be decoded.
+     */
+    private static double timeSerial(List<String> slotIds, Map<String, byte[]> entries, int iterations) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String slotId : slotIds) {
+                SlotLoader.decodeSlot(entries.get(slotId));
+            }
+        }
+        return millis(start, iterations);
+    }
+
+    /**
+     * Loads every slot through a loader.
+     *
+     * @param loader     The loader.
+     * @param slotIds    The IDs of every slot.
+     * @param source     Reads the sealed contents of each slot.
+     * @param iterations The number of times every slot is loaded.
+     * @return The average time to load every slot, in milliseconds.
+     */
+    private static double timeLoader(SlotLoader loader, List<String> slotIds, SlotLoader.Source source, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (SlotLoader.Loaded loaded : loader.loadAll(slotIds, source)) {
+                if (loaded.getError() != null) {
+                    throw new IllegalStateException("Slot " + loaded.getSlotId() + " failed to load", loaded.getError());
+                }
+            }
+        }
+        return millis(start, iterations);
+    }
+}
@@ -0,0 +1,66 @@
+package com.kaobells.group44;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class SlotLoaderTest {
+
+    @Test
+    void slotsAreLoadedInOrderAcrossTasks() throws IOException {
+        List<String> slotIds = new ArrayList<>();
+        Map<String, byte[]> entries = new HashMap<>();
+        for (int i = 1; i <= SlotLoader.LEAF_SIZE * 10; i++) {
+            CharacterClass character = new CharacterClass();
+            character.setScore(i);
+            HashMap<String, Object> slot = new HashMap<>();
+            slot.put("character", character);
+            slotIds.add(String.valueOf(i));
+            entries.put(String.valueOf(i), SaveChecksum.seal(BinarySaveCodec.encodeSlot(slot)));
+        }
+        try (SlotLoader loader = new SlotLoader(4)) {
+            List<SlotLoader.Loaded> loaded = loader.loadAll(slotIds, slotId -> entry(slotId, entries.get(slotId)));
+            assertEquals(slotIds.size(), loaded.size());
+            for (int i = 0; i < loaded.size(); i++) {
+                assertEquals(slotIds.get(i), loaded.get(i).getSlotId(), "Results should keep the order of the slot IDs");
+                CharacterClass character = (CharacterClass) loaded.get(i).getSlot().get("character");
+                assertEquals(i + 1, character.getScore());
+            }
+        }
+    }
+
+    @Test
+    void damagedAndMissingSlotsDoNotStopTheOthers() throws IOException {
+        HashMap<String, Object> slot = new HashMap<>();
+        slot.put("character", new CharacterClass());
+        byte[] intact = SaveChecksum.seal(BinarySaveCodec.encodeSlot(slot));
+        byte[] damaged = intact.clone();
+        damaged[8] ^= 1;
+        List<String> slotIds = new ArrayList<>();
+        for (int i = 0; i < SlotLoader.LEAF_SIZE * 3; i++) {
+            slotIds.add(String.valueOf(i));
+        }
+        try (SlotLoader loader = new SlotLoader(2)) {
+            List<SlotLoader.Loaded> loaded = loader.loadAll(slotIds, slotId -> {
+                int i = Integer.parseInt(slotId);
+                return i == 5 ? null : entry(slotId, i == 20 ? damaged : intact);
+            });
+            assertNull(loaded.get(5).getEntry(), "A slot without an entry should have no entry");
+            assertNull(loaded.get(5).getError());
+            assertNotNull(loaded.get(20).getError(), "A damaged slot should report why it failed");
+            assertNull(loaded.get(20).getSlot());
+            assertNotNull(loaded.get(21).getSlot(), "Slots after a damaged one should still load");
+        }
+    }
+
+    private static Map.Entry<String, byte[]> entry(String slotId, byte[] data) {
+        return new AbstractMap.SimpleImmutableEntry<>("slot-" + slotId + ".sav", data);
+    }
+}
@@ -0,0 +1,75 @@
+package com.kaobells.group44;
+
+import static com.kaobells.group44.Fixtures.character;
+import static com.kaobells.group44.Fixtures.slotWith;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SlotStoreTest {
+
+    @Test
+    void pagesFollowSlotOrder() {
+        SlotStore store = new SlotStore(4);
+        for (int i = 2500; i >= 1; i--) {
+            store.putSummary(new SlotSummary(Integer.toString(i), "pet" + i, "brave", State.NEUTRAL, i, 0));
+        }
+        store.putSummary(new SlotSummary("7", "renamed", "brave", State.NEUTRAL, 7, 0)); // replaces, not adds
+        assertEquals(2500, store.size());
+        assertEquals("renamed", store.getSummary("7").getName());
+
+        List<String> page = new ArrayList<>();
+        for (SlotSummary summary : store.getSummaries(9, 3)) {
+            page.add(summary.getSlotId());
+        }
+        assertEquals(List.of("10", "11", "12"), page, "Numeric slot IDs should page in numeric order");
+        assertEquals(1, store.getSummaries(2499, 3).size(), "The last page should only hold the remaining slot");
+        assertTrue(store.getSummaries(3000, 3).isEmpty());
+    }
+
+    @Test
+    void freeSlotIdsSkipUsedOnes() {
+        SlotStore store = new SlotStore(4);
+        for (String slotId : new String[] {"1", "2", "4"}) {
+            store.putSummary(SlotSummary.of(slotId, null, 0));
+        }
+        assertEquals(List.of("3", "5", "6"), store.getFreeSlotIds(3));
+    }
+
+    @Test
+    void leastRecentlyUsedCleanSlotIsDropped() {
+        SlotStore store = new SlotStore(2);
+        CharacterClass first = character("first");
+        CharacterClass second = character("second");
+        CharacterClass third = character("third");
+        first.markClean();
+        second.markClean();
+        third.markClean();
+        store.putResident("1", slotWith(first));
+        store.putResident("2", slotWith(second));
+        store.getResident("1"); // slot 1 is now more recently used than slot 2
+        store.putResident("3", slotWith(third));
+
+        assertTrue(store.isResident("1"));
+        assertFalse(store.isResident("2"), "The least recently used slot should be dropped");
+        assertTrue(store.isResident("3"));
+    }
+
+    @Test
+    void slotsWithUnsavedChangesStayInMemory() {
+        SlotStore store = new SlotStore(1);
+        CharacterClass unsaved = character("unsaved"); // new characters have unsaved changes
+        CharacterClass saved = character("saved");
+        saved.markClean();
+        store.putResident("1", slotWith(unsaved));
+        store.putResident("2", slotWith(saved));
+        assertTrue(store.isResident("1"), "A slot with unsaved changes must never be dropped");
+
+        unsaved.markClean();
+        assertEquals(1, store.trimResidents(), "Once saved, the slot can be dropped again");
+        assertFalse(store.isResident("1"));
+    }
+}